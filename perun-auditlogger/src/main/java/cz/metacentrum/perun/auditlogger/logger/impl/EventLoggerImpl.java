@@ -5,10 +5,10 @@ import cz.metacentrum.perun.auditlogger.logger.EventLogger;
 import cz.metacentrum.perun.auditlogger.service.AuditLoggerManager;
 import cz.metacentrum.perun.auditparser.AuditParser;
 import cz.metacentrum.perun.core.api.AuditMessage;
+import cz.metacentrum.perun.core.api.AuditMessagesManager;
 import cz.metacentrum.perun.core.api.Perun;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
-import cz.metacentrum.perun.core.bl.PerunBl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,8 +84,8 @@ public class EventLoggerImpl implements EventLogger, Runnable {
 				//Waiting for new messages. If consumer failed in some internal case, waiting until it will be repaired (waiting time is increases by each attempt)
 				while(messages == null) {
 					try {
-						//IMPORTANT STEP1: Get new bulk of messages
-						messages = ((PerunBl)perun).getAuditMessagesManagerBl().pollConsumerMessages(perunSession, auditLoggerManager.getConsumerName(), lastProcessedIdNumber);
+						//IMPORTANT STEP1: Get new bulk of messages, wait for them if there are none yet
+						messages = perun.getAuditMessagesManager().waitForConsumerMessages(perunSession, auditLoggerManager.getConsumerName(), lastProcessedIdNumber, AuditMessagesManager.CONSUMERBATCHSIZE, auditLoggerManager.getWaitTimeout());
 						log.debug("Read {} new audit messages starting from {}", messages.size(), lastProcessedIdNumber);
 					} catch (InternalErrorException ex) {
 						log.error("Consumer failed due to {}. Sleeping for {} ms.", ex, sleepTime);
@@ -119,12 +119,13 @@ public class EventLoggerImpl implements EventLogger, Runnable {
 					log.debug("All messages sent.");
 					messages = null;
 				}
-				//After all messages has been resolved, test interrupting of thread and if its ok, wait and go for another bulk of messages
+				//After all messages has been resolved, test interrupting of thread and if its ok, go for another bulk of messages
 				if (Thread.interrupted()) {
 					running = false;
 				} else {
 					saveLastProcessedId();
-					Thread.sleep(5000);
+					//Some messages were not sent, wait before we try it again
+					if (messages != null) Thread.sleep(5000);
 				}
 			}
 			//If auditlogger is interrupted
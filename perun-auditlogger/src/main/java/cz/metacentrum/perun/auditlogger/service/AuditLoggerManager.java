@@ -33,4 +33,13 @@ public interface AuditLoggerManager {
 
 	String getStateFile();
 
+	/**
+	 * Get max time to wait for new audit messages before auditer log is checked again.
+	 * Auditlogger is woken up earlier only by the Auditer running in the same JVM,
+	 * so messages stored by other Perun instances are read only after it elapses.
+	 *
+	 * @return timeout in milliseconds
+	 */
+	long getWaitTimeout();
+
 }
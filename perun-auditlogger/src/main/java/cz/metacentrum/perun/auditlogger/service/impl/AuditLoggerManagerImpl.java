@@ -20,6 +20,7 @@ public class AuditLoggerManagerImpl implements AuditLoggerManager {
 
 	private final static String DEFAULT_CONSUMER_NAME = "auditlogger";
 	private final static String DEFAULT_STATE_FILE = "./auditlogger.state";
+	private final static long DEFAULT_WAIT_TIMEOUT = 1000;
 	
 	private Thread eventProcessorThread;
 	@Autowired
@@ -92,5 +93,14 @@ public class AuditLoggerManagerImpl implements AuditLoggerManager {
 		return this.propertiesBean.getProperty("auditlogger.statefile", DEFAULT_STATE_FILE);
 	}
 
+	@Override
+	public long getWaitTimeout() {
+		try {
+			return Long.parseLong(this.propertiesBean.getProperty("auditlogger.auditer.waitTimeout", String.valueOf(DEFAULT_WAIT_TIMEOUT)));
+		} catch (NumberFormatException ex) {
+			return DEFAULT_WAIT_TIMEOUT;
+		}
+	}
+
 
 }
@@ -1,9 +1,14 @@
 package cz.metacentrum.perun.audit.events;
 
 import cz.metacentrum.perun.core.api.PerunBean;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -17,6 +22,27 @@ public abstract class AuditEvent {
 
 	protected String name = getClass().getName();
 
+	// fields holding perun beans or collections of them, resolved once for each event class
+	private static final ClassValue<List<Field>> REFERENCED_BEAN_FIELDS = new ClassValue<List<Field>>() {
+		@Override
+		protected List<Field> computeValue(Class<?> type) {
+			List<Field> fields = new ArrayList<>();
+			for (Class<?> clazz = type; clazz != null && clazz != AuditEvent.class; clazz = clazz.getSuperclass()) {
+				List<Field> declaredFields = new ArrayList<>();
+				for (Field field : clazz.getDeclaredFields()) {
+					if (Modifier.isStatic(field.getModifiers())) continue;
+					if (PerunBean.class.isAssignableFrom(field.getType()) || Collection.class.isAssignableFrom(field.getType())) {
+						field.setAccessible(true);
+						declaredFields.add(field);
+					}
+				}
+				// fields of superclass go first
+				fields.addAll(0, declaredFields);
+			}
+			return Collections.unmodifiableList(fields);
+		}
+	};
+
 	/**
 	 * Get message that should be logged.
 	 *
@@ -33,6 +59,54 @@ public abstract class AuditEvent {
 		return name;
 	}
 
+	/**
+	 * Get perun beans referenced by this event in the order they are mentioned in its message.
+	 * Beans stored in collections are included. It allows consumers to work with typed beans
+	 * instead of parsing them back from the message.
+	 *
+	 * By default, values of all fields holding perun beans are returned in order of their declaration.
+	 * Events, which mention beans in their message in a different order, should override it.
+	 *
+	 * @return list of referenced beans
+	 */
+	@JsonIgnore
+	public List<PerunBean> getReferencedBeans() {
+		List<PerunBean> beans = new ArrayList<>();
+		for (Field field : REFERENCED_BEAN_FIELDS.get(getClass())) {
+			try {
+				addReferencedBeans(beans, field.get(this));
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Can't read field " + field.getName() + " of event " + getName(), e);
+			}
+		}
+		return beans;
+	}
+
+	/**
+	 * Returns list of perun beans from the given objects. Null values and objects which are not perun beans are skipped,
+	 * beans from collections are included.
+	 *
+	 * @param objects beans or collections of beans
+	 * @return list of perun beans
+	 */
+	protected static List<PerunBean> referencedBeans(Object... objects) {
+		List<PerunBean> beans = new ArrayList<>();
+		for (Object object : objects) {
+			addReferencedBeans(beans, object);
+		}
+		return beans;
+	}
+
+	private static void addReferencedBeans(List<PerunBean> beans, Object object) {
+		if (object instanceof PerunBean) {
+			beans.add((PerunBean) object);
+		} else if (object instanceof Collection) {
+			for (Object item : (Collection<?>) object) {
+				if (item instanceof PerunBean) beans.add((PerunBean) item);
+			}
+		}
+	}
+
 	/**
 	 * Formats the given args in format that can be audited.
 	 *
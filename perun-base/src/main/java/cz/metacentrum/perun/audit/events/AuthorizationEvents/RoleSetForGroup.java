@@ -5,6 +5,8 @@ import cz.metacentrum.perun.audit.events.EngineIgnoreEvent;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.PerunBean;
 
+import java.util.List;
+
 public class RoleSetForGroup extends AuditEvent implements EngineIgnoreEvent {
 
 	private PerunBean object;
@@ -35,6 +37,11 @@ public class RoleSetForGroup extends AuditEvent implements EngineIgnoreEvent {
 		return role;
 	}
 
+	@Override
+	public List<PerunBean> getReferencedBeans() {
+		return referencedBeans(group, object);
+	}
+
 	@Override
 	public String getMessage() {
 		return message;
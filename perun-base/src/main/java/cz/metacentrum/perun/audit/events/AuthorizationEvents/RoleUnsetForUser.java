@@ -5,6 +5,8 @@ import cz.metacentrum.perun.audit.events.EngineIgnoreEvent;
 import cz.metacentrum.perun.core.api.PerunBean;
 import cz.metacentrum.perun.core.api.User;
 
+import java.util.List;
+
 public class RoleUnsetForUser extends AuditEvent implements EngineIgnoreEvent {
 
 	private PerunBean object;
@@ -35,6 +37,11 @@ public class RoleUnsetForUser extends AuditEvent implements EngineIgnoreEvent {
 		return role;
 	}
 
+	@Override
+	public List<PerunBean> getReferencedBeans() {
+		return referencedBeans(user, object);
+	}
+
 	@Override
 	public String getMessage() {
 		return message;
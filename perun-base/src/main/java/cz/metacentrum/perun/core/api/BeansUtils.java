@@ -39,6 +39,8 @@ public class BeansUtils {
 	private final static Pattern richBeanNamePattern = Pattern.compile("^Rich([A-Z].*$)");
 	private static final char LIST_DELIMITER = ',';
 	private static final char KEY_VALUE_DELIMITER = ':';
+	private static final String ESCAPED_NULL = "\\0";
+	private final static Pattern escapedNullPattern = Pattern.compile("((^|[^\\\\])(\\\\\\\\)*)(\\\\0)");
 	private final static int MAX_SIZE_OF_ITEMS_IN_SQL_IN_CLAUSE = 1000;
 	private final static String MULTIVALUE_ATTRIBUTE_SEPARATOR_REGEX = ";";
 	private final static String configurationsLocations = "/etc/perun/";
@@ -99,7 +101,7 @@ public class BeansUtils {
 	public static String eraseEscaping(String text) {
 		if(text == null || text.equals("\\0")) return null;
 		//change \0 to null if zero is escaped
-		text = text.replaceAll("((^|[^\\\\])(\\\\\\\\)*)(\\\\0)", "$1null");
+		text = escapedNullPattern.matcher(text).replaceAll("$1null");
 		text = text.replace("\\>", ">");
 		text = text.replace("\\<", "<");
 		text = text.replace("\\\\", "\\");
@@ -244,46 +246,53 @@ public class BeansUtils {
 		} else if(Objects.equals(attributeType, ArrayList.class.getName())) {
 			StringBuilder sb = new StringBuilder();
 			for(String item : (List<String>) attribute.getValue()) {
-				if(item == null) {
-					item = "\\0";
-				} else {
-					item = item.replace("\\", "\\\\");   //escape char '\'
-					item = item.replace(Character.toString(LIST_DELIMITER), "\\" + LIST_DELIMITER); //escape LIST_DELIMITER
-				}
-				sb.append(item);
+				appendEscaped(sb, item, false);
 				sb.append(LIST_DELIMITER);
 			}
 			return sb.toString();
 		} else if(Objects.equals(attributeType, LinkedHashMap.class.getName())) {
 			StringBuilder sb = new StringBuilder();
 			for(Map.Entry<String, String> entry : ((Map<String, String>) attribute.getValue()).entrySet()) {
-				String key = entry.getKey();
-				if(key == null) {
-					key = "\\0";
-				} else {
-					key = key.replace("\\", "\\\\");   //escape char '\'
-					key = key.replace(Character.toString(LIST_DELIMITER), "\\" + LIST_DELIMITER); //escape LIST_DELIMITER
-					key = key.replace(Character.toString(KEY_VALUE_DELIMITER), "\\" + KEY_VALUE_DELIMITER); //escape KEY_VALUE_DELIMITER
-				}
-
-				String value = entry.getValue();
-				if(value == null) {
-					value = "\\0";
-				} else {
-					value = value.replace("\\", "\\\\");   //escape char '\'
-					value = value.replace(Character.toString(LIST_DELIMITER), "\\" + LIST_DELIMITER); //escape LIST_DELIMITER
-					value = value.replace(Character.toString(KEY_VALUE_DELIMITER), "\\" + KEY_VALUE_DELIMITER); //escape KEY_VALUE_DELIMITER
-				}
-
-				sb.append(key);
+				appendEscaped(sb, entry.getKey(), true);
 				sb.append(KEY_VALUE_DELIMITER);
-				sb.append(value);
+				appendEscaped(sb, entry.getValue(), true);
 				sb.append(LIST_DELIMITER);
 			}
 			return sb.toString();
 		} else throw new InternalErrorException("Unknown java type of attribute's value.");
 	}
 
+	/**
+	 * Append text to the builder with escaped '\' and LIST_DELIMITER (and KEY_VALUE_DELIMITER, if requested).
+	 * Null is stored as escaped zero.
+	 *
+	 * @param sb builder to append to
+	 * @param text text to escape, can be null
+	 * @param escapeKeyValueDelimiter true if KEY_VALUE_DELIMITER should be escaped too (for keys and values of maps)
+	 */
+	private static void appendEscaped(StringBuilder sb, String text, boolean escapeKeyValueDelimiter) {
+		if(text == null) {
+			sb.append(ESCAPED_NULL);
+			return;
+		}
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if(isEscapable(c, escapeKeyValueDelimiter)) sb.append('\\');
+			sb.append(c);
+		}
+	}
+
+	private static boolean isEscapable(char c, boolean keyValueDelimiter) {
+		return c == '\\' || c == LIST_DELIMITER || (keyValueDelimiter && c == KEY_VALUE_DELIMITER);
+	}
+
+	/**
+	 * Check whether the raw (not yet unescaped) part of the text is an escaped null.
+	 */
+	private static boolean isEscapedNull(String text, int start, int end) {
+		return end - start == 2 && text.startsWith(ESCAPED_NULL, start);
+	}
+
 	/**
 	 * This method get map created by example : {<key1>=<value1>, <key2>=<value2>}
 	 * Keys and values are escaped for "\", "<" and ">"
@@ -302,26 +311,25 @@ public class BeansUtils {
 		int endValue = -1;
 		int pointyBrackets = 0;
 		boolean notValue = true;
+		// true when the current char is preceded by an odd number of backslashes
+		boolean escaped = false;
 
 		for(int i = 0; i < text.length(); i++) {
-			if(text.charAt(i) == '<' && notValue && startName == -1) {
-				if (!BeansUtils.isEscaped(text, i - 1)) {
-					startName = i;
-				}
-			}else if(text.charAt(i) == '>' && notValue && endName == -1) {
-				if (!BeansUtils.isEscaped(text, i - 1)) {
-					endName = i;
-					notValue = false;
-				}
-			} else if(text.charAt(i) == '<' && !notValue && startValue == -1) {
-				if (!BeansUtils.isEscaped(text, i - 1)) {
-					startValue = i;
-				}
-			} else if(text.charAt(i) == '>' && !notValue && endValue == -1) {
-				if (!BeansUtils.isEscaped(text, i - 1)) {
-					endValue = i;
-					notValue = true;
-				}
+			char c = text.charAt(i);
+			boolean charEscaped = escaped;
+			escaped = c == '\\' && !escaped;
+			if(charEscaped) continue;
+
+			if(c == '<' && notValue && startName == -1) {
+				startName = i;
+			} else if(c == '>' && notValue && endName == -1) {
+				endName = i;
+				notValue = false;
+			} else if(c == '<' && !notValue && startValue == -1) {
+				startValue = i;
+			} else if(c == '>' && !notValue && endValue == -1) {
+				endValue = i;
+				notValue = true;
 			}
 			if (startName != -1 && endName != -1 && startValue != -1 && endValue != -1) {
 				map.put(BeansUtils.eraseEscaping(text.substring(startName + 1, endName)), BeansUtils.eraseEscaping(text.substring(startValue + 1, endValue)));
@@ -349,34 +357,70 @@ public class BeansUtils {
 	 *      input: 'value1,val{backslash}ue2,val{backslash},ue3,'
 	 *      result: ['value1', 'val{backslash}ue2', val,ue3']
 	 *
+	 * Escaped zero '{backslash}0' stands for null item. The value is parsed in a single pass.
+	 *
 	 * @param value value to be parsed
 	 * @return list of parsed values
 	 */
 	public static List<String> parseEscapedListValue(String value) {
-		String[] array = value.split(Character.toString(LIST_DELIMITER), -1);
-		List<String> listValue =  new ArrayList<String>();
-		//join items which was splited on escaped LIST_DELIMITER
-		for(int i = 0; i < array.length -1; i++) { //itarate to lenght -1  ... last array item is always empty
-			String item = array[i];
-			while(item.matches("^(.*[^\\\\])?(\\\\\\\\)*\\\\$")) { //item last char is '\' . Next item start with ',', so we need to concat this items.
-				item = item.substring(0, item.length()-1);  //cut off last char ('\')
-				try {
-					item = item.concat(Character.toString(LIST_DELIMITER)).concat(array[i+1]);
-					i++;
-				} catch(ArrayIndexOutOfBoundsException ex) {
-					throw new ConsistencyErrorException("Bad format in attribute value", ex);
-				}
+		List<String> listValue = new ArrayList<>();
+		StringBuilder item = new StringBuilder();
+		int itemStart = 0;
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if(c == '\\' && i + 1 < value.length() && isEscapable(value.charAt(i + 1), false)) {
+				item.append(value.charAt(++i));
+			} else if(c == LIST_DELIMITER) {
+				listValue.add(isEscapedNull(value, itemStart, i) ? null : item.toString());
+				item.setLength(0);
+				itemStart = i + 1;
+			} else {
+				item.append(c);
 			}
-			//unescape
-			item = item.replaceAll("\\\\([\\\\" + Character.toString(LIST_DELIMITER) + "])", "$1");
-			if(item.equals("\\0")) item = null;
-
-			//return updated item back to list
-			listValue.add(item);
 		}
+		// text after the last LIST_DELIMITER is not a value
 		return listValue;
 	}
 
+	/**
+	 * Parses map value stored as 'key1:value1,key2:value2,'. Keys and values have escaped '{backslash}',
+	 * LIST_DELIMITER and KEY_VALUE_DELIMITER, null is stored as escaped zero.
+	 *
+	 * @param value value to be parsed
+	 * @return map of parsed values in the stored order
+	 * @throws ConsistencyErrorException if some entry doesn't contain KEY_VALUE_DELIMITER
+	 */
+	private static LinkedHashMap<String, String> parseEscapedMapValue(String value) {
+		LinkedHashMap<String, String> mapValue = new LinkedHashMap<>();
+		StringBuilder token = new StringBuilder();
+		String key = null;
+		boolean keyParsed = false;
+		int entryStart = 0;
+		int tokenStart = 0;
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if(c == '\\' && i + 1 < value.length() && isEscapable(value.charAt(i + 1), true)) {
+				token.append(value.charAt(++i));
+			} else if(c == KEY_VALUE_DELIMITER && !keyParsed) {
+				key = isEscapedNull(value, tokenStart, i) ? null : token.toString();
+				keyParsed = true;
+				token.setLength(0);
+				tokenStart = i + 1;
+			} else if(c == LIST_DELIMITER) {
+				if(!keyParsed) throw new ConsistencyErrorException("Bad format in attribute value. KEY_VALUE_DELIMITER not found. Attribute value='" + value + "', processed entry='" + value.substring(entryStart, i) + "'");
+				mapValue.put(key, isEscapedNull(value, tokenStart, i) ? null : token.toString());
+				keyParsed = false;
+				token.setLength(0);
+				entryStart = i + 1;
+				tokenStart = i + 1;
+			} else {
+				token.append(c);
+			}
+		}
+		// text after the last LIST_DELIMITER is not an entry
+		return mapValue;
+	}
+
 	/**
 	 * Converts string representation of an attribute value to correct java object
 	 *
@@ -389,82 +433,18 @@ public class BeansUtils {
 	public static Object stringToAttributeValue(String stringValue, String type) {
 		if(stringValue == null || stringValue.isEmpty()) return null;
 
-		Class<?> attributeClass;
-		try {
-			attributeClass = Class.forName(type);
-		} catch (ClassNotFoundException e) {
-			throw new InternalErrorException("Unknown attribute type", e);
-		} catch (NoClassDefFoundError e) {
-			throw new InternalErrorException("Unknown attribute def type", e);
-		}
-
-		if(attributeClass.equals(String.class)) {
+		if(String.class.getName().equals(type)) {
 			return stringValue;
-		} else if(attributeClass.equals(Integer.class)) {
+		} else if(Integer.class.getName().equals(type)) {
 			return Integer.parseInt(stringValue);
-		} else if(attributeClass.equals(Boolean.class)) {
+		} else if(Boolean.class.getName().equals(type)) {
 			return Boolean.parseBoolean(stringValue);
-		} else if(attributeClass.equals(ArrayList.class)) {
+		} else if(ArrayList.class.getName().equals(type)) {
 			return parseEscapedListValue(stringValue);
-		} else if(attributeClass.equals(LinkedHashMap.class)) {
-			String[] array = stringValue.split(Character.toString(LIST_DELIMITER), -1);
-			Map<String, String> attributeValue = new LinkedHashMap<String, String>();
-
-			//join items which was splited on escaped LIST_DELIMITER
-			for(int i = 0; i < array.length -1; i++) {  //itarate to lenght -1  ... last array item is always empty
-				String mapEntry = array[i];
-
-				while(mapEntry.matches("^(.*[^\\\\])?(\\\\\\\\)*\\\\$")) { //mapEntry last char is '\' . Next mapEntry start with ',', so we need to concat this mapEntries.
-					mapEntry = mapEntry.substring(0, mapEntry.length()-1);  //cut off last char ('\')
-					try {
-						mapEntry = mapEntry.concat(Character.toString(LIST_DELIMITER)).concat(array[i+1]);
-						i++;
-					} catch(ArrayIndexOutOfBoundsException ex) {
-						throw new ConsistencyErrorException("Bad format in attribute value", ex);
-					}
-				}
-
-				boolean delimiterFound = false;
-				int delimiterIndex = -1;
-
-
-				while(!delimiterFound) {
-					delimiterIndex++; //start searching at next char then last time
-					delimiterIndex = mapEntry.indexOf(Character.toString(KEY_VALUE_DELIMITER), delimiterIndex);
-					if(delimiterIndex == -1) throw new ConsistencyErrorException("Bad format in attribute value. KEY_VALUE_DELIMITER not found. Attribute value='" + stringValue + "', processed entry='" + mapEntry + "'");
-
-					//check if this delimiter is not escaped
-					boolean isEscaped = false;  //is delimiter escaped
-					boolean stop = false;
-					int processedIndex = delimiterIndex - 1;
-					while(!stop && processedIndex >= 0) {
-						if(mapEntry.charAt(processedIndex) == '\\') {
-							isEscaped = !isEscaped;
-						} else {
-							stop = true;
-						}
-						processedIndex--;
-					}
-					if(!isEscaped) delimiterFound = true;
-				}
-
-				String key = mapEntry.substring(0, delimiterIndex);
-				String value = mapEntry.substring(delimiterIndex+1);
-
-				//unescape
-				key = key.replaceAll("\\\\([\\\\" + Character.toString(LIST_DELIMITER) + Character.toString(KEY_VALUE_DELIMITER) + "])", "$1");
-				value = value.replaceAll("\\\\([\\\\" + Character.toString(LIST_DELIMITER) + Character.toString(KEY_VALUE_DELIMITER) + "])", "$1");
-
-				if(key.equals("\\0")) key = null;
-				if(value.equals("\\0")) value = null;
-
-				//return updated item back to list
-				attributeValue.put(key, value);
-			}
-
-			return attributeValue;
+		} else if(LinkedHashMap.class.getName().equals(type)) {
+			return parseEscapedMapValue(stringValue);
 		} else {
-			throw new InternalErrorException("Unknown attribute type. ("+ attributeClass.toString() + ")");
+			throw new InternalErrorException("Unknown attribute type. (" + type + ")");
 		}
 	}
 
@@ -37,10 +37,26 @@ public class CoreConfig {
 	private int groupStructureSynchronizationInterval;
 	private int groupStructureSynchronizationTimeout;
 	private int groupMaxConcurrentGroupsStructuresToSynchronize;
+	private int groupSynchronizationChunkSize;
+	private boolean groupSynchronizationBulk;
 	private int mailchangeValidationWindow;
 	private int pwdresetValidationWindow;
 	private int accountActivationValidationWindow;
 	private int queryTimeout;
+	private int auditerEventsCacheSize;
+	private int auditerEventsCacheTimeout;
+	private int auditerRecentMessagesSize;
+	private boolean auditerAsyncWriter;
+	private int auditerAsyncBatchSize;
+	private boolean auditerLogJson;
+	private int authzRolesCacheTimeout;
+	private int authzRolesCachePollInterval;
+	private int attributeDefinitionsCacheTimeout;
+	private int attributeDefinitionsCachePollInterval;
+	private List<String> attributeValuesCacheNamespaces;
+	private int attributeValuesCacheTimeout;
+	private int attributeValuesCachePollInterval;
+	private int genDataParallelism;
 	private List<String> admins;
 	private List<String> enginePrincipals;
 	private List<String> generatedLoginNamespaces;
@@ -104,6 +120,22 @@ public class CoreConfig {
 		this.groupMaxConcurrentGroupsStructuresToSynchronize = groupMaxConcurrentGroupsStructuresToSynchronize;
 	}
 
+	public int getGroupSynchronizationChunkSize() {
+		return groupSynchronizationChunkSize;
+	}
+
+	public void setGroupSynchronizationChunkSize(int groupSynchronizationChunkSize) {
+		this.groupSynchronizationChunkSize = groupSynchronizationChunkSize;
+	}
+
+	public boolean isGroupSynchronizationBulk() {
+		return groupSynchronizationBulk;
+	}
+
+	public void setGroupSynchronizationBulk(boolean groupSynchronizationBulk) {
+		this.groupSynchronizationBulk = groupSynchronizationBulk;
+	}
+
 	public int getGroupStructureSynchronizationInterval() {
 		return groupStructureSynchronizationInterval;
 	}
@@ -647,6 +679,118 @@ public class CoreConfig {
 		this.queryTimeout = queryTimeout;
 	}
 
+	public int getAuditerEventsCacheSize() {
+		return auditerEventsCacheSize;
+	}
+
+	public void setAuditerEventsCacheSize(int auditerEventsCacheSize) {
+		this.auditerEventsCacheSize = auditerEventsCacheSize;
+	}
+
+	public int getAuditerEventsCacheTimeout() {
+		return auditerEventsCacheTimeout;
+	}
+
+	public void setAuditerEventsCacheTimeout(int auditerEventsCacheTimeout) {
+		this.auditerEventsCacheTimeout = auditerEventsCacheTimeout;
+	}
+
+	public int getAuditerRecentMessagesSize() {
+		return auditerRecentMessagesSize;
+	}
+
+	public void setAuditerRecentMessagesSize(int auditerRecentMessagesSize) {
+		this.auditerRecentMessagesSize = auditerRecentMessagesSize;
+	}
+
+	public boolean isAuditerAsyncWriter() {
+		return auditerAsyncWriter;
+	}
+
+	public void setAuditerAsyncWriter(boolean auditerAsyncWriter) {
+		this.auditerAsyncWriter = auditerAsyncWriter;
+	}
+
+	public int getAuditerAsyncBatchSize() {
+		return auditerAsyncBatchSize;
+	}
+
+	public void setAuditerAsyncBatchSize(int auditerAsyncBatchSize) {
+		this.auditerAsyncBatchSize = auditerAsyncBatchSize;
+	}
+
+	public boolean isAuditerLogJson() {
+		return auditerLogJson;
+	}
+
+	public void setAuditerLogJson(boolean auditerLogJson) {
+		this.auditerLogJson = auditerLogJson;
+	}
+
+	public int getAuthzRolesCacheTimeout() {
+		return authzRolesCacheTimeout;
+	}
+
+	public void setAuthzRolesCacheTimeout(int authzRolesCacheTimeout) {
+		this.authzRolesCacheTimeout = authzRolesCacheTimeout;
+	}
+
+	public int getAuthzRolesCachePollInterval() {
+		return authzRolesCachePollInterval;
+	}
+
+	public void setAuthzRolesCachePollInterval(int authzRolesCachePollInterval) {
+		this.authzRolesCachePollInterval = authzRolesCachePollInterval;
+	}
+
+	public int getAttributeDefinitionsCacheTimeout() {
+		return attributeDefinitionsCacheTimeout;
+	}
+
+	public void setAttributeDefinitionsCacheTimeout(int attributeDefinitionsCacheTimeout) {
+		this.attributeDefinitionsCacheTimeout = attributeDefinitionsCacheTimeout;
+	}
+
+	public int getAttributeDefinitionsCachePollInterval() {
+		return attributeDefinitionsCachePollInterval;
+	}
+
+	public void setAttributeDefinitionsCachePollInterval(int attributeDefinitionsCachePollInterval) {
+		this.attributeDefinitionsCachePollInterval = attributeDefinitionsCachePollInterval;
+	}
+
+	public List<String> getAttributeValuesCacheNamespaces() {
+		return attributeValuesCacheNamespaces;
+	}
+
+	public void setAttributeValuesCacheNamespaces(List<String> attributeValuesCacheNamespaces) {
+		this.attributeValuesCacheNamespaces = attributeValuesCacheNamespaces;
+	}
+
+	public int getAttributeValuesCacheTimeout() {
+		return attributeValuesCacheTimeout;
+	}
+
+	public void setAttributeValuesCacheTimeout(int attributeValuesCacheTimeout) {
+		this.attributeValuesCacheTimeout = attributeValuesCacheTimeout;
+	}
+
+	public int getAttributeValuesCachePollInterval() {
+		return attributeValuesCachePollInterval;
+	}
+
+	public void setAttributeValuesCachePollInterval(int attributeValuesCachePollInterval) {
+		this.attributeValuesCachePollInterval = attributeValuesCachePollInterval;
+	}
+
+	public int getGenDataParallelism() {
+		return genDataParallelism;
+	}
+
+	public void setGenDataParallelism(int genDataParallelism) {
+		this.genDataParallelism = genDataParallelism;
+	}
+
 	public void setDefaultLoaIdP(String defaultLoaIdP) {
 		this.defaultLoaIdP = defaultLoaIdP;
 	}
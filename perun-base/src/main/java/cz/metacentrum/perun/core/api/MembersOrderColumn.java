@@ -0,0 +1,13 @@
+package cz.metacentrum.perun.core.api;
+
+/**
+ * Columns by which can be sorted paginated members. Members with the same value
+ * of the column are always ordered by their id, so the order of pages is stable.
+ *
+ * @see MembersPageQuery
+ */
+public enum MembersOrderColumn {
+	ID,
+	NAME,
+	STATUS
+}
@@ -0,0 +1,127 @@
+package cz.metacentrum.perun.core.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Query for one page of members of the VO.
+ *
+ * Members can be filtered by their statuses, by membership in a group of the VO
+ * and by a search string, which is matched against the name and the id of the user.
+ *
+ * @see Paginated
+ */
+public class MembersPageQuery {
+	private int pageSize;
+	private int offset;
+	private SortingOrder order = SortingOrder.ASCENDING;
+	private MembersOrderColumn sortColumn = MembersOrderColumn.ID;
+	private String searchString;
+	private List<String> statuses = new ArrayList<>();
+	private Integer groupId;
+
+	public MembersPageQuery() {
+	}
+
+	public MembersPageQuery(int pageSize, int offset, SortingOrder order, MembersOrderColumn sortColumn) {
+		this.pageSize = pageSize;
+		this.offset = offset;
+		this.order = order;
+		this.sortColumn = sortColumn;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public void setPageSize(int pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	public void setOffset(int offset) {
+		this.offset = offset;
+	}
+
+	public SortingOrder getOrder() {
+		return order;
+	}
+
+	public void setOrder(SortingOrder order) {
+		this.order = order;
+	}
+
+	public MembersOrderColumn getSortColumn() {
+		return sortColumn;
+	}
+
+	public void setSortColumn(MembersOrderColumn sortColumn) {
+		this.sortColumn = sortColumn;
+	}
+
+	public String getSearchString() {
+		return searchString;
+	}
+
+	public void setSearchString(String searchString) {
+		this.searchString = searchString;
+	}
+
+	/**
+	 * @return names of allowed statuses of members, all statuses are allowed if empty
+	 */
+	public List<String> getStatuses() {
+		return statuses;
+	}
+
+	public void setStatuses(List<String> statuses) {
+		this.statuses = statuses;
+	}
+
+	/**
+	 * @return id of the group whose members are returned or null for all members of the VO
+	 */
+	public Integer getGroupId() {
+		return groupId;
+	}
+
+	public void setGroupId(Integer groupId) {
+		this.groupId = groupId;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		MembersPageQuery that = (MembersPageQuery) o;
+		return pageSize == that.pageSize &&
+				offset == that.offset &&
+				order == that.order &&
+				sortColumn == that.sortColumn &&
+				Objects.equals(searchString, that.searchString) &&
+				Objects.equals(statuses, that.statuses) &&
+				Objects.equals(groupId, that.groupId);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(pageSize, offset, order, sortColumn, searchString, statuses, groupId);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" +
+				"pageSize=" + pageSize +
+				", offset=" + offset +
+				", order=" + order +
+				", sortColumn=" + sortColumn +
+				", searchString='" + searchString + '\'' +
+				", statuses=" + statuses +
+				", groupId=" + groupId +
+				']';
+	}
+}
@@ -0,0 +1,91 @@
+package cz.metacentrum.perun.core.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One page of results returned by paginated queries.
+ *
+ * @param <T> type of returned objects
+ */
+public class Paginated<T> {
+	private int offset;
+	private int pageSize;
+	private int totalCount;
+	private List<T> data = new ArrayList<>();
+
+	public Paginated() {
+	}
+
+	public Paginated(List<T> data, int offset, int pageSize, int totalCount) {
+		this.data = data;
+		this.offset = offset;
+		this.pageSize = pageSize;
+		this.totalCount = totalCount;
+	}
+
+	/**
+	 * @return offset of the first returned object in the whole result
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	public void setOffset(int offset) {
+		this.offset = offset;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public void setPageSize(int pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * @return number of all objects matching the query, not only those on this page
+	 */
+	public int getTotalCount() {
+		return totalCount;
+	}
+
+	public void setTotalCount(int totalCount) {
+		this.totalCount = totalCount;
+	}
+
+	public List<T> getData() {
+		return data;
+	}
+
+	public void setData(List<T> data) {
+		this.data = data;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		Paginated<?> paginated = (Paginated<?>) o;
+		return offset == paginated.offset &&
+				pageSize == paginated.pageSize &&
+				totalCount == paginated.totalCount &&
+				Objects.equals(data, paginated.data);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(offset, pageSize, totalCount, data);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" +
+				"offset=" + offset +
+				", pageSize=" + pageSize +
+				", totalCount=" + totalCount +
+				", data=" + data +
+				']';
+	}
+}
@@ -0,0 +1,22 @@
+package cz.metacentrum.perun.core.api;
+
+/**
+ * Order in which are sorted paginated results.
+ *
+ * @see MembersPageQuery
+ * @see UsersPageQuery
+ */
+public enum SortingOrder {
+	ASCENDING("ASC"),
+	DESCENDING("DESC");
+
+	private final String sqlValue;
+
+	SortingOrder(String sqlValue) {
+		this.sqlValue = sqlValue;
+	}
+
+	public String getSqlValue() {
+		return sqlValue;
+	}
+}
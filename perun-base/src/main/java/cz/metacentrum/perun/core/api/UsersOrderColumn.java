@@ -0,0 +1,12 @@
+package cz.metacentrum.perun.core.api;
+
+/**
+ * Columns by which can be sorted paginated users. Users with the same value
+ * of the column are always ordered by their id, so the order of pages is stable.
+ *
+ * @see UsersPageQuery
+ */
+public enum UsersOrderColumn {
+	ID,
+	NAME
+}
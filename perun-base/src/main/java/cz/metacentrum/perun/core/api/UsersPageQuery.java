@@ -0,0 +1,96 @@
+package cz.metacentrum.perun.core.api;
+
+import java.util.Objects;
+
+/**
+ * Query for one page of users.
+ *
+ * Users can be filtered by a search string, which is matched against the name and the id of the user.
+ *
+ * @see Paginated
+ */
+public class UsersPageQuery {
+	private int pageSize;
+	private int offset;
+	private SortingOrder order = SortingOrder.ASCENDING;
+	private UsersOrderColumn sortColumn = UsersOrderColumn.ID;
+	private String searchString;
+
+	public UsersPageQuery() {
+	}
+
+	public UsersPageQuery(int pageSize, int offset, SortingOrder order, UsersOrderColumn sortColumn) {
+		this.pageSize = pageSize;
+		this.offset = offset;
+		this.order = order;
+		this.sortColumn = sortColumn;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public void setPageSize(int pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	public void setOffset(int offset) {
+		this.offset = offset;
+	}
+
+	public SortingOrder getOrder() {
+		return order;
+	}
+
+	public void setOrder(SortingOrder order) {
+		this.order = order;
+	}
+
+	public UsersOrderColumn getSortColumn() {
+		return sortColumn;
+	}
+
+	public void setSortColumn(UsersOrderColumn sortColumn) {
+		this.sortColumn = sortColumn;
+	}
+
+	public String getSearchString() {
+		return searchString;
+	}
+
+	public void setSearchString(String searchString) {
+		this.searchString = searchString;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		UsersPageQuery that = (UsersPageQuery) o;
+		return pageSize == that.pageSize &&
+				offset == that.offset &&
+				order == that.order &&
+				sortColumn == that.sortColumn &&
+				Objects.equals(searchString, that.searchString);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(pageSize, offset, order, sortColumn, searchString);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" +
+				"pageSize=" + pageSize +
+				", offset=" + offset +
+				", order=" + order +
+				", sortColumn=" + sortColumn +
+				", searchString='" + searchString + '\'' +
+				']';
+	}
+}
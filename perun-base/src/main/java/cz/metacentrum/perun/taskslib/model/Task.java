@@ -22,6 +22,20 @@ public class Task implements Serializable {
 		WAITING, PLANNED, GENERATING, GENERROR, GENERATED, SENDING, DONE, SENDERROR, ERROR, WARNING
 	}
 
+	/**
+	 * Listener notified about changes of Task status, used by TaskStore to keep its status index up to date.
+	 */
+	public interface StatusListener {
+
+		/**
+		 * Called after status of the Task was changed.
+		 *
+		 * @param task Task with changed status
+		 * @param oldStatus Previous status of the Task
+		 */
+		void statusChanged(Task task, TaskStatus oldStatus);
+	}
+
 	private int id;
 	private int delay;
 	private int recurrence;
@@ -36,9 +50,10 @@ public class Task implements Serializable {
 	private Service service;
 	private Facility facility;
 	private List<Destination> destinations;
-	private TaskStatus status;
+	private volatile TaskStatus status;
 	private boolean sourceUpdated;
 	private boolean propagationForced;
+	private transient volatile StatusListener statusListener;
 
 	@Override
 	public int hashCode() {
@@ -296,7 +311,21 @@ public class Task implements Serializable {
 	}
 
 	public synchronized void setStatus(TaskStatus status) {
+		TaskStatus oldStatus = this.status;
 		this.status = status;
+		if (statusListener != null && oldStatus != status) {
+			statusListener.statusChanged(this, oldStatus);
+		}
+	}
+
+	/**
+	 * Set listener notified about status changes. Task can have only one listener,
+	 * which is the TaskStore it is stored in.
+	 *
+	 * @param statusListener Listener or null to remove it
+	 */
+	public void setStatusListener(StatusListener statusListener) {
+		this.statusListener = statusListener;
 	}
 
 	public String getBeanName(){
@@ -9,6 +9,7 @@ import cz.metacentrum.perun.core.api.exceptions.ExtendMembershipException;
 import cz.metacentrum.perun.core.api.exceptions.GroupExistsException;
 import cz.metacentrum.perun.core.api.exceptions.GroupNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.GroupResourceMismatchException;
+import cz.metacentrum.perun.core.api.exceptions.IllegalArgumentException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.InvalidLoginException;
 import cz.metacentrum.perun.core.api.exceptions.InvalidSponsoredUserDataException;
@@ -550,6 +551,26 @@ public interface MembersManager {
 	 */
 	List<RichMember> getCompleteRichMembers(PerunSession sess, Vo vo, List<String> attrsNames) throws PrivilegeException, VoNotExistsException, AttributeNotExistsException;
 
+	/**
+	 * Get one page of RichMembers with attributes specific for list of attrsNames from the vo.
+	 * Members are filtered, sorted and paginated according to the query.
+	 * If attrsNames is empty or null return all attributes for specific richMembers.
+	 * Only user and member attributes are supported.
+	 *
+	 * @param sess
+	 * @param vo
+	 * @param query query with page size, offset, sorting and filters
+	 * @param attrsNames
+	 * @return page of richMembers with specific attributes from Vo
+	 * @throws InternalErrorException
+	 * @throws PrivilegeException
+	 * @throws VoNotExistsException
+	 * @throws GroupNotExistsException if group from the query does not exist
+	 * @throws AttributeNotExistsException
+	 * @throws IllegalArgumentException if paging is not valid, status is unknown or group is not from the vo
+	 */
+	Paginated<RichMember> getMembersPage(PerunSession sess, Vo vo, MembersPageQuery query, List<String> attrsNames) throws PrivilegeException, VoNotExistsException, GroupNotExistsException, AttributeNotExistsException, IllegalArgumentException;
+
 	/**
 	 * Get all RichMembers with attrs specific for list of attrsNames from the vo and have only
 	 * status which is contain in list of statuses.
@@ -4,6 +4,7 @@ import cz.metacentrum.perun.core.api.exceptions.AnonymizationNotSupportedExcepti
 import cz.metacentrum.perun.core.api.exceptions.AttributeNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.ExtSourceNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.FacilityNotExistsException;
+import cz.metacentrum.perun.core.api.exceptions.IllegalArgumentException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.InvalidLoginException;
 import cz.metacentrum.perun.core.api.exceptions.LoginExistsException;
@@ -1020,6 +1021,21 @@ public interface UsersManager {
 	List<RichUser> findRichUsersWithAttributes(PerunSession sess, String searchString, List<String> attrNames)
 		throws UserNotExistsException, PrivilegeException;
 
+	/**
+	 * Returns one page of RichUsers with attributes. Users are filtered by the search string
+	 * (name or id of the user), sorted and paginated according to the query.
+	 * If attrNames is empty or null return all attributes for specific richUsers.
+	 *
+	 * @param sess
+	 * @param query query with page size, offset, sorting and search string
+	 * @param attrNames
+	 * @return page of RichUsers with selected attributes
+	 * @throws InternalErrorException
+	 * @throws PrivilegeException
+	 * @throws IllegalArgumentException if paging is not valid
+	 */
+	Paginated<RichUser> getUsersPage(PerunSession sess, UsersPageQuery query, List<String> attrNames) throws PrivilegeException, IllegalArgumentException;
+
 	/**
 	 * Returns list of RichUsers with attributes who matches the searchString, searching name, email, logins.
 	 * Name part is searched for exact match.
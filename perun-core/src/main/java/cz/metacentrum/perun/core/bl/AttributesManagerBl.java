@@ -417,6 +417,56 @@ public interface AttributesManagerBl {
 	 */
 	List<Attribute> getAttributes(PerunSession sess, User user, List<String> attrNames);
 
+	/**
+	 * Get all <b>non-empty</b> attributes associated with each member in the list.
+	 * Works as {@link #getAttributes(PerunSession, Member)}, but attributes of all members are loaded at once.
+	 *
+	 * @param sess perun session
+	 * @param members to get the attributes from
+	 * @return map of member and his list of attributes, every member from the list is present
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	Map<Member, List<Attribute>> getMembersAttributes(PerunSession sess, List<Member> members);
+
+	/**
+	 * Get all attributes associated with each member in the list which have name in list attrNames (empty and virtual too).
+	 * Works as {@link #getAttributes(PerunSession, Member, List)}, but attributes of all members are loaded at once.
+	 *
+	 * @param sess perun session
+	 * @param members to get the attributes from
+	 * @param attrNames list of attributes' names
+	 * @return map of member and his list of attributes, every member from the list is present
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	Map<Member, List<Attribute>> getMembersAttributes(PerunSession sess, List<Member> members, List<String> attrNames);
+
+	/**
+	 * Get all <b>non-empty</b> attributes associated with each user in the list.
+	 * Works as {@link #getAttributes(PerunSession, User)}, but attributes of all users are loaded at once.
+	 *
+	 * @param sess perun session
+	 * @param users to get the attributes from
+	 * @return map of user and his list of attributes, every user from the list is present
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	Map<User, List<Attribute>> getUsersAttributes(PerunSession sess, List<User> users);
+
+	/**
+	 * Get all attributes associated with each user in the list which have name in list attrNames (empty and virtual too).
+	 * Works as {@link #getAttributes(PerunSession, User, List)}, but attributes of all users are loaded at once.
+	 *
+	 * @param sess perun session
+	 * @param users to get the attributes from
+	 * @param attrNames list of attributes' names
+	 * @return map of user and his list of attributes, every user from the list is present
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	Map<User, List<Attribute>> getUsersAttributes(PerunSession sess, List<User> users, List<String> attrNames);
+
 	/**
 	 * Get all attributes associated with the UserExtSource which have name in list attrNames (empty and virtual too).
 	 *
@@ -1456,6 +1506,26 @@ public interface AttributesManagerBl {
 	 */
 	void setRequiredAttributes(PerunSession sess, Facility facility, Resource resource, User user, Member member) throws WrongAttributeAssignmentException, WrongReferenceAttributeValueException, AttributeNotExistsException, WrongAttributeValueException, MemberResourceMismatchException;
 
+	/**
+	 * Get and set required attribute for members, resource, their users and facility.
+	 *
+	 * Works like {@link #setRequiredAttributes(PerunSession, Facility, Resource, User, Member)} called for each of the members,
+	 * but required attributes of all members are read by one query per service and attribute namespace.
+	 * Attributes are filled, set and checked for each member separately.
+	 *
+	 * @param sess
+	 * @param facility
+	 * @param resource
+	 * @param members
+	 * @throws InternalErrorException
+	 * @throws WrongAttributeAssignmentException
+	 * @throws WrongReferenceAttributeValueException
+	 * @throws AttributeNotExistsException
+	 * @throws WrongAttributeValueException
+	 * @throws MemberResourceMismatchException
+	 */
+	void setRequiredAttributes(PerunSession sess, Facility facility, Resource resource, List<Member> members) throws WrongAttributeAssignmentException, WrongReferenceAttributeValueException, AttributeNotExistsException, WrongAttributeValueException, MemberResourceMismatchException;
+
 	/**
 	 * Get and set required attribute for member, resource, user, facility and specific service.
 	 *
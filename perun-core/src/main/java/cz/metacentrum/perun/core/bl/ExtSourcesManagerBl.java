@@ -207,6 +207,20 @@ public interface ExtSourcesManagerBl {
 	 */
 	CandidateSync getCandidate(PerunSession perunSession, ExtSource source, String login) throws CandidateNotExistsException, ExtSourceUnsupportedOperationException;
 
+	/**
+	 * Get the candidates from the ExtSource.
+	 * Logins of the candidates will be used to gain data from the ExtSource, data of more candidates
+	 * are gained at once if the ExtSource supports it.
+	 *
+	 * @param perunSession Perun session
+	 * @param source External source which will be used to get data about the candidates
+	 * @param logins Logins of the candidates
+	 * @return map of logins to Candidate objects, logins of not existing candidates are missing
+	 * @throws InternalErrorException
+	 * @throws ExtSourceUnsupportedOperationException
+	 */
+	Map<String, CandidateSync> getCandidates(PerunSession perunSession, ExtSource source, List<String> logins) throws ExtSourceUnsupportedOperationException;
+
 	/**
 	 * Get the candidate from subjectData where at least login must exists.
 	 *
@@ -1,6 +1,8 @@
 package cz.metacentrum.perun.core.bl;
 
 import cz.metacentrum.perun.core.api.Attribute;
+import cz.metacentrum.perun.core.api.AttributeDefinition;
+import cz.metacentrum.perun.core.api.Candidate;
 import cz.metacentrum.perun.core.api.ExtSource;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
@@ -966,6 +968,56 @@ public interface GroupsManagerBl {
 	 */
 	List<String> synchronizeGroup(PerunSession sess, Group group) throws AttributeNotExistsException, WrongAttributeAssignmentException, ExtSourceNotExistsException, GroupNotExistsException;
 
+	/**
+	 * Update existing members of the synchronized group from candidates in bulk.
+	 *
+	 * Existence of the members and their attributes are read for all members at once,
+	 * only changed values are stored for every member.
+	 *
+	 * IMPORTANT: This method runs in nested transaction, so all members of the chunk are updated or none of them.
+	 *
+	 * @param sess perun session
+	 * @param group to be synchronized
+	 * @param membersToUpdate candidates with equivalent members from the group
+	 * @param overwriteUserAttributesList list of user attributes to be updated instead of merged
+	 * @param mergeMemberAttributesList list of member attributes to be merged instead of updated
+	 * @param attrDefs list of attribute definitions to update from candidates, if empty the list is filled in process
+	 * @return list of attribute definitions to update from candidates, to be used for next members
+	 * @throws AttributeNotExistsException if some attributes not exists and for this reason can't be updated
+	 * @throws WrongAttributeAssignmentException if some attribute is updated in bad way (bad assignment)
+	 */
+	List<AttributeDefinition> updateExistingMembersInBulkWhileSynchronization(PerunSession sess, Group group, Map<Candidate, RichMember> membersToUpdate, List<String> overwriteUserAttributesList, List<String> mergeMemberAttributesList, List<AttributeDefinition> attrDefs) throws AttributeNotExistsException, WrongAttributeAssignmentException;
+
+	/**
+	 * Add members found or created for the candidates to the synchronized group in bulk.
+	 *
+	 * Records of the members are added by one batch, then the new members are propagated to the result groups
+	 * and validated one by one. Members are not added to the members group.
+	 *
+	 * IMPORTANT: This method runs in nested transaction, so the records, the audit messages and the propagation
+	 * of the members are committed together.
+	 *
+	 * @param sess perun session
+	 * @param group to be synchronized
+	 * @param members members of the group's Vo to be added
+	 */
+	void addMissingMembersInBulkWhileSynchronization(PerunSession sess, Group group, List<Member> members);
+
+	/**
+	 * Remove former members from regular not authoritative group in bulk (if they are not listed in ExtSource).
+	 *
+	 * Records of the members are removed by one batch, consequences of the removal are processed for each member.
+	 * Members of members group or authoritative group must be removed one by one, since they can be removed also from the Vo.
+	 *
+	 * IMPORTANT: This method runs in nested transaction, so the records stay in the group,
+	 * if processing of the removal of some of the members fails.
+	 *
+	 * @param sess perun session
+	 * @param group to be synchronized
+	 * @param membersToRemove members to be removed from the group
+	 */
+	void removeFormerMembersInBulkWhileSynchronization(PerunSession sess, Group group, List<RichMember> membersToRemove);
+
 	/**
 	 * Synchronize the group with external group. It checks if the synchronization of the same group is already in progress.
 	 *
@@ -1713,6 +1765,17 @@ public interface GroupsManagerBl {
 	 */
 	void recalculateMemberGroupStatusRecursively(PerunSession sess, Member member, Group group);
 
+	/**
+	 * Calculates the states of given members in given group and in all groups
+	 * affected by the group through relations. Affected groups are resolved
+	 * once for all members and states are saved by batches.
+	 *
+	 * @param members members
+	 * @param group group
+	 * @throws InternalErrorException internal error
+	 */
+	void recalculateMembersGroupStatusRecursively(PerunSession sess, List<Member> members, Group group);
+
 	/**
 	 * Extend member membership in given group using membershipExpirationRules attribute defined in Group.
 	 *
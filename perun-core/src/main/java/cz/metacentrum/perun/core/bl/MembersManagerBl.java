@@ -7,7 +7,9 @@ import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Member;
 import cz.metacentrum.perun.core.api.MemberGroupStatus;
+import cz.metacentrum.perun.core.api.MembersPageQuery;
 import cz.metacentrum.perun.core.api.NamespaceRules;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.RichMember;
@@ -26,6 +28,7 @@ import cz.metacentrum.perun.core.api.exceptions.AttributeNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.ExtSourceNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.ExtendMembershipException;
 import cz.metacentrum.perun.core.api.exceptions.GroupResourceMismatchException;
+import cz.metacentrum.perun.core.api.exceptions.IllegalArgumentException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.InvalidLoginException;
 import cz.metacentrum.perun.core.api.exceptions.InvalidSponsoredUserDataException;
@@ -616,6 +619,23 @@ public interface MembersManagerBl {
 	 */
 	List<RichMember> getCompleteRichMembers(PerunSession sess, Vo vo, List<String> attrsNames) throws AttributeNotExistsException;
 
+	/**
+	 * Get one page of RichMembers with attributes specific for list of attrsNames from the vo.
+	 * Members are filtered, sorted and paginated according to the query.
+	 * If attrsNames is empty or null return all attributes for specific richMembers.
+	 * Only user and member attributes are supported.
+	 *
+	 * @param sess
+	 * @param vo
+	 * @param query query with page size, offset, sorting and filters
+	 * @param attrsNames
+	 * @return page of richMembers with specific attributes from Vo
+	 * @throws InternalErrorException
+	 * @throws AttributeNotExistsException
+	 * @throws IllegalArgumentException if the query contains unknown member status
+	 */
+	Paginated<RichMember> getMembersPage(PerunSession sess, Vo vo, MembersPageQuery query, List<String> attrsNames) throws AttributeNotExistsException, IllegalArgumentException;
+
 	/**
 	 * Get all RichMembers with attributes specific for list of attrsNames from the vo and have only
 	 * status which is contain in list of statuses.
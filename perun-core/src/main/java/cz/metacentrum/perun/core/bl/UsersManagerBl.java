@@ -9,6 +9,7 @@ import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Host;
 import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.PerunPrincipal;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
@@ -18,6 +19,7 @@ import cz.metacentrum.perun.core.api.RichUserExtSource;
 import cz.metacentrum.perun.core.api.SpecificUserType;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.UserExtSource;
+import cz.metacentrum.perun.core.api.UsersPageQuery;
 import cz.metacentrum.perun.core.api.Vo;
 import cz.metacentrum.perun.core.api.exceptions.AlreadyReservedLoginException;
 import cz.metacentrum.perun.core.api.exceptions.AnonymizationNotSupportedException;
@@ -1206,6 +1208,19 @@ public interface UsersManagerBl {
 	 */
 	List<RichUser> findRichUsersWithAttributes(PerunSession sess, String searchString, List<String> attrNames) throws UserNotExistsException;
 
+	/**
+	 * Returns one page of RichUsers with attributes. Users are filtered by the search string
+	 * (name or id of the user), sorted and paginated according to the query.
+	 * If attrNames is empty or null return all attributes for specific richUsers.
+	 *
+	 * @param sess
+	 * @param query query with page size, offset, sorting and search string
+	 * @param attrNames
+	 * @return page of RichUsers with selected attributes
+	 * @throws InternalErrorException
+	 */
+	Paginated<RichUser> getUsersPage(PerunSession sess, UsersPageQuery query, List<String> attrNames);
+
 	/**
 	 * Returns list of RichUsers with selected attributes who matches the searchString, searching name, email, logins.
 	 * Name part is searched for exact match.
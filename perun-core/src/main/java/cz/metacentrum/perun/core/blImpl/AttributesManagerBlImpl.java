@@ -91,6 +91,7 @@ import cz.metacentrum.perun.core.api.exceptions.WrongAttributeValueException;
 import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
 import cz.metacentrum.perun.core.bl.AttributesManagerBl;
 import cz.metacentrum.perun.core.bl.PerunBl;
+import cz.metacentrum.perun.core.impl.AttributeDependencyGraph;
 import cz.metacentrum.perun.core.impl.AttributesManagerImpl;
 import cz.metacentrum.perun.core.impl.Utils;
 import cz.metacentrum.perun.core.impl.modules.attributes.urn_perun_entityless_attribute_def_def_namespace_GIDRanges;
@@ -105,16 +106,16 @@ import cz.metacentrum.perun.core.implApi.modules.attributes.SkipValueCheckDuring
 import cz.metacentrum.perun.core.implApi.modules.attributes.UserVirtualAttributesModuleImplApi;
 import cz.metacentrum.perun.core.implApi.modules.attributes.VirtualAttributesModuleImplApi;
 import cz.metacentrum.perun.utils.graphs.Graph;
-import cz.metacentrum.perun.utils.graphs.GraphEdge;
 import cz.metacentrum.perun.utils.graphs.GraphTextFormat;
 import cz.metacentrum.perun.utils.graphs.Node;
-import cz.metacentrum.perun.utils.graphs.generators.GraphDefinition;
 import cz.metacentrum.perun.utils.graphs.generators.ModuleDependencyNodeGenerator;
 import cz.metacentrum.perun.utils.graphs.generators.NoDuplicatedEdgesGraphGenerator;
 import cz.metacentrum.perun.utils.graphs.generators.NodeGenerator;
 import cz.metacentrum.perun.utils.graphs.serializers.GraphSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -130,7 +131,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_ENTITYLESS_ATTR;
 import static cz.metacentrum.perun.core.api.AttributesManager.NS_FACILITY_ATTR;
@@ -158,12 +160,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private final AttributesManagerImplApi attributesManagerImpl;
 	private PerunBl perunBl;
 
-	//Attributes dependencies. Attr => dependent attributes (and inverse version)
-	private Map<AttributeDefinition, Set<AttributeDefinition>> dependencies = new ConcurrentHashMap<>();
-	private Map<AttributeDefinition, Set<AttributeDefinition>> strongDependencies = new ConcurrentHashMap<>();
-	private Map<AttributeDefinition, Set<AttributeDefinition>> inverseDependencies = new ConcurrentHashMap<>();
-	private Map<AttributeDefinition, Set<AttributeDefinition>> inverseStrongDependencies = new ConcurrentHashMap<>();
-	private Map<AttributeDefinition, Set<AttributeDefinition>> allDependencies = new ConcurrentHashMap<>();
+	//Attributes dependencies, the graph is replaced as a whole when it is changed
+	private volatile AttributeDependencyGraph dependencyGraph = AttributeDependencyGraph.empty();
 
 	private final Object dependenciesMonitor = new Object();
 
@@ -635,6 +633,50 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		return getAttributesManagerImpl().getAttributes(sess, user, attrNames);
 	}
 
+	@Override
+	public Map<Member, List<Attribute>> getMembersAttributes(PerunSession sess, List<Member> members) {
+		if (members.isEmpty()) return new HashMap<>();
+		Map<Member, List<Attribute>> attributes = getAttributesManagerImpl().getMembersAttributes(sess, members);
+		for (Member member : members) {
+			List<Attribute> memberAttributes = attributes.computeIfAbsent(member, m -> new ArrayList<>());
+			//filter out virtual attributes with null value
+			memberAttributes.removeIf(attribute -> attribute.getValue() == null && getAttributesManagerImpl().isVirtAttribute(sess, attribute));
+		}
+		return attributes;
+	}
+
+	@Override
+	public Map<Member, List<Attribute>> getMembersAttributes(PerunSession sess, List<Member> members, List<String> attrNames) {
+		if (members.isEmpty()) return new HashMap<>();
+		Map<Member, List<Attribute>> attributes = attrNames.isEmpty() ? new HashMap<>() : getAttributesManagerImpl().getMembersAttributes(sess, members, attrNames);
+		for (Member member : members) {
+			attributes.computeIfAbsent(member, m -> new ArrayList<>());
+		}
+		return attributes;
+	}
+
+	@Override
+	public Map<User, List<Attribute>> getUsersAttributes(PerunSession sess, List<User> users) {
+		if (users.isEmpty()) return new HashMap<>();
+		Map<User, List<Attribute>> attributes = getAttributesManagerImpl().getUsersAttributes(sess, users);
+		for (User user : users) {
+			List<Attribute> userAttributes = attributes.computeIfAbsent(user, u -> new ArrayList<>());
+			//filter out virtual attributes with null value
+			userAttributes.removeIf(attribute -> attribute.getValue() == null && getAttributesManagerImpl().isVirtAttribute(sess, attribute));
+		}
+		return attributes;
+	}
+
+	@Override
+	public Map<User, List<Attribute>> getUsersAttributes(PerunSession sess, List<User> users, List<String> attrNames) {
+		if (users.isEmpty()) return new HashMap<>();
+		Map<User, List<Attribute>> attributes = attrNames.isEmpty() ? new HashMap<>() : getAttributesManagerImpl().getUsersAttributes(sess, users, attrNames);
+		for (User user : users) {
+			attributes.computeIfAbsent(user, u -> new ArrayList<>());
+		}
+		return attributes;
+	}
+
 	@Override
 	public List<Attribute> getAttributes(PerunSession sess, Host host) {
 		//get virtual attributes
@@ -724,6 +766,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -742,13 +786,15 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 				if (isVirtAttribute(sess, attribute)) {
 					throw new InternalErrorException("Virtual attribute can't be set this way yet. Please set physical attribute.");
 				} else {
-					setAttributeWithoutCheck(sess, facility, attribute);
+					if (setAttributeWithoutCheck(sess, facility, attribute)) {
+						changedAttributes.add(attribute);
+					}
 				}
 			}
 		}
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, facility, attributesToSet);
-		checkAttributesDependencies(sess, facility, attributesToSet);
+		checkAttributesDependencies(sess, facility, changedAttributes);
 	}
 
 	@Override
@@ -756,6 +802,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -774,13 +822,15 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 				if (isVirtAttribute(sess, attribute)) {
 					throw new InternalErrorException("Virtual attribute can't be set this way yet. Please set physical attribute.");
 				} else {
-					setAttributeWithoutCheck(sess, vo, attribute);
+					if (setAttributeWithoutCheck(sess, vo, attribute)) {
+						changedAttributes.add(attribute);
+					}
 				}
 			}
 		}
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, vo, attributesToSet);
-		checkAttributesDependencies(sess, vo, attributesToSet);
+		checkAttributesDependencies(sess, vo, changedAttributes);
 	}
 
 	@Override
@@ -788,6 +838,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -803,12 +855,14 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		for (Attribute attribute : attributesToSet) {
 			//skip core attributes
 			if (!getAttributesManagerImpl().isCoreAttribute(sess, attribute)) {
-				setAttributeWithoutCheck(sess, group, attribute);
+				if (setAttributeWithoutCheck(sess, group, attribute)) {
+					changedAttributes.add(attribute);
+				}
 			}
 		}
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, group, attributesToSet);
-		checkAttributesDependencies(sess, group, attributesToSet);
+		checkAttributesDependencies(sess, group, changedAttributes);
 	}
 
 	@Override
@@ -816,6 +870,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -831,12 +887,14 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		for (Attribute attribute : attributesToSet) {
 			//skip core attributes
 			if (!getAttributesManagerImpl().isCoreAttribute(sess, attribute)) {
-				setAttributeWithoutCheck(sess, resource, attribute);
+				if (setAttributeWithoutCheck(sess, resource, attribute)) {
+					changedAttributes.add(attribute);
+				}
 			}
 		}
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, resource, attributesToSet);
-		checkAttributesDependencies(sess, resource, attributesToSet);
+		checkAttributesDependencies(sess, resource, changedAttributes);
 	}
 
 	@Override
@@ -1075,6 +1133,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -1093,14 +1153,16 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 				if (isVirtAttribute(sess, attribute)) {
 					throw new InternalErrorException("Virtual attribute can't be set this way yet. Please set physical attribute.");
 				} else {
-					setAttributeWithoutCheck(sess, member, attribute);
+					if (setAttributeWithoutCheck(sess, member, attribute)) {
+						changedAttributes.add(attribute);
+					}
 				}
 			}
 		}
 
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, member, attributesToSet);
-		checkAttributesDependencies(sess, member, attributesToSet);
+		checkAttributesDependencies(sess, member, changedAttributes);
 	}
 
 	@Override
@@ -1108,6 +1170,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -1123,13 +1187,15 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		for (Attribute attribute : attributesToSet) {
 			//skip core attributes
 			if (!getAttributesManagerImpl().isCoreAttribute(sess, attribute)) {
-				setAttributeWithoutCheck(sess, facility, user, attribute);
+				if (setAttributeWithoutCheck(sess, facility, user, attribute)) {
+					changedAttributes.add(attribute);
+				}
 			}
 		}
 
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, facility, user, attributesToSet);
-		checkAttributesDependencies(sess, facility, user, attributesToSet);
+		checkAttributesDependencies(sess, facility, user, changedAttributes);
 	}
 
 	@Override
@@ -1137,6 +1203,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -1155,14 +1223,16 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 				if (isVirtAttribute(sess, attribute)) {
 					throw new InternalErrorException("Virtual attribute can't be set this way yet. Please set physical attribute.");
 				} else {
-					setAttributeWithoutCheck(sess, user, attribute);
+					if (setAttributeWithoutCheck(sess, user, attribute)) {
+						changedAttributes.add(attribute);
+					}
 				}
 			}
 		}
 
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, user, attributesToSet);
-		checkAttributesDependencies(sess, user, attributesToSet);
+		checkAttributesDependencies(sess, user, changedAttributes);
 	}
 
 	@Override
@@ -1170,6 +1240,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -1187,14 +1259,16 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 				if (isVirtAttribute(sess, attribute)) {
 					throw new InternalErrorException("Virtual attribute can't be set this way yet. Please set physical attribute.");
 				} else {
-					setAttributeWithoutCheck(sess, host, attribute);
+					if (setAttributeWithoutCheck(sess, host, attribute)) {
+						changedAttributes.add(attribute);
+					}
 				}
 			}
 		}
 
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, host, attributesToSet);
-		checkAttributesDependencies(sess, host, attributesToSet);
+		checkAttributesDependencies(sess, host, changedAttributes);
 	}
 
 	@Override
@@ -1202,6 +1276,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -1216,12 +1292,14 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		//fist we have to store attributes into DB because checkAttributesSemantics can be preformed only on stored attributes.
 		for (Attribute attribute : attributesToSet) {
 			if (!getAttributesManagerImpl().isCoreAttribute(sess, attribute)) {
-				setAttributeWithoutCheck(sess, resource, group, attribute);
+				if (setAttributeWithoutCheck(sess, resource, group, attribute)) {
+					changedAttributes.add(attribute);
+				}
 			}
 		}
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, resource, group, attributesToSet);
-		checkAttributesDependencies(sess, resource, group, attributesToSet);
+		checkAttributesDependencies(sess, resource, group, changedAttributes);
 	}
 
 	@Override
@@ -1268,6 +1346,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		// classification of attributes to attributes to remove and attributes to set
 		List<Attribute> attributesToRemove = new ArrayList<>();
 		List<Attribute> attributesToSet = new ArrayList<>();
+		// only changed attributes can break the attributes depending on them
+		List<Attribute> changedAttributes = new ArrayList<>();
 		convertEmptyAttrValueToNull(attributes);
 		for (Attribute attribute : attributes) {
 			if (attribute.getValue() == null) {
@@ -1286,14 +1366,16 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 				if (isVirtAttribute(sess, attribute)) {
 					throw new InternalErrorException("Virtual attribute can't be set this way yet. Please set physical attribute.");
 				} else {
-					setAttributeWithoutCheck(sess, ues, attribute);
+					if (setAttributeWithoutCheck(sess, ues, attribute)) {
+						changedAttributes.add(attribute);
+					}
 				}
 			}
 		}
 
 		//if checkAttributesSemantics fails it causes rollback so no attribute will be stored
 		checkAttributesSemantics(sess, ues, attributesToSet);
-		checkAttributesDependencies(sess, ues, attributesToSet);
+		checkAttributesDependencies(sess, ues, changedAttributes);
 	}
 
 	private void setCoreAttributeWithoutCheck(PerunSession sess, Member member, Attribute attribute) throws WrongAttributeValueException, WrongReferenceAttributeValueException {
@@ -1819,6 +1901,52 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		setRequiredAttributes(sess, facility, resource, user, member, false);
 	}
 
+	@Override
+	public void setRequiredAttributes(PerunSession sess, Facility facility, Resource resource, List<Member> members) throws WrongAttributeAssignmentException, WrongReferenceAttributeValueException, WrongAttributeValueException, AttributeNotExistsException, MemberResourceMismatchException {
+		if (members.isEmpty()) return;
+		for (Member member : members) {
+			this.checkMemberIsFromTheSameVoLikeResource(sess, member, resource);
+		}
+
+		Map<Integer, User> users = getPerunBl().getUsersManagerBl().getUsersByIds(sess, members.stream().map(Member::getUserId).distinct().collect(Collectors.toList()))
+				.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+		List<User> usersList = new ArrayList<>(users.values());
+
+		//get all required attributes (for members, resource, facility and users) with values, services can require the same attributes
+		Map<Integer, Map<String, Attribute>> memberResourceAttributes = new HashMap<>();
+		Map<Integer, Map<String, Attribute>> userFacilityAttributes = new HashMap<>();
+		Map<Integer, Map<String, Attribute>> userAttributes = new HashMap<>();
+		Map<Integer, Map<String, Attribute>> memberAttributes = new HashMap<>();
+		for (Service service : getPerunBl().getResourcesManagerBl().getAssignedServices(sess, resource)) {
+			getRequiredAttributes(sess, service, resource, members).forEach((member, attributes) -> addRequiredAttributes(memberResourceAttributes, member.getId(), attributes));
+			getRequiredAttributes(sess, service, facility, usersList).forEach((user, attributes) -> addRequiredAttributes(userFacilityAttributes, user.getId(), attributes));
+			getRequiredAttributes(sess, service, usersList).forEach((user, attributes) -> addRequiredAttributes(userAttributes, user.getId(), attributes));
+			getRequiredAttributes(sess, resource, service, members).forEach((member, attributes) -> addRequiredAttributes(memberAttributes, member.getId(), attributes));
+		}
+
+		for (Member member : members) {
+			List<Attribute> attributes = new ArrayList<>(memberResourceAttributes.getOrDefault(member.getId(), Collections.emptyMap()).values());
+			attributes.addAll(userFacilityAttributes.getOrDefault(member.getUserId(), Collections.emptyMap()).values());
+			attributes.addAll(userAttributes.getOrDefault(member.getUserId(), Collections.emptyMap()).values());
+			attributes.addAll(memberAttributes.getOrDefault(member.getId(), Collections.emptyMap()).values());
+			setRequiredAttributes(sess, facility, resource, users.get(member.getUserId()), member, attributes, false);
+		}
+	}
+
+	/**
+	 * Add required attributes of the entity to the map of attributes by entity id, each attribute is added only once.
+	 *
+	 * @param attributesByEntity attributes of entities by their ids
+	 * @param entityId id of the entity
+	 * @param attributes required attributes of the entity
+	 */
+	private static void addRequiredAttributes(Map<Integer, Map<String, Attribute>> attributesByEntity, int entityId, List<Attribute> attributes) {
+		Map<String, Attribute> entityAttributes = attributesByEntity.computeIfAbsent(entityId, id -> new LinkedHashMap<>());
+		for (Attribute attribute : attributes) {
+			entityAttributes.putIfAbsent(attribute.getName(), attribute);
+		}
+	}
+
 	@Override
 	public void setRequiredAttributes(PerunSession sess, Service service, Facility facility, Resource resource, User user, Member member) throws WrongAttributeAssignmentException, WrongReferenceAttributeValueException, AttributeNotExistsException, WrongAttributeValueException, MemberResourceMismatchException {
 		setRequiredAttributes(sess, service, facility, resource, user, member, false);
@@ -2463,7 +2591,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	}
 
 	/**
-	 * For given attribute finds its dependencies and adds them to the all maps containing any dependencies.
+	 * For given attribute finds its dependencies and adds them to the graph of dependencies.
 	 *
 	 * @param sess session
 	 * @param attribute attribute
@@ -2477,21 +2605,11 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 			AttributesModuleImplApi module = (AttributesModuleImplApi) getAttributesManagerImpl().getAttributesModule(sess, attributeDef);
 
 			if (module == null) {
-				dependencies.put(attributeDef, new HashSet<>());
-				strongDependencies.put(attributeDef, new HashSet<>());
-				inverseDependencies.put(attributeDef, new HashSet<>());
-				inverseStrongDependencies.put(attributeDef, new HashSet<>());
-				allDependencies.put(attributeDef, new HashSet<>());
+				dependencyGraph = dependencyGraph.withDefinition(attributeDef, Collections.emptySet(), Collections.emptySet());
+				removeDependenciesOnRollback(attributeDef);
 				return;
 			}
 
-			// we need to create deep copies to prevent a creation of inconsistency state of dependencies if anything goes wrong
-			Map<AttributeDefinition, Set<AttributeDefinition>> dependenciesCopy = Utils.createDeepCopyOfMapWithSets(dependencies);
-			Map<AttributeDefinition, Set<AttributeDefinition>> strongDependenciesCopy = Utils.createDeepCopyOfMapWithSets(strongDependencies);
-			Map<AttributeDefinition, Set<AttributeDefinition>> inverseDependenciesCopy = Utils.createDeepCopyOfMapWithSets(inverseDependencies);
-			Map<AttributeDefinition, Set<AttributeDefinition>> inverseStrongDependenciesCopy = Utils.createDeepCopyOfMapWithSets(inverseStrongDependencies);
-			Map<AttributeDefinition, Set<AttributeDefinition>> allDependenciesCopy = Utils.createDeepCopyOfMapWithSets(allDependencies);
-
 			Set<AttributeDefinition> moduleDependencies = getDependenciesForModule(sess, module);
 			Set<AttributeDefinition> moduleStrongDependencies = new HashSet<>();
 
@@ -2499,29 +2617,37 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 				moduleStrongDependencies = getStrongDependenciesForModule(sess, (VirtualAttributesModuleImplApi) module);
 			}
 
-			dependenciesCopy.put(attributeDef, moduleDependencies);
-			strongDependenciesCopy.put(attributeDef, moduleStrongDependencies);
-
-			updateInverseDependenciesForAttribute(inverseDependenciesCopy, attributeDef, dependenciesCopy);
-			updateInverseDependenciesForAttribute(inverseStrongDependenciesCopy, attributeDef, strongDependenciesCopy);
+			// the graph is immutable, so the current one stays consistent if anything goes wrong
+			AttributeDependencyGraph updatedGraph = dependencyGraph.withDefinition(attributeDef, moduleDependencies, moduleStrongDependencies);
 
-			if (isMapOfAttributesDefCyclic(inverseStrongDependenciesCopy)) {
+			if (updatedGraph.isCyclic()) {
 				throw new InternalErrorException("There is a cycle in strong dependencies after adding new attribute definition: " + attributeDef.getNamespace());
 			}
 
-			Set<AttributeDefinition> allAttributeDependencies =
-					findAllAttributeDependencies(attributeDef, inverseDependenciesCopy, inverseStrongDependenciesCopy);
-			allDependenciesCopy.put(attributeDef, allAttributeDependencies);
-
-			// if all went well, switch dependencies maps
-			dependencies = dependenciesCopy;
-			strongDependencies = strongDependenciesCopy;
-			inverseDependencies = inverseDependenciesCopy;
-			inverseStrongDependencies = inverseStrongDependenciesCopy;
-			allDependencies = allDependenciesCopy;
+			dependencyGraph = updatedGraph;
+			removeDependenciesOnRollback(attributeDef);
 		}
 	}
 
+	/**
+	 * Remove the created attribute definition from the graph of dependencies, if the current transaction is rolled back.
+	 * Otherwise the definition would be reported as a dependency of other attributes, although it doesn't exist.
+	 *
+	 * @param attributeDef created attribute definition
+	 */
+	private void removeDependenciesOnRollback(AttributeDefinition attributeDef) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status == STATUS_COMMITTED) return;
+				synchronized (dependenciesMonitor) {
+					dependencyGraph = dependencyGraph.withoutDefinition(attributeDef);
+				}
+			}
+		});
+	}
+
 	private boolean isCorrectNameSpace(String value) {
 		for (String entityType : AttributesManager.ENTITY_TYPES) {
 			if (value.matches("urn:perun:" + entityType + ":attribute-def:(def|opt|virt|core)")) {
@@ -2544,29 +2670,10 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		//Remove attribute dependencies
 		AttributeDefinition attributeDef = new AttributeDefinition(attribute);
 		synchronized (dependenciesMonitor) {
-
-			removeOppositeDependenciesForAttribute(attributeDef);
-
-			if (dependencies.containsKey(attributeDef)) {
-				dependencies.remove(attributeDef);
-			} else {
+			if (!dependencyGraph.contains(attributeDef)) {
 				log.warn("Dependencies inconsistency. Dependencies should contain information about {}. ", attributeDef);
 			}
-			if (strongDependencies.containsKey(attributeDef)) {
-				strongDependencies.remove(attributeDef);
-			} else {
-				log.warn("Strong dependencies inconsistency. Strong dependencies should contain information about {}. ", attributeDef);
-			}
-			if (inverseDependencies.containsKey(attributeDef)) {
-				inverseDependencies.remove(attributeDef);
-			} else {
-				log.warn("Inverse dependencies inconsistency. Inverse dependencies should contain information about {}. ", attributeDef);
-			}
-			if (inverseStrongDependencies.containsKey(attributeDef)) {
-				inverseStrongDependencies.remove(attributeDef);
-			} else {
-				log.warn("Inverse strong dependencies inconsistency. Inverse strong dependencies should contain information about {}. ", attributeDef);
-			}
+			dependencyGraph = dependencyGraph.withoutDefinition(attributeDef);
 		}
 
 		// try to remove and unregister attribute module
@@ -2577,77 +2684,6 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		}
 	}
 
-	/**
-	 * This method for given attribute A removes from dependencies all relations of type
-	 * B => A (B depends on A) where B is any other attribute. If it finds any inconsistency
-	 * in dependencies data, it logs information about it.
-	 *
-	 * @param attribute attribute which dependency relations are removed
-	 */
-	private void removeOppositeDependenciesForAttribute(AttributeDefinition attribute) {
-		Set<AttributeDefinition> attributeDeps = dependencies.get(attribute);
-		Set<AttributeDefinition> attributeInverseDeps = inverseDependencies.get(attribute);
-		Set<AttributeDefinition> attributeStrongDeps = strongDependencies.get(attribute);
-		Set<AttributeDefinition> attributeInverseStrongDeps = inverseStrongDependencies.get(attribute);
-
-		if (attributeInverseDeps != null)  {
-			attributeInverseDeps.forEach(attr -> {
-				if (dependencies.containsKey(attr)) {
-					if (!dependencies.get(attr).remove(attribute)) {
-						log.warn("Dependencies inconsistency. Attribute {} should have dependency on attribute {}.", attr, attribute);
-					}
-				} else {
-					log.warn("Dependencies inconsistency. Dependencies should contain information about {}.", attr);
-				}
-			});
-		} else {
-			log.error("Inverse dependencies for '{}' were NULL instead of at least (non)empty Set. Attribute was present as key: {}", attribute.getName(), inverseDependencies.containsKey(attribute));
-		}
-		if (attributeStrongDeps != null) {
-			attributeStrongDeps.forEach(attr -> {
-				if (inverseStrongDependencies.containsKey(attr)) {
-					if (!inverseStrongDependencies.get(attr).remove(attribute)) {
-						log.warn("Inverse strong dependencies inconsistency. Attribute {} should have inverse strong dependency on attribute {}.", attr, attribute);
-					}
-				} else {
-					log.warn("Inverse strong dependencies inconsistency. Inverse strong dependencies inconsistency should contain information about {}.", attr);
-				}
-			});
-		} else {
-			log.error("Strong dependencies for '{}' were NULL instead of at least (non)empty Set. Attribute was present as key: {}", attribute.getName(), strongDependencies.containsKey(attribute));
-		}
-		if (attributeInverseStrongDeps != null) {
-			attributeInverseStrongDeps.forEach(attr -> {
-				if (strongDependencies.containsKey(attr)) {
-					if (!strongDependencies.get(attr).remove(attribute)) {
-						log.warn("Strong dependencies inconsistency. Attribute {} should have strong dependency on attribute {}.", attr, attribute);
-					}
-				} else {
-					log.warn("Strong dependencies inconsistency. Strong dependencies should have contained information about {}.", attr);
-				}
-			});
-		} else {
-			log.error("Inverse strong dependencies for '{}' were NULL instead of at least (non)empty Set. Attribute was present as key: {}", attribute.getName(), inverseStrongDependencies.containsKey(attribute));
-		}
-		if (attributeDeps != null) {
-			attributeDeps.forEach(attr -> {
-				if (inverseDependencies.containsKey(attr)) {
-					if (!inverseDependencies.get(attr).remove(attribute)) {
-						log.warn("Inverse dependencies inconsistency. Attribute {} should have inverse dependency on attribute {}.", attr, attribute);
-					}
-				} else {
-					log.warn("Inverse dependencies inconsistency. Inverse dependencies should have contained information about {}.", attr);
-				}
-			});
-		} else {
-			log.error("Dependencies for '{}' were NULL instead of at least (non)empty Set. Attribute was present as key: {}", attribute.getName(), dependencies.containsKey(attribute));
-		}
-
-		// there is no inverse version of all dependencies so we have to walk through all
-		allDependencies.remove(attribute);
-		allDependencies.values().forEach(attributes -> attributes.remove(attribute));
-	}
-
 	@Override
 	public void deleteAllAttributeAuthz(PerunSession sess, AttributeDefinition attribute) {
 		getPerunBl().getAuditer().log(sess,new AttributeAuthzDeleted(attribute));
@@ -5981,6 +6017,8 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 
 		// this is a unique set of all attributes with values and holders we will check at once
 		Set<RichAttribute> richAttributesToCheck = new HashSet<>();
+		// dependant attributes depend only on the definition and holders, so they are resolved once for each such pair
+		Set<List<Object>> resolvedDependencies = new HashSet<>();
 
 		// now actually get all those dependant attributes with values and holders
 		for (RichAttribute richAttr : richAttrs) {
@@ -5988,6 +6026,9 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 			Set<AttributeDefinition> dependencies = getAllDependencies().get(new AttributeDefinition(richAttr.getAttribute()));
 			if (dependencies != null && !dependencies.isEmpty()) {
 				for (AttributeDefinition dependency : dependencies) {
+					if (!resolvedDependencies.add(Arrays.asList(dependency, richAttr.getPrimaryHolder(), richAttr.getSecondaryHolder()))) {
+						continue;
+					}
 					if (attributesManagerImpl.isVirtAttribute(sess, dependency)) {
 						AttributesModuleImplApi module = (AttributesModuleImplApi) attributesManagerImpl.getAttributesModule(sess, dependency);
 						if (module.getClass().isAnnotationPresent(SkipValueCheckDuringDependencyCheck.class)) {
@@ -7910,24 +7951,17 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	/**
 	 * Initialize data for module dependencies.
 	 *
-	 * This method populates all dependencies maps with data from given attribute definitions.
+	 * This method creates the graph of dependencies from given attribute definitions.
 	 * Also, this method verifies that there is no cycle in strong dependencies. If there is a cycle,
-	 * it logs an error message and doesn't populate the allDependencies map.
+	 * it logs an error message and all dependencies of the graph stay empty.
 	 *
 	 * @param sess session
 	 * @param definitions attribute definitions
 	 * @throws InternalErrorException internal error
 	 */
 	private void initializeModuleDependencies(PerunSession sess, Set<AttributeDefinition> definitions) {
-
-		//Basic state of all maps (record for every existing attributeDefinitions)
-		for (AttributeDefinition ad : definitions) {
-			dependencies.put(ad, new HashSet<>());
-			strongDependencies.put(ad, new HashSet<>());
-			inverseDependencies.put(ad, new HashSet<>());
-			inverseStrongDependencies.put(ad, new HashSet<>());
-			allDependencies.put(ad, new HashSet<>());
-		}
+		Map<AttributeDefinition, Set<AttributeDefinition>> dependencies = new HashMap<>();
+		Map<AttributeDefinition, Set<AttributeDefinition>> strongDependencies = new HashMap<>();
 
 		log.debug("Dependencies and StrongDependencies filling started.");
 
@@ -7956,110 +7990,19 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 
 		log.debug("Dependencies and StrongDependencies was filled successfully.");
 
-		log.debug("InverseDependencies and InverseStrongDependencies filling started.");
-
-		//First create inversion map for simple dependencies
-		inverseDependencies = generateInverseDependencies(dependencies);
-
-		//Second create inversion map for strong dependencies
-		inverseStrongDependencies = generateInverseDependencies(strongDependencies);
-
-		log.debug("InverseDependencies and InverseStrongDependencies was filled successfully.");
-
-		log.debug("Cycle test of InverseStrongDependencies started.");
-		//Test StrDepInveMap on cycles
+		AttributeDependencyGraph graph = AttributeDependencyGraph.of(dependencies, strongDependencies);
 
-		if (isMapOfAttributesDefCyclic(inverseStrongDependencies)) {
-			log.error("There is cycle in inverseStrongDependencies so map of All attribute will be not created!");
+		if (graph.isCyclic()) {
+			log.error("There is cycle in strong dependencies so map of All attribute will be not created!");
 		} else {
-			log.debug("Cycle test of InverseStrongDependencies was successfull.");
-			log.debug("Filling map of allDependencies started.");
-
-			for (AttributeDefinition key : allDependencies.keySet()) {
-				Set<AttributeDefinition> dependenciesOfAttribute = findAllAttributeDependencies(key,
-						inverseDependencies, inverseStrongDependencies);
-
-				allDependencies.put(key, dependenciesOfAttribute);
-			}
-
-			log.debug("Map of allDependencies was filled successfully.");
-		}
-	}
-
-	/**
-	 * Finds all attributes that depend on given attribute definition.
-	 * ATTENTION: before using this method, make sure there is no cycle in given dependencies.
-	 *
-	 * @param key attribute definition
-	 * @param inverseDependencies inverse dependencies
-	 * @param inverseStrongDependencies inverse strong dependencies
-	 * @return Set of all attribute definitions that depend on given attribute definition
-	 */
-	private Set<AttributeDefinition> findAllAttributeDependencies(AttributeDefinition key,
-	                                                              Map<AttributeDefinition, Set<AttributeDefinition>> inverseDependencies,
-	                                                              Map<AttributeDefinition, Set<AttributeDefinition>> inverseStrongDependencies) {
-
-		Set<AttributeDefinition> dependenciesOfAttribute = new HashSet<>();
-
-		dependenciesOfAttribute.addAll(inverseStrongDependencies.get(key));
-		dependenciesOfAttribute.addAll(inverseDependencies.get(key));
-		List<AttributeDefinition> stackingAttributes = new ArrayList<>(inverseStrongDependencies.get(key));
-		while (!stackingAttributes.isEmpty()) {
-			AttributeDefinition firstAttr = stackingAttributes.get(0);
-			stackingAttributes.remove(firstAttr);
-			dependenciesOfAttribute.addAll(inverseStrongDependencies.get(firstAttr));
-			dependenciesOfAttribute.addAll(inverseDependencies.get(firstAttr));
-			stackingAttributes.addAll(inverseStrongDependencies.get(firstAttr));
-		}
-
-		return dependenciesOfAttribute;
-	}
-
-	/**
-	 * Generates inverse dependencies from given dependencies.
-	 *
-	 * @param dependencies input dependencies
-	 */
-	private Map<AttributeDefinition, Set<AttributeDefinition>> generateInverseDependencies(Map<AttributeDefinition,
-			Set<AttributeDefinition>> dependencies) {
-
-		Map<AttributeDefinition, Set<AttributeDefinition>> inverseDependencies = new HashMap<>();
-		dependencies.keySet().forEach(attr -> inverseDependencies.put(attr, new HashSet<>()));
-
-		Set<AttributeDefinition> depSet = dependencies.keySet();
-		depSet.forEach(ad -> updateInverseDependenciesForAttribute(inverseDependencies, ad, dependencies));
-
-		return inverseDependencies;
-	}
-
-	/**
-	 * Into given inverse dependencies adds data about inverse dependencies for
-	 * given AttributeDefinition. The inverse dependencies are calculated from
-	 * given normal dependencies.
-	 *
-	 * @param attributeDefinition attribute definition
-	 * @param dependencies input dependencies
-	 * @param inverseDependencies inverse dependencies that will be updated
-	 */
-	private void updateInverseDependenciesForAttribute(Map<AttributeDefinition, Set<AttributeDefinition>> inverseDependencies,
-	                                                   AttributeDefinition attributeDefinition,
-	                                                   Map<AttributeDefinition, Set<AttributeDefinition>> dependencies) {
-
-		if (!inverseDependencies.containsKey(attributeDefinition)) {
-			inverseDependencies.put(attributeDefinition, new HashSet<>());
+			log.debug("Graph of attribute dependencies with {} definitions was created successfully.", graph.size());
 		}
 
-		Set<AttributeDefinition> keySet;
-		keySet = dependencies.get(attributeDefinition);
-
-		for (AttributeDefinition keySetItem : keySet) {
-			Set<AttributeDefinition> changeSet;
-			changeSet = inverseDependencies.get(keySetItem);
-			changeSet.add(attributeDefinition);
+		synchronized (dependenciesMonitor) {
+			dependencyGraph = graph;
 		}
 	}
 
-
 	/**
 	 * Finds all attribute definitions that the given module depends on.
 	 *
@@ -8126,39 +8069,6 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		return strongDepSet;
 	}
 
-	/**
-	 * This method try to find cycle between strongDependencies of Attributes modules.
-	 * If exist at least 1 cycle, return true.
-	 * If there is no cycle, return false.
-	 *
-	 * @return true if cycle exist, false if cycle not exist
-	 */
-	private static boolean isMapOfAttributesDefCyclic(Map<AttributeDefinition, Set<AttributeDefinition>> map) {
-		Set<AttributeDefinition> processed = new HashSet<>();
-		Set<AttributeDefinition> unprocessed = new HashSet<>();
-		List<AttributeDefinition> stack = new ArrayList<>();
-
-		for (AttributeDefinition attributeDef : map.keySet()) {
-			stack.add(attributeDef);
-			while (!stack.isEmpty()) {
-				AttributeDefinition firstInStack = stack.get(0);
-				if (map.get(firstInStack).contains(attributeDef)) {
-					log.error("Cycle exist for " + attributeDef);
-					return true;
-				}
-				processed.add(firstInStack);
-				unprocessed.addAll(map.get(firstInStack));
-				unprocessed.removeAll(processed);
-				stack.remove(firstInStack);
-				for (AttributeDefinition unprocessedAttr : unprocessed) {
-					if (!stack.contains(unprocessedAttr)) stack.add(unprocessedAttr);
-				}
-				unprocessed.clear();
-			}
-		}
-		return false;
-	}
-
 	@Override
 	public List<Attribute> setWritableTrue(PerunSession sess, List<Attribute> attributes) {
 		List<Attribute> emptyList = new ArrayList<>();
@@ -8308,16 +8218,12 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	}
 
 	private Graph getAttributeModulesDependenciesGraph(PerunSession session, NodeGenerator<AttributeDefinition> nodeGenerator) {
-		GraphDefinition<AttributeDefinition> graphDefinition = new GraphDefinition<AttributeDefinition>()
-				.addEntitiesData(strongDependencies).withEdgeType(GraphEdge.Type.BOLD)
-				.addEntitiesData(dependencies).withEdgeType(GraphEdge.Type.DASHED);
-
-		return new NoDuplicatedEdgesGraphGenerator<AttributeDefinition>().generate(nodeGenerator, graphDefinition);
+		return new NoDuplicatedEdgesGraphGenerator<AttributeDefinition>().generate(nodeGenerator, dependencyGraph.toGraphDefinition());
 	}
 
 	@Override
 	public Map<AttributeDefinition, Set<AttributeDefinition>> getAllDependencies() {
-		return allDependencies;
+		return dependencyGraph.getDependants();
 	}
 
 	// ------------ PRIVATE METHODS FOR ATTRIBUTE DEPENDENCIES LOGIC --------------
@@ -8598,9 +8504,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getUserAttributes(PerunSession sess, Group group, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<Member> members = getPerunBl().getGroupsManagerBl().getGroupMembers(sess, group);
-		for (Member memberElement : members) {
-			listOfRichAttributes.addAll(getUserAttributes(sess, memberElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getUserAttributesOfMembersInBulk(sess, members, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
@@ -8618,9 +8522,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getUserAttributes(PerunSession sess, Resource resource, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<User> usersFromResource = getPerunBl().getResourcesManagerBl().getAllowedUsers(sess, resource);
-		for (User userElement : usersFromResource) {
-			listOfRichAttributes.addAll(getUserAttributes(sess, userElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getUserAttributesInBulk(sess, usersFromResource, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
@@ -8638,9 +8540,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getUserAttributes(PerunSession sess, Vo vo, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<Member> members = getPerunBl().getMembersManagerBl().getMembers(sess, vo);
-		for (Member memberElement : members) {
-			listOfRichAttributes.addAll(getUserAttributes(sess, memberElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getUserAttributesOfMembersInBulk(sess, members, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
@@ -8658,9 +8558,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getUserAttributes(PerunSession sess, Facility facility, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<User> usersFromFacility = getPerunBl().getFacilitiesManagerBl().getAllowedUsers(sess, facility);
-		for (User userElement : usersFromFacility) {
-			listOfRichAttributes.addAll(getUserAttributes(sess, userElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getUserAttributesInBulk(sess, usersFromFacility, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
@@ -8732,13 +8630,50 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getUserAttributes(PerunSession sess, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<User> allUsers = getPerunBl().getUsersManagerBl().getUsers(sess);
-		for (User userElement : allUsers) {
-			listOfRichAttributes.addAll(getUserAttributes(sess, userElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getUserAttributesInBulk(sess, allUsers, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
 
+	/**
+	 * Returns User RichAttributes for all given users. Values of all users are loaded at once.
+	 *
+	 * @param sess    session
+	 * @param users   users
+	 * @param attrDef type of attribute that will be returned
+	 * @return List of RichAttributes
+	 */
+	private List<RichAttribute> getUserAttributesInBulk(PerunSession sess, List<User> users, AttributeDefinition attrDef) {
+		List<User> distinctUsers = users.stream().distinct().collect(Collectors.toList());
+		Map<User, List<Attribute>> attributes = getUsersAttributes(sess, distinctUsers, Collections.singletonList(attrDef.getName()));
+		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
+		for (User userElement : distinctUsers) {
+			for (Attribute attribute : attributes.get(userElement)) {
+				listOfRichAttributes.add(new RichAttribute<>(userElement, null, attribute));
+			}
+		}
+		return listOfRichAttributes;
+	}
+
+	/**
+	 * Returns User RichAttributes for users of all given members which are allowed.
+	 * Values of all users are loaded at once.
+	 *
+	 * @param sess    session
+	 * @param members members
+	 * @param attrDef type of attribute that will be returned
+	 * @return List of RichAttributes
+	 */
+	private List<RichAttribute> getUserAttributesOfMembersInBulk(PerunSession sess, List<Member> members, AttributeDefinition attrDef) {
+		List<Integer> userIds = members.stream()
+				.filter(memberElement -> getPerunBl().getMembersManagerBl().isMemberAllowed(sess, memberElement))
+				.map(Member::getUserId)
+				.distinct()
+				.collect(Collectors.toList());
+		if (userIds.isEmpty()) return new ArrayList<>();
+		return getUserAttributesInBulk(sess, getPerunBl().getUsersManagerBl().getUsersByIds(sess, userIds), attrDef);
+	}
+
 	// --------------------------------MEMBER--------------------------------------
 
 	/**
@@ -8754,13 +8689,35 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getMemberAttributes(PerunSession sess, User user, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<Member> membersFromUser = getPerunBl().getMembersManagerBl().getMembersByUser(sess, user);
-		for (Member memberElement : membersFromUser) {
-			listOfRichAttributes.addAll(getMemberAttributes(sess, memberElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getMemberAttributesInBulk(sess, membersFromUser, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
 
+	/**
+	 * Returns Member RichAttributes for all given members which are allowed.
+	 * Values of all members are loaded at once.
+	 *
+	 * @param sess    session
+	 * @param members members
+	 * @param attrDef type of attribute that will be returned
+	 * @return List of RichAttributes
+	 */
+	private List<RichAttribute> getMemberAttributesInBulk(PerunSession sess, List<Member> members, AttributeDefinition attrDef) {
+		List<Member> allowedMembers = members.stream()
+				.distinct()
+				.filter(memberElement -> getPerunBl().getMembersManagerBl().isMemberAllowed(sess, memberElement))
+				.collect(Collectors.toList());
+		Map<Member, List<Attribute>> attributes = getMembersAttributes(sess, allowedMembers, Collections.singletonList(attrDef.getName()));
+		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
+		for (Member memberElement : allowedMembers) {
+			for (Attribute attribute : attributes.get(memberElement)) {
+				listOfRichAttributes.add(new RichAttribute<>(memberElement, null, attribute));
+			}
+		}
+		return listOfRichAttributes;
+	}
+
 	/**
 	 * Returns all relevant Member RichAttributes for given member.
 	 * Checks if given member is allowed. If so, returns its attribute.
@@ -8794,9 +8751,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getMemberAttributes(PerunSession sess, Group group, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<Member> membersFromGroup = getPerunBl().getGroupsManagerBl().getGroupMembers(sess, group);
-		for (Member memberElement : membersFromGroup) {
-			listOfRichAttributes.addAll(getMemberAttributes(sess, memberElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getMemberAttributesInBulk(sess, membersFromGroup, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
@@ -8815,9 +8770,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getMemberAttributes(PerunSession sess, Resource resource, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<Member> membersFromResource = getPerunBl().getResourcesManagerBl().getAllowedMembers(sess, resource);
-		for (Member memberElement : membersFromResource) {
-			listOfRichAttributes.addAll(getMemberAttributes(sess, memberElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getMemberAttributesInBulk(sess, membersFromResource, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
@@ -8835,9 +8788,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getMemberAttributes(PerunSession sess, Vo vo, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<Member> membersFromVo = getPerunBl().getMembersManagerBl().getMembers(sess, vo);
-		for (Member memberElement : membersFromVo) {
-			listOfRichAttributes.addAll(getMemberAttributes(sess, memberElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getMemberAttributesInBulk(sess, membersFromVo, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
@@ -8855,9 +8806,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 	private List<RichAttribute> getMemberAttributes(PerunSession sess, Facility facility, AttributeDefinition attrDef) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		List<RichAttribute> listOfRichAttributes = new ArrayList<>();
 		List<Member> membersFromFacility = getPerunBl().getFacilitiesManagerBl().getAllowedMembers(sess, facility);
-		for (Member memberElement : membersFromFacility) {
-			listOfRichAttributes.addAll(getMemberAttributes(sess, memberElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getMemberAttributesInBulk(sess, membersFromFacility, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
@@ -8917,9 +8866,7 @@ public class AttributesManagerBlImpl implements AttributesManagerBl {
 		List<Member> membersFromFacility = getPerunBl().getFacilitiesManagerBl().getAllowedMembers(sess, facility);
 		membersFromUser.retainAll(membersFromFacility);
 		membersFromUser = new ArrayList<>(new HashSet<>(membersFromUser));
-		for (Member memberElement : membersFromUser) {
-			listOfRichAttributes.addAll(getMemberAttributes(sess, memberElement, attrDef));
-		}
+		listOfRichAttributes.addAll(getMemberAttributesInBulk(sess, membersFromUser, attrDef));
 		listOfRichAttributes = new ArrayList<>(new HashSet<>(listOfRichAttributes));
 		return listOfRichAttributes;
 	}
@@ -78,6 +78,43 @@ public class AuditMessagesManagerBlImpl implements AuditMessagesManagerBl {
 		return getAuditMessagesManagerImpl().pollConsumerEvents(perunSession, consumerName, lastProcessedId);
 	}
 
+	@Override
+	public List<AuditMessage> pollConsumerMessages(PerunSession perunSession, String consumerName, int lastProcessedId, int maxCount) {
+		return getAuditMessagesManagerImpl().pollConsumerMessages(perunSession, consumerName, lastProcessedId, maxCount);
+	}
+
+	@Override
+	public List<AuditMessage> pollConsumerMessagesBatch(PerunSession perunSession, String consumerName, int maxCount) {
+		return getAuditMessagesManagerImpl().pollConsumerMessagesBatch(perunSession, consumerName, maxCount);
+	}
+
+	@Override
+	public List<AuditEvent> pollConsumerEventsBatch(PerunSession perunSession, String consumerName, int maxCount) {
+		return getAuditMessagesManagerImpl().pollConsumerEventsBatch(perunSession, consumerName, maxCount);
+	}
+
+	@Override
+	public List<AuditEvent> waitForConsumerEvents(PerunSession perunSession, String consumerName, int maxCount, long timeout) throws InterruptedException {
+		long storedBatchesCount = getAuditer().getStoredBatchesCount();
+		List<AuditEvent> events = getAuditMessagesManagerImpl().pollConsumerEventsBatch(perunSession, consumerName, maxCount);
+		if (events.isEmpty()) {
+			getAuditer().waitForNewMessages(storedBatchesCount, timeout);
+			events = getAuditMessagesManagerImpl().pollConsumerEventsBatch(perunSession, consumerName, maxCount);
+		}
+		return events;
+	}
+
+	@Override
+	public List<AuditMessage> waitForConsumerMessages(PerunSession perunSession, String consumerName, int lastProcessedId, int maxCount, long timeout) throws InterruptedException {
+		long storedBatchesCount = getAuditer().getStoredBatchesCount();
+		List<AuditMessage> messages = getAuditMessagesManagerImpl().pollConsumerMessages(perunSession, consumerName, lastProcessedId, maxCount);
+		if (messages.isEmpty()) {
+			getAuditer().waitForNewMessages(storedBatchesCount, timeout);
+			messages = getAuditMessagesManagerImpl().pollConsumerMessages(perunSession, consumerName, lastProcessedId, maxCount);
+		}
+		return messages;
+	}
+
 	@Override
 	public void createAuditerConsumer(PerunSession perunSession, String consumerName) {
 		getAuditMessagesManagerImpl().createAuditerConsumer(perunSession, consumerName);
@@ -108,4 +145,9 @@ public class AuditMessagesManagerBlImpl implements AuditMessagesManagerBl {
 		return getAuditMessagesManagerImpl().getAuditerMessagesCount(perunSession);
 	}
 
+	@Override
+	public Map<String, Long> getCacheStatistics(PerunSession perunSession) {
+		return getAuditMessagesManagerImpl().getCacheStatistics(perunSession);
+	}
+
 }
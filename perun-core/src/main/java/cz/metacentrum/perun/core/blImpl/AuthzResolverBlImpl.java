@@ -59,6 +59,7 @@ import cz.metacentrum.perun.core.bl.UsersManagerBl;
 import cz.metacentrum.perun.core.bl.VosManagerBl;
 import cz.metacentrum.perun.core.impl.AuthzResolverImpl;
 import cz.metacentrum.perun.core.impl.AuthzRoles;
+import cz.metacentrum.perun.core.impl.AuthzRolesCache;
 import cz.metacentrum.perun.core.impl.Utils;
 import cz.metacentrum.perun.core.implApi.AuthzResolverImplApi;
 import cz.metacentrum.perun.registrar.model.Application;
@@ -88,6 +89,8 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 	private static AuthzResolverImplApi authzResolverImpl;
 	private static PerunBl perunBl;
 	private final static Set<String> extSourcesWithMultipleIdentifiers = BeansUtils.getCoreConfig().getExtSourcesMultipleIdentifiers();
+	// disabled until the configured cache is set
+	private static AuthzRolesCache userRolesCache = new AuthzRolesCache(0, 0);
 	private final static String groupObjectType = "Group";
 	private final static String userObjectType = "User";
 
@@ -111,10 +114,8 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 			return false;
 		}
 
-		List<PerunPolicy> allPolicies = AuthzResolverImpl.fetchPolicyWithAllIncludedPolicies(policyDefinition);
-
-		List<Map<String, String>> policyRoles = new ArrayList<>();
-		for (PerunPolicy policy : allPolicies) policyRoles.addAll(policy.getPerunRoles());
+		// roles of the policy and all its included policies are compiled when policies are loaded
+		List<Map<String, String>> policyRoles = AuthzResolverImpl.fetchPolicyRoles(policyDefinition);
 
 		//Fetch super objects like Vo for group etc.
 		Map <String, Set<Integer>> mapOfBeans = fetchAllRelatedObjects(objects);
@@ -1192,6 +1193,7 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 	public static void addSpecificUserOwner(PerunSession sess, User specificUser, User owner) throws AlreadyAdminException {
 		if (owner != null && specificUser != null) authzResolverImpl.addAdmin(sess, specificUser, owner);
 		else throw new InternalErrorException("Specific user and its owner cannot be null while adding specific user owner.");
+		userRolesCache.invalidate(owner.getId());
 	}
 
 	/**
@@ -1205,6 +1207,7 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 	public static void removeSpecificUserOwner(PerunSession sess, User specificUser, User owner) throws UserNotAdminException {
 		if (owner != null && specificUser != null) authzResolverImpl.removeAdmin(sess, specificUser, owner);
 		else throw new InternalErrorException("Specific user and its owner cannot be null while removing specific user owner.");
+		userRolesCache.invalidate(owner.getId());
 	}
 
 	/**
@@ -1589,11 +1592,19 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 	 * <p>
 	 * Fill in proper roles and their relative entities (vos, groups, ....).
 	 * User itself or ext source data is NOT updated.
+	 * <p>
+	 * Only refreshes of the same principal are serialized, sessions of different principals are refreshed concurrently.
 	 *
 	 * @param sess perun session to refresh authz for
 	 */
-	public static synchronized void refreshAuthz(PerunSession sess) {
+	public static void refreshAuthz(PerunSession sess) {
 		Utils.checkPerunSession(sess);
+		synchronized (sess.getPerunPrincipal()) {
+			refreshAuthzOfPrincipal(sess);
+		}
+	}
+
+	private static void refreshAuthzOfPrincipal(PerunSession sess) {
 		log.trace("Refreshing authz roles for session {}.", sess);
 
 		//set empty set of roles
@@ -1608,19 +1619,9 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 			if (user == null) {
 				roles = new AuthzRoles();
 			} else {
-				// Load all user's roles with all possible subgroups
-				roles = addAllSubgroupsToAuthzRoles(sess, authzResolverImpl.getRoles(user), Role.GROUPADMIN);
-				roles = addAllSubgroupsToAuthzRoles(sess, roles, Role.GROUPOBSERVER);
-				// Add self role for the user
-				roles.putAuthzRole(Role.SELF, user);
-				// Add service user role
-				if (user.isServiceUser()) {
-					roles.putAuthzRole(Role.SERVICEUSER);
-				}
+				roles = getUserRolesWithSubgroups(sess, user);
 			}
 
-			setAdditionalRoles(sess, roles);
-
 			sess.getPerunPrincipal().setRoles(roles);
 		}
 
@@ -1643,6 +1644,41 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 		sess.getPerunPrincipal().setAuthzInitialized(true);
 	}
 
+	/**
+	 * Get all roles of the principal user with all subgroups of managed groups, self role and additional roles.
+	 * Roles are taken from the cache, if present. Loaded roles are cached only if the current transaction
+	 * has not changed any data yet, so the cache never contains uncommitted roles.
+	 *
+	 * @param sess perun session
+	 * @param user principal user
+	 * @return roles of the user
+	 */
+	private static AuthzRoles getUserRolesWithSubgroups(PerunSession sess, User user) {
+		AuthzRoles roles = userRolesCache.get(user.getId());
+		if (roles != null) {
+			log.trace("Using cached roles of user {}.", user.getId());
+			return roles;
+		}
+		long generation = userRolesCache.getGeneration();
+
+		// Load all user's roles with all possible subgroups
+		roles = addAllSubgroupsToAuthzRoles(sess, authzResolverImpl.getRoles(user), Role.GROUPADMIN);
+		roles = addAllSubgroupsToAuthzRoles(sess, roles, Role.GROUPOBSERVER);
+		// Add self role for the user
+		roles.putAuthzRole(Role.SELF, user);
+		// Add service user role
+		if (user.isServiceUser()) {
+			roles.putAuthzRole(Role.SERVICEUSER);
+		}
+
+		setAdditionalRoles(sess, roles);
+
+		if (userRolesCache.isEnabled() && !getPerunBl().getAuditer().hasPendingMessages()) {
+			userRolesCache.put(user.getId(), roles, generation);
+		}
+		return roles;
+	}
+
 	/**
 	 * Set additional roles that are not explicitly saved in DB. If the principal
 	 * user is null, nothing is set.
@@ -1670,21 +1706,23 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 	 *
 	 * @param sess Perun session to refresh data for
 	 */
-	public static synchronized void refreshSession(PerunSession sess) {
+	public static void refreshSession(PerunSession sess) {
 		Utils.checkPerunSession(sess);
 		log.trace("Refreshing session data for session {}.", sess);
 
 		PerunPrincipal principal = sess.getPerunPrincipal();
 
-		try {
-			User user = getPerunBl().getUsersManagerBl().getUserByExtSourceInformation(sess, principal);
-			sess.getPerunPrincipal().setUser(user);
-		} catch (Exception ex) {
-			// we don't care that user was not found - clear it from session
-			sess.getPerunPrincipal().setUser(null);
-		}
+		synchronized (principal) {
+			try {
+				User user = getPerunBl().getUsersManagerBl().getUserByExtSourceInformation(sess, principal);
+				sess.getPerunPrincipal().setUser(user);
+			} catch (Exception ex) {
+				// we don't care that user was not found - clear it from session
+				sess.getPerunPrincipal().setUser(null);
+			}
 
-		AuthzResolverBlImpl.refreshAuthz(sess);
+			AuthzResolverBlImpl.refreshAuthz(sess);
+		}
 
 	}
 
@@ -1785,18 +1823,22 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 
 	public static void addAdmin(PerunSession sess, SecurityTeam securityTeam, User user) throws AlreadyAdminException {
 		authzResolverImpl.addAdmin(sess, securityTeam, user);
+		userRolesCache.invalidate(user.getId());
 	}
 
 	public static void addAdmin(PerunSession sess, SecurityTeam securityTeam, Group group) throws AlreadyAdminException {
 		authzResolverImpl.addAdmin(sess, securityTeam, group);
+		userRolesCache.clear();
 	}
 
 	public static void removeAdmin(PerunSession sess, SecurityTeam securityTeam, User user) throws UserNotAdminException {
 		authzResolverImpl.removeAdmin(sess, securityTeam, user);
+		userRolesCache.invalidate(user.getId());
 	}
 
 	public static void removeAdmin(PerunSession sess, SecurityTeam securityTeam, Group group) throws GroupNotAdminException {
 		authzResolverImpl.removeAdmin(sess, securityTeam, group);
+		userRolesCache.clear();
 	}
 
 	public static boolean roleExists(String role) {
@@ -1838,6 +1880,11 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 	}
 
 	//Filled by Spring
+	public static AuthzRolesCache setUserRolesCache(AuthzRolesCache userRolesCache) {
+		AuthzResolverBlImpl.userRolesCache = userRolesCache;
+		return userRolesCache;
+	}
+
 	public static PerunBl setPerunBl(PerunBl perunBl) {
 		AuthzResolverBlImpl.perunBl = perunBl;
 		return perunBl;
@@ -2167,6 +2214,15 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 			return Collections.singletonList(object);
 		});
 
+		// lookup by name without exceptions thrown by valueOf() for beans without related objects
+		private static final Map<String, RelatedObjectsResolver> RESOLVERS_BY_NAME = new HashMap<>();
+
+		static {
+			for (RelatedObjectsResolver resolver : values()) {
+				RESOLVERS_BY_NAME.put(resolver.name(), resolver);
+			}
+		}
+
 		private Function<PerunBean, List<PerunBean>> function;
 
 		RelatedObjectsResolver(final Function<PerunBean, List<PerunBean>> function) {
@@ -2180,11 +2236,7 @@ public class AuthzResolverBlImpl implements AuthzResolverBl {
 		 * @return RelatedObjectsResolver value.
 		 */
 		public static RelatedObjectsResolver getValue(String name) {
-			try {
-				return RelatedObjectsResolver.valueOf(name);
-			} catch (IllegalArgumentException ex) {
-				return RelatedObjectsResolver.Default;
-			}
+			return RESOLVERS_BY_NAME.getOrDefault(name, RelatedObjectsResolver.Default);
 		}
 
 		@Override
@@ -225,6 +225,19 @@ public class ExtSourcesManagerBlImpl implements ExtSourcesManagerBl {
 		return this.getCandidate(sess, subject, source, login);
 	}
 
+	@Override
+	public Map<String, CandidateSync> getCandidates(PerunSession sess, ExtSource source, List<String> logins) throws ExtSourceUnsupportedOperationException {
+		// Get the subjects from the extSource
+		Map<String, Map<String, String>> subjects = ((ExtSourceSimpleApi) source).getSubjectsByLogins(logins);
+
+		Map<String, CandidateSync> candidates = new HashMap<>();
+		for (Map.Entry<String, Map<String, String>> subject : subjects.entrySet()) {
+			candidates.put(subject.getKey(), this.getCandidate(sess, subject.getValue(), source, subject.getKey()));
+		}
+
+		return candidates;
+	}
+
 	@Override
 	public CandidateSync getCandidate(PerunSession perunSession, Map<String,String> subjectData, ExtSource source, String login) {
 		if(login == null || login.isEmpty()) throw new InternalErrorException("Login can't be empty or null.");
@@ -1,6 +1,7 @@
 package cz.metacentrum.perun.core.blImpl;
 
 import com.google.common.collect.ImmutableSet;
+import cz.metacentrum.perun.audit.events.AuditEvent;
 import cz.metacentrum.perun.audit.events.GroupManagerEvents.DirectMemberAddedToGroup;
 import cz.metacentrum.perun.audit.events.GroupManagerEvents.DirectMemberRemovedFromGroup;
 import cz.metacentrum.perun.audit.events.GroupManagerEvents.GroupCreatedAsSubgroup;
@@ -26,6 +27,7 @@ import cz.metacentrum.perun.core.api.AttributesManager;
 import cz.metacentrum.perun.core.api.AuthzResolver;
 import cz.metacentrum.perun.core.api.BeansUtils;
 import cz.metacentrum.perun.core.api.Candidate;
+import cz.metacentrum.perun.core.api.CandidateSync;
 import cz.metacentrum.perun.core.api.CandidateGroup;
 import cz.metacentrum.perun.core.api.ContactGroup;
 import cz.metacentrum.perun.core.api.ExtSource;
@@ -108,7 +110,7 @@ import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueExce
 import cz.metacentrum.perun.core.bl.GroupsManagerBl;
 import cz.metacentrum.perun.core.bl.PerunBl;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
-import cz.metacentrum.perun.core.impl.SynchronizationPool;
+import cz.metacentrum.perun.core.impl.SynchronizationScheduler;
 import cz.metacentrum.perun.core.impl.Utils;
 import cz.metacentrum.perun.core.implApi.ExtSourceApi;
 import cz.metacentrum.perun.core.implApi.ExtSourceSimpleApi;
@@ -125,16 +127,19 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -142,9 +147,11 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static cz.metacentrum.perun.core.impl.PerunLocksUtils.lockGroupMembership;
 import static java.util.Collections.reverseOrder;
@@ -165,18 +172,15 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 	private final GroupsManagerImplApi groupsManagerImpl;
 	private PerunBl perunBl;
-	private final Integer maxConcurentGroupsToSynchronize;
-	private final ArrayList<GroupSynchronizerThread> groupSynchronizerThreads;
-	private final ArrayList<GroupStructureSynchronizerThread> groupStructureSynchronizerThreads;
 	private static final String A_G_D_AUTHORITATIVE_GROUP = AttributesManager.NS_GROUP_ATTR_DEF + ":authoritativeGroup";
 	private static final String A_G_D_EXPIRATION_RULES = AttributesManager.NS_GROUP_ATTR_DEF + ":groupMembershipExpirationRules";
 	private static final String A_G_D_GROUP_STRUCTURE_RESOURCES = AttributesManager.NS_GROUP_ATTR_DEF + ":groupStructureResources";
 	private static final String A_MG_D_MEMBERSHIP_EXPIRATION = AttributesManager.NS_MEMBER_GROUP_ATTR_DEF + ":groupMembershipExpiration";
 	private static final String A_U_V_LOA = AttributesManager.NS_USER_ATTR_VIRT + ":loa";
+	private static final int REQUIRED_ATTRIBUTES_BATCH_SIZE = 1000;
 	private static final List<Status> statusesAffectedBySynchronization = Arrays.asList(Status.DISABLED, Status.EXPIRED, Status.INVALID);
 
-	private final Integer maxConcurrentGroupsStructuresToSynchronize;
-	private final SynchronizationPool poolOfSynchronizations;
+	private final SynchronizationScheduler synchronizationScheduler;
 
 	public static final String GROUP_LOGIN = "login";
 	public static final String PARENT_GROUP_LOGIN = "parentGroupLogin";
@@ -196,12 +200,10 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 */
 	public GroupsManagerBlImpl(GroupsManagerImplApi groupsManagerImpl) {
 		this.groupsManagerImpl = groupsManagerImpl;
-		this.groupSynchronizerThreads = new ArrayList<>();
-		this.groupStructureSynchronizerThreads = new ArrayList<>();
-		this.poolOfSynchronizations = new SynchronizationPool();
 		//set maximum concurrent groups to synchronize by property
-		this.maxConcurentGroupsToSynchronize = BeansUtils.getCoreConfig().getGroupMaxConcurentGroupsToSynchronize();
-		this.maxConcurrentGroupsStructuresToSynchronize = BeansUtils.getCoreConfig().getGroupMaxConcurrentGroupsStructuresToSynchronize();
+		this.synchronizationScheduler = new SynchronizationScheduler(BeansUtils.getCoreConfig().getGroupMaxConcurentGroupsToSynchronize(),
+				BeansUtils.getCoreConfig().getGroupMaxConcurrentGroupsStructuresToSynchronize(),
+				this::runGroupSynchronization, this::runGroupStructureSynchronization);
 	}
 
 	@Override
@@ -782,14 +784,9 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		// And finally update parentGroupId for moving group in database
 		this.updateParentGroupId(sess, movingGroup);
 
-		List<Member> movingGroupMembers = getGroupMembers(sess, movingGroup);
-
-		for(Member member : movingGroupMembers) {
-			if (previousParent != null) {
-
-				// calculate new member-group statuses for members from previous moving group parent
-				recalculateMemberGroupStatusRecursively(sess, member, previousParent);
-			}
+		if (previousParent != null) {
+			// calculate new member-group statuses for members from previous moving group parent
+			recalculateMembersGroupStatusRecursively(sess, getGroupMembers(sess, movingGroup), previousParent);
 		}
 
 		getPerunBl().getAuditer().log(sess, new GroupMoved(movingGroup));
@@ -859,15 +856,22 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 	@Override
 	public void addMembers(PerunSession sess, Group group,  List<Member> members) throws AlreadyMemberException, WrongAttributeValueException, WrongReferenceAttributeValueException, GroupNotExistsException {
+		// Check if the group is NOT members or administrators group
+		if (group.getName().equals(VosManager.MEMBERS_GROUP)) {
+			throw new InternalErrorException("Cannot add member directly to the members group.");
+		}
+		if (members.isEmpty()) return;
 		Collections.sort(members);
+
+		Set<Integer> directMembersIds = groupsManagerImpl.getGroupMembersIds(sess, group, members, MembershipType.DIRECT);
+		Set<Integer> membersIds = new HashSet<>();
 		for (Member member : members) {
-			// Check if the group is NOT members or administrators group
-			if (group.getName().equals(VosManager.MEMBERS_GROUP)) {
-				throw new InternalErrorException("Cannot add member directly to the members group.");
-			} else {
-				this.addDirectMember(sess, group, member);
-			}
+			if (directMembersIds.contains(member.getId()) || !membersIds.add(member.getId())) throw new AlreadyMemberException(member);
 		}
+
+		List<Member> newMembers = new ArrayList<>();
+		addDirectMembersInBulk(sess, group, members, newMembers);
+		processNewGroupMembers(sess, group, newMembers);
 	}
 
 
@@ -908,29 +912,104 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		//If member was indirect in group before, we don't need to change anything in other groups
 		if(memberWasIndirectInGroup) return;
-		// check all relations with this group and call addRelationMembers to reflect changes of adding member to group
-		List<Integer> relations = groupsManagerImpl.getResultGroupsIds(sess, group.getId());
-		for (Integer groupId : relations) {
-			addRelationMembers(sess, groupsManagerImpl.getGroupById(sess, groupId), Collections.singletonList(member), group.getId());
+		processNewGroupMember(sess, group, member);
+	}
+
+	/**
+	 * Add records of the members with a DIRECT membership type to the group by one batch.
+	 * Membership of the group is locked once for all members and members already DIRECT are skipped.
+	 *
+	 * Only the records are added, consequences of the membership must be processed for the new members
+	 * by {@link #processNewGroupMembers(PerunSession, Group, List)}.
+	 *
+	 * @param sess perun session
+	 * @param group group to add members to
+	 * @param members members to be added as DIRECT
+	 * @param newMembers list filled with added members who were not members of the group before
+	 * @return list of added members
+	 * @throws AlreadyMemberException if some member was added as DIRECT meanwhile
+	 */
+	private List<Member> addDirectMembersInBulk(PerunSession sess, Group group, List<Member> members, List<Member> newMembers) throws AlreadyMemberException {
+		lockGroupMembership(group, members);
+
+		Set<Integer> directMembersIds = groupsManagerImpl.getGroupMembersIds(sess, group, members, MembershipType.DIRECT);
+		Set<Integer> groupMembersIds = groupsManagerImpl.getGroupMembersIds(sess, group, members, null);
+
+		List<Member> membersToAdd = new ArrayList<>();
+		for (Member member : members) {
+			if (directMembersIds.add(member.getId())) membersToAdd.add(member);
+		}
+		if (membersToAdd.isEmpty()) return membersToAdd;
+
+		getGroupsManagerImpl().addMembers(sess, group, membersToAdd, MembershipType.DIRECT, group.getId());
+		getPerunBl().getAuditer().logAll(sess, membersToAdd.stream()
+				.map(member -> new DirectMemberAddedToGroup(member, group))
+				.collect(toList()));
+
+		for (Member member : membersToAdd) {
+			if (!groupMembersIds.contains(member.getId())) newMembers.add(member);
 		}
-		setRequiredAttributes(sess, member, group);
+		return membersToAdd;
+	}
+
+	/**
+	 * Reflect the new member of the group in its result groups, set required attributes, initial membership
+	 * expiration and recalculate member group status.
+	 *
+	 * @param sess perun session
+	 * @param group group the member was added to
+	 * @param member member who was not a member of the group before
+	 * @throws AlreadyMemberException
+	 * @throws WrongAttributeValueException
+	 * @throws WrongReferenceAttributeValueException
+	 * @throws GroupNotExistsException
+	 */
+	private void processNewGroupMember(PerunSession sess, Group group, Member member) throws AlreadyMemberException, WrongAttributeValueException, WrongReferenceAttributeValueException, GroupNotExistsException {
+		processNewGroupMembers(sess, group, Collections.singletonList(member));
+	}
+
+	/**
+	 * Reflect the new members of the group in its result groups, set required attributes, initial membership
+	 * expiration and recalculate member group statuses. Members are propagated through the relations
+	 * and their required attributes are set together.
+	 *
+	 * @param sess perun session
+	 * @param group group the members were added to
+	 * @param members members who were not members of the group before
+	 * @throws AlreadyMemberException
+	 * @throws WrongAttributeValueException
+	 * @throws WrongReferenceAttributeValueException
+	 * @throws GroupNotExistsException
+	 */
+	private void processNewGroupMembers(PerunSession sess, Group group, List<Member> members) throws AlreadyMemberException, WrongAttributeValueException, WrongReferenceAttributeValueException, GroupNotExistsException {
+		if (members.isEmpty()) return;
+
+		// check all relations with this group and call addRelationMembers to reflect changes of adding members to group
+		Map<Integer, List<Group>> resultGroups = new HashMap<>();
+		for (Group resultGroup : getResultGroups(sess, group, resultGroups)) {
+			addRelationMembers(sess, resultGroup, members, group.getId(), resultGroups);
+		}
+		setRequiredAttributes(sess, members, group);
 
 		// try to set init expiration
-		try {
-			extendMembershipInGroup(sess, member, group);
-		} catch (ExtendMembershipException e) {
-			throw new InternalErrorException("Failed to set initial member-group expiration date.");
+		for (Member member : members) {
+			try {
+				extendMembershipInGroup(sess, member, group);
+			} catch (ExtendMembershipException e) {
+				throw new InternalErrorException("Failed to set initial member-group expiration date.");
+			}
 		}
 
 		if (!VosManager.MEMBERS_GROUP.equals(group.getName())) {
 
 			// recalculate member group state
-			recalculateMemberGroupStatusRecursively(sess, member, group);
+			recalculateMembersGroupStatusRecursively(sess, members, group);
 		}
 	}
 
 	/**
 	 * Add records of the members with an INDIRECT membership type to the group.
+	 * Records are added by one batch and required attributes are set for all new members by batches.
 	 *
 	 * @param sess perun session
 	 * @param group group to add members to
@@ -943,19 +1022,21 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * @throws WrongReferenceAttributeValueException
 	 */
 	protected List<Member> addIndirectMembers(PerunSession sess, Group group, List<Member> members, int sourceGroupId) throws AlreadyMemberException, WrongAttributeValueException, WrongReferenceAttributeValueException {
+		if (members.isEmpty()) return new ArrayList<>();
 		lockGroupMembership(group, members);
 
+		Set<Integer> groupMembersIds = groupsManagerImpl.getGroupMembersIds(sess, group, members, null);
 		List<Member> newMembers = new ArrayList<>();
 		for (Member member : members) {
 			//we want to process only newly added members
-			if(!isGroupMember(sess, group, member)) newMembers.add(member);
-			groupsManagerImpl.addMember(sess, group, member, MembershipType.INDIRECT, sourceGroupId);
+			if (groupMembersIds.add(member.getId())) newMembers.add(member);
 		}
+		groupsManagerImpl.addMembers(sess, group, members, MembershipType.INDIRECT, sourceGroupId);
 
-		for (Member member : newMembers) {
-			setRequiredAttributes(sess, member, group);
-			getPerunBl().getAuditer().log(sess, new IndirectMemberAddedToGroup(member, group));
-		}
+		setRequiredAttributes(sess, newMembers, group);
+		getPerunBl().getAuditer().logAll(sess, newMembers.stream()
+				.map(member -> new IndirectMemberAddedToGroup(member, group))
+				.collect(toList()));
 
 		return newMembers;
 	}
@@ -984,8 +1065,42 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		}
 	}
 
+	/**
+	 * Set required attributes when adding new direct or indirect members.
+	 * Resources of the group are read once and attributes are set for each resource by batches of members.
+	 *
+	 * @param sess perun session
+	 * @param members members
+	 * @param group group
+	 * @throws InternalErrorException
+	 * @throws WrongAttributeValueException
+	 * @throws WrongReferenceAttributeValueException
+	 */
+	private void setRequiredAttributes(PerunSession sess, List<Member> members, Group group) throws WrongAttributeValueException, WrongReferenceAttributeValueException {
+		if (members.isEmpty()) return;
+		if (members.size() == 1) {
+			setRequiredAttributes(sess, members.get(0), group);
+			return;
+		}
+
+		List<Resource> resources = getPerunBl().getResourcesManagerBl().getAssignedResources(sess, group);
+		for (Resource resource : resources) {
+			Facility facility = getPerunBl().getResourcesManagerBl().getFacility(sess, resource);
+			for (int i = 0; i < members.size(); i += REQUIRED_ATTRIBUTES_BATCH_SIZE) {
+				List<Member> batch = members.subList(i, Math.min(i + REQUIRED_ATTRIBUTES_BATCH_SIZE, members.size()));
+				// check members attributes
+				try {
+					getPerunBl().getAttributesManagerBl().setRequiredAttributes(sess, facility, resource, batch);
+				} catch(WrongAttributeAssignmentException | AttributeNotExistsException | MemberResourceMismatchException ex) {
+					throw new ConsistencyErrorException(ex);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Remove records of the members with an INDIRECT membership type from the group.
+	 * Records are removed by one batch.
 	 *
 	 * @param sess perun session
 	 * @param group group to remove records of INDIRECT members from
@@ -995,19 +1110,21 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 */
 	private List<Member> removeIndirectMembers(PerunSession sess, Group group, List<Member> members, int sourceGroupId) throws WrongAttributeValueException, WrongReferenceAttributeValueException, NotGroupMemberException {
 		List<Member> membersToRemove = new ArrayList<>(members);
+		if (membersToRemove.isEmpty()) return membersToRemove;
 
 		lockGroupMembership(group, membersToRemove);
 
 		for (Member member: membersToRemove) {
 			member.setSourceGroupId(sourceGroupId);
-			groupsManagerImpl.removeMember(sess, group, member);
 		}
+		groupsManagerImpl.removeMembers(sess, group, membersToRemove, sourceGroupId);
 
-		// get list of new members
-		List<Member> newMembers = this.getGroupMembers(sess, group);
+		// get ids of new members
+		Set<Integer> newMembersIds = groupsManagerImpl.getGroupMembersIds(sess, group, membersToRemove, null);
 		// get only removed members
-		membersToRemove.removeAll(newMembers);
+		membersToRemove.removeIf(member -> newMembersIds.contains(member.getId()));
 
+		List<AuditEvent> events = new ArrayList<>();
 		for(Member removedIndirectMember: membersToRemove) {
 			addMemberToGroupsFromTriggerAttribute(sess, group, removedIndirectMember);
 			notifyMemberRemovalFromGroup(sess, group, removedIndirectMember);
@@ -1017,8 +1134,9 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			} catch (MemberGroupMismatchException e) {
 				throw new InternalErrorException("Member we tried to remove all member-group attributes is not from the same VO as Group.", e);
 			}
-			getPerunBl().getAuditer().log(sess, new IndirectMemberRemovedFromGroup(removedIndirectMember, group));
+			events.add(new IndirectMemberRemovedFromGroup(removedIndirectMember, group));
 		}
+		getPerunBl().getAuditer().logAll(sess, events);
 
 		return membersToRemove;
 	}
@@ -1103,10 +1221,96 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			getPerunBl().getAuditer().log(sess, new MemberRemovedFromGroupTotally(member, group));
 		}
 
+		processRemovedGroupMember(sess, group, member);
+	}
+
+	/**
+	 * Remove records of the members with a DIRECT membership type from the group by one batch.
+	 * Membership of the group is locked once for all members and members not DIRECT anymore are skipped.
+	 *
+	 * Only the records are removed, consequences of the removal of the members removed from the group totally
+	 * must be processed for each of them by {@link #processMemberRemovedFromGroupTotally(PerunSession, Group, Member)}.
+	 *
+	 * @param sess perun session
+	 * @param group group to remove members from
+	 * @param members members to be removed
+	 * @param removedMembers list filled with members who are not members of the group anymore
+	 * @return list of members whose DIRECT records were removed
+	 * @throws NotGroupMemberException if record of some member was removed meanwhile
+	 */
+	private List<Member> removeDirectMembersInBulk(PerunSession sess, Group group, List<Member> members, List<Member> removedMembers) throws NotGroupMemberException {
+		lockGroupMembership(group, members);
+
+		Set<Integer> directMembersIds = groupsManagerImpl.getGroupMembersIds(sess, group, members, MembershipType.DIRECT);
+
+		List<Member> membersToRemove = new ArrayList<>();
+		for (Member member : members) {
+			if (directMembersIds.remove(member.getId())) {
+				member.setSourceGroupId(group.getId());
+				membersToRemove.add(member);
+			}
+		}
+		if (membersToRemove.isEmpty()) return membersToRemove;
+
+		getGroupsManagerImpl().removeMembers(sess, group, membersToRemove, group.getId());
+
+		Set<Integer> groupMembersIds = groupsManagerImpl.getGroupMembersIds(sess, group, membersToRemove, null);
+		List<AuditEvent> events = new ArrayList<>();
+		for (Member member : membersToRemove) {
+			if (groupMembersIds.contains(member.getId())) {
+				events.add(new DirectMemberRemovedFromGroup(member, group));
+			} else {
+				removedMembers.add(member);
+			}
+		}
+		getPerunBl().getAuditer().logAll(sess, events);
+
+		return membersToRemove;
+	}
+
+	/**
+	 * Process the member whose DIRECT record was removed by {@link #removeDirectMembersInBulk(PerunSession, Group, List, List)}
+	 * and who is not a member of the group anymore. Member-group attributes of the member are removed and the removal
+	 * is reflected in the result groups.
+	 *
+	 * @param sess perun session
+	 * @param group group the member was removed from
+	 * @param member member who is not a member of the group anymore
+	 * @throws NotGroupMemberException
+	 * @throws GroupNotExistsException
+	 * @throws WrongAttributeValueException
+	 * @throws WrongReferenceAttributeValueException
+	 */
+	private void processMemberRemovedFromGroupTotally(PerunSession sess, Group group, Member member) throws NotGroupMemberException, GroupNotExistsException, WrongAttributeValueException, WrongReferenceAttributeValueException {
+		notifyMemberRemovalFromGroup(sess, group, member);
+		//remove all member-group attributes because member is not part of group any more
+		try {
+			getPerunBl().getAttributesManagerBl().removeAllAttributes(sess, member, group);
+		} catch (MemberGroupMismatchException e) {
+			throw new InternalErrorException(e);
+		}
+		getPerunBl().getAuditer().log(sess, new MemberRemovedFromGroupTotally(member, group));
+
+		processRemovedGroupMember(sess, group, member);
+	}
+
+	/**
+	 * Reflect removal of the member from the group in its result groups, recalculate member group status
+	 * and add the member to the groups from trigger attribute.
+	 *
+	 * @param sess perun session
+	 * @param group group the member was removed from
+	 * @param member member who is not a member of the group anymore
+	 * @throws NotGroupMemberException
+	 * @throws GroupNotExistsException
+	 * @throws WrongAttributeValueException
+	 * @throws WrongReferenceAttributeValueException
+	 */
+	private void processRemovedGroupMember(PerunSession sess, Group group, Member member) throws NotGroupMemberException, GroupNotExistsException, WrongAttributeValueException, WrongReferenceAttributeValueException {
 		// check all relations with this group and call removeRelationMembers to reflect changes of removing member from group
-		List<Integer> relations = groupsManagerImpl.getResultGroupsIds(sess, group.getId());
-		for (Integer groupId : relations) {
-			removeRelationMembers(sess, groupsManagerImpl.getGroupById(sess, groupId), Collections.singletonList(member), group.getId());
+		Map<Integer, List<Group>> resultGroups = new HashMap<>();
+		for (Group resultGroup : getResultGroups(sess, group, resultGroups)) {
+			removeRelationMembers(sess, resultGroup, Collections.singletonList(member), group.getId(), resultGroups);
 		}
 
 		if (!VosManager.MEMBERS_GROUP.equals(group.getName())) {
@@ -1702,44 +1906,82 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			//get all direct members of synchronized group (only direct, because we want to set direct membership with this group by synchronization)
 			List<RichMember> actualGroupMembers = getPerunBl().getGroupsManagerBl().getGroupDirectRichMembers(sess, group);
 
+			SynchronizationStats stats = new SynchronizationStats();
+			int chunkSize = Math.max(1, BeansUtils.getCoreConfig().getGroupSynchronizationChunkSize());
 			if(lightweightSynchronization) {
 				categorizeMembersForLightweightSynchronization(sess, group, source, membersSource, actualGroupMembers, candidatesToAdd, membersToRemove, skippedMembers);
+				stats.candidatesResolved();
 			} else {
-				//Get subjects from extSource
-				List<Map<String, String>> subjects = getSubjectsFromExtSource(sess, source, group);
-				//Convert subjects to candidates
-				List<Candidate> candidates = convertSubjectsToCandidates(sess, subjects, membersSource, source, actualGroupMembers, skippedMembers);
+				//mapping structure for more efficient searching of actual group members
+				Map<UserExtSource, RichMember> mappingStructure = this.createMappingStructure(actualGroupMembers);
+				//members which were not found in extSource yet, rest of them will be removed
+				Set<RichMember> notSynchronizedMembers = new LinkedHashSet<>(actualGroupMembers);
+				List<AttributeDefinition> attrDefs = new ArrayList<>();
+
+				//Get subjects from extSource and process them in chunks, so they are not all held in memory
+				try (Stream<Map<String, String>> subjects = getSubjectsFromExtSource(sess, source, group)) {
+					Iterator<Map<String, String>> subjectsIterator = subjects.iterator();
+					List<Map<String, String>> chunk = new ArrayList<>();
+					while (subjectsIterator.hasNext()) {
+						chunk.add(subjectsIterator.next());
+						if (chunk.size() < chunkSize && subjectsIterator.hasNext()) continue;
+						stats.subjectsRead(chunk.size());
+
+						//Convert subjects to candidates
+						List<Candidate> candidates = convertSubjectsToCandidates(sess, chunk, membersSource, source, mappingStructure, skippedMembers);
+						categorizeMembersForSynchronization(candidates, mappingStructure, candidatesToAdd, membersToUpdate, notSynchronizedMembers);
+						stats.candidatesResolved();
+
+						//Update members already presented in group, they can't be removed later
+						attrDefs = updateExistingMembersWhileSynchronization(sess, group, membersToUpdate, overwriteUserAttributesList, mergeMemberAttributesList, attrDefs);
+						stats.membersUpdated(membersToUpdate.size());
+						membersToUpdate.clear();
+						chunk.clear();
+					}
+				}
+				log.debug("Group synchronization {}: external group contains {} members.", group, stats.getSubjects());
 
-				categorizeMembersForSynchronization(sess, actualGroupMembers, candidates, candidatesToAdd, membersToUpdate, membersToRemove);
+				membersToRemove.addAll(notSynchronizedMembers);
 			}
 
+			boolean bulkSynchronization = BeansUtils.getCoreConfig().isGroupSynchronizationBulk();
+
 			// Remove members from group who are not present in synchronized ExtSource
 			boolean isAuthoritative = isAuthoritative(sess, group);
 			Collections.sort(membersToRemove);
-			for (RichMember memberToRemove : membersToRemove) {
-				removeFormerMemberWhileSynchronization(sess, group, memberToRemove, isAuthoritative);
-			}
-
-			List<AttributeDefinition> attrDefs = new ArrayList<>();
-			//Update members already presented in group
-			for (Candidate candidate : membersToUpdate.keySet()) {
-				RichMember memberToUpdate = membersToUpdate.get(candidate);
-				//Load attrDefinitions just once for first candidate
-				if (!candidate.getAttributes().isEmpty() && attrDefs.isEmpty()) {
-					attrDefs = getAttributesToSynchronizeFromCandidates(sess, group, candidate);
+			if (bulkSynchronization && !isAuthoritative && !group.getName().equals(VosManager.MEMBERS_GROUP)) {
+				for (int i = 0; i < membersToRemove.size(); i += chunkSize) {
+					List<RichMember> chunk = membersToRemove.subList(i, Math.min(i + chunkSize, membersToRemove.size()));
+					getPerunBl().getGroupsManagerBl().removeFormerMembersInBulkWhileSynchronization(sess, group, chunk);
+				}
+			} else {
+				for (RichMember memberToRemove : membersToRemove) {
+					removeFormerMemberWhileSynchronization(sess, group, memberToRemove, isAuthoritative);
 				}
-				updateExistingMemberWhileSynchronization(sess, group, candidate, memberToUpdate, overwriteUserAttributesList, mergeMemberAttributesList, attrDefs);
 			}
+			stats.membersRemoved(membersToRemove.size());
 
 			//Add not presented candidates to group
 			Collections.sort(candidatesToAdd);
-			for (Candidate candidateToAdd : candidatesToAdd) {
-				addMissingMemberWhileSynchronization(sess, group, candidateToAdd, overwriteUserAttributesList, mergeMemberAttributesList, skippedMembers);
+			if (bulkSynchronization) {
+				for (int i = 0; i < candidatesToAdd.size(); i += chunkSize) {
+					List<Member> chunk = new ArrayList<>();
+					for (Candidate candidate : candidatesToAdd.subList(i, Math.min(i + chunkSize, candidatesToAdd.size()))) {
+						Member member = getMemberForCandidateWhileSynchronization(sess, group, candidate, overwriteUserAttributesList, mergeMemberAttributesList, skippedMembers);
+						if (member != null) chunk.add(member);
+					}
+					getPerunBl().getGroupsManagerBl().addMissingMembersInBulkWhileSynchronization(sess, group, chunk);
+				}
+			} else {
+				for (Candidate candidateToAdd : candidatesToAdd) {
+					addMissingMemberWhileSynchronization(sess, group, candidateToAdd, overwriteUserAttributesList, mergeMemberAttributesList, skippedMembers);
+				}
 			}
+			stats.membersAdded(candidatesToAdd.size());
 
 			long endTime = System.nanoTime();
 			getPerunBl().getAuditer().log(sess,new GroupSyncFinished(group, startTime, endTime));
-			log.info("Group synchronization for {} has been finished.", group);
+			log.info("Group synchronization for {} has been finished ({}).", group, stats);
 		} finally {
 			closeExtSourcesAfterSynchronization(membersSource, source);
 			MDC.remove(MDC_LOG_FILE_NAME);
@@ -1935,7 +2177,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		if(syncEnabled) {
 			//Check if the group is not currently in synchronization process
-			if (poolOfSynchronizations.putGroupToPoolOfWaitingGroups(group, true)) {
+			if (synchronizationScheduler.scheduleGroup(group, true)) {
 				log.debug("Scheduling synchronization for the group {} by force!", group);
 			} else {
 				throw new GroupSynchronizationAlreadyRunningException(group);
@@ -1946,8 +2188,8 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	}
 
 	/**
-	 * Start and check threads with synchronization of groups. (max threads is defined by constant)
-	 * It also add new groups to the queue.
+	 * Cancel synchronizations of groups after timeout and add new groups to the queue of the scheduler.
+	 * Number of concurrently synchronized groups is limited by the scheduler.
 	 * This method is run by the scheduler every 5 minutes.
 	 *
 	 * Note: this method is synchronized
@@ -1964,38 +2206,8 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		LocalDateTime localDateTime = new Timestamp(millisecondsFromEpoch).toLocalDateTime();
 
-		int numberOfNewlyRemovedThreads = 0;
-		// Firstly interrupt threads after timeout, then remove all interrupted threads
-		Iterator<GroupSynchronizerThread> threadIterator = groupSynchronizerThreads.iterator();
-		while(threadIterator.hasNext()) {
-			GroupSynchronizerThread thread = threadIterator.next();
-
-			long threadStart = thread.getStartTime();
-			long timeDiff = System.currentTimeMillis() - threadStart;
-
-			//If thread was interrupted by anything, remove it from the pool of active threads
-			if (thread.isInterrupted() || !thread.isAlive()) {
-				numberOfNewlyRemovedThreads++;
-				threadIterator.remove();
-			} else if (threadStart != 0 && timeDiff/1000/60 > timeout) {
-				//If thread start time is 0, this thread is waiting for another job, skip it
-				// If the time is greater than timeout set in the configuration file (in minutes), interrupt and remove this thread from pool
-				log.error("Thread was interrupted while synchronizing the group {} because of timeout!", thread.getGroup());
-				thread.interrupt();
-				threadIterator.remove();
-				numberOfNewlyRemovedThreads++;
-			}
-		}
-
-		int numberOfNewlyCreatedThreads = 0;
-		// Start new threads if there is place for them
-		while(groupSynchronizerThreads.size() < maxConcurentGroupsToSynchronize) {
-			GroupSynchronizerThread thread = new GroupSynchronizerThread(sess);
-			thread.start();
-			groupSynchronizerThreads.add(thread);
-			numberOfNewlyCreatedThreads++;
-			log.debug("New thread for synchronization started.");
-		}
+		// Cancel synchronizations after timeout
+		int numberOfNewlyCancelledSynchronizations = synchronizationScheduler.cancelTimedOut(SynchronizationScheduler.Type.GROUP, timeout);
 
 		// Get the groups with synchronization enabled
 		List<Group> groups = groupsManagerImpl.getGroupsToSynchronize(sess);
@@ -2021,134 +2233,154 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		}
 
-		numberOfNewlyAddedGroups = poolOfSynchronizations.putGroupsToPoolOfWaitingGroups(timeCompliantGroups);
+		numberOfNewlyAddedGroups = synchronizationScheduler.scheduleGroups(timeCompliantGroups);
 
 		// Save state of synchronization to the info log
 		log.info("SynchronizeGroups method ends with these states: " +
-				"'number of newly removed threads'='" + numberOfNewlyRemovedThreads + "', " +
-				"'number of newly created threads'='" + numberOfNewlyCreatedThreads + "', " +
+				"'number of newly cancelled synchronizations'='" + numberOfNewlyCancelledSynchronizations + "', " +
 				"'number of newly added groups to the pool'='" + numberOfNewlyAddedGroups + "', " +
-				"'right now synchronized groups'='" + poolOfSynchronizations.asPoolOfGroupsToBeSynchronized().getRunningJobs() + "', " +
-				"'right now waiting groups'='" + poolOfSynchronizations.asPoolOfGroupsToBeSynchronized().getWaitingJobs() + "'.");
+				"'right now synchronized groups'='" + synchronizationScheduler.getRunningGroups(SynchronizationScheduler.Type.GROUP) + "', " +
+				"'right now waiting groups'='" + synchronizationScheduler.getWaitingGroups(SynchronizationScheduler.Type.GROUP) + "', " +
+				"'statistics'='" + synchronizationScheduler.getStatistics(SynchronizationScheduler.Type.GROUP) + "'.");
 	}
 
-	private class GroupSynchronizerThread extends Thread {
+	/**
+	 * Statistics of one group synchronization. Phases of the synchronization are measured one after another,
+	 * each phase takes the time since the end of the previous one.
+	 */
+	private static class SynchronizationStats {
+		private long lastTime = System.nanoTime();
+		private long readingTime = 0;
+		private long candidatesTime = 0;
+		private long updatingTime = 0;
+		private long removingTime = 0;
+		private long addingTime = 0;
+		private int subjects = 0;
+		private int updated = 0;
+		private int removed = 0;
+		private int added = 0;
 
-		// all synchronization runs under synchronizer identity.
-		private final PerunPrincipal pp = new PerunPrincipal("perunSynchronizer", ExtSourcesManager.EXTSOURCE_NAME_INTERNAL, ExtSourcesManager.EXTSOURCE_INTERNAL);
-		private final PerunBl perunBl;
-		private final PerunSession sess;
-		private volatile long startTime;
-		private Group group;
+		private long lap() {
+			long now = System.nanoTime();
+			long elapsed = now - lastTime;
+			lastTime = now;
+			return elapsed;
+		}
 
-		public GroupSynchronizerThread(PerunSession sess) {
-			// take only reference to perun
-			this.perunBl = (PerunBl) sess.getPerun();
-			this.sess = perunBl.getPerunSession(pp, new PerunClient());
-			//Default settings of not running thread (waiting for another group)
-			this.startTime = 0;
+		void subjectsRead(int count) {
+			subjects += count;
+			readingTime += lap();
 		}
 
-		@Override
-		public void run() {
-			while (true) {
-				//Set thread to default state (waiting for another group to synchronize)
-				this.setThreadToDefaultState();
-
-				//If this thread was interrupted, end it's running
-				if(this.isInterrupted()) return;
-
-				//text of exception if was thrown, null in exceptionMessage means "no exception, it's ok"
-				String exceptionMessage = null;
-				//text with all skipped members and reasons of this skipping
-				String skippedMembersMessage = null;
-				//if exception which produce fail of whole synchronization was thrown
-				boolean failedDueToException = false;
-
-				//Take another group from the pool to synchronize it
-				try {
-					group = poolOfSynchronizations.takeGroup((PerunSessionImpl)sess);
-				} catch (InterruptedException ex) {
-					log.error("Thread was interrupted when trying to take another group to synchronize from pool", ex);
-					//Interrupt this thread
-					this.interrupt();
-					return;
-				} catch (InternalErrorException ex) {
-					log.error("Internal error exception was thrown when the thread was trying to take another group to synchronize from pool", ex);
-					//Interrupt this thread
-					this.interrupt();
-					return;
-				}
+		void candidatesResolved() {
+			candidatesTime += lap();
+		}
 
-				try {
-					// Set the start time, so we can check the timeout of the thread
-					startTime = System.currentTimeMillis();
+		void membersUpdated(int count) {
+			updated += count;
+			updatingTime += lap();
+		}
 
-					try {
-						// Create attribute with start of last synchronization timestamp
-						Attribute startOfSynchronization = new Attribute(((PerunBl) sess.getPerun()).getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUP_START_OF_LAST_SYNC_ATTRNAME));
-						startOfSynchronization.setValue(BeansUtils.getDateFormatter().format(new Date(startTime)));
-						((PerunBl) sess.getPerun()).getAttributesManagerBl().setAttribute(sess, group, startOfSynchronization);
-					} catch (AttributeNotExistsException ex) {
-						log.error("Can't save startOfLastSynchronization, because there is missing attribute with name {}", GroupsManager.GROUP_START_OF_LAST_SYNC_ATTRNAME);
-					}
+		void membersRemoved(int count) {
+			removed += count;
+			removingTime += lap();
+		}
 
-					log.debug("Synchronization thread started synchronization for group {}.", group);
-
-					//synchronize Group and get information about skipped Members
-					List<String> skippedMembers = perunBl.getGroupsManagerBl().synchronizeGroup(sess, group);
-
-					skippedMembersMessage = prepareSkippedObjectsMessage(skippedMembers, "members");
-					exceptionMessage = skippedMembersMessage;
-
-					log.debug("Synchronization thread for group {} has finished in {} ms.", group, System.currentTimeMillis() - startTime);
-				} catch (InternalErrorException |
-						WrongAttributeAssignmentException  | GroupNotExistsException |
-						AttributeNotExistsException  | ExtSourceNotExistsException e) {
-					failedDueToException = true;
-					exceptionMessage = "Cannot synchronize group ";
-					log.error(exceptionMessage + group, e);
-					exceptionMessage += "due to exception: " + e.getClass().getSimpleName() + " => " + e.getMessage();
-				} catch (Exception e) {
-					failedDueToException = true;
-					exceptionMessage = "Cannot synchronize group ";
-					log.error(exceptionMessage + group, e);
-					exceptionMessage += "due to unexpected exception: " + e.getClass().getName() + " => " + e.getMessage();
-				} finally {
-					//Save information about group synchronization, this method run in new transaction
-					try {
-						perunBl.getGroupsManagerBl().saveInformationAboutGroupSynchronizationInNewTransaction(sess, group, startTime, failedDueToException, exceptionMessage);
-					} catch (Exception ex) {
-						log.error("When synchronization group " + group + ", exception was thrown.", ex);
-						log.error("Info about exception from synchronization: {}", skippedMembersMessage);
-					}
-					//Remove job from running jobs
-					if(!poolOfSynchronizations.removeGroup(group)) {
-						log.error("Can't remove running job for object " + group + " from pool of running jobs because it is not containing it.");
-					}
+		void membersAdded(int count) {
+			added += count;
+			addingTime += lap();
+		}
 
-					log.debug("GroupSynchronizerThread finished for group: {}", group);
-				}
-			}
+		int getSubjects() {
+			return subjects;
 		}
 
-		public Group getGroup() {
-			return group;
+		@Override
+		public String toString() {
+			return "subjects: " + subjects + " read in " + TimeUnit.NANOSECONDS.toMillis(readingTime) + " ms" +
+				", candidates resolved in " + TimeUnit.NANOSECONDS.toMillis(candidatesTime) + " ms" +
+				", updated: " + updated + " in " + TimeUnit.NANOSECONDS.toMillis(updatingTime) + " ms" +
+				", removed: " + removed + " in " + TimeUnit.NANOSECONDS.toMillis(removingTime) + " ms" +
+				", added: " + added + " in " + TimeUnit.NANOSECONDS.toMillis(addingTime) + " ms";
 		}
+	}
 
-		public long getStartTime() {
-			return startTime;
+	/**
+	 * Synchronize group dispatched by the scheduler and save information about the synchronization.
+	 *
+	 * All synchronization runs under synchronizer identity.
+	 *
+	 * @param group group to synchronize
+	 */
+	private void runGroupSynchronization(Group group) {
+		PerunPrincipal pp = new PerunPrincipal("perunSynchronizer", ExtSourcesManager.EXTSOURCE_NAME_INTERNAL, ExtSourcesManager.EXTSOURCE_INTERNAL);
+		PerunSession sess = getPerunBl().getPerunSession(pp, new PerunClient());
+
+		try {
+			//Group could be removed during some group structure synchronization, so there is no need to synchronize it anymore.
+			checkGroupExists(sess, group);
+		} catch (GroupNotExistsException e) {
+			log.warn("Group {} was removed from a Vo while it was waiting for a synchronization.", group);
+			return;
 		}
 
-		private void setThreadToDefaultState() {
-			this.startTime = 0;
+		//text of exception if was thrown, null in exceptionMessage means "no exception, it's ok"
+		String exceptionMessage = null;
+		//text with all skipped members and reasons of this skipping
+		String skippedMembersMessage = null;
+		//if exception which produce fail of whole synchronization was thrown
+		boolean failedDueToException = false;
+		// Set the start time, so we can save it
+		long startTime = System.currentTimeMillis();
+
+		try {
+			try {
+				// Create attribute with start of last synchronization timestamp
+				Attribute startOfSynchronization = new Attribute(getPerunBl().getAttributesManagerBl().getAttributeDefinition(sess, GroupsManager.GROUP_START_OF_LAST_SYNC_ATTRNAME));
+				startOfSynchronization.setValue(BeansUtils.getDateFormatter().format(new Date(startTime)));
+				getPerunBl().getAttributesManagerBl().setAttribute(sess, group, startOfSynchronization);
+			} catch (AttributeNotExistsException ex) {
+				log.error("Can't save startOfLastSynchronization, because there is missing attribute with name {}", GroupsManager.GROUP_START_OF_LAST_SYNC_ATTRNAME);
+			}
+
+			log.debug("Synchronization thread started synchronization for group {}.", group);
+
+			//synchronize Group and get information about skipped Members
+			List<String> skippedMembers = getPerunBl().getGroupsManagerBl().synchronizeGroup(sess, group);
+
+			skippedMembersMessage = prepareSkippedObjectsMessage(skippedMembers, "members");
+			exceptionMessage = skippedMembersMessage;
+
+			log.debug("Synchronization thread for group {} has finished in {} ms.", group, System.currentTimeMillis() - startTime);
+		} catch (InternalErrorException |
+				WrongAttributeAssignmentException  | GroupNotExistsException |
+				AttributeNotExistsException  | ExtSourceNotExistsException e) {
+			failedDueToException = true;
+			exceptionMessage = "Cannot synchronize group ";
+			log.error(exceptionMessage + group, e);
+			exceptionMessage += "due to exception: " + e.getClass().getSimpleName() + " => " + e.getMessage();
+		} catch (Exception e) {
+			failedDueToException = true;
+			exceptionMessage = "Cannot synchronize group ";
+			log.error(exceptionMessage + group, e);
+			exceptionMessage += "due to unexpected exception: " + e.getClass().getName() + " => " + e.getMessage();
+		} finally {
+			//Save information about group synchronization, this method run in new transaction
+			try {
+				getPerunBl().getGroupsManagerBl().saveInformationAboutGroupSynchronizationInNewTransaction(sess, group, startTime, failedDueToException, exceptionMessage);
+			} catch (Exception ex) {
+				log.error("When synchronization group " + group + ", exception was thrown.", ex);
+				log.error("Info about exception from synchronization: {}", skippedMembersMessage);
+			}
+
+			log.debug("Synchronization of group {} finished.", group);
 		}
 	}
 
 	@Override
 	public void forceGroupStructureSynchronization(PerunSession sess, Group group) throws GroupStructureSynchronizationAlreadyRunningException {
 		//Adds the group on the first place to the queue of groups waiting for group structure synchronization.
-		if (poolOfSynchronizations.putGroupStructureToPoolOfWaitingGroupsStructures(group, true)) {
+		if (synchronizationScheduler.scheduleGroupStructure(group, getAllSubGroupsIds(sess, group), true)) {
 			log.info("Scheduling synchronization for the group structure {} by force!", group);
 		} else {
 			throw new GroupStructureSynchronizationAlreadyRunningException(group);
@@ -2169,118 +2401,71 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 	@Override
 	public synchronized void synchronizeGroupsStructures(PerunSession sess) {
-		int numberOfNewlyRemovedThreads = processCurrentGroupStructureSynchronizationThreads();
-		int numberOfNewlyCreatedThreads = createNewGroupStructureSynchronizationThreads(sess);
+		int numberOfNewlyCancelledSynchronizations = synchronizationScheduler.cancelTimedOut(SynchronizationScheduler.Type.GROUP_STRUCTURE,
+				BeansUtils.getCoreConfig().getGroupStructureSynchronizationTimeout());
 		int numberOfNewlyAddedGroups = addGroupsToGroupStructureSynchronizationPool(sess);
 
 		log.info("SynchronizeGroupsStructures method ends with these states: " +
-				"'number of newly removed threads'='" + numberOfNewlyRemovedThreads + "', " +
-				"'number of newly created threads'='" + numberOfNewlyCreatedThreads + "', " +
+				"'number of newly cancelled synchronizations'='" + numberOfNewlyCancelledSynchronizations + "', " +
 				"'number of newly added groups structures to the pool'='" + numberOfNewlyAddedGroups + "', " +
-				"'right now synchronized groups structures'='" + poolOfSynchronizations.asPoolOfGroupsStructuresToBeSynchronized().getRunningJobs() + "', " +
-				"'right now waiting groups structures'='" + poolOfSynchronizations.asPoolOfGroupsStructuresToBeSynchronized().getWaitingJobs() + "'.");
+				"'right now synchronized groups structures'='" + synchronizationScheduler.getRunningGroups(SynchronizationScheduler.Type.GROUP_STRUCTURE) + "', " +
+				"'right now waiting groups structures'='" + synchronizationScheduler.getWaitingGroups(SynchronizationScheduler.Type.GROUP_STRUCTURE) + "', " +
+				"'statistics'='" + synchronizationScheduler.getStatistics(SynchronizationScheduler.Type.GROUP_STRUCTURE) + "'.");
 	}
 
 	/**
-	 * Private thread class for groups structure synchronizations
+	 * Get ids of all subgroups of the group, used by the scheduler to detect conflicts of synchronizations.
 	 *
-	 * All group structure synchronizations runs under synchronizer identity.
+	 * @param sess perun session
+	 * @param group group
+	 * @return ids of all subgroups
 	 */
-	private class GroupStructureSynchronizerThread extends Thread {
-
-		private final PerunPrincipal pp = new PerunPrincipal("perunSynchronizer", ExtSourcesManager.EXTSOURCE_NAME_INTERNAL, ExtSourcesManager.EXTSOURCE_INTERNAL);
-		private final PerunBl perunBl;
-		private final PerunSession sess;
-		private volatile long startTime;
-		private Group group;
-
-		/**
-		 * Take only reference to perun
-		 * Default settings of not running thread (waiting for another group)
-		 *
-		 * @param sess
-		 * @throws InternalErrorException
-		 */
-		public GroupStructureSynchronizerThread(PerunSession sess) {
-			this.perunBl = (PerunBl) sess.getPerun();
-			this.sess = perunBl.getPerunSession(pp, new PerunClient());
-			this.startTime = 0;
-		}
-
-		/**
-		 * Run group structure synchronization thread
-		 *
-		 */
-		@Override
-		public void run() {
-			while (!this.isInterrupted()) {
-				this.setThreadToDefaultState();
-
-				String exceptionMessage = null;
-				String skippedGroupsMessage = null;
-				boolean failedDueToException = false;
-
-				try {
-					group = poolOfSynchronizations.takeGroupStructure((PerunSessionImpl)sess);
-				} catch (InterruptedException ex) {
-					log.error("Thread was interrupted when trying to take another group structure to synchronize from pool", ex);
-					this.interrupt();
-					continue;
-				}  catch (InternalErrorException ex) {
-					log.error("Internal error exception was thrown when the thread was trying to take another group structure to synchronize from pool", ex);
-					//Interrupt this thread
-					this.interrupt();
-					continue;
-				}
+	private Set<Integer> getAllSubGroupsIds(PerunSession sess, Group group) {
+		return getAllSubGroups(sess, group).stream().map(Group::getId).collect(Collectors.toSet());
+	}
 
-				try {
-					startTime = System.currentTimeMillis();
+	/**
+	 * Synchronize group structure dispatched by the scheduler and save information about the synchronization.
+	 *
+	 * All group structure synchronizations runs under synchronizer identity.
+	 *
+	 * @param group base group of the structure
+	 */
+	private void runGroupStructureSynchronization(Group group) {
+		PerunPrincipal pp = new PerunPrincipal("perunSynchronizer", ExtSourcesManager.EXTSOURCE_NAME_INTERNAL, ExtSourcesManager.EXTSOURCE_INTERNAL);
+		PerunSession sess = getPerunBl().getPerunSession(pp, new PerunClient());
 
-					log.debug("Synchronization thread started synchronization for group structure {}.", group);
+		String exceptionMessage = null;
+		String skippedGroupsMessage = null;
+		boolean failedDueToException = false;
+		long startTime = System.currentTimeMillis();
 
-					List<String> skippedGroups = perunBl.getGroupsManagerBl().synchronizeGroupStructure(sess, group);
+		try {
+			log.debug("Synchronization thread started synchronization for group structure {}.", group);
 
-					skippedGroupsMessage = prepareSkippedObjectsMessage(skippedGroups, "groups");
-					exceptionMessage = skippedGroupsMessage;
+			List<String> skippedGroups = getPerunBl().getGroupsManagerBl().synchronizeGroupStructure(sess, group);
 
-					log.debug("Synchronization thread for group structure {} has finished in {} ms.", group, System.currentTimeMillis() - startTime);
-				} catch (Exception e) {
-					failedDueToException = true;
-					exceptionMessage = "Cannot synchronize group structure ";
-					log.error(exceptionMessage + group, e);
-					exceptionMessage += "due to exception: " + e.getClass().getName() + " => " + e.getMessage();
-				} finally {
-					try {
-						perunBl.getGroupsManagerBl().saveInformationAboutGroupStructureSynchronizationInNewTransaction(sess, group, failedDueToException, exceptionMessage);
-					} catch (Exception ex) {
-						log.error("When synchronization group structure " + group + ", exception was thrown.", ex);
-						log.error("Info about exception from group structure synchronization: " + skippedGroupsMessage);
-					}
-					if (!poolOfSynchronizations.removeGroupStructure(group)) {
-						log.error("Can't remove running job for object " + group + " from pool of running jobs because it is not containing it.");
-					}
+			skippedGroupsMessage = prepareSkippedObjectsMessage(skippedGroups, "groups");
+			exceptionMessage = skippedGroupsMessage;
 
-					log.debug("GroupStructureSynchronizerThread finished for group: {}", group);
-				}
+			log.debug("Synchronization thread for group structure {} has finished in {} ms.", group, System.currentTimeMillis() - startTime);
+		} catch (Exception e) {
+			failedDueToException = true;
+			exceptionMessage = "Cannot synchronize group structure ";
+			log.error(exceptionMessage + group, e);
+			exceptionMessage += "due to exception: " + e.getClass().getName() + " => " + e.getMessage();
+		} finally {
+			try {
+				getPerunBl().getGroupsManagerBl().saveInformationAboutGroupStructureSynchronizationInNewTransaction(sess, group, failedDueToException, exceptionMessage);
+			} catch (Exception ex) {
+				log.error("When synchronization group structure " + group + ", exception was thrown.", ex);
+				log.error("Info about exception from group structure synchronization: " + skippedGroupsMessage);
 			}
-		}
 
-		public Group getGroup() {
-			return group;
+			log.debug("Synchronization of group structure {} finished.", group);
 		}
-
-		public long getStartTime() {
-			return startTime;
-		}
-
-		private void setThreadToDefaultState() {
-			this.startTime = 0;
-		}
-
 	}
 
-
-
 	/**
 	 * Get all groups of member (except members group) where authoritativeGroup attribute is set to 1 (true)
 	 *
@@ -2945,76 +3130,79 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * @param skippedMembers
 	 */
 	private void categorizeMembersForLightweightSynchronization(PerunSession sess, Group group, ExtSource loginSource, ExtSource memberSource, List<RichMember> groupMembers, List<Candidate> candidatesToAdd, List<RichMember> membersToRemove, List<String> skippedMembers) {
-		//Get subjects from loginSource
-		List<Map<String, String>> subjects = getSubjectsFromExtSource(sess, loginSource, group);
-
 		//Prepare structure of userIds with richMembers to better work with actual members
 		Map<Integer, RichMember> idsOfUsersInGroup = new HashMap<>();
 		for(RichMember richMember: groupMembers) {
 			idsOfUsersInGroup.put(richMember.getUserId(), richMember);
 		}
-		//try to find users by login and loginSource
-		for(Map<String, String> subjectFromLoginSource : subjects) {
-			if (subjectFromLoginSource == null) {
-				log.error("Null value in the subjects list. Skipping.");
-				continue;
-			}
-			String login = subjectFromLoginSource.get("login");
-			// Skip subjects, which doesn't have login
-			if (login == null || login.isEmpty()) {
-				log.debug("Subject {} doesn't contain attribute login, skipping.", subjectFromLoginSource);
-				skippedMembers.add("MemberEntry:[" + subjectFromLoginSource + "] was skipped because login is missing");
-				continue;
-			}
 
-			//try to find user from perun by login and member extSource (need to use memberSource because loginSource is not saved by synchronization)
-			User user = null;
+		//Get subjects from loginSource
+		try (Stream<Map<String, String>> subjects = getSubjectsFromExtSource(sess, loginSource, group)) {
+			Iterator<Map<String, String>> subjectsIterator = subjects.iterator();
+			//try to find users by login and loginSource
+			while (subjectsIterator.hasNext()) {
+				Map<String, String> subjectFromLoginSource = subjectsIterator.next();
+				if (subjectFromLoginSource == null) {
+					log.error("Null value in the subjects list. Skipping.");
+					continue;
+				}
+				String login = subjectFromLoginSource.get("login");
+				// Skip subjects, which doesn't have login
+				if (login == null || login.isEmpty()) {
+					log.debug("Subject {} doesn't contain attribute login, skipping.", subjectFromLoginSource);
+					skippedMembers.add("MemberEntry:[" + subjectFromLoginSource + "] was skipped because login is missing");
+					continue;
+				}
 
-			List<UserExtSource> userExtSources = new ArrayList<>();
-			try {
-				UserExtSource userExtSource = getPerunBl().getUsersManagerBl().getUserExtSourceByExtLogin(sess, memberSource, login);
-				userExtSources.add(userExtSource);
-			} catch (UserExtSourceNotExistsException e) {
-				//skipping, this extSource does not exist and thus won't be in the list
-			}
-			Vo groupVo = getVo(sess, group);
-			List<UserExtSource> additionalUserExtSources = Utils.extractAdditionalUserExtSources(sess, subjectFromLoginSource).stream().map(RichUserExtSource::asUserExtSource).collect(toList());
-			userExtSources.addAll(additionalUserExtSources);
-			for (UserExtSource source : userExtSources) {
+				//try to find user from perun by login and member extSource (need to use memberSource because loginSource is not saved by synchronization)
+				User user = null;
+
+				List<UserExtSource> userExtSources = new ArrayList<>();
 				try {
-					user = getPerunBl().getUsersManagerBl().getUserByUserExtSource(sess, source);
-					// check if user is already member of group's vo
-					if (getPerunBl().getUsersManagerBl().getVosWhereUserIsMember(sess, user).contains(groupVo)) {
-						if (idsOfUsersInGroup.containsKey(user.getId())) {
-							//we can skip this one, because he is already in group, and remove him from the map
-							//but first we need to also validate him if he was disabled before (invalidate and then validate)
-							RichMember richMember = idsOfUsersInGroup.get(user.getId());
-							if (richMember != null && Status.DISABLED.equals(richMember.getStatus())) {
-								getPerunBl().getMembersManagerBl().invalidateMember(sess, richMember);
-								try {
-									getPerunBl().getMembersManagerBl().validateMember(sess, richMember);
-								} catch (WrongAttributeValueException | WrongReferenceAttributeValueException e) {
-									log.info("Switching member id {} into INVALID state from DISABLED, because there was problem with attributes {}.", richMember.getId(), e);
+					UserExtSource userExtSource = getPerunBl().getUsersManagerBl().getUserExtSourceByExtLogin(sess, memberSource, login);
+					userExtSources.add(userExtSource);
+				} catch (UserExtSourceNotExistsException e) {
+					//skipping, this extSource does not exist and thus won't be in the list
+				}
+				Vo groupVo = getVo(sess, group);
+				List<UserExtSource> additionalUserExtSources = Utils.extractAdditionalUserExtSources(sess, subjectFromLoginSource).stream().map(RichUserExtSource::asUserExtSource).collect(toList());
+				userExtSources.addAll(additionalUserExtSources);
+				for (UserExtSource source : userExtSources) {
+					try {
+						user = getPerunBl().getUsersManagerBl().getUserByUserExtSource(sess, source);
+						// check if user is already member of group's vo
+						if (getPerunBl().getUsersManagerBl().getVosWhereUserIsMember(sess, user).contains(groupVo)) {
+							if (idsOfUsersInGroup.containsKey(user.getId())) {
+								//we can skip this one, because he is already in group, and remove him from the map
+								//but first we need to also validate him if he was disabled before (invalidate and then validate)
+								RichMember richMember = idsOfUsersInGroup.get(user.getId());
+								if (richMember != null && Status.DISABLED.equals(richMember.getStatus())) {
+									getPerunBl().getMembersManagerBl().invalidateMember(sess, richMember);
+									try {
+										getPerunBl().getMembersManagerBl().validateMember(sess, richMember);
+									} catch (WrongAttributeValueException | WrongReferenceAttributeValueException e) {
+										log.info("Switching member id {} into INVALID state from DISABLED, because there was problem with attributes {}.", richMember.getId(), e);
+									}
 								}
+								idsOfUsersInGroup.remove(user.getId());
+							} else {
+								//he is not yet in group, so we need to create a candidate
+								Candidate candidate = new Candidate(user, source);
+								//for lightweight synchronization we want to skip all update of attributes
+								candidate.setAttributes(new HashMap<>());
+								candidatesToAdd.add(candidate);
 							}
-							idsOfUsersInGroup.remove(user.getId());
-						} else {
-							//he is not yet in group, so we need to create a candidate
-							Candidate candidate = new Candidate(user, source);
-							//for lightweight synchronization we want to skip all update of attributes
-							candidate.setAttributes(new HashMap<>());
-							candidatesToAdd.add(candidate);
+							break;
 						}
-						break;
+					} catch(UserNotExistsException e) {
+						//skip because the user from this ExtSource does not exist so we can continue
 					}
-				} catch(UserNotExistsException e) {
-					//skip because the user from this ExtSource does not exist so we can continue
 				}
-			}
 
-			// If user not found in group's vo, skip him and log it
-			if (user == null) {
-				log.debug("Subject {} with login {} was skipped during lightweight synchronization of group {} because he is not in vo of the group yet.", subjectFromLoginSource, login, group);
+				// If user not found in group's vo, skip him and log it
+				if (user == null) {
+					log.debug("Subject {} with login {} was skipped during lightweight synchronization of group {} because he is not in vo of the group yet.", subjectFromLoginSource, login, group);
+				}
 			}
 		}
 
@@ -3026,35 +3214,106 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * This method fill 3 member structures which get as parameters:
 	 * 1. membersToUpdate - Candidates with equivalent Members from Perun for purpose of updating attributes and statuses
 	 * 2. candidateToAdd - New members of the group
-	 * 3. membersToRemove - Former members who are not in synchronized ExtSource now
+	 * 3. notSynchronizedMembers - Members who were not found in synchronized ExtSource yet
+	 *
+	 * Candidates can be categorized in several chunks, members which remain in the 3. container
+	 * after the last chunk are not in synchronized ExtSource now.
 	 *
-	 * @param sess
-	 * @param groupMembers current group members
 	 * @param candidates to be synchronized from extSource
-	 * @param membersToUpdate 1. container (more above)
+	 * @param mappingStructure current group members mapped on their userExtSources
 	 * @param candidatesToAdd 2. container (more above)
-	 * @param membersToRemove 3. container (more above)
+	 * @param membersToUpdate 1. container (more above)
+	 * @param notSynchronizedMembers 3. container (more above)
 	 *
 	 */
-	private void categorizeMembersForSynchronization(PerunSession sess, List<RichMember> groupMembers, List<Candidate> candidates, List<Candidate> candidatesToAdd, Map<Candidate, RichMember> membersToUpdate, List<RichMember> membersToRemove) {
-		candidatesToAdd.addAll(candidates);
-		membersToRemove.addAll(groupMembers);
-		//mapping structure for more efficient searching
-		Map<UserExtSource, RichMember> mappingStructure = this.createMappingStructure(groupMembers);
-
+	private void categorizeMembersForSynchronization(List<Candidate> candidates, Map<UserExtSource, RichMember> mappingStructure, List<Candidate> candidatesToAdd, Map<Candidate, RichMember> membersToUpdate, Set<RichMember> notSynchronizedMembers) {
 		//try to find already existing candidates between members in group
 		for(Candidate candidate: candidates) {
-			List<UserExtSource> candidateExtSources = candidate.getUserExtSources();
-			for(UserExtSource key: candidateExtSources) {
+			RichMember member = null;
+			for(UserExtSource key: candidate.getUserExtSources()) {
+				member = mappingStructure.get(key);
+				if(member != null) break;
+			}
+
+			if(member != null) {
 				//candidate exists, will be updated
-				if(mappingStructure.containsKey(key)) {
-					membersToUpdate.put(candidate, mappingStructure.get(key));
-					candidatesToAdd.remove(candidate);
-					membersToRemove.remove(mappingStructure.get(key));
+				membersToUpdate.put(candidate, member);
+				notSynchronizedMembers.remove(member);
+			} else {
+				candidatesToAdd.add(candidate);
+			}
+		}
+	}
+
+	/**
+	 * Update members already presented in group by their candidates.
+	 *
+	 * @param sess
+	 * @param group to be synchronized
+	 * @param membersToUpdate candidates with equivalent members from the group
+	 * @param overwriteUserAttributesList list of user attributes to be updated instead of merged
+	 * @param mergeMemberAttributesList list of member attributes to be merged instead of updated
+	 * @param attrDefs list of attribute definitions to update from candidates, if empty the list is filled in process
+	 *
+	 * @return list of attribute definitions to update from candidates, to be used for next members
+	 *
+	 * @throws AttributeNotExistsException if some attributes not exists and for this reason can't be updated
+	 * @throws WrongAttributeAssignmentException if some attribute is updated in bad way (bad assignment)
+	 */
+	private List<AttributeDefinition> updateExistingMembersWhileSynchronization(PerunSession sess, Group group, Map<Candidate, RichMember> membersToUpdate, List<String> overwriteUserAttributesList, List<String> mergeMemberAttributesList, List<AttributeDefinition> attrDefs) throws AttributeNotExistsException, WrongAttributeAssignmentException {
+		if (BeansUtils.getCoreConfig().isGroupSynchronizationBulk()) {
+			return getPerunBl().getGroupsManagerBl().updateExistingMembersInBulkWhileSynchronization(sess, group, membersToUpdate, overwriteUserAttributesList, mergeMemberAttributesList, attrDefs);
+		}
+		for (Candidate candidate : membersToUpdate.keySet()) {
+			RichMember memberToUpdate = membersToUpdate.get(candidate);
+			//Load attrDefinitions just once for first candidate
+			if (!candidate.getAttributes().isEmpty() && attrDefs.isEmpty()) {
+				attrDefs = getAttributesToSynchronizeFromCandidates(sess, group, candidate);
+			}
+			updateExistingMemberWhileSynchronization(sess, group, candidate, memberToUpdate, overwriteUserAttributesList, mergeMemberAttributesList, attrDefs);
+		}
+		return attrDefs;
+	}
+
+	@Override
+	public List<AttributeDefinition> updateExistingMembersInBulkWhileSynchronization(PerunSession sess, Group group, Map<Candidate, RichMember> membersToUpdate, List<String> overwriteUserAttributesList, List<String> mergeMemberAttributesList, List<AttributeDefinition> attrDefs) throws AttributeNotExistsException, WrongAttributeAssignmentException {
+		if (membersToUpdate.isEmpty()) return attrDefs;
+
+		//Load attrDefinitions just once for first candidate
+		if (attrDefs.isEmpty()) {
+			for (Candidate candidate : membersToUpdate.keySet()) {
+				if (!candidate.getAttributes().isEmpty()) {
+					attrDefs = getAttributesToSynchronizeFromCandidates(sess, group, candidate);
 					break;
 				}
 			}
 		}
+
+		//If member does not exists in this moment (somebody removed him before updating process), skip him and log it
+		List<Integer> membersIds = membersToUpdate.values().stream().map(RichMember::getId).collect(toList());
+		Set<Integer> existingMembersIds = getPerunBl().getMembersManagerBl().getMembersByIds(sess, membersIds).stream()
+				.map(Member::getId)
+				.collect(Collectors.toSet());
+		List<RichMember> existingMembers = new ArrayList<>();
+		for (RichMember member : membersToUpdate.values()) {
+			if (existingMembersIds.contains(member.getId())) {
+				existingMembers.add(member);
+			} else {
+				log.debug("Someone removed member {} from group {} before updating process. Skip him.", member, group);
+			}
+		}
+
+		//get RichMembers with attributes
+		Map<Integer, RichMember> richMembers = getPerunBl().getMembersManagerBl().convertMembersToRichMembersWithAttributes(sess, existingMembers, attrDefs).stream()
+				.collect(Collectors.toMap(RichMember::getId, member -> member));
+
+		for (Map.Entry<Candidate, RichMember> entry : membersToUpdate.entrySet()) {
+			RichMember memberToUpdate = richMembers.get(entry.getValue().getId());
+			if (memberToUpdate != null) {
+				updateRichMemberWhileSynchronization(sess, group, entry.getKey(), memberToUpdate, overwriteUserAttributesList, mergeMemberAttributesList, attrDefs);
+			}
+		}
+		return attrDefs;
 	}
 
 	/**
@@ -3272,18 +3531,20 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	}
 
 	/**
-	 * Return List of subjects, where subject is map of attribute names and attribute values.
+	 * Return Stream of subjects, where subject is map of attribute names and attribute values.
 	 * Every subject is structure for creating Candidate from ExtSource.
 	 *
+	 * Subjects are read lazily if the extSource supports it, so the stream must be closed after use.
+	 *
 	 * @param sess
 	 * @param source to get subjects from
 	 * @param group to be synchronized
 	 *
-	 * @return list of subjects
+	 * @return stream of subjects
 	 *
 	 * @throws InternalErrorException if internal error occurs
 	 */
-	private List<Map<String, String>> getSubjectsFromExtSource(PerunSession sess, ExtSource source, Group group) {
+	private Stream<Map<String, String>> getSubjectsFromExtSource(PerunSession sess, ExtSource source, Group group) {
 		//Get all group attributes and store tham to map (info like query, time interval etc.)
 		List<Attribute> groupAttributes = getPerunBl().getAttributesManagerBl().getAttributes(sess, group);
 		Map<String, String> groupAttributesMap = new HashMap<>();
@@ -3293,14 +3554,11 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			groupAttributesMap.put(name, value);
 		}
 		//-- Get Subjects in form of map where left string is name of attribute and right string is value of attribute, every subject is one map
-		List<Map<String, String>> subjects;
 		try {
-			subjects = ((ExtSourceSimpleApi) source).getGroupSubjects(groupAttributesMap);
-			log.debug("Group synchronization {}: external group contains {} members.", group, subjects.size());
+			return ((ExtSourceSimpleApi) source).streamGroupSubjects(groupAttributesMap);
 		} catch (ExtSourceUnsupportedOperationException e2) {
 			throw new InternalErrorException("ExtSource " + source.getName() + " doesn't support getGroupSubjects", e2);
 		}
-		return subjects;
 	}
 
 	/**
@@ -3317,18 +3575,21 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * @param subjects list of subjects from ExtSource (at least login should be here)
 	 * @param membersSource optional member ExtSource (if members attributes are from other source then their logins)
 	 * @param source default group ExtSource
-	 * @param actualGroupMembers actual members of synchronized group
+	 * @param mappingStructure actual members of synchronized group mapped on their userExtSources
 	 * @param skippedMembers not successfully synchronized members are skipped and information about it should be added here
 	 *
 	 * @return list of successfully created candidates from subjects
 	 *
 	 * @throws InternalErrorException if some internal error occurs
 	 */
-	private List<Candidate> convertSubjectsToCandidates(PerunSession sess, List<Map<String, String>> subjects, ExtSource membersSource, ExtSource source, List<RichMember> actualGroupMembers, List<String> skippedMembers) {
+	private List<Candidate> convertSubjectsToCandidates(PerunSession sess, List<Map<String, String>> subjects, ExtSource membersSource, ExtSource source, Map<UserExtSource, RichMember> mappingStructure, List<String> skippedMembers) {
 		List<Candidate> candidates = new ArrayList<>();
 
-		//mapping structure for more efficient searching of actual group members
-		Map<UserExtSource, RichMember> mappingStructure = this.createMappingStructure(actualGroupMembers);
+		//candidates which need to be read from membersSource are read at once for all subjects
+		Map<String, CandidateSync> candidatesFromMembersSource = null;
+		if (!membersSource.equals(source) || !(membersSource instanceof ExtSourceApi)) {
+			candidatesFromMembersSource = getCandidatesFromMembersSource(sess, subjects, membersSource);
+		}
 
 		for (Map<String, String> subject: subjects) {
 			String login = subject.get("login");
@@ -3343,7 +3604,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 				// 1] sources of login and other attributes are not same
 				if(!membersSource.equals(source)) {
 					//need to read attributes from the new memberSource, we can't use locally data there (there are from other extSource)
-					candidates.add(new Candidate(getPerunBl().getExtSourcesManagerBl().getCandidate(sess, membersSource, login)));
+					candidates.add(new Candidate(getCandidateFromMembersSource(sess, membersSource, login, candidatesFromMembersSource)));
 				// 2] sources are same and we work with source which is instance of ExtSourceApi
 				} else if (membersSource instanceof ExtSourceApi) {
 					// we can use the data from this source without reading them again (all exists in the map of subject attributes)
@@ -3351,7 +3612,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 				// 3] sources are same and we work with source which is instace of ExtSourceSimpleApi
 				} else if (membersSource instanceof ExtSourceSimpleApi) {
 					// we can't use the data from this source, we need to read them again (they are not in the map of subject attributes)
-					candidates.add(new Candidate(getPerunBl().getExtSourcesManagerBl().getCandidate(sess, membersSource, login)));
+					candidates.add(new Candidate(getCandidateFromMembersSource(sess, membersSource, login, candidatesFromMembersSource)));
 				} else {
 					// this could not happen without change in extSource API code
 					throw new InternalErrorException("ExtSource is other instance than SimpleApi or Api and this is not supported!");
@@ -3381,6 +3642,56 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		return candidates;
 	}
 
+	/**
+	 * Get candidates for all subjects with login from membersSource at once.
+	 *
+	 * If membersSource doesn't support it or data of some candidate can't be parsed, null is returned
+	 * and candidates have to be read one by one.
+	 *
+	 * @param sess
+	 * @param subjects list of subjects from ExtSource (at least login should be here)
+	 * @param membersSource ExtSource to read candidates from
+	 *
+	 * @return map of logins to candidates or null if candidates can't be read at once
+	 */
+	private Map<String, CandidateSync> getCandidatesFromMembersSource(PerunSession sess, List<Map<String, String>> subjects, ExtSource membersSource) {
+		List<String> logins = subjects.stream()
+			.map(subject -> subject.get("login"))
+			.filter(login -> login != null && !login.isEmpty())
+			.distinct()
+			.collect(toList());
+		try {
+			return getPerunBl().getExtSourcesManagerBl().getCandidates(sess, membersSource, logins);
+		} catch (ExtSourceUnsupportedOperationException | ParserException e) {
+			log.debug("Candidates can't be read at once from extSource {}, they will be read one by one.", membersSource, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Get candidate from membersSource by login. Use already read candidates if they are available.
+	 *
+	 * @param sess
+	 * @param membersSource ExtSource to read candidate from
+	 * @param login login of the candidate
+	 * @param candidatesFromMembersSource already read candidates mapped on their logins or null
+	 *
+	 * @return candidate
+	 *
+	 * @throws CandidateNotExistsException if candidate doesn't exist in membersSource
+	 * @throws ExtSourceUnsupportedOperationException if membersSource doesn't support getting candidate
+	 */
+	private CandidateSync getCandidateFromMembersSource(PerunSession sess, ExtSource membersSource, String login, Map<String, CandidateSync> candidatesFromMembersSource) throws CandidateNotExistsException, ExtSourceUnsupportedOperationException {
+		if (candidatesFromMembersSource == null) {
+			return getPerunBl().getExtSourcesManagerBl().getCandidate(sess, membersSource, login);
+		}
+		CandidateSync candidate = candidatesFromMembersSource.get(login);
+		if (candidate == null) {
+			throw new CandidateNotExistsException("Candidate with login [" + login + "] not exists");
+		}
+		return candidate;
+	}
+
 	/**
 	 * Get candidate and corresponding memberToUpdate and update his attributes, extSources, expiration and status.
 	 *
@@ -3423,6 +3734,24 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		//get RichMember with attributes
 		memberToUpdate = getPerunBl().getMembersManagerBl().convertMembersToRichMembersWithAttributes(sess, Collections.singletonList(memberToUpdate), attrDefs).get(0);
 
+		updateRichMemberWhileSynchronization(sess, group, candidate, memberToUpdate, overwriteUserAttributesList, mergeMemberAttributesList, attrDefs);
+	}
+
+	/**
+	 * Update member and his user from the candidate, member already contains values of synchronized attributes.
+	 *
+	 * @param sess perun session
+	 * @param group to be synchronized
+	 * @param candidate candidate to update by
+	 * @param memberToUpdate richMember with attributes from attrDefs
+	 * @param overwriteUserAttributesList list of user attributes to be updated instead of merged
+	 * @param mergeMemberAttributesList list of member attributes to be merged instead of updated
+	 * @param attrDefs list of attribute definitions to update from candidate
+	 *
+	 * @throws AttributeNotExistsException if some attributes not exists and for this reason can't be updated
+	 * @throws WrongAttributeAssignmentException if some attribute is updated in bad way (bad assignment)
+	 */
+	private void updateRichMemberWhileSynchronization(PerunSession sess, Group group, Candidate candidate, RichMember memberToUpdate, List<String> overwriteUserAttributesList, List<String> mergeMemberAttributesList, List<AttributeDefinition> attrDefs) throws AttributeNotExistsException, WrongAttributeAssignmentException {
 		// try to find user core attributes and update user -> update name and titles
 		updateUserCoreAttributes(sess, candidate, memberToUpdate, overwriteUserAttributesList);
 
@@ -3680,6 +4009,94 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	 * @param skippedMembers list of not successfully synchronized members
 	 */
 	public void addMissingMemberWhileSynchronization(PerunSession sess, Group group, Candidate candidate, List<String> overwriteUserAttributesList, List<String> mergeMemberAttributesList, List<String> skippedMembers) {
+		Member member = getMemberForCandidateWhileSynchronization(sess, group, candidate, overwriteUserAttributesList, mergeMemberAttributesList, skippedMembers);
+		if (member == null) return;
+
+		try {
+			// Add the member to the group
+			if (!group.getName().equals(VosManager.MEMBERS_GROUP)) {
+				// Do not add members to the generic members group
+				try {
+					getPerunBl().getGroupsManagerBl().addMember(sess, group, member);
+				} catch(GroupNotExistsException ex) {
+					// Shouldn't happen, group should always exist
+					throw new ConsistencyErrorException(ex);
+				}
+			}
+			log.info("Group synchronization {}: New member id {} added.", group, member.getId());
+		} catch (AlreadyMemberException e) {
+			//This part is ok, it means someone add member before synchronization ends, log it and skip this member
+			log.debug("Member {} was added to group {} before adding process. Skip this member.", member, group);
+			return;
+		} catch (AttributeValueException e) {
+			// There is a problem with attribute value, so set INVALID status of the member
+			getPerunBl().getMembersManagerBl().invalidateMember(sess, member);
+		}
+
+		// Try to validate member
+		try {
+			getPerunBl().getMembersManagerBl().validateMember(sess, member);
+		} catch (AttributeValueException e) {
+			log.warn("Member id {} will be in INVALID status due to wrong attributes {}.", member.getId(), e);
+		}
+	}
+
+	@Override
+	public void addMissingMembersInBulkWhileSynchronization(PerunSession sess, Group group, List<Member> members) {
+		List<Member> addedMembers = new ArrayList<>(members);
+		List<Member> newMembers = new ArrayList<>();
+		// Do not add members to the generic members group
+		if (!group.getName().equals(VosManager.MEMBERS_GROUP)) {
+			try {
+				addedMembers = addDirectMembersInBulk(sess, group, members, newMembers);
+			} catch (AlreadyMemberException e) {
+				throw new ConsistencyErrorException("Some of the members was added to group " + group + " while it was locked.", e);
+			}
+		}
+
+		Set<Member> newMembersSet = new HashSet<>(newMembers);
+		for (Member member : addedMembers) {
+			try {
+				if (newMembersSet.contains(member)) {
+					processNewGroupMember(sess, group, member);
+				}
+				log.info("Group synchronization {}: New member id {} added.", group, member.getId());
+			} catch (AlreadyMemberException e) {
+				//This part is ok, it means someone add member before synchronization ends, log it and skip this member
+				log.debug("Member {} was added to group {} before adding process. Skip this member.", member, group);
+				continue;
+			} catch (GroupNotExistsException e) {
+				// Shouldn't happen, group should always exist
+				throw new ConsistencyErrorException(e);
+			} catch (AttributeValueException e) {
+				// There is a problem with attribute value, so set INVALID status of the member
+				getPerunBl().getMembersManagerBl().invalidateMember(sess, member);
+			}
+
+			// Try to validate member
+			try {
+				getPerunBl().getMembersManagerBl().validateMember(sess, member);
+			} catch (AttributeValueException e) {
+				log.warn("Member id {} will be in INVALID status due to wrong attributes {}.", member.getId(), e);
+			}
+		}
+	}
+
+	/**
+	 * Get member of the group's Vo for the candidate, if there is no such member, create him.
+	 * Existing member is updated from the candidate.
+	 *
+	 * If member can't be created or updated, skip him and add this information to skippedMembers list.
+	 *
+	 * @param sess perun session
+	 * @param group to be synchronized
+	 * @param candidate new member (candidate)
+	 * @param overwriteUserAttributesList list of attributes to be updated for user if found
+	 * @param mergeMemberAttributesList list of attributes to be merged for member if found
+	 * @param skippedMembers list of not successfully synchronized members
+	 * @return member for the candidate or null if he was skipped
+	 */
+	private Member getMemberForCandidateWhileSynchronization(PerunSession sess, Group group, Candidate candidate, List<String> overwriteUserAttributesList, List<String> mergeMemberAttributesList, List<String> skippedMembers) {
 		Member member;
 		try {
 			// Check if the member is already in the VO (just not in the group)
@@ -3693,7 +4110,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 				// if update fails, skip him
 				log.warn("Can't update member from candidate {} due to attribute value exception {}.", candidate, e);
 				skippedMembers.add("MemberEntry:[" + candidate + "] was skipped because there was problem when updating member from candidate: Exception: " + e.getName() + " => '" + e.getMessage() + "'");
-				return;
+				return null;
 			}
 
 		} catch (MemberNotExistsException e) {
@@ -3714,7 +4131,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 						// if update fails, skip him
 						log.warn("Can't update member from candidate {} due to attribute value exception {}.", candidate, e);
 						skippedMembers.add("MemberEntry:[" + candidate + "] was skipped because there was problem when updating member from candidate: Exception: " + e.getName() + " => '" + e2.getMessage() + "'");
-						return;
+						return null;
 					}
 				} catch (Exception e2) {
 					//Something is still wrong, thrown consistency exception
@@ -3723,41 +4140,15 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			} catch (AttributeValueException e1) {
 				log.warn("Can't create member from candidate {} due to attribute value exception {}.", candidate, e1);
 				skippedMembers.add("MemberEntry:[" + candidate + "] was skipped because there was problem when createing member from candidate: Exception: " + e1.getName() + " => '" + e1.getMessage() + "'");
-				return;
+				return null;
 			} catch (ExtendMembershipException e1) {
 				log.warn("Can't create member from candidate {} due to membership expiration exception {}.", candidate, e1);
 				skippedMembers.add("MemberEntry:[" + candidate + "] was skipped because membership expiration: Exception: " + e1.getName() + " => " + e1.getMessage() + "]");
-				return;
+				return null;
 			}
 		}
 
-		try {
-			// Add the member to the group
-			if (!group.getName().equals(VosManager.MEMBERS_GROUP)) {
-				// Do not add members to the generic members group
-				try {
-					getPerunBl().getGroupsManagerBl().addMember(sess, group, member);
-				} catch(GroupNotExistsException ex) {
-					// Shouldn't happen, group should always exist
-					throw new ConsistencyErrorException(ex);
-				}
-			}
-			log.info("Group synchronization {}: New member id {} added.", group, member.getId());
-		} catch (AlreadyMemberException e) {
-			//This part is ok, it means someone add member before synchronization ends, log it and skip this member
-			log.debug("Member {} was added to group {} before adding process. Skip this member.", member, group);
-			return;
-		} catch (AttributeValueException e) {
-			// There is a problem with attribute value, so set INVALID status of the member
-			getPerunBl().getMembersManagerBl().invalidateMember(sess, member);
-		}
-
-		// Try to validate member
-		try {
-			getPerunBl().getMembersManagerBl().validateMember(sess, member);
-		} catch (AttributeValueException e) {
-			log.warn("Member id {} will be in INVALID status due to wrong attributes {}.", member.getId(), e);
-		}
+		return member;
 	}
 
 	/**
@@ -3801,6 +4192,35 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		}
 	}
 
+	@Override
+	public void removeFormerMembersInBulkWhileSynchronization(PerunSession sess, Group group, List<RichMember> membersToRemove) {
+		List<Member> removedMembers = new ArrayList<>();
+		List<Member> removedRecords;
+		try {
+			removedRecords = removeDirectMembersInBulk(sess, group, new ArrayList<>(membersToRemove), removedMembers);
+			for (Member member : removedMembers) {
+				processMemberRemovedFromGroupTotally(sess, group, member);
+			}
+		} catch (NotGroupMemberException e) {
+			throw new ConsistencyErrorException("Trying to remove non-existing user");
+		} catch (GroupNotExistsException e) {
+			// Shouldn't happen, group should always exist
+			throw new ConsistencyErrorException(e);
+		} catch (WrongAttributeValueException | WrongReferenceAttributeValueException e) {
+			throw new InternalErrorException(e);
+		}
+
+		Set<Member> removedRecordsSet = new HashSet<>(removedRecords);
+		for (RichMember memberToRemove : membersToRemove) {
+			if (removedRecordsSet.contains(memberToRemove)) {
+				log.info("Group synchronization {}: Member id {} removed.", group, memberToRemove.getId());
+			} else {
+				//Member was probably removed before starting of synchronization removing process, log it and skip this member
+				log.debug("Member {} was removed from group {} before removing process. Skip this member.", memberToRemove, group);
+			}
+		}
+	}
+
 	/**
 	 * Return boolean value whether group is authoritative.
 	 *
@@ -4058,63 +4478,6 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		return skippedObjectsMessage;
 	}
 
-	/**
-	 * Interrupt threads after timeout and remove all interrupted threads (group structure synchronization threads)
-	 *
-	 * Method used by group structure synchronization
-	 *
-	 * @return number of removed threads
-	 */
-	private int processCurrentGroupStructureSynchronizationThreads() {
-		int timeoutMinutes = BeansUtils.getCoreConfig().getGroupStructureSynchronizationTimeout();
-
-		int numberOfNewlyRemovedThreads = 0;
-		Iterator<GroupStructureSynchronizerThread> threadIterator = groupStructureSynchronizerThreads.iterator();
-		while(threadIterator.hasNext()) {
-			GroupStructureSynchronizerThread thread = threadIterator.next();
-
-			long threadStart = thread.getStartTime();
-			long timeDiff = System.currentTimeMillis() - threadStart;
-
-			//If thread was interrupted by anything, remove it from the pool of active threads
-			if (thread.isInterrupted() || !thread.isAlive()) {
-				numberOfNewlyRemovedThreads++;
-				threadIterator.remove();
-			} else if (threadStart != 0 && timeDiff/1000/60 > timeoutMinutes) {
-				//If thread start time is 0, this thread is waiting for another job, skip it
-				// If the time is greater than timeout set in the configuration file (in minutes), interrupt and remove this thread from pool
-				log.error("Thread was interrupted while synchronizing the group structure {} because of timeout!", thread.getGroup());
-				thread.interrupt();
-				threadIterator.remove();
-				numberOfNewlyRemovedThreads++;
-			}
-		}
-
-		return numberOfNewlyRemovedThreads;
-	}
-
-	/**
-	 * Create and start new threads for group structure synchronization
-	 *
-	 * Method used by group structure synchronization
-	 *
-	 * @param sess
-	 * @return number of created threads
-	 * @throws InternalErrorException
-	 */
-	private int createNewGroupStructureSynchronizationThreads(PerunSession sess) {
-		int numberOfNewlyCreatedThreads = 0;
-		while(groupStructureSynchronizerThreads.size() < maxConcurrentGroupsStructuresToSynchronize) {
-			GroupStructureSynchronizerThread thread = new GroupStructureSynchronizerThread(sess);
-			thread.start();
-			groupStructureSynchronizerThreads.add(thread);
-			numberOfNewlyCreatedThreads++;
-			log.debug("New thread for group structure synchronization started.");
-		}
-
-		return numberOfNewlyCreatedThreads;
-	}
-
 	/**
 	 * Add new groups to the group structure synchronization poll
 	 *
@@ -4153,7 +4516,17 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 		}
 
-		return poolOfSynchronizations.putGroupsStructuresToPoolOfWaitingGroupsStructures(timeCompliantGroups);
+		int numberOfAddedGroups = 0;
+		for (Group group : timeCompliantGroups) {
+			if (!synchronizationScheduler.isScheduled(SynchronizationScheduler.Type.GROUP_STRUCTURE, group)
+					&& synchronizationScheduler.scheduleGroupStructure(group, getAllSubGroupsIds(sess, group), false)) {
+				log.debug("Group structure {} was added to the pool of groups structures waiting for synchronization.", group);
+				numberOfAddedGroups++;
+			} else {
+				log.debug("Group structure {} synchronization is already waiting or running.", group);
+			}
+		}
+		return numberOfAddedGroups;
 	}
 
 	/**
@@ -4626,36 +4999,68 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 
 	@Override
 	public void addRelationMembers(PerunSession sess, Group resultGroup, List<Member> changedMembers, int sourceGroupId) throws AlreadyMemberException, WrongReferenceAttributeValueException, WrongAttributeValueException, GroupNotExistsException {
-		List<Member> newMembers;
+		addRelationMembers(sess, resultGroup, changedMembers, sourceGroupId, new HashMap<>());
+	}
 
-		newMembers = addIndirectMembers(sess, resultGroup, changedMembers, sourceGroupId);
+	/**
+	 * Add changed members to the result group and propagate the new ones to its result groups.
+	 *
+	 * @param sess perun session
+	 * @param resultGroup group to which members are added
+	 * @param changedMembers list of changed members from the source group
+	 * @param sourceGroupId id of a group from which members originate
+	 * @param resultGroups already read result groups by group ids, shared by the whole propagation
+	 */
+	private void addRelationMembers(PerunSession sess, Group resultGroup, List<Member> changedMembers, int sourceGroupId, Map<Integer, List<Group>> resultGroups) throws AlreadyMemberException, WrongReferenceAttributeValueException, WrongAttributeValueException {
+		List<Member> newMembers = addIndirectMembers(sess, resultGroup, changedMembers, sourceGroupId);
 
 		if(newMembers.isEmpty()) {
 			return;
 		}
 
-		List<Integer> relations = groupsManagerImpl.getResultGroupsIds(sess, resultGroup.getId());
-		for (Integer groupId : relations) {
-			addRelationMembers(sess, groupsManagerImpl.getGroupById(sess, groupId), newMembers, resultGroup.getId());
+		for (Group group : getResultGroups(sess, resultGroup, resultGroups)) {
+			addRelationMembers(sess, group, newMembers, resultGroup.getId(), resultGroups);
 		}
 	}
 
 	@Override
 	public void removeRelationMembers(PerunSession sess, Group resultGroup, List<Member> changedMembers, int sourceGroupId) throws WrongReferenceAttributeValueException, NotGroupMemberException, WrongAttributeValueException, GroupNotExistsException {
-		List<Member> members;
+		removeRelationMembers(sess, resultGroup, changedMembers, sourceGroupId, new HashMap<>());
+	}
 
-		members = removeIndirectMembers(sess, resultGroup, changedMembers, sourceGroupId);
+	/**
+	 * Remove changed members from the result group and propagate the removed ones to its result groups.
+	 *
+	 * @param sess perun session
+	 * @param resultGroup group from which members are removed
+	 * @param changedMembers list of changed members from the source group
+	 * @param sourceGroupId id of a group from which members originate
+	 * @param resultGroups already read result groups by group ids, shared by the whole propagation
+	 */
+	private void removeRelationMembers(PerunSession sess, Group resultGroup, List<Member> changedMembers, int sourceGroupId, Map<Integer, List<Group>> resultGroups) throws WrongReferenceAttributeValueException, NotGroupMemberException, WrongAttributeValueException {
+		List<Member> members = removeIndirectMembers(sess, resultGroup, changedMembers, sourceGroupId);
 
 		if(members.isEmpty()){
 			return;
 		}
 
-		List<Integer> relations = groupsManagerImpl.getResultGroupsIds(sess, resultGroup.getId());
-		for (Integer groupId : relations) {
-			removeRelationMembers(sess, groupsManagerImpl.getGroupById(sess, groupId), members, resultGroup.getId());
+		for (Group group : getResultGroups(sess, resultGroup, resultGroups)) {
+			removeRelationMembers(sess, group, members, resultGroup.getId(), resultGroups);
 		}
 	}
 
+	/**
+	 * Get result groups of the group, each group is read from the database only once during one propagation.
+	 *
+	 * @param sess perun session
+	 * @param group operand group
+	 * @param resultGroups already read result groups by group ids
+	 * @return result groups of the group
+	 */
+	private List<Group> getResultGroups(PerunSession sess, Group group, Map<Integer, List<Group>> resultGroups) {
+		return resultGroups.computeIfAbsent(group.getId(), groupId -> groupsManagerImpl.getResultGroups(sess, groupId));
+	}
+
 	@Override
 	public Group createGroupUnion(PerunSession sess, Group resultGroup, Group operandGroup, boolean parentFlag) throws WrongReferenceAttributeValueException, WrongAttributeValueException, GroupNotExistsException, GroupRelationAlreadyExists, GroupRelationNotAllowed {
 
@@ -4704,9 +5109,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		}
 
 		// calculate new member-group statuses
-		for (Member member : getGroupMembers(sess, operandGroup)) {
-			recalculateMemberGroupStatusRecursively(sess, member, operandGroup);
-		}
+		recalculateMembersGroupStatusRecursively(sess, getGroupMembers(sess, operandGroup), operandGroup);
 
 		return resultGroup;
 	}
@@ -4733,9 +5136,7 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 		groupsManagerImpl.removeGroupUnion(sess, resultGroup, operandGroup);
 
 		// recalculates statuses of members in result group
-		for (Member member : getGroupMembers(sess, resultGroup)) {
-			recalculateMemberGroupStatusRecursively(sess, member, resultGroup);
-		}
+		recalculateMembersGroupStatusRecursively(sess, getGroupMembers(sess, resultGroup), resultGroup);
 	}
 
 	@Override
@@ -4974,9 +5375,8 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 	}
 
 	/**
-	 * Calculates the state of given member in given group and if
-	 * it differs from given 'previousState' calls this method recursively
-	 * for all parent groups.
+	 * Calculates the state of given member in given group and
+	 * in all groups affected by the group through relations.
 	 *
 	 * @param member member
 	 * @param group group
@@ -4989,42 +5389,93 @@ public class GroupsManagerBlImpl implements GroupsManagerBl {
 			throw new InternalErrorException("Member, which should be checked, can not be null.");
 		}
 
+		recalculateMembersGroupStatusRecursively(sess, Collections.singletonList(member), group);
+	}
+
+	@Override
+	public void recalculateMembersGroupStatusRecursively(PerunSession sess, List<Member> members, Group group) {
+
 		if (group == null) {
 			throw new InternalErrorException("Group, where members status should be recalculated, can not be null.");
 		}
 
 		// skip members group where all members are valid all the time
-		if (group.getName().equals(VosManager.MEMBERS_GROUP)) {
+		if (group.getName().equals(VosManager.MEMBERS_GROUP) || members.isEmpty()) {
 			return;
 		}
 
-		MemberGroupStatus newStatus = getTotalMemberGroupStatus(sess, member, group);
-
-		boolean saveStatuses = true;
-		// member has been removed from group, we need to calculate its statuses in any result groups
-		// but we can not save statuses because the relations should be already removed
-		if (newStatus == null) {
-			saveStatuses = false;
-		}
-
-		// get all possibly affected groups and member's statuses for them
-		List<Group> affectedGroups = new ArrayList<>(groupsManagerImpl.getResultGroups(sess, group.getId()));
+		// statuses of the members in a group are calculated after all groups it receives the statuses from
+		for (Group affectedGroup : getAffectedGroupsInRelationsOrder(sess, group)) {
+			Map<Integer, MemberGroupStatus> newStatuses = groupsManagerImpl.getTotalMemberGroupStatuses(sess, members, affectedGroup);
 
-		// if the new status is not null, update statuses received from the group to other groups
-		if (saveStatuses) {
-			groupsManagerImpl.setIndirectGroupStatus(sess, member, group, newStatus);
+			// member can be removed from the group, we need to calculate its statuses in any result groups
+			// but we can not save statuses because the relations should be already removed
+			List<Member> validMembers = new ArrayList<>();
+			List<Member> expiredMembers = new ArrayList<>();
+			List<AuditEvent> events = new ArrayList<>();
+			for (Member member : members) {
+				MemberGroupStatus newStatus = newStatuses.get(member.getId());
+				if (MemberGroupStatus.EXPIRED.equals(newStatus)) {
+					expiredMembers.add(member);
+					events.add(new MemberExpiredInGroup(member, affectedGroup));
+				} else if (MemberGroupStatus.VALID.equals(newStatus)) {
+					validMembers.add(member);
+					events.add(new MemberValidatedInGroup(member, affectedGroup));
+				}
+			}
 
-			if (newStatus.equals(MemberGroupStatus.EXPIRED)) {
-				getPerunBl().getAuditer().log(sess, new MemberExpiredInGroup(member, group));
-			} else if (newStatus.equals(MemberGroupStatus.VALID)) {
-				getPerunBl().getAuditer().log(sess, new MemberValidatedInGroup(member, group));
+			// update statuses received from the group to other groups
+			if (!validMembers.isEmpty()) {
+				groupsManagerImpl.setIndirectGroupStatuses(sess, validMembers, affectedGroup, MemberGroupStatus.VALID);
+			}
+			if (!expiredMembers.isEmpty()) {
+				groupsManagerImpl.setIndirectGroupStatuses(sess, expiredMembers, affectedGroup, MemberGroupStatus.EXPIRED);
 			}
+			getPerunBl().getAuditer().logAll(sess, events);
 		}
+	}
 
-		// check recursively all parent groups
-		for (Group affectedGroup : affectedGroups) {
-			recalculateMemberGroupStatusRecursively(sess, member, affectedGroup);
-		}
+	/**
+	 * Get the group and all groups affected by it through relations (its result groups, their result groups, ...).
+	 * Groups are ordered so every group precedes its result groups. Members groups are skipped,
+	 * since all members are valid in them all the time.
+	 *
+	 * @param sess perun session
+	 * @param group group
+	 * @return affected groups in order of relations
+	 */
+	private List<Group> getAffectedGroupsInRelationsOrder(PerunSession sess, Group group) {
+		Map<Integer, List<Group>> resultGroups = new HashMap<>();
+		Map<Integer, Integer> operandsCount = new HashMap<>();
+		Set<Integer> visitedGroupsIds = new HashSet<>();
+		visitedGroupsIds.add(group.getId());
+
+		// compute the closure of result groups once
+		Deque<Group> groupsToProcess = new ArrayDeque<>();
+		groupsToProcess.add(group);
+		while (!groupsToProcess.isEmpty()) {
+			Group processedGroup = groupsToProcess.poll();
+			List<Group> processedResultGroups = groupsManagerImpl.getResultGroups(sess, processedGroup.getId()).stream()
+					.filter(resultGroup -> !VosManager.MEMBERS_GROUP.equals(resultGroup.getName()))
+					.collect(toList());
+			resultGroups.put(processedGroup.getId(), processedResultGroups);
+			for (Group resultGroup : processedResultGroups) {
+				operandsCount.merge(resultGroup.getId(), 1, Integer::sum);
+				if (visitedGroupsIds.add(resultGroup.getId())) groupsToProcess.add(resultGroup);
+			}
+		}
+
+		// order groups, so group is processed after all its operand groups from the closure
+		List<Group> orderedGroups = new ArrayList<>();
+		groupsToProcess.add(group);
+		while (!groupsToProcess.isEmpty()) {
+			Group processedGroup = groupsToProcess.poll();
+			orderedGroups.add(processedGroup);
+			for (Group resultGroup : resultGroups.get(processedGroup.getId())) {
+				if (operandsCount.merge(resultGroup.getId(), -1, Integer::sum) == 0) groupsToProcess.add(resultGroup);
+			}
+		}
+		return orderedGroups;
 	}
 
 	@Override
@@ -30,8 +30,10 @@ import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Member;
 import cz.metacentrum.perun.core.api.MemberGroupStatus;
 import cz.metacentrum.perun.core.api.MembersManager;
+import cz.metacentrum.perun.core.api.MembersPageQuery;
 import cz.metacentrum.perun.core.api.MembershipType;
 import cz.metacentrum.perun.core.api.NamespaceRules;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.Pair;
 import cz.metacentrum.perun.core.api.PerunBean;
 import cz.metacentrum.perun.core.api.PerunSession;
@@ -751,6 +753,24 @@ public class MembersManagerBlImpl implements MembersManagerBl {
 		return this.convertMembersToRichMembersWithAttributes(sess, richMembers, attrsDef);
 	}
 
+	@Override
+	public Paginated<RichMember> getMembersPage(PerunSession sess, Vo vo, MembersPageQuery query, List<String> attrsNames) throws AttributeNotExistsException, IllegalArgumentException {
+		Paginated<Member> members = getMembersManagerImpl().getMembersPage(sess, vo, query);
+		List<RichMember> richMembers = this.convertMembersToRichMembers(sess, members.getData());
+
+		if (attrsNames == null || attrsNames.isEmpty()) {
+			richMembers = this.convertMembersToRichMembersWithAttributes(sess, richMembers);
+		} else {
+			List<AttributeDefinition> attrsDef = new ArrayList<>();
+			for (String attrName : attrsNames) {
+				attrsDef.add(perunBl.getAttributesManagerBl().getAttributeDefinition(sess, attrName));
+			}
+			richMembers = this.convertMembersToRichMembersWithAttributes(sess, richMembers, attrsDef);
+		}
+
+		return new Paginated<>(richMembers, members.getOffset(), members.getPageSize(), members.getTotalCount());
+	}
+
 	@Override
 	public List<RichMember> getCompleteRichMembers(PerunSession sess, Vo vo, List<String> attrsNames) throws AttributeNotExistsException {
 		if(attrsNames == null || attrsNames.isEmpty()) {
@@ -967,12 +987,12 @@ public class MembersManagerBlImpl implements MembersManagerBl {
 	 */
 	@Override
 	public List<RichMember> convertMembersToRichMembersWithAttributes(PerunSession sess, List<RichMember> richMembers) {
-		for (RichMember richMember: richMembers) {
-			List<Attribute> userAttributes = getPerunBl().getAttributesManagerBl().getAttributes(sess, richMember.getUser());
-			List<Attribute> memberAttributes = getPerunBl().getAttributesManagerBl().getAttributes(sess, richMember);
+		Map<Integer, List<Attribute>> usersAttributes = getRichMembersUsersAttributes(sess, richMembers, null);
+		Map<Member, List<Attribute>> membersAttributes = getPerunBl().getAttributesManagerBl().getMembersAttributes(sess, new ArrayList<>(richMembers));
 
-			richMember.setUserAttributes(userAttributes);
-			richMember.setMemberAttributes(memberAttributes);
+		for (RichMember richMember: richMembers) {
+			richMember.setUserAttributes(new ArrayList<>(usersAttributes.get(richMember.getUserId())));
+			richMember.setMemberAttributes(new ArrayList<>(membersAttributes.get(richMember)));
 		}
 
 		return richMembers;
@@ -1089,20 +1109,21 @@ public class MembersManagerBlImpl implements MembersManagerBl {
 			else if(attrd.getName().startsWith(AttributesManager.NS_MEMBER_ATTR)) membersAttributesDef.add(attrd);
 		}
 
-		for (RichMember richMember: richMembers) {
-
-			List<String> userAttrNames = new ArrayList<>();
-			for(AttributeDefinition ad: usersAttributesDef) {
-				userAttrNames.add(ad.getName());
-			}
-			List<Attribute> userAttributes = new ArrayList<>(getPerunBl().getAttributesManagerBl().getAttributes(sess, richMember.getUser(), userAttrNames));
+		List<String> userAttrNames = new ArrayList<>();
+		for(AttributeDefinition ad: usersAttributesDef) {
+			userAttrNames.add(ad.getName());
+		}
+		Map<Integer, List<Attribute>> usersAttributes = getRichMembersUsersAttributes(sess, richMembers, userAttrNames);
 
-			List<String> memberAttrNames = new ArrayList<>();
-			for(AttributeDefinition ad: membersAttributesDef) {
-				memberAttrNames.add(ad.getName());
-			}
-			List<Attribute> memberAttributes = new ArrayList<>(getPerunBl().getAttributesManagerBl().getAttributes(sess, richMember, memberAttrNames));
+		List<String> memberAttrNames = new ArrayList<>();
+		for(AttributeDefinition ad: membersAttributesDef) {
+			memberAttrNames.add(ad.getName());
+		}
+		Map<Member, List<Attribute>> membersAttributes = getPerunBl().getAttributesManagerBl().getMembersAttributes(sess, new ArrayList<>(richMembers), memberAttrNames);
 
+		for (RichMember richMember: richMembers) {
+			List<Attribute> userAttributes = new ArrayList<>(usersAttributes.get(richMember.getUserId()));
+			List<Attribute> memberAttributes = new ArrayList<>(membersAttributes.get(richMember));
 			richMember.setUserAttributes(userAttributes);
 			richMember.setMemberAttributes(memberAttributes);
 		}
@@ -1152,19 +1173,21 @@ public class MembersManagerBlImpl implements MembersManagerBl {
 			else if(attrd.getName().startsWith(AttributesManager.NS_MEMBER_GROUP_ATTR)) memberGroupAttributesDef.add(attrd);
 		}
 
-		for (RichMember richMember: richMembers) {
+		List<String> userAttrNames = new ArrayList<>();
+		for(AttributeDefinition ad: usersAttributesDef) {
+			userAttrNames.add(ad.getName());
+		}
+		Map<Integer, List<Attribute>> usersAttributes = getRichMembersUsersAttributes(sess, richMembers, userAttrNames);
 
-			List<String> userAttrNames = new ArrayList<>();
-			for(AttributeDefinition ad: usersAttributesDef) {
-				userAttrNames.add(ad.getName());
-			}
-			List<Attribute> userAttributes = new ArrayList<>(getPerunBl().getAttributesManagerBl().getAttributes(sess, richMember.getUser(), userAttrNames));
+		List<String> memberAttrNames = new ArrayList<>();
+		for(AttributeDefinition ad: membersAttributesDef) {
+			memberAttrNames.add(ad.getName());
+		}
+		Map<Member, List<Attribute>> membersAttributes = getPerunBl().getAttributesManagerBl().getMembersAttributes(sess, new ArrayList<>(richMembers), memberAttrNames);
 
-			List<String> memberAttrNames = new ArrayList<>();
-			for(AttributeDefinition ad: membersAttributesDef) {
-				memberAttrNames.add(ad.getName());
-			}
-			List<Attribute> memberAttributes = new ArrayList<>(getPerunBl().getAttributesManagerBl().getAttributes(sess, richMember, memberAttrNames));
+		for (RichMember richMember: richMembers) {
+			List<Attribute> userAttributes = new ArrayList<>(usersAttributes.get(richMember.getUserId()));
+			List<Attribute> memberAttributes = new ArrayList<>(membersAttributes.get(richMember));
 
 			//add group-member attributes
 			List<String> groupAttrNames = new ArrayList<>();
@@ -1180,6 +1203,31 @@ public class MembersManagerBlImpl implements MembersManagerBl {
 		return richMembers;
 	}
 
+	/**
+	 * Get user attributes of all rich members at once. Each user is queried only once,
+	 * even if he has more members in the list.
+	 *
+	 * @param sess perun session
+	 * @param richMembers rich members with users set
+	 * @param attrNames names of user attributes or null for all non-empty user attributes
+	 * @return map of user id and his list of attributes
+	 */
+	private Map<Integer, List<Attribute>> getRichMembersUsersAttributes(PerunSession sess, List<RichMember> richMembers, List<String> attrNames) {
+		Map<Integer, User> users = new LinkedHashMap<>();
+		for (RichMember richMember : richMembers) {
+			users.putIfAbsent(richMember.getUserId(), richMember.getUser());
+		}
+		Map<User, List<Attribute>> usersAttributes = (attrNames == null) ?
+				getPerunBl().getAttributesManagerBl().getUsersAttributes(sess, new ArrayList<>(users.values())) :
+				getPerunBl().getAttributesManagerBl().getUsersAttributes(sess, new ArrayList<>(users.values()), attrNames);
+
+		Map<Integer, List<Attribute>> attributesById = new HashMap<>();
+		for (User user : users.values()) {
+			attributesById.put(user.getId(), usersAttributes.get(user));
+		}
+		return attributesById;
+	}
+
 	@Override
 	public int getMembersCount(PerunSession sess, Vo vo) {
 		return getMembersManagerImpl().getMembersCount(sess, vo);
@@ -35,6 +35,7 @@ import cz.metacentrum.perun.core.api.exceptions.InvalidDestinationException;
 import cz.metacentrum.perun.core.api.exceptions.MemberGroupMismatchException;
 import cz.metacentrum.perun.core.api.exceptions.PrivilegeException;
 import cz.metacentrum.perun.core.api.exceptions.ServiceAlreadyBannedException;
+import cz.metacentrum.perun.core.provisioning.GenDataExecutor;
 import cz.metacentrum.perun.core.provisioning.GroupsHashedDataGenerator;
 import cz.metacentrum.perun.core.provisioning.HierarchicalHashedDataGenerator;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
@@ -103,6 +104,7 @@ public class ServicesManagerBlImpl implements ServicesManagerBl {
 
 	private final ServicesManagerImplApi servicesManagerImpl;
 	private PerunBl perunBl;
+	private GenDataExecutor genDataExecutor;
 
 	public ServicesManagerBlImpl(ServicesManagerImplApi servicesManagerImpl) {
 		this.servicesManagerImpl = servicesManagerImpl;
@@ -558,6 +560,7 @@ public class ServicesManagerBlImpl implements ServicesManagerBl {
 				.service(service)
 				.facility(facility)
 				.filterExpiredMembers(filterExpiredMembers)
+				.executor(genDataExecutor)
 				.build();
 
 		return hashedDataGenerator.generateData();
@@ -988,6 +991,10 @@ public class ServicesManagerBlImpl implements ServicesManagerBl {
 		this.perunBl = perunBl;
 	}
 
+	public void setGenDataExecutor(GenDataExecutor genDataExecutor) {
+		this.genDataExecutor = genDataExecutor;
+	}
+
 	@Override
 	public List<Destination> addDestinationsForAllServicesOnFacility(PerunSession sess, Facility facility, Destination destination)
 		throws DestinationAlreadyAssignedException, InvalidDestinationException {
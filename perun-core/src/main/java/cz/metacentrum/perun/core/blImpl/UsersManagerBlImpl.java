@@ -26,6 +26,7 @@ import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Host;
 import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.Pair;
 import cz.metacentrum.perun.core.api.PerunPrincipal;
 import cz.metacentrum.perun.core.api.PerunSession;
@@ -38,6 +39,7 @@ import cz.metacentrum.perun.core.api.SpecificUserType;
 import cz.metacentrum.perun.core.api.Status;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.UserExtSource;
+import cz.metacentrum.perun.core.api.UsersPageQuery;
 import cz.metacentrum.perun.core.api.Vo;
 import cz.metacentrum.perun.core.api.exceptions.AlreadyAdminException;
 import cz.metacentrum.perun.core.api.exceptions.AlreadyReservedLoginException;
@@ -1544,6 +1546,21 @@ public class UsersManagerBlImpl implements UsersManagerBl {
 
 	}
 
+	@Override
+	public Paginated<RichUser> getUsersPage(PerunSession sess, UsersPageQuery query, List<String> attrNames) {
+		Paginated<User> users = getUsersManagerImpl().getUsersPage(sess, query);
+		List<RichUser> richUsers = this.convertUsersToRichUsers(sess, users.getData());
+
+		Map<User, List<Attribute>> attributes = (attrNames == null || attrNames.isEmpty()) ?
+				getPerunBl().getAttributesManagerBl().getUsersAttributes(sess, users.getData()) :
+				getPerunBl().getAttributesManagerBl().getUsersAttributes(sess, users.getData(), attrNames);
+		for (int i = 0; i < richUsers.size(); i++) {
+			richUsers.get(i).setUserAttributes(attributes.get(users.getData().get(i)));
+		}
+
+		return new Paginated<>(richUsers, users.getOffset(), users.getPageSize(), users.getTotalCount());
+	}
+
 	@Override
 	public List<RichUser> findRichUsersWithAttributesByExactMatch(PerunSession sess, String searchString, List<String> attrsName) throws UserNotExistsException {
 
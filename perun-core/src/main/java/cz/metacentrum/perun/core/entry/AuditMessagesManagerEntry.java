@@ -76,6 +76,51 @@ public class AuditMessagesManagerEntry implements AuditMessagesManager {
 		return getAuditMessagesManagerBl().pollConsumerEvents(perunSession, consumerName, lastProcessedId);
 	}
 
+	@Override
+	public List<AuditMessage> pollConsumerMessages(PerunSession perunSession, String consumerName, int lastProcessedId, int maxCount) throws PrivilegeException {
+		if (!AuthzResolver.authorizedInternal(perunSession, "pollConsumerMessages_String_int_int_policy")) {
+			throw new PrivilegeException(perunSession, "pollConsumerMessages");
+		}
+		if(maxCount<1) throw new WrongRangeOfCountException("Count of messages is less than 1. Can't be returned less than 1 message.");
+		return getAuditMessagesManagerBl().pollConsumerMessages(perunSession, consumerName, lastProcessedId, maxCount);
+	}
+
+	@Override
+	public List<AuditMessage> pollConsumerMessagesBatch(PerunSession perunSession, String consumerName, int maxCount) throws PrivilegeException {
+		if (!AuthzResolver.authorizedInternal(perunSession, "pollConsumerMessagesBatch_String_int_policy")) {
+			throw new PrivilegeException(perunSession, "pollConsumerMessagesBatch");
+		}
+		if(maxCount<1) throw new WrongRangeOfCountException("Count of messages is less than 1. Can't be returned less than 1 message.");
+		return getAuditMessagesManagerBl().pollConsumerMessagesBatch(perunSession, consumerName, maxCount);
+	}
+
+	@Override
+	public List<AuditEvent> pollConsumerEventsBatch(PerunSession perunSession, String consumerName, int maxCount) throws PrivilegeException {
+		if (!AuthzResolver.authorizedInternal(perunSession, "pollConsumerEventsBatch_String_int_policy")) {
+			throw new PrivilegeException(perunSession, "pollConsumerEventsBatch");
+		}
+		if(maxCount<1) throw new WrongRangeOfCountException("Count of events is less than 1. Can't be returned less than 1 event.");
+		return getAuditMessagesManagerBl().pollConsumerEventsBatch(perunSession, consumerName, maxCount);
+	}
+
+	@Override
+	public List<AuditEvent> waitForConsumerEvents(PerunSession perunSession, String consumerName, int maxCount, long timeout) throws PrivilegeException, InterruptedException {
+		if (!AuthzResolver.authorizedInternal(perunSession, "waitForConsumerEvents_String_int_long_policy")) {
+			throw new PrivilegeException(perunSession, "waitForConsumerEvents");
+		}
+		if(maxCount<1) throw new WrongRangeOfCountException("Count of events is less than 1. Can't be returned less than 1 event.");
+		return getAuditMessagesManagerBl().waitForConsumerEvents(perunSession, consumerName, maxCount, timeout);
+	}
+
+	@Override
+	public List<AuditMessage> waitForConsumerMessages(PerunSession perunSession, String consumerName, int lastProcessedId, int maxCount, long timeout) throws PrivilegeException, InterruptedException {
+		if (!AuthzResolver.authorizedInternal(perunSession, "waitForConsumerMessages_String_int_int_long_policy")) {
+			throw new PrivilegeException(perunSession, "waitForConsumerMessages");
+		}
+		if(maxCount<1) throw new WrongRangeOfCountException("Count of messages is less than 1. Can't be returned less than 1 message.");
+		return getAuditMessagesManagerBl().waitForConsumerMessages(perunSession, consumerName, lastProcessedId, maxCount, timeout);
+	}
+
 	@Override
 	public void createAuditerConsumer(PerunSession perunSession, String consumerName) throws PrivilegeException {
 		if (!AuthzResolver.authorizedInternal(perunSession, "createAuditerConsumer_String_policy")) {
@@ -117,6 +162,11 @@ public class AuditMessagesManagerEntry implements AuditMessagesManager {
 		return getAuditMessagesManagerBl().getAuditerMessagesCount(perunSession);
 	}
 
+	@Override
+	public Map<String, Long> getCacheStatistics(PerunSession perunSession) {
+		return getAuditMessagesManagerBl().getCacheStatistics(perunSession);
+	}
+
 	/**
 	 * Gets the AuditMessagesManagerBl for this instance.
 	 *
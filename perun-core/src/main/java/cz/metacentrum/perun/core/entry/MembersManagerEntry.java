@@ -4,7 +4,9 @@ import cz.metacentrum.perun.core.api.Attribute;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
 import cz.metacentrum.perun.core.api.AuthzResolver;
 import cz.metacentrum.perun.core.api.Candidate;
+import cz.metacentrum.perun.core.api.MembersPageQuery;
 import cz.metacentrum.perun.core.api.NamespaceRules;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.Sponsor;
 import cz.metacentrum.perun.core.api.ExtSource;
 import cz.metacentrum.perun.core.api.Group;
@@ -30,6 +32,7 @@ import cz.metacentrum.perun.core.api.exceptions.ExtendMembershipException;
 import cz.metacentrum.perun.core.api.exceptions.GroupExistsException;
 import cz.metacentrum.perun.core.api.exceptions.GroupNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.GroupResourceMismatchException;
+import cz.metacentrum.perun.core.api.exceptions.IllegalArgumentException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.InvalidLoginException;
 import cz.metacentrum.perun.core.api.exceptions.InvalidSponsoredUserDataException;
@@ -588,6 +591,34 @@ public class MembersManagerEntry implements MembersManager {
 		return getPerunBl().getMembersManagerBl().filterOnlyAllowedAttributes(sess, getMembersManagerBl().getCompleteRichMembers(sess, vo, attrsNames), null, true);
 	}
 
+	@Override
+	public Paginated<RichMember> getMembersPage(PerunSession sess, Vo vo, MembersPageQuery query, List<String> attrsNames) throws PrivilegeException, VoNotExistsException, GroupNotExistsException, AttributeNotExistsException, IllegalArgumentException {
+		Utils.checkPerunSession(sess);
+		Utils.notNull(query, "query");
+		Utils.checkPaging(query.getPageSize(), query.getOffset());
+
+		perunBl.getVosManagerBl().checkVoExists(sess, vo);
+
+		// Authorization
+		if (query.getGroupId() == null) {
+			if (!AuthzResolver.authorizedInternal(sess, "getMembersPage_Vo_MembersPageQuery_List<String>_policy", vo)) {
+				throw new PrivilegeException(sess, "getMembersPage");
+			}
+		} else {
+			Group group = getPerunBl().getGroupsManagerBl().getGroupById(sess, query.getGroupId());
+			if (group.getVoId() != vo.getId()) {
+				throw new IllegalArgumentException("Group " + group + " is not from the vo " + vo + ".");
+			}
+			if (!AuthzResolver.authorizedInternal(sess, "group-getMembersPage_Vo_MembersPageQuery_List<String>_policy", vo, group)) {
+				throw new PrivilegeException(sess, "getMembersPage");
+			}
+		}
+
+		Paginated<RichMember> page = getMembersManagerBl().getMembersPage(sess, vo, query, attrsNames);
+		page.setData(getPerunBl().getMembersManagerBl().filterOnlyAllowedAttributes(sess, page.getData(), null, true));
+		return page;
+	}
+
 	@Override
 	public List<RichMember> getCompleteRichMembers(PerunSession sess, Vo vo, List<String> attrsNames, List<String> allowedStatuses) throws PrivilegeException, VoNotExistsException, AttributeNotExistsException {
 		Utils.checkPerunSession(sess);
@@ -8,6 +8,7 @@ import cz.metacentrum.perun.core.api.ExtSource;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.PerunBean;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
@@ -21,6 +22,7 @@ import cz.metacentrum.perun.core.api.Sponsor;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.UserExtSource;
 import cz.metacentrum.perun.core.api.UsersManager;
+import cz.metacentrum.perun.core.api.UsersPageQuery;
 import cz.metacentrum.perun.core.api.Vo;
 import cz.metacentrum.perun.core.api.exceptions.AlreadyReservedLoginException;
 import cz.metacentrum.perun.core.api.exceptions.AnonymizationNotSupportedException;
@@ -28,6 +30,7 @@ import cz.metacentrum.perun.core.api.exceptions.AttributeNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.ConsistencyErrorException;
 import cz.metacentrum.perun.core.api.exceptions.ExtSourceNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.FacilityNotExistsException;
+import cz.metacentrum.perun.core.api.exceptions.IllegalArgumentException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.InvalidLoginException;
 import cz.metacentrum.perun.core.api.exceptions.LoginExistsException;
@@ -453,7 +456,7 @@ public class UsersManagerEntry implements UsersManager {
 		}
 
 		getUsersManagerBl().checkUserExists(sess, user);
-		if(user.getLastName() == null || user.getLastName().isEmpty()) throw new cz.metacentrum.perun.core.api.exceptions.IllegalArgumentException("User lastName can't be null. It's required attribute.");
+		if(user.getLastName() == null || user.getLastName().isEmpty()) throw new IllegalArgumentException("User lastName can't be null. It's required attribute.");
 
 		return getUsersManagerBl().updateUser(sess, user);
 	}
@@ -1172,6 +1175,22 @@ public class UsersManagerEntry implements UsersManager {
 
 	}
 
+	@Override
+	public Paginated<RichUser> getUsersPage(PerunSession sess, UsersPageQuery query, List<String> attrNames) throws PrivilegeException, IllegalArgumentException {
+		Utils.checkPerunSession(sess);
+		Utils.notNull(query, "query");
+		Utils.checkPaging(query.getPageSize(), query.getOffset());
+
+		// Authorization
+		if (!AuthzResolver.authorizedInternal(sess, "getUsersPage_UsersPageQuery_List<String>_policy")) {
+			throw new PrivilegeException(sess, "getUsersPage");
+		}
+
+		Paginated<RichUser> page = getUsersManagerBl().getUsersPage(sess, query, attrNames);
+		page.setData(getPerunBl().getUsersManagerBl().filterOnlyAllowedAttributes(sess, page.getData()));
+		return page;
+	}
+
 	@Override
 	public List<RichUser> findRichUsersWithAttributes(PerunSession sess, String searchString, List<String> attrNames) throws UserNotExistsException, PrivilegeException {
 		Utils.checkPerunSession(sess);
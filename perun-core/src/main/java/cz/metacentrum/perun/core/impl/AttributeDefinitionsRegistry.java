@@ -0,0 +1,253 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeCreated;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeDeleted;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeUpdated;
+import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.core.api.AttributeDefinition;
+import cz.metacentrum.perun.core.api.AuditMessage;
+import cz.metacentrum.perun.core.implApi.AuditMessagesManagerImplApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory registry of all attribute definitions used by AttributesManagerImpl instead of querying attr_names table.
+ *
+ * Definitions are loaded at once and then served by id, by name and by namespace. Registry is cleared
+ * by audit events about created, updated or deleted attribute definitions (when they are logged and again
+ * when the transaction which logged them is completed). Transaction which changed some definition doesn't
+ * use the registry at all, so it always sees its own uncommitted changes. Changes made by other instances of Perun
+ * are found in the auditer log, which is polled before definitions are returned. With positive poll interval,
+ * definitions changed by other instances can be served up to the poll interval. Definitions also expire after
+ * the timeout, so any change not covered by the events is reflected eventually.
+ *
+ * Each invalidation increments the generation of the registry. Definitions loaded before the invalidation
+ * are not stored, since they could be loaded from the stale data.
+ */
+public class AttributeDefinitionsRegistry {
+
+	private final static Logger log = LoggerFactory.getLogger(AttributeDefinitionsRegistry.class);
+
+	private final static int POLL_BATCH_SIZE = 1000;
+	private final static String CONSUMER_NAME = "attributeDefinitionsRegistry";
+
+	private final static Set<Class<? extends AuditEvent>> DEFINITION_EVENTS = Set.of(
+			AttributeCreated.class, AttributeUpdated.class, AttributeDeleted.class);
+
+	private final long timeout;
+	private final long pollInterval;
+	private final AtomicLong generation = new AtomicLong();
+	private final ReentrantLock pollLock = new ReentrantLock();
+	private AuditMessagesManagerImplApi auditMessagesManagerImpl;
+	private volatile int lastProcessedId = -1;
+	private volatile long lastPollTime;
+	// null when definitions are not loaded
+	private volatile Definitions definitions;
+
+	/**
+	 * Create registry of attribute definitions.
+	 *
+	 * @param timeout how long are loaded definitions used in seconds, registry is disabled if not positive
+	 * @param pollInterval how often is the auditer log checked for changes made by other instances in seconds,
+	 *                     it is checked on each read if not positive
+	 */
+	public AttributeDefinitionsRegistry(int timeout, int pollInterval) {
+		this.timeout = TimeUnit.SECONDS.toMillis(timeout);
+		this.pollInterval = TimeUnit.SECONDS.toMillis(pollInterval);
+	}
+
+	public void setAuditMessagesManagerImpl(AuditMessagesManagerImplApi auditMessagesManagerImpl) {
+		this.auditMessagesManagerImpl = auditMessagesManagerImpl;
+	}
+
+	public boolean isEnabled() {
+		return timeout > 0;
+	}
+
+	/**
+	 * Get current generation of the registry. It must be read before definitions are loaded
+	 * and then passed to the {@link #put(Definitions, long)}.
+	 *
+	 * @return current generation
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Get loaded definitions.
+	 *
+	 * @return definitions or null, if they are not loaded or they have expired
+	 */
+	public Definitions getDefinitions() {
+		if (!isEnabled()) return null;
+		pollAuditerLog();
+		Definitions loaded = definitions;
+		if (loaded == null || System.currentTimeMillis() - loaded.loadedAt > timeout) return null;
+		return loaded;
+	}
+
+	/**
+	 * Store definitions, if there was no invalidation since they were loaded.
+	 *
+	 * @param loaded definitions loaded from the database
+	 * @param loadedGeneration generation of the registry read before the definitions were loaded
+	 */
+	public void put(Definitions loaded, long loadedGeneration) {
+		if (!isEnabled()) return;
+		synchronized (this) {
+			if (generation.get() == loadedGeneration) {
+				definitions = loaded;
+			}
+		}
+	}
+
+	/**
+	 * Check whether attribute definitions were changed in the current transaction.
+	 * Such transaction must read definitions from the database, since the registry doesn't contain its changes.
+	 *
+	 * @return true if some definition was changed in the current transaction, false otherwise
+	 */
+	public boolean isChangedInCurrentTransaction() {
+		return TransactionSynchronizationManager.hasResource(this);
+	}
+
+	/**
+	 * Clear the registry, if the audit event is about changed attribute definition.
+	 *
+	 * @param event audit event
+	 */
+	public void invalidate(AuditEvent event) {
+		if (event == null || !DEFINITION_EVENTS.contains(event.getClass())) return;
+		log.trace("Clearing attribute definitions because of {}.", event.getClass().getSimpleName());
+		clear();
+		markCurrentTransaction();
+	}
+
+	/**
+	 * Remove all loaded definitions.
+	 */
+	public void clear() {
+		synchronized (this) {
+			generation.incrementAndGet();
+			definitions = null;
+		}
+	}
+
+	/**
+	 * Clear definitions changed by other instances of Perun. New events from the auditer log are read
+	 * at most once per poll interval and only by one thread at a time.
+	 */
+	private void pollAuditerLog() {
+		if (auditMessagesManagerImpl == null || System.currentTimeMillis() - lastPollTime < pollInterval || !pollLock.tryLock()) return;
+		try {
+			if (lastProcessedId < 0) {
+				// definitions loaded before are not checked against the missed events
+				lastProcessedId = auditMessagesManagerImpl.getLastMessageId(null);
+				clear();
+			} else {
+				List<AuditMessage> messages;
+				do {
+					messages = auditMessagesManagerImpl.pollConsumerMessages(null, CONSUMER_NAME, lastProcessedId, POLL_BATCH_SIZE);
+					for (AuditMessage message : messages) {
+						if (message.getEvent() != null && DEFINITION_EVENTS.contains(message.getEvent().getClass())) {
+							log.trace("Clearing attribute definitions because of {} found in the auditer log.", message.getEvent().getClass().getSimpleName());
+							clear();
+						}
+						lastProcessedId = message.getId();
+					}
+				} while (messages.size() == POLL_BATCH_SIZE);
+			}
+		} catch (RuntimeException ex) {
+			log.warn("Can't read changes of attribute definitions from the auditer log, clearing the registry.", ex);
+			lastProcessedId = -1;
+			clear();
+		} finally {
+			lastPollTime = System.currentTimeMillis();
+			pollLock.unlock();
+		}
+	}
+
+	/**
+	 * Mark current transaction as the one which changed definitions. Registry is cleared again
+	 * when the transaction is completed, since definitions could be loaded by others in the meantime.
+	 */
+	private void markCurrentTransaction() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive() || TransactionSynchronizationManager.hasResource(this)) return;
+		TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(AttributeDefinitionsRegistry.this);
+				clear();
+			}
+		});
+	}
+
+	/**
+	 * Immutable set of attribute definitions indexed by id, name and namespace.
+	 * All returned definitions are copies, so callers can modify them.
+	 */
+	public static class Definitions {
+
+		private final long loadedAt = System.currentTimeMillis();
+		private final List<AttributeDefinition> all;
+		private final Map<Integer, AttributeDefinition> byId = new HashMap<>();
+		private final Map<String, AttributeDefinition> byName = new HashMap<>();
+		private final Map<String, List<AttributeDefinition>> byNamespace = new HashMap<>();
+
+		public Definitions(List<AttributeDefinition> definitions) {
+			this.all = new ArrayList<>(definitions);
+			for (AttributeDefinition definition : all) {
+				byId.put(definition.getId(), definition);
+				byName.put(definition.getName(), definition);
+				byNamespace.computeIfAbsent(definition.getNamespace(), namespace -> new ArrayList<>()).add(definition);
+			}
+		}
+
+		/**
+		 * @return copy of the definition or null, if there is no definition with the id
+		 */
+		public AttributeDefinition getById(int id) {
+			AttributeDefinition definition = byId.get(id);
+			return definition == null ? null : new AttributeDefinition(definition);
+		}
+
+		/**
+		 * @return copy of the definition or null, if there is no definition with the name
+		 */
+		public AttributeDefinition getByName(String name) {
+			AttributeDefinition definition = byName.get(name);
+			return definition == null ? null : new AttributeDefinition(definition);
+		}
+
+		public List<AttributeDefinition> getByNamespace(String namespace) {
+			return copy(byNamespace.getOrDefault(namespace, Collections.emptyList()));
+		}
+
+		public List<AttributeDefinition> getAll() {
+			return copy(all);
+		}
+
+		private static List<AttributeDefinition> copy(List<AttributeDefinition> definitions) {
+			List<AttributeDefinition> copies = new ArrayList<>(definitions.size());
+			for (AttributeDefinition definition : definitions) {
+				copies.add(new AttributeDefinition(definition));
+			}
+			return copies;
+		}
+	}
+
+}
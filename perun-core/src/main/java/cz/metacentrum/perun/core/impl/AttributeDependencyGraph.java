@@ -0,0 +1,625 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.AttributeDefinition;
+import cz.metacentrum.perun.utils.graphs.GraphEdge;
+import cz.metacentrum.perun.utils.graphs.generators.GraphDefinition;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable graph of dependencies between attribute modules.
+ *
+ * The arrow 'A -> B' means that A is dependent on B, the double arrow 'A => B' means that A is strongly dependent on B.
+ * Besides both kinds of dependencies and their inverse versions, the graph holds precomputed dependants of every
+ * definition, i.e. definitions which have to be checked when a value of the definition is changed. Dependants of A are
+ * all definitions which depend on A or which depend on some definition strongly dependent on A (transitively).
+ *
+ * Definitions are indexed by their ids and all relations are stored as arrays of indexes. Adding or removing
+ * a definition creates a new graph, which shares unchanged arrays with the original one and recomputes dependants
+ * only of the affected definitions. If there is a cycle in strong dependencies, dependants are not computed at all.
+ *
+ * Relations are also available as read-only maps, so they can be used by code working with maps of sets and
+ * exported via {@link #toGraphDefinition()} to the graph generators and serializers.
+ */
+public final class AttributeDependencyGraph {
+
+	private final static int[] NO_EDGES = new int[0];
+
+	private final static AttributeDependencyGraph EMPTY = new AttributeDependencyGraph(new AttributeDefinition[0],
+			new HashMap<>(), new int[0][], new int[0][], new int[0][], new int[0][], new int[0][]);
+
+	// definitions by their index, removed definitions leave null in their place
+	private final AttributeDefinition[] definitions;
+	// id of definition => index
+	private final Map<Integer, Integer> indexes;
+	private final int[][] dependencies;
+	private final int[][] strongDependencies;
+	private final int[][] inverseDependencies;
+	private final int[][] inverseStrongDependencies;
+	// null when there is a cycle in strong dependencies
+	private final int[][] dependants;
+
+	private final Map<AttributeDefinition, Set<AttributeDefinition>> dependenciesMap;
+	private final Map<AttributeDefinition, Set<AttributeDefinition>> strongDependenciesMap;
+	private final Map<AttributeDefinition, Set<AttributeDefinition>> inverseDependenciesMap;
+	private final Map<AttributeDefinition, Set<AttributeDefinition>> inverseStrongDependenciesMap;
+	private final Map<AttributeDefinition, Set<AttributeDefinition>> dependantsMap;
+
+	private AttributeDependencyGraph(AttributeDefinition[] definitions, Map<Integer, Integer> indexes,
+	                                 int[][] dependencies, int[][] strongDependencies,
+	                                 int[][] inverseDependencies, int[][] inverseStrongDependencies,
+	                                 int[][] dependants) {
+		this.definitions = definitions;
+		this.indexes = indexes;
+		this.dependencies = dependencies;
+		this.strongDependencies = strongDependencies;
+		this.inverseDependencies = inverseDependencies;
+		this.inverseStrongDependencies = inverseStrongDependencies;
+		this.dependants = dependants;
+		this.dependenciesMap = new RelationMap(dependencies);
+		this.strongDependenciesMap = new RelationMap(strongDependencies);
+		this.inverseDependenciesMap = new RelationMap(inverseDependencies);
+		this.inverseStrongDependenciesMap = new RelationMap(inverseStrongDependencies);
+		this.dependantsMap = new RelationMap(dependants);
+	}
+
+	/**
+	 * @return graph without any definition
+	 */
+	public static AttributeDependencyGraph empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Create graph from given dependencies of attribute definitions.
+	 * Graph contains all keys of the maps and all definitions they depend on.
+	 *
+	 * @param dependencies definition => definitions it depends on
+	 * @param strongDependencies definition => definitions it strongly depends on
+	 * @return new graph
+	 */
+	public static AttributeDependencyGraph of(Map<AttributeDefinition, Set<AttributeDefinition>> dependencies,
+	                                          Map<AttributeDefinition, Set<AttributeDefinition>> strongDependencies) {
+		Set<AttributeDefinition> all = new LinkedHashSet<>(dependencies.keySet());
+		all.addAll(strongDependencies.keySet());
+		dependencies.values().forEach(all::addAll);
+		strongDependencies.values().forEach(all::addAll);
+
+		int size = all.size();
+		AttributeDefinition[] definitions = new AttributeDefinition[size];
+		Map<Integer, Integer> indexes = new HashMap<>();
+		int index = 0;
+		for (AttributeDefinition definition : all) {
+			if (indexes.put(definition.getId(), index) != null) {
+				throw new IllegalArgumentException("There are more attribute definitions with id " + definition.getId() + ".");
+			}
+			definitions[index++] = definition;
+		}
+
+		int[][] deps = new int[size][];
+		int[][] strongDeps = new int[size][];
+		for (int i = 0; i < size; i++) {
+			deps[i] = toIndexes(dependencies.get(definitions[i]), indexes);
+			strongDeps[i] = toIndexes(strongDependencies.get(definitions[i]), indexes);
+		}
+		int[][] inverseDeps = invert(deps);
+		int[][] inverseStrongDeps = invert(strongDeps);
+
+		int[][] dependants = isCyclic(strongDeps) ? null : computeDependants(inverseDeps, inverseStrongDeps);
+
+		return new AttributeDependencyGraph(definitions, indexes, deps, strongDeps, inverseDeps, inverseStrongDeps, dependants);
+	}
+
+	/**
+	 * Create new graph with the definition having given dependencies. If the definition is already in this graph,
+	 * its dependencies are replaced, definitions which depend on it are kept. Definitions which are not in this graph
+	 * yet are added to the new graph without any dependencies.
+	 *
+	 * @param definition added or updated definition
+	 * @param definitionDependencies definitions the definition depends on
+	 * @param definitionStrongDependencies definitions the definition strongly depends on
+	 * @return new graph, check {@link #isCyclic()} before using it
+	 */
+	public AttributeDependencyGraph withDefinition(AttributeDefinition definition,
+	                                               Set<AttributeDefinition> definitionDependencies,
+	                                               Set<AttributeDefinition> definitionStrongDependencies) {
+		Map<Integer, Integer> newIndexes = new HashMap<>(indexes);
+		Set<AttributeDefinition> added = new LinkedHashSet<>();
+		if (indexOf(definition) < 0) added.add(definition);
+		for (AttributeDefinition dependency : definitionDependencies) {
+			if (indexOf(dependency) < 0) added.add(dependency);
+		}
+		for (AttributeDefinition dependency : definitionStrongDependencies) {
+			if (indexOf(dependency) < 0) added.add(dependency);
+		}
+
+		int oldSize = definitions.length;
+		int size = oldSize + added.size();
+		AttributeDefinition[] newDefinitions = Arrays.copyOf(definitions, size);
+		int next = oldSize;
+		for (AttributeDefinition addedDefinition : added) {
+			Integer previous = newIndexes.put(addedDefinition.getId(), next);
+			if (previous != null) {
+				throw new IllegalArgumentException("There is other attribute definition with id " + addedDefinition.getId() + " in the graph: " + newDefinitions[previous]);
+			}
+			newDefinitions[next++] = addedDefinition;
+		}
+
+		int[][] deps = grow(dependencies, size);
+		int[][] strongDeps = grow(strongDependencies, size);
+		int[][] inverseDeps = grow(inverseDependencies, size);
+		int[][] inverseStrongDeps = grow(inverseStrongDependencies, size);
+
+		int index = newIndexes.get(definition.getId());
+		int[] oldDeps = deps[index];
+		int[] oldStrongDeps = strongDeps[index];
+		deps[index] = toIndexes(definitionDependencies, newIndexes);
+		strongDeps[index] = toIndexes(definitionStrongDependencies, newIndexes);
+		updateInverseRows(inverseDeps, index, oldDeps, deps[index]);
+		updateInverseRows(inverseStrongDeps, index, oldStrongDeps, strongDeps[index]);
+
+		boolean cyclic;
+		if (isCyclic()) {
+			cyclic = isCyclic(strongDeps);
+		} else {
+			// a new cycle has to go through the changed definition
+			cyclic = reachesAny(strongDeps, strongDeps[index], new int[] {index});
+		}
+
+		int[][] newDependants = null;
+		if (!cyclic && isCyclic()) {
+			newDependants = computeDependants(inverseDeps, inverseStrongDeps);
+		} else if (!cyclic) {
+			int[] seeds = union(union(oldDeps, oldStrongDeps), union(deps[index], strongDeps[index]));
+			seeds = union(seeds, new int[] {index});
+			newDependants = recomputeDependants(grow(dependants, size), seeds, strongDependencies, strongDeps, inverseDeps, inverseStrongDeps);
+		}
+
+		return new AttributeDependencyGraph(newDefinitions, newIndexes, deps, strongDeps, inverseDeps, inverseStrongDeps, newDependants);
+	}
+
+	/**
+	 * Create new graph without the definition and all its relations to other definitions.
+	 *
+	 * @param definition removed definition
+	 * @return new graph or this graph, if it doesn't contain the definition
+	 */
+	public AttributeDependencyGraph withoutDefinition(AttributeDefinition definition) {
+		int index = indexOf(definition);
+		if (index < 0) return this;
+
+		int size = definitions.length;
+		AttributeDefinition[] newDefinitions = Arrays.copyOf(definitions, size);
+		newDefinitions[index] = null;
+		Map<Integer, Integer> newIndexes = new HashMap<>(indexes);
+		newIndexes.remove(definition.getId());
+
+		int[][] deps = grow(dependencies, size);
+		int[][] strongDeps = grow(strongDependencies, size);
+		int[][] inverseDeps = grow(inverseDependencies, size);
+		int[][] inverseStrongDeps = grow(inverseStrongDependencies, size);
+
+		updateInverseRows(inverseDeps, index, deps[index], NO_EDGES);
+		updateInverseRows(inverseStrongDeps, index, strongDeps[index], NO_EDGES);
+		updateInverseRows(deps, index, inverseDeps[index], NO_EDGES);
+		updateInverseRows(strongDeps, index, inverseStrongDeps[index], NO_EDGES);
+		deps[index] = NO_EDGES;
+		strongDeps[index] = NO_EDGES;
+		inverseDeps[index] = NO_EDGES;
+		inverseStrongDeps[index] = NO_EDGES;
+
+		// removing of a definition can't create a cycle
+		boolean cyclic = isCyclic() && isCyclic(strongDeps);
+
+		int[][] newDependants = null;
+		if (!cyclic && isCyclic()) {
+			newDependants = computeDependants(inverseDeps, inverseStrongDeps);
+		} else if (!cyclic) {
+			int[] seeds = union(union(dependencies[index], strongDependencies[index]), new int[] {index});
+			newDependants = recomputeDependants(grow(dependants, size), seeds, strongDependencies, strongDeps, inverseDeps, inverseStrongDeps);
+			newDependants[index] = NO_EDGES;
+		}
+
+		return new AttributeDependencyGraph(newDefinitions, newIndexes, deps, strongDeps, inverseDeps, inverseStrongDeps, newDependants);
+	}
+
+	/**
+	 * @return true if the graph contains the definition
+	 */
+	public boolean contains(AttributeDefinition definition) {
+		return indexOf(definition) >= 0;
+	}
+
+	/**
+	 * @return number of definitions in the graph
+	 */
+	public int size() {
+		return indexes.size();
+	}
+
+	/**
+	 * @return true if there is a cycle in strong dependencies, dependants are not available in such case
+	 */
+	public boolean isCyclic() {
+		return dependants == null;
+	}
+
+	/**
+	 * @return definition => definitions it depends on
+	 */
+	public Map<AttributeDefinition, Set<AttributeDefinition>> getDependencies() {
+		return dependenciesMap;
+	}
+
+	/**
+	 * @return definition => definitions it strongly depends on
+	 */
+	public Map<AttributeDefinition, Set<AttributeDefinition>> getStrongDependencies() {
+		return strongDependenciesMap;
+	}
+
+	/**
+	 * @return definition => definitions which depend on it
+	 */
+	public Map<AttributeDefinition, Set<AttributeDefinition>> getInverseDependencies() {
+		return inverseDependenciesMap;
+	}
+
+	/**
+	 * @return definition => definitions which strongly depend on it
+	 */
+	public Map<AttributeDefinition, Set<AttributeDefinition>> getInverseStrongDependencies() {
+		return inverseStrongDependenciesMap;
+	}
+
+	/**
+	 * @return definition => definitions which have to be checked when its value is changed,
+	 * all sets are empty if there is a cycle in strong dependencies
+	 */
+	public Map<AttributeDefinition, Set<AttributeDefinition>> getDependants() {
+		return dependantsMap;
+	}
+
+	/**
+	 * Create definition of the graph for graph generators. Strong dependencies are
+	 * represented by bold edges, dependencies by dashed edges.
+	 *
+	 * @return graph definition
+	 */
+	public GraphDefinition<AttributeDefinition> toGraphDefinition() {
+		return new GraphDefinition<AttributeDefinition>()
+				.addEntitiesData(strongDependenciesMap).withEdgeType(GraphEdge.Type.BOLD)
+				.addEntitiesData(dependenciesMap).withEdgeType(GraphEdge.Type.DASHED);
+	}
+
+	private int indexOf(Object object) {
+		if (!(object instanceof AttributeDefinition)) return -1;
+		Integer index = indexes.get(((AttributeDefinition) object).getId());
+		if (index == null || !definitions[index].equals(object)) return -1;
+		return index;
+	}
+
+	private static int[] toIndexes(Collection<AttributeDefinition> targets, Map<Integer, Integer> indexes) {
+		if (targets == null || targets.isEmpty()) return NO_EDGES;
+		return targets.stream()
+				.mapToInt(target -> indexes.get(target.getId()))
+				.distinct()
+				.toArray();
+	}
+
+	private static int[][] grow(int[][] rows, int size) {
+		int[][] grown = Arrays.copyOf(rows, size);
+		for (int i = rows.length; i < size; i++) {
+			grown[i] = NO_EDGES;
+		}
+		return grown;
+	}
+
+	private static int[][] invert(int[][] rows) {
+		int[] counts = new int[rows.length];
+		for (int[] row : rows) {
+			for (int target : row) counts[target]++;
+		}
+		int[][] inverse = new int[rows.length][];
+		for (int i = 0; i < rows.length; i++) {
+			inverse[i] = counts[i] == 0 ? NO_EDGES : new int[counts[i]];
+			counts[i] = 0;
+		}
+		for (int source = 0; source < rows.length; source++) {
+			for (int target : rows[source]) inverse[target][counts[target]++] = source;
+		}
+		return inverse;
+	}
+
+	/**
+	 * Update inverse rows of the targets whose relation to the source was changed. Changed rows are copied.
+	 */
+	private static void updateInverseRows(int[][] inverse, int source, int[] oldTargets, int[] newTargets) {
+		for (int target : oldTargets) {
+			if (!containsIndex(newTargets, target)) inverse[target] = remove(inverse[target], source);
+		}
+		for (int target : newTargets) {
+			if (!containsIndex(oldTargets, target)) inverse[target] = union(inverse[target], new int[] {source});
+		}
+	}
+
+	private static boolean containsIndex(int[] row, int index) {
+		for (int value : row) {
+			if (value == index) return true;
+		}
+		return false;
+	}
+
+	private static int[] remove(int[] row, int index) {
+		int[] result = new int[row.length];
+		int size = 0;
+		for (int value : row) {
+			if (value != index) result[size++] = value;
+		}
+		return size == 0 ? NO_EDGES : Arrays.copyOf(result, size);
+	}
+
+	private static int[] union(int[] first, int[] second) {
+		int[] result = Arrays.copyOf(first, first.length + second.length);
+		int size = first.length;
+		for (int value : second) {
+			if (!containsIndex(first, value)) result[size++] = value;
+		}
+		return size == 0 ? NO_EDGES : Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Check whether any of the targets is reachable from the starts (including them) via given relation.
+	 */
+	private static boolean reachesAny(int[][] rows, int[] starts, int[] targets) {
+		for (int index : reachable(new int[][][] {rows}, starts)) {
+			if (containsIndex(targets, index)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return indexes reachable from the starts (including them) via any of given relations
+	 */
+	private static int[] reachable(int[][][] relations, int[] starts) {
+		boolean[] visited = new boolean[relations[0].length];
+		int[] stack = new int[visited.length];
+		int[] result = new int[visited.length];
+		int stackSize = 0;
+		int size = 0;
+		for (int start : starts) {
+			if (!visited[start]) {
+				visited[start] = true;
+				stack[stackSize++] = start;
+			}
+		}
+		while (stackSize > 0) {
+			int current = stack[--stackSize];
+			result[size++] = current;
+			for (int[][] rows : relations) {
+				for (int next : rows[current]) {
+					if (!visited[next]) {
+						visited[next] = true;
+						stack[stackSize++] = next;
+					}
+				}
+			}
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	private static boolean isCyclic(int[][] rows) {
+		// 0 - not visited, 1 - on the current path, 2 - finished
+		byte[] state = new byte[rows.length];
+		int[] stack = new int[rows.length];
+		int[] position = new int[rows.length];
+		for (int root = 0; root < rows.length; root++) {
+			if (state[root] != 0) continue;
+			int depth = 0;
+			stack[0] = root;
+			position[0] = 0;
+			state[root] = 1;
+			while (depth >= 0) {
+				int current = stack[depth];
+				if (position[depth] < rows[current].length) {
+					int next = rows[current][position[depth]++];
+					if (state[next] == 1) return true;
+					if (state[next] == 0) {
+						state[next] = 1;
+						stack[++depth] = next;
+						position[depth] = 0;
+					}
+				} else {
+					state[current] = 2;
+					depth--;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static int[][] computeDependants(int[][] inverseDeps, int[][] inverseStrongDeps) {
+		int[][] dependants = new int[inverseDeps.length][];
+		DependantsCollector collector = new DependantsCollector(dependants.length);
+		for (int i = 0; i < dependants.length; i++) {
+			dependants[i] = collector.collect(i, inverseDeps, inverseStrongDeps);
+		}
+		return dependants;
+	}
+
+	/**
+	 * Recompute dependants of all definitions which could be affected by change of relations of the seeds.
+	 * Dependants of definition D are computed from D and from the definitions which strongly depend on D,
+	 * so the affected definitions are those reachable from the seeds via strong dependencies,
+	 * either in the original graph or in the new one.
+	 */
+	private static int[][] recomputeDependants(int[][] dependants, int[] seeds, int[][] oldStrongDeps,
+	                                           int[][] strongDeps, int[][] inverseDeps, int[][] inverseStrongDeps) {
+		int[] affected = reachable(new int[][][] {grow(oldStrongDeps, strongDeps.length), strongDeps}, seeds);
+		DependantsCollector collector = new DependantsCollector(dependants.length);
+		for (int index : affected) {
+			dependants[index] = collector.collect(index, inverseDeps, inverseStrongDeps);
+		}
+		return dependants;
+	}
+
+	/**
+	 * Collects dependants of definitions. Marks are reused between the collections, so every
+	 * collection doesn't need to allocate arrays of the size of the graph.
+	 */
+	private static class DependantsCollector {
+		private final int[] collected;
+		private final int[] expanded;
+		private final int[] stack;
+		private final int[] result;
+		private int mark;
+
+		DependantsCollector(int size) {
+			collected = new int[size];
+			expanded = new int[size];
+			stack = new int[size];
+			result = new int[size];
+		}
+
+		int[] collect(int index, int[][] inverseDeps, int[][] inverseStrongDeps) {
+			mark++;
+			int stackSize = 0;
+			int size = 0;
+			expanded[index] = mark;
+			stack[stackSize++] = index;
+			while (stackSize > 0) {
+				int current = stack[--stackSize];
+				for (int dependant : inverseStrongDeps[current]) {
+					if (collected[dependant] != mark) {
+						collected[dependant] = mark;
+						result[size++] = dependant;
+					}
+					if (expanded[dependant] != mark) {
+						expanded[dependant] = mark;
+						stack[stackSize++] = dependant;
+					}
+				}
+				for (int dependant : inverseDeps[current]) {
+					if (collected[dependant] != mark) {
+						collected[dependant] = mark;
+						result[size++] = dependant;
+					}
+				}
+			}
+			return size == 0 ? NO_EDGES : Arrays.copyOf(result, size);
+		}
+	}
+
+	/**
+	 * Read-only view of a relation as a map of sets.
+	 */
+	private class RelationMap extends AbstractMap<AttributeDefinition, Set<AttributeDefinition>> {
+		// null means that all sets are empty
+		private final int[][] rows;
+
+		RelationMap(int[][] rows) {
+			this.rows = rows;
+		}
+
+		@Override
+		public Set<AttributeDefinition> get(Object key) {
+			int index = indexOf(key);
+			if (index < 0) return null;
+			return new RelationSet(rows == null ? NO_EDGES : rows[index]);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return indexOf(key) >= 0;
+		}
+
+		@Override
+		public int size() {
+			return indexes.size();
+		}
+
+		@Override
+		public Set<Entry<AttributeDefinition, Set<AttributeDefinition>>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<AttributeDefinition, Set<AttributeDefinition>>> iterator() {
+					return new Iterator<>() {
+						private int next = skipRemoved(0);
+
+						@Override
+						public boolean hasNext() {
+							return next < definitions.length;
+						}
+
+						@Override
+						public Entry<AttributeDefinition, Set<AttributeDefinition>> next() {
+							if (!hasNext()) throw new NoSuchElementException();
+							int index = next;
+							next = skipRemoved(next + 1);
+							return new SimpleImmutableEntry<>(definitions[index], new RelationSet(rows == null ? NO_EDGES : rows[index]));
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return indexes.size();
+				}
+			};
+		}
+
+		private int skipRemoved(int index) {
+			while (index < definitions.length && definitions[index] == null) index++;
+			return index;
+		}
+	}
+
+	/**
+	 * Read-only view of one row of a relation as a set of definitions.
+	 */
+	private class RelationSet extends AbstractSet<AttributeDefinition> {
+		private final int[] row;
+
+		RelationSet(int[] row) {
+			this.row = row;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			int index = indexOf(o);
+			return index >= 0 && containsIndex(row, index);
+		}
+
+		@Override
+		public Iterator<AttributeDefinition> iterator() {
+			return new Iterator<>() {
+				private int position = 0;
+
+				@Override
+				public boolean hasNext() {
+					return position < row.length;
+				}
+
+				@Override
+				public AttributeDefinition next() {
+					if (!hasNext()) throw new NoSuchElementException();
+					return definitions[row[position++]];
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return row.length;
+		}
+	}
+}
@@ -0,0 +1,404 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeDeleted;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeSetForFacility;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeUpdated;
+import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.core.api.Attribute;
+import cz.metacentrum.perun.core.api.AuditMessage;
+import cz.metacentrum.perun.core.api.Facility;
+import cz.metacentrum.perun.core.api.Group;
+import cz.metacentrum.perun.core.api.PerunBean;
+import cz.metacentrum.perun.core.api.Resource;
+import cz.metacentrum.perun.core.api.Vo;
+import cz.metacentrum.perun.core.implApi.AuditMessagesManagerImplApi;
+import net.jodah.expiringmap.ExpirationPolicy;
+import net.jodah.expiringmap.ExpiringMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of values of facility, resource, vo and group attributes read by AttributesManagerImpl.
+ *
+ * Only attributes from enabled namespaces are cached. Values are stored per attribute holder and attribute id
+ * and each change of the values invalidates all cached values of the holder. Values are invalidated when they are
+ * changed by AttributesManagerImpl or when the audit event about the change is logged, and again when the transaction
+ * which changed them is completed. Transaction which changed some values reads values of the changed holders from
+ * the database, so it always sees its own uncommitted changes.
+ *
+ * Changes made by other instances of Perun are found in the auditer log, which is polled when the cache is used.
+ * Values also expire after the timeout, so any change not covered by the events is reflected eventually.
+ *
+ * Each invalidation increments the generation of the cache. Values loaded before the invalidation
+ * are not stored, since they could be loaded from the stale data.
+ */
+public class AttributeValuesCache {
+
+	private final static Logger log = LoggerFactory.getLogger(AttributeValuesCache.class);
+
+	private final static int MAX_SIZE = 100000;
+	private final static int POLL_BATCH_SIZE = 1000;
+	private final static String CONSUMER_NAME = "attributeValuesCache";
+	private final static Pattern CACHEABLE_NAMESPACE = Pattern.compile("urn:perun:(facility|resource|vo|group):attribute-def:(def|opt)");
+	private final static String ATTRIBUTE_EVENTS_PACKAGE = AttributeSetForFacility.class.getPackageName();
+	private final static Set<Class<? extends AuditEvent>> CACHE_CLEARING_EVENTS = Set.of(AttributeUpdated.class, AttributeDeleted.class);
+
+	private final Set<String> namespaces = new HashSet<>();
+	private final long pollInterval;
+	// null when cache is disabled
+	private final ExpiringMap<Holder, Map<Integer, Attribute>> valuesByHolder;
+	private final AtomicLong generation = new AtomicLong();
+	private final Map<String, LongAdder> hits = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> misses = new ConcurrentHashMap<>();
+	private final ReentrantLock pollLock = new ReentrantLock();
+	private AuditMessagesManagerImplApi auditMessagesManagerImpl;
+	private volatile int lastProcessedId = -1;
+	private volatile long lastPollTime;
+
+	/**
+	 * Create cache of attribute values.
+	 *
+	 * @param namespaces namespaces of cached attributes, only def and opt namespaces of facility, resource, vo and group can be cached
+	 * @param timeout how long are values kept in the cache in seconds, cache is disabled if not positive
+	 * @param pollInterval how often is the auditer log checked for changes made by other instances in seconds
+	 */
+	public AttributeValuesCache(List<String> namespaces, int timeout, int pollInterval) {
+		for (String namespace : namespaces) {
+			if (namespace.isEmpty()) continue;
+			if (CACHEABLE_NAMESPACE.matcher(namespace).matches()) {
+				this.namespaces.add(namespace);
+			} else {
+				log.warn("Values of attributes from namespace {} can't be cached.", namespace);
+			}
+		}
+		this.pollInterval = TimeUnit.SECONDS.toMillis(pollInterval);
+		if (timeout > 0 && !this.namespaces.isEmpty()) {
+			valuesByHolder = ExpiringMap.builder()
+					.maxSize(MAX_SIZE)
+					.expirationPolicy(ExpirationPolicy.CREATED)
+					.expiration(timeout, TimeUnit.SECONDS)
+					.build();
+		} else {
+			valuesByHolder = null;
+		}
+	}
+
+	public void setAuditMessagesManagerImpl(AuditMessagesManagerImplApi auditMessagesManagerImpl) {
+		this.auditMessagesManagerImpl = auditMessagesManagerImpl;
+	}
+
+	public boolean isEnabled() {
+		return valuesByHolder != null;
+	}
+
+	/**
+	 * Check whether values of attributes from the namespace are cached.
+	 *
+	 * @param namespace namespace of the attribute
+	 * @return true if the namespace is cached, false otherwise
+	 */
+	public boolean isCached(String namespace) {
+		return valuesByHolder != null && namespaces.contains(namespace);
+	}
+
+	/**
+	 * Get current generation of the cache. It must be read before the value is loaded
+	 * and then passed to the {@link #put(PerunBean, Attribute, long)}.
+	 *
+	 * @return current generation
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Get copy of the cached attribute of the holder. Values of the holder changed in the current transaction
+	 * are never returned.
+	 *
+	 * @param holder facility, resource, vo or group
+	 * @param attributeId id of the attribute
+	 * @param namespace namespace of the attribute
+	 * @return attribute with value or null, if it is not cached
+	 */
+	public Attribute get(PerunBean holder, int attributeId, String namespace) {
+		if (!isCached(namespace)) return null;
+		pollAuditerLog();
+		Holder key = Holder.of(holder);
+		TransactionChanges changes = getCurrentTransactionChanges();
+		if (changes != null && changes.contains(key)) return null;
+		Map<Integer, Attribute> values = valuesByHolder.get(key);
+		Attribute attribute = values == null ? null : values.get(attributeId);
+		if (attribute == null) {
+			misses.computeIfAbsent(namespace, n -> new LongAdder()).increment();
+			return null;
+		}
+		hits.computeIfAbsent(namespace, n -> new LongAdder()).increment();
+		return copy(attribute);
+	}
+
+	/**
+	 * Store copy of the attribute of the holder, if there was no invalidation since the value was loaded.
+	 *
+	 * @param holder facility, resource, vo or group
+	 * @param attribute attribute with value loaded from the database
+	 * @param loadedGeneration generation of the cache read before the value was loaded
+	 */
+	public void put(PerunBean holder, Attribute attribute, long loadedGeneration) {
+		if (!isCached(attribute.getNamespace())) return;
+		Holder key = Holder.of(holder);
+		TransactionChanges changes = getCurrentTransactionChanges();
+		if (changes != null && changes.contains(key)) return;
+		Attribute copy = copy(attribute);
+		synchronized (this) {
+			if (generation.get() != loadedGeneration) return;
+			Map<Integer, Attribute> values = valuesByHolder.get(key);
+			if (values == null) {
+				values = new ConcurrentHashMap<>();
+				valuesByHolder.put(key, values);
+			}
+			values.put(attribute.getId(), copy);
+		}
+	}
+
+	/**
+	 * Invalidate cached values of the holder changed in the current transaction.
+	 *
+	 * @param holder facility, resource, vo or group
+	 */
+	public void invalidate(PerunBean holder) {
+		if (valuesByHolder == null || Holder.typeOf(holder) == null) return;
+		Holder key = Holder.of(holder);
+		remove(Set.of(key));
+		markCurrentTransaction(key);
+	}
+
+	/**
+	 * Invalidate cached values affected by the audit event logged in the current transaction.
+	 *
+	 * @param event audit event
+	 */
+	public void invalidate(AuditEvent event) {
+		if (valuesByHolder == null) return;
+		if (event != null && CACHE_CLEARING_EVENTS.contains(event.getClass())) {
+			clear();
+			markCurrentTransaction(null);
+			return;
+		}
+		Set<Holder> holders = getAffectedHolders(event);
+		if (holders.isEmpty()) return;
+		remove(holders);
+		holders.forEach(this::markCurrentTransaction);
+	}
+
+	/**
+	 * Remove all cached values.
+	 */
+	public void clear() {
+		if (valuesByHolder == null) return;
+		synchronized (this) {
+			generation.incrementAndGet();
+			valuesByHolder.clear();
+		}
+	}
+
+	public long getHits(String namespace) {
+		LongAdder adder = hits.get(namespace);
+		return adder == null ? 0 : adder.sum();
+	}
+
+	public long getMisses(String namespace) {
+		LongAdder adder = misses.get(namespace);
+		return adder == null ? 0 : adder.sum();
+	}
+
+	/**
+	 * Get ratio of reads of the namespace served by the cache.
+	 *
+	 * @param namespace namespace of attributes
+	 * @return hit rate between 0 and 1, 0 if there were no reads
+	 */
+	public double getHitRate(String namespace) {
+		long hitCount = getHits(namespace);
+		long total = hitCount + getMisses(namespace);
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	/**
+	 * Invalidate values changed by other instances of Perun. New events from the auditer log are read
+	 * at most once per poll interval and only by one thread at a time.
+	 */
+	private void pollAuditerLog() {
+		if (auditMessagesManagerImpl == null || System.currentTimeMillis() - lastPollTime < pollInterval || !pollLock.tryLock()) return;
+		try {
+			if (lastProcessedId < 0) {
+				// everything logged before is already in the database
+				lastProcessedId = auditMessagesManagerImpl.getLastMessageId(null);
+			} else {
+				List<AuditMessage> messages;
+				do {
+					messages = auditMessagesManagerImpl.pollConsumerMessages(null, CONSUMER_NAME, lastProcessedId, POLL_BATCH_SIZE);
+					for (AuditMessage message : messages) {
+						invalidateCommitted(message.getEvent());
+						lastProcessedId = message.getId();
+					}
+				} while (messages.size() == POLL_BATCH_SIZE);
+			}
+			if (log.isDebugEnabled()) {
+				for (String namespace : namespaces) {
+					log.debug("Attribute values cache for {}: {} hits, {} misses.", namespace, getHits(namespace), getMisses(namespace));
+				}
+			}
+		} catch (RuntimeException ex) {
+			log.warn("Can't read changes of attribute values from the auditer log, clearing the whole cache.", ex);
+			lastProcessedId = -1;
+			clear();
+		} finally {
+			lastPollTime = System.currentTimeMillis();
+			pollLock.unlock();
+		}
+	}
+
+	/**
+	 * Invalidate cached values affected by the already committed audit event.
+	 */
+	private void invalidateCommitted(AuditEvent event) {
+		if (event != null && CACHE_CLEARING_EVENTS.contains(event.getClass())) {
+			clear();
+			return;
+		}
+		Set<Holder> holders = getAffectedHolders(event);
+		if (!holders.isEmpty()) remove(holders);
+	}
+
+	private Set<Holder> getAffectedHolders(AuditEvent event) {
+		Set<Holder> holders = new HashSet<>();
+		if (event == null || !event.getClass().getPackageName().equals(ATTRIBUTE_EVENTS_PACKAGE)) return holders;
+		for (PerunBean bean : event.getReferencedBeans()) {
+			if (Holder.typeOf(bean) != null) holders.add(Holder.of(bean));
+		}
+		return holders;
+	}
+
+	private void remove(Set<Holder> holders) {
+		synchronized (this) {
+			generation.incrementAndGet();
+			holders.forEach(valuesByHolder::remove);
+		}
+	}
+
+	private TransactionChanges getCurrentTransactionChanges() {
+		return (TransactionChanges) TransactionSynchronizationManager.getResource(this);
+	}
+
+	/**
+	 * Mark holder as changed in the current transaction. Its values are invalidated again
+	 * when the transaction is completed, since they could be loaded by others in the meantime.
+	 *
+	 * @param holder changed holder or null, if values of all holders were changed
+	 */
+	private void markCurrentTransaction(Holder holder) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+		TransactionChanges changes = getCurrentTransactionChanges();
+		if (changes == null) {
+			TransactionChanges newChanges = new TransactionChanges();
+			TransactionSynchronizationManager.bindResource(this, newChanges);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(AttributeValuesCache.this);
+					if (newChanges.all) {
+						clear();
+					} else {
+						remove(newChanges.holders);
+					}
+				}
+			});
+			changes = newChanges;
+		}
+		if (holder == null) {
+			changes.all = true;
+		} else {
+			changes.holders.add(holder);
+		}
+	}
+
+	/**
+	 * Create copy of the attribute, so cached values are not affected by changes made by callers.
+	 */
+	private static Attribute copy(Attribute attribute) {
+		Attribute copy = new Attribute(attribute, true);
+		if (attribute.getValue() instanceof ArrayList) {
+			copy.setValue(new ArrayList<>((ArrayList<?>) attribute.getValue()));
+		} else if (attribute.getValue() instanceof LinkedHashMap) {
+			copy.setValue(new LinkedHashMap<>((LinkedHashMap<?, ?>) attribute.getValue()));
+		}
+		return copy;
+	}
+
+	/**
+	 * Holders changed in one transaction.
+	 */
+	private static class TransactionChanges {
+		private final Set<Holder> holders = new HashSet<>();
+		private boolean all;
+
+		private boolean contains(Holder holder) {
+			return all || holders.contains(holder);
+		}
+	}
+
+	/**
+	 * Type and id of the attribute holder.
+	 */
+	private static final class Holder {
+		private final String type;
+		private final int id;
+
+		private Holder(String type, int id) {
+			this.type = type;
+			this.id = id;
+		}
+
+		private static Holder of(PerunBean bean) {
+			return new Holder(typeOf(bean), bean.getId());
+		}
+
+		private static String typeOf(PerunBean bean) {
+			if (bean instanceof Facility) return "facility";
+			if (bean instanceof Resource) return "resource";
+			if (bean instanceof Vo) return "vo";
+			if (bean instanceof Group) return "group";
+			return null;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Holder holder = (Holder) o;
+			return id == holder.id && type.equals(holder.type);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(type, id);
+		}
+	}
+
+}
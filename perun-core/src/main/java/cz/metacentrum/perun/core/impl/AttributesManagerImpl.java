@@ -137,6 +137,8 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	private final Map<String, AttributesModuleImplApi> uninitializedAttributesModulesMap = new ConcurrentHashMap<>();
 
 	private AttributesManagerImplApi self;
+	private AttributeDefinitionsRegistry attributeDefinitionsRegistry;
+	private AttributeValuesCache attributeValuesCache;
 
 	// mapping of the perun bean names to the attribute namespaces
 	public static final Map<String, String> BEANS_TO_NAMESPACES_MAP = new LinkedHashMap<>();
@@ -1194,6 +1196,84 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 		}
 	}
 
+	@Override
+	public HashMap<Member, List<Attribute>> getMembersAttributes(PerunSession sess, List<Member> members) {
+		try {
+			return jdbc.execute("SELECT " + getAttributeMappingSelectQuery("mem") + ", members.id FROM attr_names " +
+					"JOIN members ON members.id " + Compatibility.getStructureForInClause() +
+					"LEFT JOIN member_attr_values mem ON attr_names.id=mem.attr_id AND member_id=members.id " +
+					"WHERE namespace IN (?,?) OR (namespace IN (?,?) AND mem.attr_value IS NOT NULL)", (PreparedStatementCallback<HashMap<Member, List<Attribute>>>) preparedStatement -> {
+				preparedStatement.setArray(1, DatabaseManagerBl.prepareSQLArrayOfNumbers(members, preparedStatement));
+				preparedStatement.setString(2, AttributesManager.NS_MEMBER_ATTR_CORE);
+				preparedStatement.setString(3, AttributesManager.NS_MEMBER_ATTR_VIRT);
+				preparedStatement.setString(4, AttributesManager.NS_MEMBER_ATTR_DEF);
+				preparedStatement.setString(5, AttributesManager.NS_MEMBER_ATTR_OPT);
+				return new MemberAttributeExtractor(sess, this, members).extractData(preparedStatement.executeQuery());
+			});
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
+	@Override
+	public HashMap<Member, List<Attribute>> getMembersAttributes(PerunSession sess, List<Member> members, List<String> attrNames) {
+		try {
+			return jdbc.execute("SELECT " + getAttributeMappingSelectQuery("mem") + ", members.id FROM attr_names " +
+					"JOIN members ON members.id " + Compatibility.getStructureForInClause() +
+					"LEFT JOIN member_attr_values mem ON attr_names.id=mem.attr_id AND member_id=members.id " +
+					"WHERE namespace IN (?,?,?,?) AND attr_names.attr_name " + Compatibility.getStructureForInClause(), (PreparedStatementCallback<HashMap<Member, List<Attribute>>>) preparedStatement -> {
+				preparedStatement.setArray(1, DatabaseManagerBl.prepareSQLArrayOfNumbers(members, preparedStatement));
+				preparedStatement.setString(2, AttributesManager.NS_MEMBER_ATTR_CORE);
+				preparedStatement.setString(3, AttributesManager.NS_MEMBER_ATTR_DEF);
+				preparedStatement.setString(4, AttributesManager.NS_MEMBER_ATTR_OPT);
+				preparedStatement.setString(5, AttributesManager.NS_MEMBER_ATTR_VIRT);
+				preparedStatement.setArray(6, DatabaseManagerBl.prepareSQLArrayOfStrings(attrNames, preparedStatement));
+				return new MemberAttributeExtractor(sess, this, members).extractData(preparedStatement.executeQuery());
+			});
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
+	@Override
+	public HashMap<User, List<Attribute>> getUsersAttributes(PerunSession sess, List<User> users) {
+		try {
+			return jdbc.execute("SELECT " + getAttributeMappingSelectQuery("usr") + ", users.id FROM attr_names " +
+					"JOIN users ON users.id " + Compatibility.getStructureForInClause() +
+					"LEFT JOIN user_attr_values usr ON attr_names.id=usr.attr_id AND user_id=users.id " +
+					"WHERE namespace IN (?,?) OR (namespace IN (?,?) AND usr.attr_value IS NOT NULL)", (PreparedStatementCallback<HashMap<User, List<Attribute>>>) preparedStatement -> {
+				preparedStatement.setArray(1, DatabaseManagerBl.prepareSQLArrayOfNumbers(users, preparedStatement));
+				preparedStatement.setString(2, AttributesManager.NS_USER_ATTR_CORE);
+				preparedStatement.setString(3, AttributesManager.NS_USER_ATTR_VIRT);
+				preparedStatement.setString(4, AttributesManager.NS_USER_ATTR_DEF);
+				preparedStatement.setString(5, AttributesManager.NS_USER_ATTR_OPT);
+				return new UserAttributeExtractor(sess, this, users).extractData(preparedStatement.executeQuery());
+			});
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
+	@Override
+	public HashMap<User, List<Attribute>> getUsersAttributes(PerunSession sess, List<User> users, List<String> attrNames) {
+		try {
+			return jdbc.execute("SELECT " + getAttributeMappingSelectQuery("usr") + ", users.id FROM attr_names " +
+					"JOIN users ON users.id " + Compatibility.getStructureForInClause() +
+					"LEFT JOIN user_attr_values usr ON attr_names.id=usr.attr_id AND user_id=users.id " +
+					"WHERE namespace IN (?,?,?,?) AND attr_names.attr_name " + Compatibility.getStructureForInClause(), (PreparedStatementCallback<HashMap<User, List<Attribute>>>) preparedStatement -> {
+				preparedStatement.setArray(1, DatabaseManagerBl.prepareSQLArrayOfNumbers(users, preparedStatement));
+				preparedStatement.setString(2, AttributesManager.NS_USER_ATTR_CORE);
+				preparedStatement.setString(3, AttributesManager.NS_USER_ATTR_DEF);
+				preparedStatement.setString(4, AttributesManager.NS_USER_ATTR_OPT);
+				preparedStatement.setString(5, AttributesManager.NS_USER_ATTR_VIRT);
+				preparedStatement.setArray(6, DatabaseManagerBl.prepareSQLArrayOfStrings(attrNames, preparedStatement));
+				return new UserAttributeExtractor(sess, this, users).extractData(preparedStatement.executeQuery());
+			});
+		} catch (RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
 
 
 	@Override
@@ -1339,13 +1419,15 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public Attribute getAttribute(PerunSession sess, Facility facility, String attributeName) throws AttributeNotExistsException {
-		try {
-			return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("facility_attr_values") + " from attr_names left join facility_attr_values on id=attr_id and facility_id=? where attr_name=?", new SingleBeanAttributeRowMapper<>(sess, this, facility), facility.getId(), attributeName);
-		} catch (EmptyResultDataAccessException ex) {
-			throw new AttributeNotExistsException("Facility attribute - attribute.name='" + attributeName + "'");
-		} catch (RuntimeException ex) {
-			throw new InternalErrorException(ex);
-		}
+		return getCachedAttribute(facility, getCacheableAttributeDefinition(attributeName), () -> {
+			try {
+				return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("facility_attr_values") + " from attr_names left join facility_attr_values on id=attr_id and facility_id=? where attr_name=?", new SingleBeanAttributeRowMapper<>(sess, this, facility), facility.getId(), attributeName);
+			} catch (EmptyResultDataAccessException ex) {
+				throw new AttributeNotExistsException("Facility attribute - attribute.name='" + attributeName + "'");
+			} catch (RuntimeException ex) {
+				throw new InternalErrorException(ex);
+			}
+		});
 	}
 
 	@Override
@@ -1361,35 +1443,41 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public Attribute getAttribute(PerunSession sess, Vo vo, String attributeName) throws AttributeNotExistsException {
-		try {
-			return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("vo_attr_values") + " from attr_names left join vo_attr_values on id=attr_id and vo_id=? where attr_name=?", new SingleBeanAttributeRowMapper<>(sess, this, vo), vo.getId(), attributeName);
-		} catch (EmptyResultDataAccessException ex) {
-			throw new AttributeNotExistsException("Vo attribute - attribute.name='" + attributeName + "'");
-		} catch (RuntimeException ex) {
-			throw new InternalErrorException(ex);
-		}
+		return getCachedAttribute(vo, getCacheableAttributeDefinition(attributeName), () -> {
+			try {
+				return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("vo_attr_values") + " from attr_names left join vo_attr_values on id=attr_id and vo_id=? where attr_name=?", new SingleBeanAttributeRowMapper<>(sess, this, vo), vo.getId(), attributeName);
+			} catch (EmptyResultDataAccessException ex) {
+				throw new AttributeNotExistsException("Vo attribute - attribute.name='" + attributeName + "'");
+			} catch (RuntimeException ex) {
+				throw new InternalErrorException(ex);
+			}
+		});
 	}
 
 	@Override
 	public Attribute getAttribute(PerunSession sess, Group group, String attributeName) throws AttributeNotExistsException {
-		try {
-			return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("group_attr_values") + " from attr_names left join group_attr_values on id=attr_id and group_id=? where attr_name=?", new SingleBeanAttributeRowMapper<>(sess, this, group), group.getId(), attributeName);
-		} catch (EmptyResultDataAccessException ex) {
-			throw new AttributeNotExistsException("Group attribute - attribute.name='" + attributeName + "'");
-		} catch (RuntimeException ex) {
-			throw new InternalErrorException(ex);
-		}
+		return getCachedAttribute(group, getCacheableAttributeDefinition(attributeName), () -> {
+			try {
+				return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("group_attr_values") + " from attr_names left join group_attr_values on id=attr_id and group_id=? where attr_name=?", new SingleBeanAttributeRowMapper<>(sess, this, group), group.getId(), attributeName);
+			} catch (EmptyResultDataAccessException ex) {
+				throw new AttributeNotExistsException("Group attribute - attribute.name='" + attributeName + "'");
+			} catch (RuntimeException ex) {
+				throw new InternalErrorException(ex);
+			}
+		});
 	}
 
 	@Override
 	public Attribute getAttribute(PerunSession sess, Resource resource, String attributeName) throws AttributeNotExistsException {
-		try {
-			return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("resource_attr_values") + " from attr_names left join resource_attr_values on id=attr_id and resource_id=? where attr_name=?", new SingleBeanAttributeRowMapper<>(sess, this, resource), resource.getId(), attributeName);
-		} catch (EmptyResultDataAccessException ex) {
-			throw new AttributeNotExistsException("Resource attribute - attribute.name='" + attributeName + "'");
-		} catch (RuntimeException ex) {
-			throw new InternalErrorException(ex);
-		}
+		return getCachedAttribute(resource, getCacheableAttributeDefinition(attributeName), () -> {
+			try {
+				return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("resource_attr_values") + " from attr_names left join resource_attr_values on id=attr_id and resource_id=? where attr_name=?", new SingleBeanAttributeRowMapper<>(sess, this, resource), resource.getId(), attributeName);
+			} catch (EmptyResultDataAccessException ex) {
+				throw new AttributeNotExistsException("Resource attribute - attribute.name='" + attributeName + "'");
+			} catch (RuntimeException ex) {
+				throw new InternalErrorException(ex);
+			}
+		});
 	}
 
 	@Override
@@ -1542,8 +1630,16 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public AttributeDefinition getAttributeDefinition(PerunSession sess, String attributeName) throws AttributeNotExistsException {
+		AttributeDefinitionsRegistry.Definitions definitions = getRegisteredAttributesDefinitions();
+		if (definitions != null) {
+			AttributeDefinition attributeDefinition = definitions.getByName(attributeName);
+			if (attributeDefinition != null) return attributeDefinition;
+		}
 		try {
-			return jdbc.queryForObject("SELECT " + attributeDefinitionMappingSelectQuery + " FROM attr_names WHERE attr_name=?", ATTRIBUTE_DEFINITION_MAPPER, attributeName);
+			AttributeDefinition attributeDefinition = jdbc.queryForObject("SELECT " + attributeDefinitionMappingSelectQuery + " FROM attr_names WHERE attr_name=?", ATTRIBUTE_DEFINITION_MAPPER, attributeName);
+			// definition was created by another instance, registered definitions are stale
+			if (definitions != null) attributeDefinitionsRegistry.clear();
+			return attributeDefinition;
 		} catch (EmptyResultDataAccessException ex) {
 			throw new AttributeNotExistsException("Attribute - attribute.name='" + attributeName + "'", ex);
 		} catch (RuntimeException ex) {
@@ -1553,6 +1649,12 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public List<AttributeDefinition> getAttributesDefinition(PerunSession sess) {
+		AttributeDefinitionsRegistry.Definitions definitions = getRegisteredAttributesDefinitions();
+		if (definitions != null) return definitions.getAll();
+		return loadAttributesDefinition();
+	}
+
+	private List<AttributeDefinition> loadAttributesDefinition() {
 		try {
 			return jdbc.query("SELECT " + attributeDefinitionMappingSelectQuery + ", NULL AS attr_value FROM attr_names", ATTRIBUTE_DEFINITION_MAPPER);
 		} catch (EmptyResultDataAccessException ex) {
@@ -1563,8 +1665,75 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 		}
 	}
 
+	/**
+	 * Get attribute definitions from the registry, load them if they are not loaded yet.
+	 *
+	 * @return registered definitions or null, if the registry is disabled or definitions were changed in the current transaction
+	 */
+	private AttributeDefinitionsRegistry.Definitions getRegisteredAttributesDefinitions() {
+		if (!attributeDefinitionsRegistry.isEnabled() || attributeDefinitionsRegistry.isChangedInCurrentTransaction()) return null;
+		AttributeDefinitionsRegistry.Definitions definitions = attributeDefinitionsRegistry.getDefinitions();
+		if (definitions == null) {
+			long generation = attributeDefinitionsRegistry.getGeneration();
+			definitions = new AttributeDefinitionsRegistry.Definitions(loadAttributesDefinition());
+			attributeDefinitionsRegistry.put(definitions, generation);
+		}
+		return definitions;
+	}
+
+	/**
+	 * Loads attribute with value from the database.
+	 */
+	@FunctionalInterface
+	private interface AttributeLoader {
+		Attribute load() throws AttributeNotExistsException;
+	}
+
+	/**
+	 * Get attribute of the holder from the cache of values. If it is not cached, it is loaded and stored in the cache.
+	 *
+	 * @param holder facility, resource, vo or group
+	 * @param attributeDefinition definition of the attribute or null, if its value can't be cached
+	 * @param loader loads the attribute from the database
+	 * @return attribute with value
+	 * @throws AttributeNotExistsException if the attribute doesn't exist
+	 */
+	private Attribute getCachedAttribute(PerunBean holder, AttributeDefinition attributeDefinition, AttributeLoader loader) throws AttributeNotExistsException {
+		if (attributeDefinition == null) return loader.load();
+		Attribute attribute = attributeValuesCache.get(holder, attributeDefinition.getId(), attributeDefinition.getNamespace());
+		if (attribute != null) return attribute;
+		long generation = attributeValuesCache.getGeneration();
+		attribute = loader.load();
+		attributeValuesCache.put(holder, attribute, generation);
+		return attribute;
+	}
+
+	/**
+	 * Get registered definition of the attribute, if values of attributes can be cached.
+	 *
+	 * @return attribute definition or null, if the cache of values or the registry of definitions is not used
+	 */
+	private AttributeDefinition getCacheableAttributeDefinition(String attributeName) {
+		if (!attributeValuesCache.isEnabled()) return null;
+		AttributeDefinitionsRegistry.Definitions definitions = getRegisteredAttributesDefinitions();
+		return definitions == null ? null : definitions.getByName(attributeName);
+	}
+
+	/**
+	 * Get registered definition of the attribute, if values of attributes can be cached.
+	 *
+	 * @return attribute definition or null, if the cache of values or the registry of definitions is not used
+	 */
+	private AttributeDefinition getCacheableAttributeDefinition(int id) {
+		if (!attributeValuesCache.isEnabled()) return null;
+		AttributeDefinitionsRegistry.Definitions definitions = getRegisteredAttributesDefinitions();
+		return definitions == null ? null : definitions.getById(id);
+	}
+
 	@Override
 	public List<AttributeDefinition> getAttributesDefinitionByNamespace(PerunSession sess, String namespace) {
+		AttributeDefinitionsRegistry.Definitions definitions = getRegisteredAttributesDefinitions();
+		if (definitions != null) return definitions.getByNamespace(namespace);
 		try {
 			return jdbc.query("SELECT " + attributeDefinitionMappingSelectQuery + ", NULL AS attr_value FROM attr_names WHERE namespace=?", ATTRIBUTE_DEFINITION_MAPPER, namespace);
 		} catch (EmptyResultDataAccessException ex) {
@@ -1577,8 +1746,16 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public AttributeDefinition getAttributeDefinitionById(PerunSession sess, int id) throws AttributeNotExistsException {
+		AttributeDefinitionsRegistry.Definitions definitions = getRegisteredAttributesDefinitions();
+		if (definitions != null) {
+			AttributeDefinition attributeDefinition = definitions.getById(id);
+			if (attributeDefinition != null) return attributeDefinition;
+		}
 		try {
-			return jdbc.queryForObject("SELECT " + attributeDefinitionMappingSelectQuery + " FROM attr_names WHERE id=?", ATTRIBUTE_DEFINITION_MAPPER, id);
+			AttributeDefinition attributeDefinition = jdbc.queryForObject("SELECT " + attributeDefinitionMappingSelectQuery + " FROM attr_names WHERE id=?", ATTRIBUTE_DEFINITION_MAPPER, id);
+			// definition was created by another instance, registered definitions are stale
+			if (definitions != null) attributeDefinitionsRegistry.clear();
+			return attributeDefinition;
 		} catch (EmptyResultDataAccessException ex) {
 			throw new AttributeNotExistsException("Attribute id= \"" + id + "\"", ex);
 		} catch (RuntimeException ex) {
@@ -1588,35 +1765,41 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public Attribute getAttributeById(PerunSession sess, Facility facility, int id) throws AttributeNotExistsException {
-		try {
-			return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("facility_attr_values") + " from attr_names left join facility_attr_values on id=attr_id and facility_id=? where id=?", new SingleBeanAttributeRowMapper<>(sess, this, facility), facility.getId(), id);
-		} catch (EmptyResultDataAccessException ex) {
-			throw new AttributeNotExistsException("Attribute id= \"" + id + "\"", ex);
-		} catch (RuntimeException ex) {
-			throw new InternalErrorException(ex);
-		}
+		return getCachedAttribute(facility, getCacheableAttributeDefinition(id), () -> {
+			try {
+				return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("facility_attr_values") + " from attr_names left join facility_attr_values on id=attr_id and facility_id=? where id=?", new SingleBeanAttributeRowMapper<>(sess, this, facility), facility.getId(), id);
+			} catch (EmptyResultDataAccessException ex) {
+				throw new AttributeNotExistsException("Attribute id= \"" + id + "\"", ex);
+			} catch (RuntimeException ex) {
+				throw new InternalErrorException(ex);
+			}
+		});
 	}
 
 	@Override
 	public Attribute getAttributeById(PerunSession sess, Vo vo, int id) throws AttributeNotExistsException {
-		try {
-			return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("vo_attr_values") + " from attr_names left join vo_attr_values on id=attr_id and vo_id=? where id=?", new SingleBeanAttributeRowMapper<>(sess, this, vo), vo.getId(), id);
-		} catch (EmptyResultDataAccessException ex) {
-			throw new AttributeNotExistsException("Attribute id= \"" + id + "\"", ex);
-		} catch (RuntimeException ex) {
-			throw new InternalErrorException(ex);
-		}
+		return getCachedAttribute(vo, getCacheableAttributeDefinition(id), () -> {
+			try {
+				return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("vo_attr_values") + " from attr_names left join vo_attr_values on id=attr_id and vo_id=? where id=?", new SingleBeanAttributeRowMapper<>(sess, this, vo), vo.getId(), id);
+			} catch (EmptyResultDataAccessException ex) {
+				throw new AttributeNotExistsException("Attribute id= \"" + id + "\"", ex);
+			} catch (RuntimeException ex) {
+				throw new InternalErrorException(ex);
+			}
+		});
 	}
 
 	@Override
 	public Attribute getAttributeById(PerunSession sess, Resource resource, int id) throws AttributeNotExistsException {
-		try {
-			return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("resource_attr_values") + " from attr_names left join resource_attr_values on id=attr_id and resource_id=? where id=?", new SingleBeanAttributeRowMapper<>(sess, this, resource), resource.getId(), id);
-		} catch (EmptyResultDataAccessException ex) {
-			throw new AttributeNotExistsException("Attribute id= \"" + id + "\"", ex);
-		} catch (RuntimeException ex) {
-			throw new InternalErrorException(ex);
-		}
+		return getCachedAttribute(resource, getCacheableAttributeDefinition(id), () -> {
+			try {
+				return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("resource_attr_values") + " from attr_names left join resource_attr_values on id=attr_id and resource_id=? where id=?", new SingleBeanAttributeRowMapper<>(sess, this, resource), resource.getId(), id);
+			} catch (EmptyResultDataAccessException ex) {
+				throw new AttributeNotExistsException("Attribute id= \"" + id + "\"", ex);
+			} catch (RuntimeException ex) {
+				throw new InternalErrorException(ex);
+			}
+		});
 	}
 
 	@Override
@@ -1635,16 +1818,18 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 
 	@Override
 	public Attribute getAttributeById(PerunSession sess, Group group, int id) throws AttributeNotExistsException {
-		try {
-			return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("grp") + " from attr_names " +
-							"left join group_attr_values grp on id=grp.attr_id and group_id=? " +
-							"where id=?",
-					new SingleBeanAttributeRowMapper<>(sess, this, group), group.getId(), id);
-		} catch (EmptyResultDataAccessException ex) {
-			throw new AttributeNotExistsException("Attribute id= \"" + id + "\"", ex);
-		} catch (RuntimeException ex) {
-			throw new InternalErrorException(ex);
-		}
+		return getCachedAttribute(group, getCacheableAttributeDefinition(id), () -> {
+			try {
+				return jdbc.queryForObject("select " + getAttributeMappingSelectQuery("grp") + " from attr_names " +
+								"left join group_attr_values grp on id=grp.attr_id and group_id=? " +
+								"where id=?",
+						new SingleBeanAttributeRowMapper<>(sess, this, group), group.getId(), id);
+			} catch (EmptyResultDataAccessException ex) {
+				throw new AttributeNotExistsException("Attribute id= \"" + id + "\"", ex);
+			} catch (RuntimeException ex) {
+				throw new InternalErrorException(ex);
+			}
+		});
 	}
 
 	@Override
@@ -1796,6 +1981,9 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 		if(changedDb && attribute.isUnique() && (object instanceof PerunBean)) {
 			setUniqueAttributeValues(attribute, columnNames, columnValues, (PerunBean)object, null);
 		}
+		if (changedDb && object instanceof PerunBean) {
+			attributeValuesCache.invalidate((PerunBean) object);
+		}
 		return changedDb;
 	}
 
@@ -3485,6 +3673,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	public boolean removeAttribute(PerunSession sess, Facility facility, AttributeDefinition attribute) {
 		try {
 			if (0 < jdbc.update("DELETE FROM facility_attr_values WHERE attr_id=? AND facility_id=?", attribute.getId(), facility.getId())) {
+				attributeValuesCache.invalidate(facility);
 				log.debug("Attribute value for {} was removed from facility {}.", attribute.getName(), facility);
 				return true;
 			}
@@ -3498,6 +3687,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	public boolean removeAllAttributes(PerunSession sess, Facility facility) {
 		try {
 			if (0 < jdbc.update("DELETE FROM facility_attr_values WHERE facility_id=?", facility.getId())) {
+				attributeValuesCache.invalidate(facility);
 				log.debug("All attributes values were removed from facility {}.", facility);
 				return true;
 			}
@@ -3511,6 +3701,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	public boolean removeAttribute(PerunSession sess, Vo vo, AttributeDefinition attribute) {
 		try {
 			if (0 < jdbc.update("DELETE FROM vo_attr_values WHERE attr_id=? AND vo_id=?", attribute.getId(), vo.getId())) {
+				attributeValuesCache.invalidate(vo);
 				log.debug("Attribute value for {} was removed from vo {}.", attribute.getName(), vo);
 				return true;
 			}
@@ -3524,6 +3715,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	public boolean removeAllAttributes(PerunSession sess, Vo vo) {
 		try {
 			if (0 < jdbc.update("DELETE FROM vo_attr_values WHERE vo_id=?", vo.getId())) {
+				attributeValuesCache.invalidate(vo);
 				log.debug("All attributes values were removed from vo {}.", vo);
 				return true;
 			}
@@ -3537,6 +3729,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	public boolean removeAttribute(PerunSession sess, Group group, AttributeDefinition attribute) {
 		try {
 			if (0 < jdbc.update("DELETE FROM group_attr_values WHERE attr_id=? AND group_id=?", attribute.getId(), group.getId())) {
+				attributeValuesCache.invalidate(group);
 				log.debug("Attribute value for {} was removed from group {}.", attribute.getName(), group);
 				return true;
 			}
@@ -3550,6 +3743,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	public boolean removeAllAttributes(PerunSession sess, Group group) {
 		try {
 			if (0 < jdbc.update("DELETE FROM group_attr_values WHERE group_id=?", group.getId())) {
+				attributeValuesCache.invalidate(group);
 				log.debug("All attributes values were removed from group {}.", group);
 				return true;
 			}
@@ -3563,6 +3757,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	public boolean removeAttribute(PerunSession sess, Resource resource, AttributeDefinition attribute) {
 		try {
 			if (0 < jdbc.update("DELETE FROM resource_attr_values WHERE attr_id=? AND resource_id=?", attribute.getId(), resource.getId())) {
+				attributeValuesCache.invalidate(resource);
 				log.debug("Attribute value for {} was removed from resource {}.", attribute.getName(), resource);
 				return true;
 			}
@@ -3576,6 +3771,7 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	public boolean removeAllAttributes(PerunSession sess, Resource resource) {
 		try {
 			if (0 < jdbc.update("DELETE FROM resource_attr_values WHERE resource_id=?", resource.getId())) {
+				attributeValuesCache.invalidate(resource);
 				log.debug("All attributes values were removed from resource {}.", resource);
 				return true;
 			}
@@ -3842,6 +4038,15 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 		Utils.notNull(attribute.getNamespace(), "attribute.namespace");
 		Utils.notNull(attribute.getType(), "attribute.type");
 
+		AttributeDefinitionsRegistry.Definitions definitions = getRegisteredAttributesDefinitions();
+		if (definitions != null) {
+			AttributeDefinition registered = definitions.getById(attribute.getId());
+			if (registered != null && registered.getName().equals(attribute.getName()) && registered.getFriendlyName().equals(attribute.getFriendlyName()) &&
+					registered.getNamespace().equals(attribute.getNamespace()) && registered.getType().equals(attribute.getType())) {
+				return true;
+			}
+		}
+
 		try {
 			return 1 == jdbc.queryForInt("select count('x') from attr_names where attr_name=? and friendly_name=? and namespace=? and id=? and type=?", attribute.getName(), attribute.getFriendlyName(), attribute.getNamespace(), attribute.getId(), attribute.getType());
 		} catch (RuntimeException e) {
@@ -4905,4 +5110,12 @@ public class AttributesManagerImpl implements AttributesManagerImplApi {
 	public void setPerun(Perun perun) {
 		this.perun = perun;
 	}
+
+	public void setAttributeDefinitionsRegistry(AttributeDefinitionsRegistry attributeDefinitionsRegistry) {
+		this.attributeDefinitionsRegistry = attributeDefinitionsRegistry;
+	}
+
+	public void setAttributeValuesCache(AttributeValuesCache attributeValuesCache) {
+		this.attributeValuesCache = attributeValuesCache;
+	}
 }
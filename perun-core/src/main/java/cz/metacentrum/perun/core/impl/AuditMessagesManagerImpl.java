@@ -1,7 +1,9 @@
 package cz.metacentrum.perun.core.impl;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -26,6 +28,7 @@ import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.UserExtSource;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.PerunException;
+import cz.metacentrum.perun.core.bl.DatabaseManagerBl;
 import cz.metacentrum.perun.core.implApi.AuditMessagesManagerImplApi;
 import cz.metacentrum.perun.registrar.model.Application;
 import cz.metacentrum.perun.registrar.model.ApplicationForm;
@@ -34,21 +37,28 @@ import cz.metacentrum.perun.registrar.model.ApplicationFormItemWithPrefilledValu
 import cz.metacentrum.perun.registrar.model.ApplicationMail;
 import cz.metacentrum.perun.rpclib.impl.JsonDeserializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jodah.expiringmap.ExpirationPolicy;
+import net.jodah.expiringmap.ExpiringMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcPerunTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 
 import javax.sql.DataSource;
 import java.io.IOException;
+import java.sql.Array;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of AuditMessagesManagerImplApi with methods used to read stored auditer messages.
@@ -65,6 +75,17 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 
 	private final JdbcPerunTemplate jdbc;
 
+	// messages recently written by this instance, their content doesn't have to be read from the DB
+	private final RecentAuditMessages recentMessages;
+
+	private final AtomicLong recentMessagesHits = new AtomicLong();
+	private final AtomicLong recentMessagesMisses = new AtomicLong();
+
+	// parsed audit events keyed by ID of audit message, each consumer gets its own event bound from them
+	private final ExpiringMap<Integer, JsonNode> eventsCache;
+	private final AtomicLong eventsCacheHits = new AtomicLong();
+	private final AtomicLong eventsCacheMisses = new AtomicLong();
+
 	static {
 
 		JavaTimeModule module = new JavaTimeModule();
@@ -107,26 +128,11 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 
 	}
 
-	private static final RowMapper<AuditEvent> AUDIT_EVENT_MAPPER = new RowMapper<AuditEvent>() {
-		@Override
-		public AuditEvent mapRow(ResultSet resultSet, int i) throws SQLException {
-			try {
-				return mapper.readValue(resultSet.getString("msg"), AuditEvent.class);
-			} catch (JsonParseException | JsonMappingException ex) {
-				log.error("Can't parse JSON auditer log!", ex);
-				throw new SQLException(ex);
-			} catch (IOException ex) {
-				throw new SQLException(ex);
-			}
-
-		}
-	};
-
-	private static final RowMapper<AuditMessage> AUDIT_MESSAGE_MAPPER = new RowMapper<AuditMessage>() {
+	private final RowMapper<AuditMessage> auditMessageMapper = new RowMapper<AuditMessage>() {
 		@Override
 		public AuditMessage mapRow(ResultSet resultSet, int i) throws SQLException {
 
-			AuditEvent event = AUDIT_EVENT_MAPPER.mapRow(resultSet, i);
+			AuditEvent event = getAuditEvent(resultSet.getInt("id"), resultSet.getString("msg"));
 
 			Integer principalUserId = null;
 			if (resultSet.getInt("created_by_uid") != 0) principalUserId = resultSet.getInt("created_by_uid");
@@ -148,14 +154,36 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 	};
 
 	public AuditMessagesManagerImpl(DataSource perunPool) {
+		this(perunPool, 0, 0, new RecentAuditMessages(0));
+	}
+
+	/**
+	 * Create manager with cache of parsed audit events.
+	 *
+	 * @param perunPool data source
+	 * @param eventsCacheSize max number of cached audit events, zero or less disables the cache
+	 * @param eventsCacheTimeout time in seconds after which cached audit event expires
+	 * @param recentMessages ring of messages recently written by the auditer of this instance
+	 */
+	public AuditMessagesManagerImpl(DataSource perunPool, int eventsCacheSize, int eventsCacheTimeout, RecentAuditMessages recentMessages) {
 		this.jdbc = new JdbcPerunTemplate(perunPool);
+		this.recentMessages = recentMessages;
+		if (eventsCacheSize > 0 && eventsCacheTimeout > 0) {
+			this.eventsCache = ExpiringMap.builder()
+					.maxSize(eventsCacheSize)
+					.expirationPolicy(ExpirationPolicy.CREATED)
+					.expiration(eventsCacheTimeout, TimeUnit.SECONDS)
+					.build();
+		} else {
+			this.eventsCache = null;
+		}
 	}
 
 	@Override
 	public List<AuditMessage> getMessages(PerunSession perunSession, int count) {
 		try {
 			return jdbc.query("select " + auditMessageMappingSelectQuery + " from (select " + auditMessageMappingSelectQuery + Compatibility.getRowNumberOver() + " from auditer_log ORDER BY id desc) "+Compatibility.getAsAlias("temp")+" where rownumber <= ?",
-					AUDIT_MESSAGE_MAPPER, count);
+					auditMessageMapper, count);
 		} catch (EmptyResultDataAccessException ex) {
 			return new ArrayList<>();
 		} catch (RuntimeException err) {
@@ -166,7 +194,7 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 	@Override
 	public List<AuditMessage> getMessagesByCount(PerunSession perunSession, int count) {
 		try {
-			return jdbc.query("select " + auditMessageMappingSelectQuery + " from auditer_log where id > ((select max(id) from auditer_log)-?) order by id desc", AUDIT_MESSAGE_MAPPER, count);
+			return jdbc.query("select " + auditMessageMappingSelectQuery + " from auditer_log where id > ((select max(id) from auditer_log)-?) order by id desc", auditMessageMapper, count);
 		} catch (EmptyResultDataAccessException ex) {
 			return new ArrayList<>();
 		} catch (RuntimeException err) {
@@ -226,7 +254,7 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 			int maxId = getLastMessageId(perunSession);
 			if(maxId > lastProcessedId) {
 				// get messages
-				messages = jdbc.query("select " + auditMessageMappingSelectQuery + " from auditer_log where id > ? and id <= ? order by id", AUDIT_MESSAGE_MAPPER, lastProcessedId, maxId);
+				messages = queryMessages(lastProcessedId, "and id <= ? order by id", maxId);
 				// update counter
 				setLastProcessedId(perunSession, consumerName, maxId);
 			}
@@ -248,7 +276,7 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 			int maxId = getLastMessageId(perunSession);
 			if(maxId > lastProcessedId) {
 				// get messages
-				messages = jdbc.query("select " + auditMessageMappingSelectQuery + " from auditer_log where id > ? and id <= ? order by id", AUDIT_MESSAGE_MAPPER, lastProcessedId, maxId);
+				messages = queryMessages(lastProcessedId, "and id <= ? order by id", maxId);
 			}
 			return messages;
 		} catch(Exception ex) {
@@ -269,7 +297,7 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 			int maxId = getLastMessageId(perunSession);
 			if (maxId > lastProcessedId) {
 				// get events
-				eventList = jdbc.query("select " + auditMessageMappingSelectQuery + " from auditer_log where id > ? and id <= ? order by id", AUDIT_EVENT_MAPPER, lastProcessedId, maxId);
+				eventList = getEvents(queryMessages(lastProcessedId, "and id <= ? order by id", maxId));
 				// update counter
 				setLastProcessedId(perunSession, consumerName, maxId);
 			}
@@ -294,7 +322,7 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 			int maxId = getLastMessageId(perunSession);
 			if (maxId > lastProcessedId) {
 				// get events
-				eventList = jdbc.query("select " + auditMessageMappingSelectQuery + " from auditer_log where id > ? and id <= ? order by id", AUDIT_EVENT_MAPPER, lastProcessedId, maxId);
+				eventList = getEvents(queryMessages(lastProcessedId, "and id <= ? order by id", maxId));
 			}
 
 			return eventList;
@@ -305,6 +333,42 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 
 	}
 
+	@Override
+	public List<AuditMessage> pollConsumerMessages(PerunSession perunSession, String consumerName, int lastProcessedId, int maxCount) {
+
+		checkAuditerConsumerExists(perunSession, consumerName);
+
+		try {
+			List<AuditMessage> messages = queryMessages(lastProcessedId, "order by id limit ?", maxCount);
+			return messages;
+		} catch (Exception ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
+	@Override
+	public List<AuditMessage> pollConsumerMessagesBatch(PerunSession perunSession, String consumerName, int maxCount) {
+
+		checkAuditerConsumerExists(perunSession, consumerName);
+
+		try {
+			int lastProcessedId = getLastProcessedId(consumerName);
+			List<AuditMessage> messages = queryMessages(lastProcessedId, "order by id limit ?", maxCount);
+			if (!messages.isEmpty()) {
+				// update counter to the last returned message, rest will be returned by the next call
+				setLastProcessedId(perunSession, consumerName, messages.get(messages.size() - 1).getId());
+			}
+			return messages;
+		} catch (Exception ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
+	@Override
+	public List<AuditEvent> pollConsumerEventsBatch(PerunSession perunSession, String consumerName, int maxCount) {
+		return getEvents(pollConsumerMessagesBatch(perunSession, consumerName, maxCount));
+	}
+
 	@Override
 	public Map<String, Integer> getAllAuditerConsumers(PerunSession sess) {
 		try {
@@ -324,6 +388,178 @@ public class AuditMessagesManagerImpl implements AuditMessagesManagerImplApi {
 		}
 	}
 
+	@Override
+	public Map<String, Long> getCacheStatistics(PerunSession perunSession) {
+		Map<String, Long> statistics = new LinkedHashMap<>();
+		statistics.put("recentMessagesHits", recentMessagesHits.get());
+		statistics.put("recentMessagesMisses", recentMessagesMisses.get());
+		statistics.put("eventsCacheHits", eventsCacheHits.get());
+		statistics.put("eventsCacheMisses", eventsCacheMisses.get());
+		return statistics;
+	}
+
+	/**
+	 * Return audit messages with ID greater than given ID matching the condition in the auditer log.
+	 *
+	 * When the ring of recent messages is enabled, content of messages still kept in the ring is not read
+	 * from the DB, they are served from the ring. Only messages overwritten in the ring meanwhile are read again.
+	 *
+	 * @param lastProcessedId messages with greater ID are returned
+	 * @param condition rest of the where clause of the query including the ordering
+	 * @param args arguments of the condition
+	 * @return audit messages in the order given by the condition
+	 * @throws SQLException When message can't be parsed
+	 */
+	private List<AuditMessage> queryMessages(int lastProcessedId, String condition, Object... args) throws SQLException {
+		List<Integer> recentIds = recentMessages.getIdsAfter(lastProcessedId);
+		if (recentIds.isEmpty()) {
+			Object[] allArgs = new Object[args.length + 1];
+			allArgs[0] = lastProcessedId;
+			System.arraycopy(args, 0, allArgs, 1, args.length);
+			List<AuditMessage> messages = jdbc.query("select " + auditMessageMappingSelectQuery + " from auditer_log where id > ? " + condition, auditMessageMapper, allArgs);
+			if (recentMessages.isEnabled()) recentMessagesMisses.addAndGet(messages.size());
+			return messages;
+		}
+
+		List<AuditMessage> messages = jdbc.execute("select id, case when id " + Compatibility.getStructureForInClause() + " then null else msg end as msg, actor, created_at, created_by_uid from auditer_log where id > ? " + condition,
+			(PreparedStatementCallback<List<AuditMessage>>) preparedStatement -> {
+				preparedStatement.setArray(1, DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(recentIds, preparedStatement));
+				preparedStatement.setInt(2, lastProcessedId);
+				for (int i = 0; i < args.length; i++) {
+					preparedStatement.setObject(i + 3, args[i]);
+				}
+				List<AuditMessage> result = new ArrayList<>();
+				try (ResultSet rs = preparedStatement.executeQuery()) {
+					while (rs.next()) {
+						result.add(mapRecentMessageRow(rs));
+					}
+				}
+				return result;
+			});
+
+		// messages overwritten in the ring after their IDs were taken are read again
+		List<Integer> missingIds = new ArrayList<>();
+		for (AuditMessage message : messages) {
+			if (message.getEvent() == null) missingIds.add(message.getId());
+		}
+		if (missingIds.isEmpty()) return messages;
+
+		Map<Integer, AuditMessage> missingMessages = new HashMap<>();
+		for (AuditMessage message : getMessagesByIds(missingIds)) {
+			missingMessages.put(message.getId(), message);
+		}
+		for (int i = 0; i < messages.size(); i++) {
+			AuditMessage message = messages.get(i);
+			if (message.getEvent() == null) messages.set(i, missingMessages.get(message.getId()));
+		}
+		return messages;
+	}
+
+	/**
+	 * Map row of the auditer log to audit message, content of messages missing in the row is taken from the ring.
+	 * If the message is not in the ring anymore, it is returned without the event.
+	 *
+	 * @param resultSet result set with audit message row
+	 * @return audit message
+	 * @throws SQLException When message can't be read or parsed
+	 */
+	private AuditMessage mapRecentMessageRow(ResultSet resultSet) throws SQLException {
+		int id = resultSet.getInt("id");
+		String msg = resultSet.getString("msg");
+		AuditEvent event = null;
+		if (msg != null) {
+			recentMessagesMisses.incrementAndGet();
+			event = getAuditEvent(id, msg);
+		} else {
+			RecentAuditMessages.RecentMessage recentMessage = recentMessages.get(id);
+			if (recentMessage != null) {
+				recentMessagesHits.incrementAndGet();
+				event = bindAuditEvent(recentMessage.getEvent());
+			}
+		}
+
+		Integer principalUserId = null;
+		if (resultSet.getInt("created_by_uid") != 0) principalUserId = resultSet.getInt("created_by_uid");
+		return new AuditMessage(id, event, resultSet.getString("actor"), resultSet.getString("created_at"), principalUserId);
+	}
+
+	private List<AuditMessage> getMessagesByIds(List<Integer> ids) {
+		return jdbc.execute("select " + auditMessageMappingSelectQuery + " from auditer_log where id " + Compatibility.getStructureForInClause(),
+			(PreparedStatementCallback<List<AuditMessage>>) preparedStatement -> {
+				Array sqlArray = DatabaseManagerBl.prepareSQLArrayOfNumbersFromIntegers(ids, preparedStatement);
+				preparedStatement.setArray(1, sqlArray);
+				ResultSet rs = preparedStatement.executeQuery();
+				List<AuditMessage> messages = new ArrayList<>();
+				while (rs.next()) {
+					messages.add(auditMessageMapper.mapRow(rs, rs.getRow()));
+				}
+				return messages;
+			});
+	}
+
+	private static List<AuditEvent> getEvents(List<AuditMessage> messages) {
+		List<AuditEvent> eventList = new ArrayList<>(messages.size());
+		for (AuditMessage message : messages) {
+			eventList.add(message.getEvent());
+		}
+		return eventList;
+	}
+
+	/**
+	 * Return audit event of the message with given ID.
+	 * Each message is parsed only once, then the parsed event is served from the cache. Cached event is never
+	 * handed out, each consumer gets its own audit event bound from it, so consumers can't affect each other.
+	 *
+	 * @param id ID of the audit message
+	 * @param msg audit message serialized to JSON
+	 * @return audit event
+	 * @throws SQLException When message can't be parsed
+	 */
+	private AuditEvent getAuditEvent(int id, String msg) throws SQLException {
+		if (eventsCache == null) return readAuditEvent(msg);
+
+		JsonNode event = eventsCache.get(id);
+		if (event != null) {
+			eventsCacheHits.incrementAndGet();
+		} else {
+			eventsCacheMisses.incrementAndGet();
+			event = readAuditEventTree(msg);
+			eventsCache.put(id, event);
+		}
+		return bindAuditEvent(event);
+	}
+
+	private static AuditEvent readAuditEvent(String msg) throws SQLException {
+		try {
+			return mapper.readValue(msg, AuditEvent.class);
+		} catch (JsonParseException | JsonMappingException ex) {
+			log.error("Can't parse JSON auditer log!", ex);
+			throw new SQLException(ex);
+		} catch (IOException ex) {
+			throw new SQLException(ex);
+		}
+	}
+
+	private static JsonNode readAuditEventTree(String msg) throws SQLException {
+		try {
+			return mapper.readTree(msg);
+		} catch (JsonParseException ex) {
+			log.error("Can't parse JSON auditer log!", ex);
+			throw new SQLException(ex);
+		} catch (IOException ex) {
+			throw new SQLException(ex);
+		}
+	}
+
+	private static AuditEvent bindAuditEvent(JsonNode event) throws SQLException {
+		try {
+			return mapper.treeToValue(event, AuditEvent.class);
+		} catch (JsonProcessingException ex) {
+			log.error("Can't parse JSON auditer log!", ex);
+			throw new SQLException(ex);
+		}
+	}
+
 	/**
 	 * Return last processed ID of audit message for specified consumer.
 	 *
@@ -9,6 +9,7 @@ import cz.metacentrum.perun.core.api.exceptions.AttributeNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.WrongAttributeAssignmentException;
 import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
+import cz.metacentrum.perun.core.implApi.AuditEventListener;
 import cz.metacentrum.perun.core.implApi.modules.attributes.AttributesModuleImplApi;
 import net.jcip.annotations.GuardedBy;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,11 +17,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcPerunTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.io.IOException;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -31,12 +35,18 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class is responsible for runtime logging of audit events. It gets messages and assocaites them with current transaction.
  * If there's no transaction currently running, message is immediately flushed out.
  * When transaction ends, transaction manager must call method flush in this class for the ending transaction.
  *
+ * Flushed messages can be optionally written by a dedicated thread, see {@link #startAsyncWriter(int)}.
+ *
  * @see PerunTransactionManager
  * @see AuditEvent
  * @see AuditerMessage
@@ -75,6 +85,23 @@ public class Auditer {
 	}
 
 	private static final Object LOCK_DB_TABLE_AUDITER_LOG = new Object();
+	// how long can flushing thread wait for a space in the queue of asynchronous writer
+	private static final long ASYNC_ENQUEUE_TIMEOUT = TimeUnit.SECONDS.toMillis(1);
+
+	// used to wake up auditer consumers waiting for new messages in the same JVM
+	private final Object newMessagesMonitor = new Object();
+	@GuardedBy("newMessagesMonitor")
+	private long storedBatchesCount = 0;
+
+	// asynchronous writer of audit messages, started only when enabled by configuration
+	private volatile BlockingQueue<AuditerMessage> pendingMessages;
+	private volatile boolean asyncWriterRunning = false;
+	private Thread asyncWriter;
+	private int asyncBatchSize;
+	private AttributeDefinitionsRegistry attributeDefinitionsRegistry;
+	private AttributeValuesCache attributeValuesCache;
+	private RecentAuditMessages recentMessages;
+	private final List<AuditEventListener> eventListeners = new CopyOnWriteArrayList<>();
 
 	private static final Set<AttributesModuleImplApi> registeredAttributesModules = new HashSet<>();
 
@@ -106,6 +133,41 @@ public class Auditer {
 		this.jdbc.setQueryTimeout(BeansUtils.getCoreConfig().getQueryTimeout());
 	}
 
+	public void setAttributeDefinitionsRegistry(AttributeDefinitionsRegistry attributeDefinitionsRegistry) {
+		this.attributeDefinitionsRegistry = attributeDefinitionsRegistry;
+	}
+
+	public void setAttributeValuesCache(AttributeValuesCache attributeValuesCache) {
+		this.attributeValuesCache = attributeValuesCache;
+	}
+
+	public void setRecentMessages(RecentAuditMessages recentMessages) {
+		this.recentMessages = recentMessages;
+	}
+
+	public void setEventListeners(List<AuditEventListener> eventListeners) {
+		this.eventListeners.clear();
+		this.eventListeners.addAll(eventListeners);
+	}
+
+	/**
+	 * Register listener of audit events logged by this instance of Perun.
+	 *
+	 * @param listener listener to register
+	 */
+	public void registerEventListener(AuditEventListener listener) {
+		if (!eventListeners.contains(listener)) eventListeners.add(listener);
+	}
+
+	/**
+	 * Unregister listener of audit events.
+	 *
+	 * @param listener listener to unregister
+	 */
+	public void unregisterEventListener(AuditEventListener listener) {
+		eventListeners.remove(listener);
+	}
+
 	/**
 	 * Log message.
 	 * Takes AuditEvent object and logs it to db.
@@ -132,11 +194,55 @@ public class Auditer {
 			// pick last messages in that chain
 			List<AuditerMessage> messages = transactionChain.get(transactionChain.size() - 1);
 			messages.add(new AuditerMessage(sess, event));
+			// listeners must not serve data changed in this transaction from their caches even before commit
+			notifyEventListeners(event);
+			invalidateAttributeCaches(event);
 		} else {
 			this.storeMessageToDb(sess, event);
+			invalidateAttributeCaches(event);
 		}
 	}
 
+	/**
+	 * Log messages.
+	 * Takes list of AuditEvent objects and logs them to db. If there is no transaction,
+	 * messages are stored in one batch instead of storing every message separately.
+	 *
+	 * @param sess   Perun session
+	 * @param events Audit events to be logged.
+	 */
+	public void logAll(PerunSession sess, List<? extends AuditEvent> events) {
+		if (events.isEmpty()) return;
+
+		if(TransactionSynchronizationManager.isActualTransactionActive()) {
+			for (AuditEvent event : events) {
+				log(sess, event);
+			}
+		} else {
+			List<AuditerMessage> auditerMessages = new ArrayList<>();
+			for (AuditEvent event : events) {
+				auditerMessages.add(new AuditerMessage(sess, event));
+			}
+			this.storeMessagesToDb(auditerMessages);
+			events.forEach(this::invalidateAttributeCaches);
+		}
+	}
+
+	private void notifyEventListeners(AuditEvent event) {
+		for (AuditEventListener listener : eventListeners) {
+			try {
+				listener.eventLogged(event);
+			} catch (RuntimeException ex) {
+				log.error("Audit event listener {} failed to process event {}.", listener.getClass().getName(), event, ex);
+			}
+		}
+	}
+
+	private void invalidateAttributeCaches(AuditEvent event) {
+		if (attributeDefinitionsRegistry != null) attributeDefinitionsRegistry.invalidate(event);
+		if (attributeValuesCache != null) attributeValuesCache.invalidate(event);
+	}
+
 	/**
 	 * Log message without checking current transactions.
 	 *
@@ -292,6 +398,23 @@ public class Auditer {
 		return messages;
 	}
 
+	/**
+	 * Check whether current transaction has any stored (not flushed) messages, which means it has changed some data.
+	 *
+	 * @return true if there are stored messages in the current transaction, false otherwise or if there is no transaction
+	 */
+	public boolean hasPendingMessages() {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) return false;
+		List<List<List<AuditerMessage>>> topLevelTransactions = (List<List<List<AuditerMessage>>>) TransactionSynchronizationManager.getResource(this);
+		if (topLevelTransactions == null) return false;
+		for (List<List<AuditerMessage>> transactionChain : topLevelTransactions) {
+			for (List<AuditerMessage> messages : transactionChain) {
+				if (!messages.isEmpty()) return true;
+			}
+		}
+		return false;
+	}
+
 	private List<List<List<AuditerMessage>>> getTopLevelTransactions() {
 		List<List<List<AuditerMessage>>> topLevelTransactions = (List<List<List<AuditerMessage>>>) TransactionSynchronizationManager.getResource(this);
 		if (topLevelTransactions == null) {
@@ -332,23 +455,103 @@ public class Auditer {
 				log.error("There is a problem with processing resolving messages! It will be forcibly skipped to prevent unexpected behavior of auditer log!", ex);
 			}
 
-			//Write all messages to the database
+			// changes are committed now, listeners invalidate data possibly loaded in meantime
+			for (AuditerMessage message : auditerMessages) {
+				notifyEventListeners(message.getEvent());
+			}
+
+			BlockingQueue<AuditerMessage> queue = pendingMessages;
+			if (queue == null) {
+				writeMessagesToDb(auditerMessages);
+				return;
+			}
+			if (!asyncWriterRunning) {
+				// writer has failed, store messages left in its queue first, so they stay in order
+				List<AuditerMessage> rest = new ArrayList<>();
+				queue.drainTo(rest);
+				rest.addAll(auditerMessages);
+				writeMessagesToDb(rest);
+				return;
+			}
+
+			// pass messages to the asynchronous writer, they are enqueued under the lock, so they stay in order
+			int enqueued = enqueueMessages(queue, auditerMessages);
+			if (enqueued < auditerMessages.size()) {
+				writeMessagesToDb(auditerMessages.subList(enqueued, auditerMessages.size()));
+			}
+
+		}
+
+	}
+
+	/**
+	 * Puts messages to the queue of asynchronous writer. If the queue is full, it waits until writer takes some messages,
+	 * but at most {@link #ASYNC_ENQUEUE_TIMEOUT} for all the messages, since it holds the lock of the auditer log.
+	 * It stops when the time is up, writer is stopped meanwhile or the thread is interrupted, rest of the messages
+	 * must be stored directly. Such messages can be stored before the messages still waiting in the queue.
+	 *
+	 * @param queue queue of pending messages
+	 * @param auditerMessages messages to enqueue
+	 * @return number of enqueued messages
+	 */
+	private int enqueueMessages(BlockingQueue<AuditerMessage> queue, List<AuditerMessage> auditerMessages) {
+		int enqueued = 0;
+		long deadline = System.currentTimeMillis() + ASYNC_ENQUEUE_TIMEOUT;
+		try {
+			for (AuditerMessage message : auditerMessages) {
+				while (!queue.offer(message, 100, TimeUnit.MILLISECONDS)) {
+					if (!asyncWriterRunning) return enqueued;
+					if (System.currentTimeMillis() >= deadline) {
+						log.warn("Asynchronous auditer writer can't keep up, {} messages will be stored directly.", auditerMessages.size() - enqueued);
+						return enqueued;
+					}
+				}
+				enqueued++;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.error("Interrupted while passing messages to the asynchronous auditer writer, rest of them will be stored directly.", e);
+		}
+		return enqueued;
+	}
+
+	/**
+	 * Serializes audit events to JSON and writes them to the auditer_log table in one batch.
+	 * Waiting auditer consumers are notified afterwards.
+	 *
+	 * @param auditerMessages list of AuditerMessages
+	 */
+	private void writeMessagesToDb(final List<AuditerMessage> auditerMessages) {
+
+		final boolean logJson = BeansUtils.getCoreConfig().isAuditerLogJson();
+
+		final List<String> jsonMessages = new ArrayList<>(auditerMessages.size());
+		for (AuditerMessage auditerMessage : auditerMessages) {
+			String jsonString = "";
 			try {
+				jsonString = mapper.writeValueAsString(auditerMessage.getEvent());
+			} catch (IOException e) {
+				log.error("Could not map event {} to JSON: {}", auditerMessage.getEvent().getClass().getSimpleName(), auditerMessage.getEvent().getMessage());
+			}
+			if (logJson) {
+				log.info("AUDIT_JSON: {}", jsonString);
+			} else {
+				log.trace("AUDIT_JSON: {}", jsonString);
+			}
+			jsonMessages.add(jsonString);
+		}
+
+		//Write all messages to the database
+		try {
+			if (recentMessages != null && recentMessages.isEnabled()) {
+				writeMessagesWithIdsToDb(auditerMessages, jsonMessages);
+			} else {
 				jdbc.batchUpdate("insert into auditer_log (id, msg, actor, created_at, created_by_uid) values ("+Compatibility.getSequenceNextval("auditer_log_id_seq")+",?,?," + Compatibility.getSysdate() + ",?)",
 						new BatchPreparedStatementSetter() {
 							@Override
 							public void setValues(PreparedStatement ps, int i) throws SQLException {
-
-								final AuditerMessage auditerMessage = auditerMessages.get(i);
-								final PerunSession session = auditerMessage.getOriginatingSession();
-								String jsonString = "";
-								try {
-									jsonString = mapper.writeValueAsString(auditerMessage.getEvent());
-								} catch (IOException e) {
-									log.error("Could not map event {} to JSON: {}", auditerMessage.getEvent().getClass().getSimpleName(), auditerMessage.getEvent().getMessage());
-								}
-								log.info("AUDIT_JSON: {}", jsonString);
-								ps.setString(1, jsonString);
+								final PerunSession session = auditerMessages.get(i).getOriginatingSession();
+								ps.setString(1, jsonMessages.get(i));
 								ps.setString(2, session.getPerunPrincipal().getActor());
 								ps.setInt(3, session.getPerunPrincipal().getUserId());
 							}
@@ -358,15 +561,148 @@ public class Auditer {
 								return auditerMessages.size();
 							}
 						});
+			}
+
+			// messages are committed, wake up waiting consumers
+			notifyNewMessagesStored();
+
+		} catch (InternalErrorException e) {
+			log.error("Could not get system date identifier for the DB", e);
+		} catch (RuntimeException e) {
+			log.error("Cannot store auditer log json message in batch for list ['{}'], exception: {}", auditerMessages, e);
+		}
 
-			} catch (InternalErrorException e) {
-				log.error("Could not get system date identifier for the DB", e);
-			} catch (RuntimeException e) {
-				log.error("Cannot store auditer log json message in batch for list ['{}'], exception: {}", auditerMessages, e);
+	}
+
+	/**
+	 * Writes messages in one batch returning IDs generated by the DB,
+	 * so the written messages can be put to the ring of recent messages.
+	 *
+	 * @param auditerMessages messages to write
+	 * @param jsonMessages messages serialized to JSON
+	 */
+	private void writeMessagesWithIdsToDb(final List<AuditerMessage> auditerMessages, final List<String> jsonMessages) {
+		final String sql = "insert into auditer_log (id, msg, actor, created_at, created_by_uid) values (" + Compatibility.getSequenceNextval("auditer_log_id_seq") + ",?,?," + Compatibility.getSysdate() + ",?)";
+		List<Integer> ids = jdbc.execute((PreparedStatementCreator) connection -> connection.prepareStatement(sql, new String[]{"id"}),
+				(PreparedStatementCallback<List<Integer>>) ps -> {
+					for (int i = 0; i < auditerMessages.size(); i++) {
+						final PerunSession session = auditerMessages.get(i).getOriginatingSession();
+						ps.setString(1, jsonMessages.get(i));
+						ps.setString(2, session.getPerunPrincipal().getActor());
+						ps.setInt(3, session.getPerunPrincipal().getUserId());
+						ps.addBatch();
+					}
+					ps.executeBatch();
+					List<Integer> generatedIds = new ArrayList<>(auditerMessages.size());
+					try (ResultSet keys = ps.getGeneratedKeys()) {
+						while (keys.next()) {
+							generatedIds.add(keys.getInt(1));
+						}
+					}
+					return generatedIds;
+				});
+
+		for (int i = 0; i < ids.size(); i++) {
+			try {
+				recentMessages.add(ids.get(i), mapper.readTree(jsonMessages.get(i)));
+			} catch (IOException e) {
+				log.error("Could not parse JSON of message {} for the ring of recent messages.", ids.get(i), e);
 			}
+		}
+	}
 
+	/**
+	 * Starts asynchronous writer of audit messages, if it is enabled in the configuration.
+	 *
+	 * @see #startAsyncWriter(int)
+	 */
+	public void startAsyncWriter() {
+		if (BeansUtils.getCoreConfig().isAuditerAsyncWriter()) {
+			startAsyncWriter(BeansUtils.getCoreConfig().getAuditerAsyncBatchSize());
 		}
+	}
 
+	/**
+	 * Starts asynchronous writer of audit messages.
+	 *
+	 * Flushed messages are then only enqueued on the calling thread and a dedicated thread serializes them to JSON
+	 * and writes them to the DB. Messages flushed by many transactions meanwhile are written together in one batch
+	 * of at most batchSize messages. Messages are written in the same order as they were flushed.
+	 * If the queue of pending messages is full, flushing thread waits until there is a space for its messages.
+	 *
+	 * Since events are serialized later by the writer thread, beans referenced by them must not be modified
+	 * after the transaction has ended.
+	 *
+	 * Messages are written after the transaction which logged them is committed, so messages still waiting
+	 * in the queue are lost, if the JVM crashes. They are written when the writer is stopped by
+	 * {@link #stopAsyncWriter()}, which is called on the regular shutdown of the application context.
+	 * If the writer fails unexpectedly, the flushing threads store messages directly again.
+	 *
+	 * @param batchSize max number of messages written to the DB in one batch
+	 */
+	public synchronized void startAsyncWriter(int batchSize) {
+		if (asyncWriter != null) return;
+		if (batchSize < 1) throw new InternalErrorException("Batch size of asynchronous auditer writer must be positive, but was " + batchSize + ".");
+		asyncBatchSize = batchSize;
+		asyncWriterRunning = true;
+		// let the flushing threads wait, when the writer falls too much behind
+		pendingMessages = new LinkedBlockingQueue<>(batchSize * 100);
+		asyncWriter = new Thread(this::writePendingMessages, "perun-auditer-writer");
+		asyncWriter.setDaemon(true);
+		asyncWriter.start();
+		log.info("Asynchronous auditer writer started with batch size {}.", batchSize);
+	}
+
+	/**
+	 * Stops asynchronous writer of audit messages. Already enqueued messages are written to the DB before it stops.
+	 * Newly flushed messages are written directly by the flushing thread again.
+	 */
+	public synchronized void stopAsyncWriter() {
+		if (asyncWriter == null) return;
+		asyncWriterRunning = false;
+		try {
+			asyncWriter.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.error("Interrupted while waiting for asynchronous auditer writer to stop.", e);
+		}
+		synchronized (LOCK_DB_TABLE_AUDITER_LOG) {
+			// store messages which could be enqueued after writer stopped
+			List<AuditerMessage> rest = new ArrayList<>();
+			pendingMessages.drainTo(rest);
+			if (!rest.isEmpty()) writeMessagesToDb(rest);
+			pendingMessages = null;
+		}
+		asyncWriter = null;
+		log.info("Asynchronous auditer writer stopped.");
+	}
+
+	/**
+	 * Main loop of asynchronous writer. Takes all pending messages (up to batch size) and writes them in one batch.
+	 */
+	private void writePendingMessages() {
+		BlockingQueue<AuditerMessage> queue = pendingMessages;
+		try {
+			while (asyncWriterRunning || !queue.isEmpty()) {
+				try {
+					AuditerMessage first = queue.poll(1, TimeUnit.SECONDS);
+					if (first == null) continue;
+					List<AuditerMessage> batch = new ArrayList<>();
+					batch.add(first);
+					queue.drainTo(batch, asyncBatchSize - 1);
+					writeMessagesToDb(batch);
+				} catch (InterruptedException e) {
+					// writer is stopped only by stopAsyncWriter(), so pending messages are not lost
+					log.warn("Asynchronous auditer writer was interrupted.");
+				} catch (Throwable e) {
+					log.error("Asynchronous auditer writer failed to store messages.", e);
+				}
+			}
+		} finally {
+			// flushing threads must not wait for the writer, which is not running, messages left in the queue
+			// are stored by the next flushing thread or when the writer is stopped
+			asyncWriterRunning = false;
+		}
 	}
 
 	/**
@@ -385,6 +721,50 @@ public class Auditer {
 		this.storeMessagesToDb(auditerMessages);
 	}
 
+	/**
+	 * Returns number of message batches stored to the auditer log by this instance since its start.
+	 * Auditer consumer should read it before it polls messages from the DB and then pass it
+	 * to the {@link #waitForNewMessages(long, long)} so no stored batch can be missed.
+	 *
+	 * @return number of stored message batches
+	 */
+	public long getStoredBatchesCount() {
+		synchronized (newMessagesMonitor) {
+			return storedBatchesCount;
+		}
+	}
+
+	/**
+	 * Blocks calling thread until new messages are stored to the auditer log by this instance or until timeout elapses.
+	 * Returns immediately, if any batch was stored since the passed counter was read.
+	 *
+	 * It allows auditer consumers running in the same JVM to be notified about new messages instead of polling the DB.
+	 * Messages stored by other Perun instances are not signalled, consumers must read them from the DB after the timeout.
+	 *
+	 * @param lastStoredBatchesCount value of {@link #getStoredBatchesCount()} known to the consumer
+	 * @param timeout max time to wait in milliseconds
+	 * @return true if new messages were stored, false if timeout elapsed
+	 * @throws InterruptedException when waiting thread is interrupted
+	 */
+	public boolean waitForNewMessages(long lastStoredBatchesCount, long timeout) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeout;
+		synchronized (newMessagesMonitor) {
+			while (storedBatchesCount == lastStoredBatchesCount) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) return false;
+				newMessagesMonitor.wait(remaining);
+			}
+			return true;
+		}
+	}
+
+	private void notifyNewMessagesStored() {
+		synchronized (newMessagesMonitor) {
+			storedBatchesCount++;
+			newMessagesMonitor.notifyAll();
+		}
+	}
+
 	public void initialize() {
 		try {
 			this.lastProcessedId = jdbc.queryForInt("select max(id) from auditer_log");
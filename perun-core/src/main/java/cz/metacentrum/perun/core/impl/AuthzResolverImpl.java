@@ -820,6 +820,17 @@ public class AuthzResolverImpl implements AuthzResolverImplApi {
 		return perunPoliciesContainer.fetchPolicyWithAllIncludedPolicies(policyName);
 	}
 
+	/**
+	 * Get roles of the policy according the policy name and all its included policies (without cycle).
+	 *
+	 * @param policyName from which will be the roles fetched
+	 * @return list of role maps, relation between maps is logical OR and between entries of the map logical AND
+	 * @throws PolicyNotExistsException if policy or some included policies does not exists in PerunPoliciesContainer
+	 */
+	public static List<Map<String, String>> fetchPolicyRoles(String policyName) throws PolicyNotExistsException {
+		return perunPoliciesContainer.fetchPolicyRoles(policyName);
+	}
+
 	/**
 	 * Return all loaded perun policies.
 	 *
@@ -0,0 +1,261 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.audit.events.AuthorizationEvents.RoleSetForGroup;
+import cz.metacentrum.perun.audit.events.AuthorizationEvents.RoleUnsetForGroup;
+import cz.metacentrum.perun.audit.events.FacilityManagerEvents.FacilityDeleted;
+import cz.metacentrum.perun.audit.events.GroupManagerEvents.AllGroupsFromVoDeleted;
+import cz.metacentrum.perun.audit.events.GroupManagerEvents.GroupCreatedAsSubgroup;
+import cz.metacentrum.perun.audit.events.GroupManagerEvents.GroupDeleted;
+import cz.metacentrum.perun.audit.events.GroupManagerEvents.GroupMoved;
+import cz.metacentrum.perun.audit.events.ResourceManagerEvents.ResourceDeleted;
+import cz.metacentrum.perun.audit.events.SecurityTeamsManagerEvents.SecurityTeamDeleted;
+import cz.metacentrum.perun.audit.events.ServicesManagerEvents.ServiceDeleted;
+import cz.metacentrum.perun.audit.events.StringMessageEvent;
+import cz.metacentrum.perun.audit.events.VoManagerEvents.VoDeleted;
+import cz.metacentrum.perun.core.api.AuditMessage;
+import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.PerunBean;
+import cz.metacentrum.perun.core.api.User;
+import cz.metacentrum.perun.core.implApi.AuditEventListener;
+import cz.metacentrum.perun.core.implApi.AuditMessagesManagerImplApi;
+import net.jodah.expiringmap.ExpirationPolicy;
+import net.jodah.expiringmap.ExpiringMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of roles computed for users by AuthzResolverBlImpl.
+ *
+ * Entries are invalidated by audit events. Events referencing a user or a member invalidate roles of that user,
+ * events which can change roles of unknown set of users (e.g. role set for a group) clear the whole cache.
+ * Events logged by this instance of Perun are passed by the Auditer, changes made by other instances are found
+ * in the auditer log, which is polled before cached roles are returned. With positive poll interval, roles revoked
+ * by other instances can be served up to the poll interval. Entries also expire after the timeout, so any change
+ * not covered by the events is reflected eventually.
+ *
+ * Each invalidation increments the generation of the cache. Roles computed before the invalidation
+ * are not stored, since they could be loaded from the stale data.
+ */
+public class AuthzRolesCache implements AuditEventListener {
+
+	private final static Logger log = LoggerFactory.getLogger(AuthzRolesCache.class);
+
+	private final static int MAX_SIZE = 10000;
+	private final static int POLL_BATCH_SIZE = 1000;
+	private final static String CONSUMER_NAME = "authzRolesCache";
+
+	private final static Set<Class<? extends AuditEvent>> CACHE_CLEARING_EVENTS = Set.of(
+			RoleSetForGroup.class, RoleUnsetForGroup.class, GroupCreatedAsSubgroup.class, GroupMoved.class,
+			GroupDeleted.class, AllGroupsFromVoDeleted.class, VoDeleted.class, FacilityDeleted.class,
+			ResourceDeleted.class, ServiceDeleted.class, SecurityTeamDeleted.class);
+
+	// null when cache is disabled
+	private final ExpiringMap<Integer, AuthzRoles> rolesByUser;
+	private final AtomicLong generation = new AtomicLong();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final long pollInterval;
+	private final ReentrantLock pollLock = new ReentrantLock();
+	private AuditMessagesManagerImplApi auditMessagesManagerImpl;
+	private volatile int lastProcessedId = -1;
+	private volatile long lastPollTime;
+
+	/**
+	 * Create cache of user roles.
+	 *
+	 * @param timeout how long are roles kept in the cache in seconds, cache is disabled if not positive
+	 * @param pollInterval how often is the auditer log checked for changes made by other instances in seconds,
+	 *                     it is checked on each read if not positive
+	 */
+	public AuthzRolesCache(int timeout, int pollInterval) {
+		this.pollInterval = TimeUnit.SECONDS.toMillis(pollInterval);
+		if (timeout > 0) {
+			rolesByUser = ExpiringMap.builder()
+					.maxSize(MAX_SIZE)
+					.expirationPolicy(ExpirationPolicy.CREATED)
+					.expiration(timeout, TimeUnit.SECONDS)
+					.build();
+		} else {
+			rolesByUser = null;
+		}
+	}
+
+	public void setAuditMessagesManagerImpl(AuditMessagesManagerImplApi auditMessagesManagerImpl) {
+		this.auditMessagesManagerImpl = auditMessagesManagerImpl;
+	}
+
+	public boolean isEnabled() {
+		return rolesByUser != null;
+	}
+
+	/**
+	 * Get current generation of the cache. It must be read before roles are loaded
+	 * and then passed to the {@link #put(int, AuthzRoles, long)}.
+	 *
+	 * @return current generation
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Get copy of cached roles of the user.
+	 *
+	 * @param userId id of the user
+	 * @return roles of the user or null, if they are not cached
+	 */
+	public AuthzRoles get(int userId) {
+		if (rolesByUser == null) return null;
+		pollAuditerLog();
+		AuthzRoles roles = rolesByUser.get(userId);
+		if (roles == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		hits.incrementAndGet();
+		return copy(roles);
+	}
+
+	/**
+	 * Store copy of roles of the user, if there was no invalidation since roles were loaded.
+	 *
+	 * @param userId id of the user
+	 * @param roles roles of the user
+	 * @param loadedGeneration generation of the cache read before the roles were loaded
+	 */
+	public void put(int userId, AuthzRoles roles, long loadedGeneration) {
+		if (rolesByUser == null) return;
+		AuthzRoles copy = copy(roles);
+		synchronized (this) {
+			if (generation.get() == loadedGeneration) {
+				rolesByUser.put(userId, copy);
+			}
+		}
+	}
+
+	@Override
+	public void eventLogged(AuditEvent event) {
+		invalidate(event);
+	}
+
+	/**
+	 * Invalidate cached roles affected by the audit event.
+	 *
+	 * @param event audit event
+	 */
+	public void invalidate(AuditEvent event) {
+		if (rolesByUser == null || event == null || event instanceof StringMessageEvent) return;
+		if (CACHE_CLEARING_EVENTS.contains(event.getClass())) {
+			log.trace("Clearing cached roles of all users because of {}.", event.getClass().getSimpleName());
+			clear();
+			return;
+		}
+		List<PerunBean> beans = event.getReferencedBeans();
+		Set<Integer> userIds = new HashSet<>();
+		for (PerunBean bean : beans) {
+			if (bean instanceof User) {
+				userIds.add(bean.getId());
+			} else if (bean instanceof Member) {
+				userIds.add(((Member) bean).getUserId());
+			}
+		}
+		if (userIds.isEmpty()) return;
+		synchronized (this) {
+			generation.incrementAndGet();
+			userIds.forEach(rolesByUser::remove);
+		}
+	}
+
+	/**
+	 * Invalidate cached roles of the user.
+	 *
+	 * @param userId id of the user
+	 */
+	public void invalidate(int userId) {
+		if (rolesByUser == null) return;
+		synchronized (this) {
+			generation.incrementAndGet();
+			rolesByUser.remove(userId);
+		}
+	}
+
+	/**
+	 * Remove all cached roles.
+	 */
+	public void clear() {
+		if (rolesByUser == null) return;
+		synchronized (this) {
+			generation.incrementAndGet();
+			rolesByUser.clear();
+		}
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Invalidate roles changed by other instances of Perun. New events from the auditer log are read
+	 * at most once per poll interval and only by one thread at a time.
+	 */
+	private void pollAuditerLog() {
+		if (auditMessagesManagerImpl == null || System.currentTimeMillis() - lastPollTime < pollInterval || !pollLock.tryLock()) return;
+		try {
+			if (lastProcessedId < 0) {
+				// roles cached before are not checked against the missed events
+				lastProcessedId = auditMessagesManagerImpl.getLastMessageId(null);
+				clear();
+			} else {
+				List<AuditMessage> messages;
+				do {
+					messages = auditMessagesManagerImpl.pollConsumerMessages(null, CONSUMER_NAME, lastProcessedId, POLL_BATCH_SIZE);
+					for (AuditMessage message : messages) {
+						invalidate(message.getEvent());
+						lastProcessedId = message.getId();
+					}
+				} while (messages.size() == POLL_BATCH_SIZE);
+			}
+		} catch (RuntimeException ex) {
+			log.warn("Can't read changes of roles from the auditer log, clearing the whole cache.", ex);
+			lastProcessedId = -1;
+			clear();
+		} finally {
+			lastPollTime = System.currentTimeMillis();
+			pollLock.unlock();
+		}
+	}
+
+	/**
+	 * Create deep copy of roles, so cached roles are not affected by changes of the session roles.
+	 */
+	private static AuthzRoles copy(AuthzRoles roles) {
+		AuthzRoles copy = new AuthzRoles();
+		for (Map.Entry<String, Map<String, Set<Integer>>> role : roles.entrySet()) {
+			if (role.getValue() == null) {
+				copy.put(role.getKey(), null);
+				continue;
+			}
+			Map<String, Set<Integer>> objects = new HashMap<>();
+			for (Map.Entry<String, Set<Integer>> object : role.getValue().entrySet()) {
+				objects.put(object.getKey(), object.getValue() == null ? null : new HashSet<>(object.getValue()));
+			}
+			copy.put(role.getKey(), objects);
+		}
+		return copy;
+	}
+
+}
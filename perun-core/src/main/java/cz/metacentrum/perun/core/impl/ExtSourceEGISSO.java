@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * This extSource is just for use loading users from LDAP of EGI SSO
@@ -39,6 +40,15 @@ public class ExtSourceEGISSO extends ExtSourceLdap implements ExtSourceApi {
 		return getUsersOrGroupSubjects(query);
 	}
 
+	@Override
+	public Stream<Map<String, String>> streamGroupSubjects(Map<String, String> attributes) {
+		String query = attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
+
+		SearchControls controls = new SearchControls();
+		controls.setTimeLimit(5000);
+		return searchSourcePaged(query, "ou=People,dc=egi,dc=eu", controls).stream();
+	}
+
 	@Override
 	public List<Map<String, String>> getSubjectGroups(Map<String, String> attributes) throws ExtSourceUnsupportedOperationException {
 		throw new ExtSourceUnsupportedOperationException();
@@ -92,6 +102,11 @@ public class ExtSourceEGISSO extends ExtSourceLdap implements ExtSourceApi {
 		return getUsersOrGroupSubjects(query);
 	}
 
+	@Override
+	protected Map<String, String> convertSearchResult(SearchResult searchResult) {
+		return processResultToSubject(searchResult);
+	}
+
 	protected Map<String,String> processResultToSubject(SearchResult sr) {
 		if(sr == null) throw new InternalErrorException("SearchResult is empty so cannot be proceed.");
 		Map<String,String> subject = new HashMap<>();
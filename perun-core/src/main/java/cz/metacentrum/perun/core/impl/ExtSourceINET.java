@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * This is a specific version of SQL extSource extension for SQL Complex.
@@ -19,6 +20,15 @@ public class ExtSourceINET extends ExtSourceSqlComplex {
 
 	@Override
 	public List<Map<String, String>> getGroupSubjects(Map<String, String> attributes) {
+		return this.querySource(getGroupQuery(attributes), null, 0);
+	}
+
+	@Override
+	public Stream<Map<String, String>> streamGroupSubjects(Map<String, String> attributes) {
+		return this.streamSource(getGroupQuery(attributes), null).stream();
+	}
+
+	private String getGroupQuery(Map<String, String> attributes) {
 		// Parameters of query in the combination "workspace:groupname"
 		String sqlParametersForQuery = attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
 		Matcher sqlParametersMatcher = queryParametersPattern.matcher(sqlParametersForQuery);
@@ -32,6 +42,6 @@ public class ExtSourceINET extends ExtSourceSqlComplex {
 		if(!query.contains("?")) throw new InternalErrorException("There is missing second occurrence of '?' character to replace group name for!");
 		query = query.replaceFirst("[?]", "'" + nameOfTheGroup + "'");
 
-		return this.querySource(query, null, 0);
+		return query;
 	}
 }
@@ -20,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.stream.Stream;
 
 /**
  * XML extSource for groups in IS MU
@@ -63,6 +64,12 @@ public class ExtSourceISXML extends ExtSourceXML {
 		return xpathParsing(query, 0);
 	}
 
+	@Override
+	public Stream<Map<String, String>> streamGroupSubjects(Map<String, String> attributes) {
+		// query for the group is sent in the request, the response is not read as a stream
+		return getGroupSubjects(attributes).stream();
+	}
+
 	@Override
 	public List<Map<String, String>> getSubjectGroups(Map<String, String> attributes) throws ExtSourceUnsupportedOperationException {
 		throw new ExtSourceUnsupportedOperationException();
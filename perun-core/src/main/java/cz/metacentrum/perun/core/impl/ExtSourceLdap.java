@@ -17,9 +17,14 @@ import javax.naming.NamingException;
 import javax.naming.directory.Attribute;
 import javax.naming.directory.Attributes;
 import javax.naming.directory.DirContext;
-import javax.naming.directory.InitialDirContext;
 import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
+import javax.naming.ldap.Control;
+import javax.naming.ldap.InitialLdapContext;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.PagedResultsControl;
+import javax.naming.ldap.PagedResultsResponseControl;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Hashtable;
@@ -27,6 +32,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Ext source implementation for LDAP.
@@ -40,6 +49,9 @@ public class ExtSourceLdap extends ExtSource implements ExtSourceApi {
 
 	protected final static Logger log = LoggerFactory.getLogger(ExtSourceLdap.class);
 
+	private static final int DEFAULT_PAGE_SIZE = 1000;
+	private static final int DEFAULT_BATCH_SIZE = 100;
+
 	protected DirContext dirContext = null;
 	protected String filteredQuery = null;
 
@@ -108,8 +120,69 @@ public class ExtSourceLdap extends ExtSource implements ExtSourceApi {
 		return subjects.get(0);
 	}
 
+	/**
+	 * Subjects are searched by filters joining login queries of more logins by OR, the number of logins
+	 * in one filter is set by the extSource attribute "batchSize" (default 100). Subjects whose login
+	 * is not returned exactly by the search are searched separately.
+	 */
+	@Override
+	public Map<String, Map<String, String>> getSubjectsByLogins(List<String> logins) {
+		// attributes.get("loginQuery") contains query template, e.g. (uid=?), ? will be replaced by the login
+		String query = getAttributes().get("loginQuery");
+		if (query == null) {
+			throw new InternalErrorException("loginQuery attributes is required");
+		}
+		if (!query.startsWith("(")) query = "(" + query + ")";
+
+		String base = getAttributes().get("base");
+		if (base == null) {
+			throw new InternalErrorException("base attributes is required");
+		}
+
+		int batchSize = Integer.parseInt(getAttributes().getOrDefault("batchSize", String.valueOf(DEFAULT_BATCH_SIZE)));
+		Map<String, Map<String, String>> subjects = new HashMap<>();
+		for (int i = 0; i < logins.size(); i += batchSize) {
+			List<String> batch = logins.subList(i, Math.min(i + batchSize, logins.size()));
+
+			StringBuilder filter = new StringBuilder("(|");
+			for (String login : batch) {
+				filter.append(query.replace("?", Utils.escapeStringForLDAP(login)));
+			}
+			filter.append(")");
+
+			Map<String, List<Map<String, String>>> subjectsByLogin = this.querySource(filter.toString(), base, 0).stream()
+					.filter(subject -> subject.get("login") != null)
+					.collect(groupingBy(subject -> subject.get("login")));
+
+			for (String login : batch) {
+				List<Map<String, String>> loginSubjects = subjectsByLogin.get(login);
+				if (loginSubjects != null && loginSubjects.size() == 1) {
+					subjects.put(login, loginSubjects.get(0));
+					continue;
+				}
+				try {
+					subjects.put(login, getSubjectByLogin(login));
+				} catch (SubjectNotExistsException e) {
+					// subject is missing in the result
+				}
+			}
+		}
+
+		return subjects;
+	}
+
 	@Override
 	public List<Map<String, String>> getGroupSubjects(Map<String, String> attributes) {
+		try (Stream<Map<String, String>> subjects = streamGroupSubjects(attributes)) {
+			return subjects.collect(toList());
+		}
+	}
+
+	/**
+	 * Subjects are read one by one from the LDAP, only the DNs of the group members are read at once.
+	 */
+	@Override
+	public Stream<Map<String, String>> streamGroupSubjects(Map<String, String> attributes) {
 
 		List<String> ldapGroupSubjects = new ArrayList<>();
 
@@ -146,17 +219,12 @@ public class ExtSourceLdap extends ExtSource implements ExtSourceApi {
 				}
 			}
 
-			List<Map<String, String>> subjects = new ArrayList<>();
-
 			// If attribute filter not exists, use optional default filter from extSource definition
-			if(filter == null) filter = filteredQuery;
+			String subjectsFilter = filter == null ? filteredQuery : filter;
 
 			// Now query LDAP again and search for each subject
-			for (String ldapSubjectName : ldapGroupSubjects) {
-				subjects.addAll(this.querySource(filter, ldapSubjectName, 0));
-			}
-
-			return subjects;
+			return ldapGroupSubjects.stream()
+					.flatMap(ldapSubjectName -> this.querySource(subjectsFilter, ldapSubjectName, 0).stream());
 
 		} catch (NamingException e) {
 			log.error("LDAP exception during running query '{}'", ldapGroupName);
@@ -214,7 +282,7 @@ public class ExtSourceLdap extends ExtSource implements ExtSourceApi {
 				mapping.put(values[0].trim(), values[1].trim());
 			}
 
-			this.dirContext = new InitialDirContext(env);
+			this.dirContext = new InitialLdapContext(env, null);
 		} catch (NamingException e) {
 			log.error("LDAP exception during creating the context.");
 			throw new InternalErrorException(e);
@@ -398,6 +466,107 @@ public class ExtSourceLdap extends ExtSource implements ExtSourceApi {
 		}
 	}
 
+	/**
+	 * Search LDAP using query in defined base. Results are read lazily by pages using the paged results control,
+	 * page size is set by the extSource attribute "pageSize" (default 1000).
+	 *
+	 * @param query
+	 * @param base
+	 * @param controls search controls
+	 * @return iterator over subjects, which has to be closed
+	 * @throws InternalErrorException
+	 */
+	protected SubjectsIterator searchSourcePaged(String query, String base, SearchControls controls) {
+		int pageSize = Integer.parseInt(getAttributes().getOrDefault("pageSize", String.valueOf(DEFAULT_PAGE_SIZE)));
+		try {
+			// use own context, so the paged results control doesn't affect other queries
+			LdapContext context = ((LdapContext) getContext()).newInstance(new Control[] { new PagedResultsControl(pageSize, Control.NONCRITICAL) });
+			return new PagedSubjectsIterator(context, query, base == null ? "" : base, controls, pageSize);
+		} catch (NamingException | IOException e) {
+			log.error("LDAP exception during running query '{}'", query);
+			throw new InternalErrorException("LDAP exception during running query: " + query + ".", e);
+		}
+	}
+
+	/**
+	 * Convert result of the search to the subject.
+	 *
+	 * @param searchResult result of the search
+	 * @return subject or null if the result should be skipped
+	 */
+	protected Map<String, String> convertSearchResult(SearchResult searchResult) {
+		Map<String, String> subjectAttributes = this.getSubjectAttributes(searchResult.getAttributes());
+		return subjectAttributes.isEmpty() ? null : subjectAttributes;
+	}
+
+	private class PagedSubjectsIterator extends SubjectsIterator {
+		private final LdapContext context;
+		private final String query;
+		private final String base;
+		private final SearchControls controls;
+		private final int pageSize;
+		private NamingEnumeration<SearchResult> results;
+
+		private PagedSubjectsIterator(LdapContext context, String query, String base, SearchControls controls, int pageSize) throws NamingException {
+			this.context = context;
+			this.query = query;
+			this.base = base;
+			this.controls = controls;
+			this.pageSize = pageSize;
+			this.results = context.search(base, query, controls);
+		}
+
+		@Override
+		protected Map<String, String> readNext() {
+			try {
+				while (results != null) {
+					while (results.hasMore()) {
+						Map<String, String> subject = convertSearchResult(results.next());
+						if (subject != null) {
+							return subject;
+						}
+					}
+					results.close();
+					results = nextPage();
+				}
+				return null;
+			} catch (NamingException | IOException e) {
+				log.error("LDAP exception during running query '{}'", query);
+				throw new InternalErrorException("LDAP exception during running query: " + query + ".", e);
+			}
+		}
+
+		private NamingEnumeration<SearchResult> nextPage() throws NamingException, IOException {
+			byte[] cookie = null;
+			Control[] responseControls = context.getResponseControls();
+			if (responseControls != null) {
+				for (Control control : responseControls) {
+					if (control instanceof PagedResultsResponseControl) {
+						cookie = ((PagedResultsResponseControl) control).getCookie();
+					}
+				}
+			}
+			if (cookie == null || cookie.length == 0) {
+				return null;
+			}
+			context.setRequestControls(new Control[] { new PagedResultsControl(pageSize, cookie, Control.CRITICAL) });
+			return context.search(base, query, controls);
+		}
+
+		@Override
+		public void close() {
+			try {
+				if (results != null) {
+					results.close();
+				}
+				context.close();
+			} catch (NamingException e) {
+				log.error("LDAP exception during closing result, while running query '{}'", query);
+				throw new InternalErrorException(e);
+			}
+		}
+	}
+
 	@Override
 	public void close() {
 		if (this.dirContext != null) {
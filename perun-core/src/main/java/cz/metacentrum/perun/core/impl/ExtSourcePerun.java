@@ -41,6 +41,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 
 /**
@@ -53,6 +56,7 @@ public class ExtSourcePerun extends ExtSource implements ExtSourceApi {
 	private final static Logger log = LoggerFactory.getLogger(ExtSourcePerun.class);
 
 	private static final String format = "json";
+	private static final int DEFAULT_PARALLELISM = 4;
 	private String perunUrl;
 	private String username;
 	private String password;
@@ -107,6 +111,40 @@ public class ExtSourcePerun extends ExtSource implements ExtSourceApi {
 		return subject;
 	}
 
+	/**
+	 * Subjects are searched by parallel calls to the other Perun, the number of parallel calls
+	 * is set by the extSource attribute "parallelism" (default 4).
+	 */
+	@Override
+	public Map<String, Map<String, String>> getSubjectsByLogins(List<String> logins) {
+		setEnviroment();
+		int parallelism = Integer.parseInt(getAttributes().getOrDefault("parallelism", String.valueOf(DEFAULT_PARALLELISM)));
+
+		Map<String, Map<String, String>> subjects = new ConcurrentHashMap<>();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.submit(() -> logins.parallelStream().forEach(login -> {
+				try {
+					subjects.put(login, covertRichUserToSubject(findRichUser(login)));
+				} catch (SubjectNotExistsException e) {
+					// subject is missing in the result
+				}
+			})).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InternalErrorException("Interrupted while searching for subjects.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new InternalErrorException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+
+		return subjects;
+	}
+
 	@Override
 	public List<Map<String, String>> getGroupSubjects(Map<String, String> attributes) {
 		setEnviroment();
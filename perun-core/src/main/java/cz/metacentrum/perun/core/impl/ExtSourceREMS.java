@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * ExtSource class for REMS, filters subjects that does not have a corresponding user in Perun
@@ -78,6 +79,11 @@ public class ExtSourceREMS extends ExtSourceSqlComplex implements ExtSourceApi {
 		return filterNonExistingUsers(subjects);
 	}
 
+	@Override
+	public Stream<Map<String, String>> streamGroupSubjects(Map<String, String> attributes) {
+		return super.streamGroupSubjects(attributes).filter(this::isExistingUser);
+	}
+
 	@Override
 	public List<Map<String, String>> getSubjectGroups(Map<String, String> attributes) throws ExtSourceUnsupportedOperationException {
 		throw new ExtSourceUnsupportedOperationException();
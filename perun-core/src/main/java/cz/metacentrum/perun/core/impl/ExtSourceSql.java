@@ -22,11 +22,13 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.stream.Stream;
 
 import static cz.metacentrum.perun.core.blImpl.GroupsManagerBlImpl.GROUP_SYNC_DEFAULT_DATA;
 import static java.util.stream.Collectors.toMap;
@@ -38,6 +40,8 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 
 	private final static Logger log = LoggerFactory.getLogger(ExtSourceSql.class);
 	private static final Map<String, String> attributeNameMapping = new HashMap<>();
+	private static final int DEFAULT_FETCH_SIZE = 1000;
+	private static final int DEFAULT_BATCH_SIZE = 1000;
 	private Connection con;
 	private boolean isOracle = false;
 	private boolean isSQLite = false;
@@ -103,6 +107,62 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 		return subjects.get(0);
 	}
 
+	/**
+	 * If the extSource attribute "loginsQuery" is set, subjects are searched by this query, where the only ? is
+	 * replaced by the list of logins, e.g. "select * from users where login in (?)". The number of logins
+	 * in one query is set by the extSource attribute "batchSize" (default 1000). Subjects whose login is not
+	 * returned exactly by the query are searched separately.
+	 */
+	@Override
+	public Map<String, Map<String, String>> getSubjectsByLogins(List<String> logins) throws ExtSourceUnsupportedOperationException {
+		String query = getAttributes().get("loginsQuery");
+		if (query == null) {
+			return ExtSourceSimpleApi.super.getSubjectsByLogins(logins);
+		}
+
+		this.checkAndSetPrerequisites();
+
+		int batchSize = Integer.parseInt(getAttributes().getOrDefault("batchSize", String.valueOf(DEFAULT_BATCH_SIZE)));
+		Map<String, Map<String, String>> subjects = new HashMap<>();
+		for (int i = 0; i < logins.size(); i += batchSize) {
+			List<String> batch = logins.subList(i, Math.min(i + batchSize, logins.size()));
+			String batchQuery = query.replace("?", String.join(",", Collections.nCopies(batch.size(), "?")));
+
+			Map<String, List<Map<String, String>>> subjectsByLogin = new HashMap<>();
+			try (PreparedStatement st = getPreparedStatement(batchQuery, null, 0)) {
+				for (int j = 0; j < batch.size(); j++) {
+					st.setString(j + 1, batch.get(j));
+				}
+				try (ResultSet rs = st.executeQuery()) {
+					while (rs.next()) {
+						Map<String, String> subject = convertRowToSubject(rs);
+						if (subject.get("login") != null) {
+							subjectsByLogin.computeIfAbsent(subject.get("login"), login -> new ArrayList<>()).add(subject);
+						}
+					}
+				}
+			} catch (SQLException e) {
+				log.error("SQL exception during searching for subjects '{}'", batchQuery);
+				throw new InternalErrorException(e);
+			}
+
+			for (String login : batch) {
+				List<Map<String, String>> loginSubjects = subjectsByLogin.get(login);
+				if (loginSubjects != null && loginSubjects.size() == 1) {
+					subjects.put(login, loginSubjects.get(0));
+					continue;
+				}
+				try {
+					subjects.put(login, getSubjectByLogin(login));
+				} catch (SubjectNotExistsException e) {
+					// subject is missing in the result
+				}
+			}
+		}
+
+		return subjects;
+	}
+
 	@Override
 	public List<Map<String, String>> getGroupSubjects(Map<String, String> attributes) {
 		// Get the sql query for the group subjects
@@ -111,6 +171,14 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 		return this.querySource(sqlQueryForGroup, null, 0);
 	}
 
+	@Override
+	public Stream<Map<String, String>> streamGroupSubjects(Map<String, String> attributes) {
+		// Get the sql query for the group subjects
+		String sqlQueryForGroup = attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
+
+		return this.streamSource(sqlQueryForGroup, null).stream();
+	}
+
 	@Override
 	public List<Map<String,String>> getUsersSubjects() {
 		String query = getAttributes().get(UsersManager.USERS_QUERY);
@@ -134,89 +202,7 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 				log.trace("Query {}", query);
 
 				while (rs.next()) {
-					Map<String, String> map = new HashMap<>();
-
-					try {
-						map.put("firstName", rs.getString("firstName"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("firstName", null);
-					}
-					try {
-						map.put("lastName", rs.getString("lastName"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("lastName", null);
-					}
-					try {
-						map.put("middleName", rs.getString("middleName"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("middleName", null);
-					}
-					try {
-						map.put("titleBefore", rs.getString("titleBefore"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("titleBefore", null);
-					}
-					try {
-						map.put("titleAfter", rs.getString("titleAfter"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("titleAfter", null);
-					}
-					try {
-						map.put("login", rs.getString("login"));
-					} catch (SQLException e) {
-						// If the column doesn't exists, ignore it
-						map.put("login", null);
-					}
-
-					for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
-						String columnName = rs.getMetaData().getColumnLabel(i);
-						log.trace("Iterating through attribute {}", columnName);
-						// Now go through all other attributes. If the column name(=attribute name) contains ":", then it represents an attribute
-						if (columnName.contains(":")) {
-							// Decode the attribute name (column name has limited size, so we need to code the attribute names)
-							// Coded attribute name: x:y:z
-							// x - m: member, u: user, f: facility, r: resource, mr: member-resource, uf: user-facility, h: host, v: vo, g: group, gr: group-resource
-							// y - d: def, o: opt
-							String[] attributeRaw = columnName.split(":", 3);
-							String attributeName = null;
-							if (!attributeNameMapping.containsKey(attributeRaw[0])) {
-								log.warn("Unknown attribute type '{}' for user {} {}, attributeRaw {}", attributeRaw[0], map.get("firstName"), map.get("lastName"), attributeRaw);
-							} else if (!attributeNameMapping.containsKey(attributeRaw[1])) {
-								log.warn("Unknown attribute type '{}' for user {} {}, attributeRaw {}", attributeRaw[1], map.get("firstName"), map.get("lastName"), attributeRaw);
-							} else {
-								attributeName = attributeNameMapping.get(attributeRaw[0]) + attributeNameMapping.get(attributeRaw[1]) + attributeRaw[2];
-								if (!Objects.equals(rs.getMetaData().getColumnTypeName(i), "BLOB")) {
-									// trace only string data
-									log.trace("Adding attribute {} with value {}", attributeName, rs.getString(i));
-								} else {
-									log.trace("Adding attribute {} with BLOB value", attributeName);
-								}
-							}
-							String attributeValue = null;
-							if (Objects.equals(rs.getMetaData().getColumnTypeName(i), "BLOB")) {
-								// source column is binary
-								attributeValue = parseBlobValue(rs.getBinaryStream(i), columnName);
-							} else {
-								// let driver to convert type to string
-								attributeValue = rs.getString(i);
-							}
-							if (rs.wasNull()) {
-								map.put(attributeName, null);
-							} else {
-								map.put(attributeName, attributeValue);
-							}
-						} else if (columnName.toLowerCase().startsWith(ExtSourcesManagerImpl.USEREXTSOURCEMAPPING)) {
-							// additionalUserExtSources, we must do lower case because some DBs changes lower to upper
-							map.put(columnName.toLowerCase(), rs.getString(i));
-							log.trace("Adding attribute {} with value {}", columnName, rs.getString(i));
-						}
-					}
-					subjects.add(map);
+					subjects.add(convertRowToSubject(rs));
 				}
 
 				log.debug("Returning {} subjects from external source {} for searchString {}", subjects.size(), this, searchString);
@@ -228,6 +214,175 @@ public class ExtSourceSql extends ExtSource implements ExtSourceSimpleApi {
 		}
 	}
 
+	/**
+	 * Query the source and read the subjects lazily using database cursor. The number of rows fetched
+	 * at once is set by the extSource attribute "fetchSize" (default 1000).
+	 *
+	 * @param query query
+	 * @param searchString by which will be ? in query replaced
+	 * @return iterator over subjects, which has to be closed
+	 * @throws InternalErrorException
+	 */
+	protected SubjectsIterator streamSource(String query, String searchString) {
+		log.debug("Streaming '{}' from external source 'url:{}'", searchString, getAttributes().get("url"));
+
+		this.checkAndSetPrerequisites();
+
+		int fetchSize = Integer.parseInt(getAttributes().getOrDefault("fetchSize", String.valueOf(DEFAULT_FETCH_SIZE)));
+		PreparedStatement st = null;
+		try {
+			// some drivers (e.g. PostgreSQL) use cursors only outside of autocommit mode
+			boolean autoCommit = con.getAutoCommit();
+			if (autoCommit && !isSQLite) {
+				con.setAutoCommit(false);
+			}
+			st = getPreparedStatement(query, searchString, 0);
+			st.setFetchSize(fetchSize);
+			log.trace("Query {}", query);
+			return new ResultSetSubjectsIterator(con, st, st.executeQuery(), autoCommit && !isSQLite);
+		} catch (SQLException e) {
+			log.error("SQL exception during searching for subject '{}'", query);
+			try {
+				if (st != null) st.close();
+			} catch (SQLException ex) {
+				log.error("SQL exception during closing statement", ex);
+			}
+			throw new InternalErrorException(e);
+		}
+	}
+
+	private class ResultSetSubjectsIterator extends SubjectsIterator {
+		private final Connection connection;
+		private final PreparedStatement statement;
+		private final ResultSet resultSet;
+		private final boolean restoreAutoCommit;
+
+		private ResultSetSubjectsIterator(Connection connection, PreparedStatement statement, ResultSet resultSet, boolean restoreAutoCommit) {
+			this.connection = connection;
+			this.statement = statement;
+			this.resultSet = resultSet;
+			this.restoreAutoCommit = restoreAutoCommit;
+		}
+
+		@Override
+		protected Map<String, String> readNext() {
+			try {
+				return resultSet.next() ? convertRowToSubject(resultSet) : null;
+			} catch (SQLException e) {
+				throw new InternalErrorException(e);
+			}
+		}
+
+		@Override
+		public void close() {
+			try {
+				resultSet.close();
+				statement.close();
+				if (restoreAutoCommit) {
+					// nothing to commit, connection is read-only
+					connection.rollback();
+					connection.setAutoCommit(true);
+				}
+			} catch (SQLException e) {
+				throw new InternalErrorException(e);
+			}
+		}
+	}
+
+	/**
+	 * Convert the current row of the result set to the subject.
+	 *
+	 * @param rs result set with the subject data
+	 * @return subject
+	 * @throws SQLException
+	 */
+	private Map<String, String> convertRowToSubject(ResultSet rs) throws SQLException {
+		Map<String, String> map = new HashMap<>();
+
+		try {
+			map.put("firstName", rs.getString("firstName"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("firstName", null);
+		}
+		try {
+			map.put("lastName", rs.getString("lastName"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("lastName", null);
+		}
+		try {
+			map.put("middleName", rs.getString("middleName"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("middleName", null);
+		}
+		try {
+			map.put("titleBefore", rs.getString("titleBefore"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("titleBefore", null);
+		}
+		try {
+			map.put("titleAfter", rs.getString("titleAfter"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("titleAfter", null);
+		}
+		try {
+			map.put("login", rs.getString("login"));
+		} catch (SQLException e) {
+			// If the column doesn't exists, ignore it
+			map.put("login", null);
+		}
+
+		for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+			String columnName = rs.getMetaData().getColumnLabel(i);
+			log.trace("Iterating through attribute {}", columnName);
+			// Now go through all other attributes. If the column name(=attribute name) contains ":", then it represents an attribute
+			if (columnName.contains(":")) {
+				// Decode the attribute name (column name has limited size, so we need to code the attribute names)
+				// Coded attribute name: x:y:z
+				// x - m: member, u: user, f: facility, r: resource, mr: member-resource, uf: user-facility, h: host, v: vo, g: group, gr: group-resource
+				// y - d: def, o: opt
+				String[] attributeRaw = columnName.split(":", 3);
+				String attributeName = null;
+				if (!attributeNameMapping.containsKey(attributeRaw[0])) {
+					log.warn("Unknown attribute type '{}' for user {} {}, attributeRaw {}", attributeRaw[0], map.get("firstName"), map.get("lastName"), attributeRaw);
+				} else if (!attributeNameMapping.containsKey(attributeRaw[1])) {
+					log.warn("Unknown attribute type '{}' for user {} {}, attributeRaw {}", attributeRaw[1], map.get("firstName"), map.get("lastName"), attributeRaw);
+				} else {
+					attributeName = attributeNameMapping.get(attributeRaw[0]) + attributeNameMapping.get(attributeRaw[1]) + attributeRaw[2];
+					if (!Objects.equals(rs.getMetaData().getColumnTypeName(i), "BLOB")) {
+						// trace only string data
+						log.trace("Adding attribute {} with value {}", attributeName, rs.getString(i));
+					} else {
+						log.trace("Adding attribute {} with BLOB value", attributeName);
+					}
+				}
+				String attributeValue = null;
+				if (Objects.equals(rs.getMetaData().getColumnTypeName(i), "BLOB")) {
+					// source column is binary
+					attributeValue = parseBlobValue(rs.getBinaryStream(i), columnName);
+				} else {
+					// let driver to convert type to string
+					attributeValue = rs.getString(i);
+				}
+				if (rs.wasNull()) {
+					map.put(attributeName, null);
+				} else {
+					map.put(attributeName, attributeValue);
+				}
+			} else if (columnName.toLowerCase().startsWith(ExtSourcesManagerImpl.USEREXTSOURCEMAPPING)) {
+				// additionalUserExtSources, we must do lower case because some DBs changes lower to upper
+				map.put(columnName.toLowerCase(), rs.getString(i));
+				log.trace("Adding attribute {} with value {}", columnName, rs.getString(i));
+			}
+		}
+
+		return map;
+	}
+
 	protected void createConnection() {
 		try {
 
@@ -22,21 +22,36 @@ import javax.net.ssl.SSLSocketFactory;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.stax.StAXSource;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 
 /**
@@ -64,6 +79,8 @@ public class ExtSourceXML extends ExtSource implements ExtSourceApi {
 
 	//Pattern for looking replacement in regex string
 	private final Pattern pattern = Pattern.compile("([^\\\\]|^)(\\\\\\\\)*/([^\\\\]|$)");
+	//absolute path consisting only of element names, e.g. /Users/User
+	private final Pattern simplePathPattern = Pattern.compile("^(/[A-Za-z_][\\w.-]*)+$");
 
 	@Override
 	public List<Map<String,String>> findSubjectsLogins(String searchString) throws ExtSourceUnsupportedOperationException {
@@ -150,6 +167,24 @@ public class ExtSourceXML extends ExtSource implements ExtSourceApi {
 		return xpathParsing(queryForGroup, 0);
 	}
 
+	@Override
+	public Stream<Map<String, String>> streamGroupSubjects(Map<String, String> attributes) {
+		// Get the query for the group subjects
+		String queryForGroup = attributes.get(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME);
+
+		//If there is no query for group, throw exception
+		if(queryForGroup == null) throw new InternalErrorException("Attribute " + GroupsManager.GROUPMEMBERSQUERY_ATTRNAME + " can't be null.");
+
+		//Get file or uri of xml
+		prepareEnvironment();
+
+		//Only simple paths can be evaluated without the whole document in memory
+		if(!simplePathPattern.matcher(queryForGroup).matches()) {
+			return xpathParsing(queryForGroup, 0).stream();
+		}
+		return streamParsing(queryForGroup).stream();
+	}
+
 	@Override
 	public List<Map<String, String>> getUsersSubjects() {
 		// Get the query for the users subjects
@@ -260,6 +295,99 @@ public class ExtSourceXML extends ExtSource implements ExtSourceApi {
 		return subjects;
 	}
 
+	/**
+	 * Read the xml document by StAX parser and convert elements on the path one by one.
+	 * Only the currently converted element is held in memory, not the whole document.
+	 *
+	 * The way of xml take from "file" or "uri" (configuration file)
+	 *
+	 * @param path simple absolute path to the elements, e.g. /Users/User
+	 *
+	 * @return iterator over results, where result is Map<String,String> like <name, value>
+	 * @throws InternalErrorException
+	 */
+	protected SubjectsIterator streamParsing(String path) {
+		InputStream input;
+		try {
+			if(file != null && !file.isEmpty()) {
+				input = new FileInputStream(file);
+			} else if(uri != null && !uri.isEmpty()) {
+				input = this.createTwoWaySSLConnection(uri);
+			} else {
+				throw new InternalErrorException("Document can't be parsed, because there is no way (file or uri) to this document in streamParser.");
+			}
+		} catch (IOException ex) {
+			throw new InternalErrorException("Error when opening document. Problem with input or output.", ex);
+		}
+
+		try {
+			XMLInputFactory factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			XMLStreamReader reader = factory.createXMLStreamReader(input);
+			Transformer transformer = TransformerFactory.newInstance().newTransformer();
+			return new XmlSubjectsIterator(input, reader, transformer, Arrays.asList(path.substring(1).split("/")));
+		} catch (XMLStreamException | TransformerConfigurationException ex) {
+			try {
+				input.close();
+			} catch (IOException e) {
+				log.error("Error when closing document.", e);
+			}
+			throw new InternalErrorException("Error when creating stream parser.", ex);
+		}
+	}
+
+	private class XmlSubjectsIterator extends SubjectsIterator {
+		private final InputStream input;
+		private final XMLStreamReader reader;
+		private final Transformer transformer;
+		private final List<String> path;
+		private final Deque<String> currentPath = new ArrayDeque<>();
+
+		private XmlSubjectsIterator(InputStream input, XMLStreamReader reader, Transformer transformer, List<String> path) {
+			this.input = input;
+			this.reader = reader;
+			this.transformer = transformer;
+			this.path = path;
+		}
+
+		@Override
+		protected Map<String, String> readNext() {
+			try {
+				while (reader.hasNext()) {
+					int event = reader.next();
+					if (event == XMLStreamConstants.START_ELEMENT) {
+						currentPath.addLast(reader.getLocalName());
+						if (currentPath.size() == path.size() && path.equals(new ArrayList<>(currentPath))) {
+							// transformation consumes the element including its end
+							DOMResult result = new DOMResult();
+							transformer.transform(new StAXSource(reader), result);
+							currentPath.removeLast();
+							Map<String, String> map = convertNodeToMap(((Document) result.getNode()).getDocumentElement());
+							if (map != null) return map;
+						}
+					} else if (event == XMLStreamConstants.END_ELEMENT) {
+						currentPath.removeLast();
+					}
+				}
+				return null;
+			} catch (XMLStreamException | TransformerException ex) {
+				throw new InternalErrorException("Error when parsing document by stream parser.", ex);
+			}
+		}
+
+		@Override
+		public void close() {
+			try {
+				reader.close();
+				input.close();
+			} catch (XMLStreamException | IOException ex) {
+				throw new InternalErrorException("Error when closing document.", ex);
+			} finally {
+				ExtSourceXML.this.close();
+			}
+		}
+	}
+
 	/**
 	 * Get XML node and convert all values by "xmlMapping" attribute to Map<String,String>
 	 * In map there are "name=value" data.
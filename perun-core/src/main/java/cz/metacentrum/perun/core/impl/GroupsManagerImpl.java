@@ -44,8 +44,10 @@ import javax.sql.DataSource;
 import java.sql.Array;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -550,6 +552,25 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 
 	}
 
+	@Override
+	public void addMembers(PerunSession sess, Group group, List<Member> members, MembershipType type, int sourceGroupId) throws AlreadyMemberException {
+		List<Object[]> batchArgs = new ArrayList<>();
+		for (Member member : members) {
+			member.setMembershipType(type);
+			member.setSourceGroupId(sourceGroupId);
+			batchArgs.add(new Object[] {group.getId(), member.getId(), sess.getPerunPrincipal().getActor(), sess.getPerunPrincipal().getActor(),
+					sess.getPerunPrincipal().getUserId(), sess.getPerunPrincipal().getUserId(), type.getCode(), sourceGroupId});
+		}
+		try {
+			jdbc.batchUpdate("insert into groups_members (group_id, member_id, created_by, created_at, modified_by, modified_at, created_by_uid, modified_by_uid, membership_type, source_group_id) " +
+					"values (?,?,?," + Compatibility.getSysdate() + ",?," + Compatibility.getSysdate() + ",?,?,?,?)", batchArgs);
+		} catch(DuplicateKeyException ex) {
+			throw new AlreadyMemberException("Some of the members is already member of " + group + ".", ex);
+		} catch(RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+	}
+
 	@Override
 	public List<Group> getAllMemberGroups(PerunSession sess, Member member) {
 		try {
@@ -626,6 +647,29 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 		}
 	}
 
+	@Override
+	public Set<Integer> getGroupMembersIds(PerunSession sess, Group group, List<Member> members, MembershipType membershipType) {
+		if (members.isEmpty()) return new HashSet<>();
+		try {
+			return jdbc.execute("select distinct member_id from groups_members where group_id=? and member_id " + Compatibility.getStructureForInClause() +
+					(membershipType == null ? "" : " and membership_type=?"),
+				(PreparedStatementCallback<Set<Integer>>) preparedStatement -> {
+					Array sqlArray = DatabaseManagerBl.prepareSQLArrayOfNumbers(members, preparedStatement);
+					preparedStatement.setInt(1, group.getId());
+					preparedStatement.setArray(2, sqlArray);
+					if (membershipType != null) preparedStatement.setInt(3, membershipType.getCode());
+					ResultSet rs = preparedStatement.executeQuery();
+					Set<Integer> membersIds = new HashSet<>();
+					while (rs.next()) {
+						membersIds.add(rs.getInt("member_id"));
+					}
+					return membersIds;
+				});
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
 	@Override
 	public void removeMember(PerunSession sess, Group group, Member member) throws NotGroupMemberException {
 		if (member.getSourceGroupId() == null) {
@@ -645,6 +689,27 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 
 	}
 
+	@Override
+	public void removeMembers(PerunSession sess, Group group, List<Member> members, int sourceGroupId) throws NotGroupMemberException {
+		List<Object[]> batchArgs = new ArrayList<>();
+		for (Member member : members) {
+			batchArgs.add(new Object[] {group.getId(), sourceGroupId, member.getId()});
+		}
+		int[] ret;
+		try {
+			ret = jdbc.batchUpdate("delete from groups_members where group_id=? and source_group_id=? and member_id=?", batchArgs);
+		} catch(RuntimeException ex) {
+			throw new InternalErrorException(ex);
+		}
+		for (int i = 0; i < ret.length; i++) {
+			if (ret[i] == 0) {
+				throw new NotGroupMemberException(group, members.get(i));
+			} else if (ret[i] > 1) {
+				throw new ConsistencyErrorException(members.get(i) + " and " + group + " have " + ret[i] + " rows in groups_members table");
+			}
+		}
+	}
+
 	@Override
 	public List<User> getAdmins(PerunSession sess, Group group) {
 		try {
@@ -922,6 +987,20 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 		}
 	}
 
+	@Override
+	public void setIndirectGroupStatuses(PerunSession sess, List<Member> members, Group group, MemberGroupStatus status) {
+		List<Object[]> batchArgs = new ArrayList<>();
+		for (Member member : members) {
+			batchArgs.add(new Object[] {status.getCode(), sess.getPerunPrincipal().getActor(), group.getId(), member.getId()});
+		}
+		try {
+			jdbc.batchUpdate("UPDATE groups_members SET source_group_status=?, modified_by=?, modified_at=" + Compatibility.getSysdate() +
+					" WHERE source_group_id=? AND group_id <> source_group_id AND member_id=?", batchArgs);
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
 	@Override
 	public void setDirectGroupStatus(PerunSession sess, Member member, Group group, MemberGroupStatus status) {
 		try {
@@ -965,6 +1044,30 @@ public class GroupsManagerImpl implements GroupsManagerImplApi {
 		}
 	}
 
+	@Override
+	public Map<Integer, MemberGroupStatus> getTotalMemberGroupStatuses(PerunSession session, List<Member> members, Group group) {
+		try {
+			// valid status has the lowest code, so it is preferred to the expired one
+			return jdbc.execute("SELECT member_id, min(source_group_status) AS status FROM groups_members " +
+					"WHERE group_id=? AND member_id " + Compatibility.getStructureForInClause() + " GROUP BY member_id",
+				(PreparedStatementCallback<Map<Integer, MemberGroupStatus>>) preparedStatement -> {
+					Array sqlArray = DatabaseManagerBl.prepareSQLArrayOfNumbers(members, preparedStatement);
+					preparedStatement.setInt(1, group.getId());
+					preparedStatement.setArray(2, sqlArray);
+					ResultSet rs = preparedStatement.executeQuery();
+					Map<Integer, MemberGroupStatus> statuses = new HashMap<>();
+					while (rs.next()) {
+						int code = rs.getInt("status");
+						MemberGroupStatus status = rs.wasNull() ? null : MemberGroupStatus.getMemberGroupStatus(code);
+						if (status != null) statuses.put(rs.getInt("member_id"), status);
+					}
+					return statuses;
+				});
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
 	@Override
 	public List<Facility> getFacilitiesWhereGroupIsAdmin(PerunSession session, Group group) {
 		try {
@@ -4,15 +4,19 @@ import cz.metacentrum.perun.core.api.AttributesManager;
 import cz.metacentrum.perun.core.api.BeansUtils;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.MembersOrderColumn;
+import cz.metacentrum.perun.core.api.MembersPageQuery;
 import cz.metacentrum.perun.core.api.MemberGroupStatus;
 import cz.metacentrum.perun.core.api.NamespaceRules;
 import cz.metacentrum.perun.core.api.RoleManagementRules;
 import cz.metacentrum.perun.core.api.Sponsorship;
 import cz.metacentrum.perun.core.api.MembershipType;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.Pair;
 import cz.metacentrum.perun.core.api.PerunPrincipal;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
+import cz.metacentrum.perun.core.api.SortingOrder;
 import cz.metacentrum.perun.core.api.Status;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.UserExtSource;
@@ -20,6 +24,7 @@ import cz.metacentrum.perun.core.api.Vo;
 import cz.metacentrum.perun.core.api.exceptions.AlreadyMemberException;
 import cz.metacentrum.perun.core.api.exceptions.AlreadySponsorException;
 import cz.metacentrum.perun.core.api.exceptions.ConsistencyErrorException;
+import cz.metacentrum.perun.core.api.exceptions.IllegalArgumentException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.MemberAlreadyRemovedException;
 import cz.metacentrum.perun.core.api.exceptions.MemberNotExistsException;
@@ -388,6 +393,111 @@ public class MembersManagerImpl implements MembersManagerImplApi {
 		}
 	}
 
+	@Override
+	public Paginated<Member> getMembersPage(PerunSession sess, Vo vo, MembersPageQuery query) {
+		MapSqlParameterSource namedParams = new MapSqlParameterSource();
+		namedParams.addValue("voId", vo.getId());
+		namedParams.addValue("offset", query.getOffset());
+		namedParams.addValue("limit", query.getPageSize());
+
+		String whereClause = getMembersPageWhereClause(query, namedParams);
+
+		try {
+			Paginated<Member> page = namedParameterJdbcTemplate.query("SELECT " + memberMappingSelectQuery + ", count(*) OVER() AS total_count" +
+					" FROM members JOIN users ON members.user_id=users.id" +
+					whereClause +
+					" ORDER BY " + getMembersPageOrderBy(query) +
+					" OFFSET :offset LIMIT :limit", namedParams, getPaginatedMembersExtractor(query));
+
+			if (page != null && page.getData().isEmpty() && query.getOffset() > 0) {
+				// total count is not known from empty page
+				Integer totalCount = namedParameterJdbcTemplate.queryForObject("SELECT count(*)" +
+						" FROM members JOIN users ON members.user_id=users.id" + whereClause, namedParams, Integer.class);
+				page.setTotalCount(totalCount == null ? 0 : totalCount);
+			}
+			return page;
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
+	/**
+	 * Returns WHERE clause for members page query and adds its parameters.
+	 *
+	 * @param query query with filters
+	 * @param namedParams parameters of the query
+	 * @return WHERE clause
+	 * @throws IllegalArgumentException if the query contains unknown member status
+	 */
+	private static String getMembersPageWhereClause(MembersPageQuery query, MapSqlParameterSource namedParams) {
+		StringBuilder where = new StringBuilder(" WHERE members.vo_id=:voId");
+
+		if (query.getStatuses() != null && !query.getStatuses().isEmpty()) {
+			List<Integer> statusCodes = new ArrayList<>();
+			for (String status : query.getStatuses()) {
+				try {
+					statusCodes.add(Status.valueOf(status).getCode());
+				} catch (java.lang.IllegalArgumentException e) {
+					throw new IllegalArgumentException("Unknown member status " + status + ".", e);
+				}
+			}
+			namedParams.addValue("statuses", statusCodes);
+			where.append(" AND members.status IN (:statuses)");
+		}
+
+		if (query.getGroupId() != null) {
+			namedParams.addValue("groupId", query.getGroupId());
+			where.append(" AND EXISTS (SELECT 1 FROM groups_members WHERE groups_members.member_id=members.id AND groups_members.group_id=:groupId)");
+		}
+
+		if (query.getSearchString() != null && !query.getSearchString().isEmpty()) {
+			namedParams.addValue("nameString", query.getSearchString());
+			where.append(" AND (");
+			try {
+				namedParams.addValue("searchId", Integer.parseInt(query.getSearchString()));
+				where.append(" members.id=:searchId OR users.id=:searchId OR ");
+			} catch (NumberFormatException e) {
+				// IGNORE wrong format of ID
+			}
+			where.append(Utils.prepareUserSearchQuerySimilarMatch()).append(")");
+		}
+
+		return where.toString();
+	}
+
+	/**
+	 * Returns ORDER BY part of members page query. Members are always ordered by id at last,
+	 * so the order of pages is stable.
+	 *
+	 * @param query query with sorting
+	 * @return columns and directions of ORDER BY clause
+	 */
+	private static String getMembersPageOrderBy(MembersPageQuery query) {
+		String order = (query.getOrder() == null ? SortingOrder.ASCENDING : query.getOrder()).getSqlValue();
+		MembersOrderColumn column = (query.getSortColumn() == null) ? MembersOrderColumn.ID : query.getSortColumn();
+		switch (column) {
+			case NAME:
+				return "users.last_name " + order + ", users.first_name " + order + ", members.id " + order;
+			case STATUS:
+				return "members.status " + order + ", members.id " + order;
+			default:
+				return "members.id " + order;
+		}
+	}
+
+	private static ResultSetExtractor<Paginated<Member>> getPaginatedMembersExtractor(MembersPageQuery query) {
+		return resultSet -> {
+			List<Member> members = new ArrayList<>();
+			int totalCount = 0;
+			int row = 0;
+			while (resultSet.next()) {
+				totalCount = resultSet.getInt("total_count");
+				members.add(MEMBER_MAPPER.mapRow(resultSet, row++));
+			}
+			return new Paginated<>(members, query.getOffset(), query.getPageSize(), totalCount);
+		};
+	}
+
 	@Override
 	public int storePasswordResetRequest(PerunSession sess, User user, String namespace, String mail, LocalDateTime validityTo) {
 
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -19,14 +20,20 @@ import java.util.Set;
 
 /**
  * PerunPoliciesContainer stores a list of perun policies and map of role management rules..
+ *
+ * Policies are compiled when they are set. Each policy is resolved together with all its included policies
+ * into immutable list of policies and list of their roles, so authorization does not have to walk
+ * the included policies on every call.
  */
 public class PerunPoliciesContainer {
 
 	private static final Logger log = LoggerFactory.getLogger(PerunBasicDataSource.class);
 	private Set<PerunPolicy> perunPolicies = new HashSet<>();
+	private volatile CompiledPolicies compiledPolicies = new CompiledPolicies(new HashSet<>());
 	private Map<String, RoleManagementRules> rolesManagementRules = new HashMap<>();
 
 	public void setPerunPolicies(Set<PerunPolicy> perunPolicies) {
+		this.compiledPolicies = new CompiledPolicies(perunPolicies);
 		this.perunPolicies = perunPolicies;
 	}
 
@@ -43,9 +50,8 @@ public class PerunPoliciesContainer {
 	 * @throws PolicyNotExistsException of there is no policy for the policy name
 	 */
 	public PerunPolicy getPerunPolicy(String policyName) throws PolicyNotExistsException {
-		for (PerunPolicy policy : perunPolicies) {
-			if (policy.getPolicyName().equals(policyName)) return policy;
-		}
+		PerunPolicy policy = compiledPolicies.policiesByName.get(policyName);
+		if (policy != null) return policy;
 		throw new PolicyNotExistsException("Policy with name "+ policyName + "does not exists in the PerunPoliciesContainer.");
 	}
 
@@ -71,21 +77,26 @@ public class PerunPoliciesContainer {
 	 * @throws PolicyNotExistsException when the given policyName does not exist in the PerunPoliciesContainer.
 	 */
 	public List<PerunPolicy> fetchPolicyWithAllIncludedPolicies(String policyName) throws PolicyNotExistsException {
-		Map<String, PerunPolicy> allIncludedPolicies = new HashMap<>();
-		Queue<String> policiesToCheck = new LinkedList<>();
-		policiesToCheck.add(policyName);
-
-		while (!policiesToCheck.isEmpty()) {
-			String policy = policiesToCheck.remove();
-			if (allIncludedPolicies.containsKey(policy)) {
-				log.warn("Policy {} creates a cycle in the included policies of the policy {}", policy, policyName);
-				continue;
-			}
-			PerunPolicy policyToCheck = getPerunPolicy(policy);
-			allIncludedPolicies.put(policy, policyToCheck);
-			policiesToCheck.addAll(policyToCheck.getIncludePolicies());
-		}
-		return new ArrayList<>(allIncludedPolicies.values());
+		List<PerunPolicy> policies = compiledPolicies.includedPoliciesByName.get(policyName);
+		if (policies != null) return policies;
+		// policy does not exist or includes not existing policy, walk it again to report it
+		return Collections.unmodifiableList(new ArrayList<>(compiledPolicies.fetchPolicyWithAllIncludedPolicies(policyName, false).values()));
+	}
+
+	/**
+	 * Fetch roles of the policy and all its (also nested) included policies.
+	 * Relation between each map in the list is logical OR and relation between each entry in the map is logical AND.
+	 *
+	 * @param policyName is a policy definition for which will be roles fetched.
+	 * @return roles of the policy and all its included policies
+	 * @throws PolicyNotExistsException when the given policyName or any included policy does not exist in the PerunPoliciesContainer.
+	 */
+	public List<Map<String, String>> fetchPolicyRoles(String policyName) throws PolicyNotExistsException {
+		List<Map<String, String>> roles = compiledPolicies.policyRolesByName.get(policyName);
+		if (roles != null) return roles;
+		List<Map<String, String>> policyRoles = new ArrayList<>();
+		for (PerunPolicy policy : fetchPolicyWithAllIncludedPolicies(policyName)) policyRoles.addAll(policy.getPerunRoles());
+		return policyRoles;
 	}
 
 	/**
@@ -105,4 +116,59 @@ public class PerunPoliciesContainer {
 	public List<RoleManagementRules> getAllRolesManagementRules() {
 		return Collections.unmodifiableList(new ArrayList<>(rolesManagementRules.values()));
 	}
+
+	/**
+	 * Immutable structure of policies resolved with all their included policies.
+	 */
+	private static class CompiledPolicies {
+
+		private final Map<String, PerunPolicy> policiesByName = new HashMap<>();
+		private final Map<String, List<PerunPolicy>> includedPoliciesByName = new HashMap<>();
+		private final Map<String, List<Map<String, String>>> policyRolesByName = new HashMap<>();
+
+		private CompiledPolicies(Set<PerunPolicy> perunPolicies) {
+			for (PerunPolicy policy : perunPolicies) {
+				policiesByName.put(policy.getPolicyName(), policy);
+			}
+			for (String policyName : policiesByName.keySet()) {
+				Map<String, PerunPolicy> includedPolicies;
+				try {
+					includedPolicies = fetchPolicyWithAllIncludedPolicies(policyName, true);
+				} catch (PolicyNotExistsException e) {
+					// not compiled, error is reported when the policy is used
+					log.warn("Policy {} includes not existing policy: {}", policyName, e.getMessage());
+					continue;
+				}
+				List<Map<String, String>> policyRoles = new ArrayList<>();
+				for (PerunPolicy policy : includedPolicies.values()) {
+					for (Map<String, String> roles : policy.getPerunRoles()) {
+						policyRoles.add(Collections.unmodifiableMap(new LinkedHashMap<>(roles)));
+					}
+				}
+				includedPoliciesByName.put(policyName, Collections.unmodifiableList(new ArrayList<>(includedPolicies.values())));
+				policyRolesByName.put(policyName, Collections.unmodifiableList(policyRoles));
+			}
+		}
+
+		private Map<String, PerunPolicy> fetchPolicyWithAllIncludedPolicies(String policyName, boolean logCycles) throws PolicyNotExistsException {
+			Map<String, PerunPolicy> allIncludedPolicies = new LinkedHashMap<>();
+			Queue<String> policiesToCheck = new LinkedList<>();
+			policiesToCheck.add(policyName);
+
+			while (!policiesToCheck.isEmpty()) {
+				String policy = policiesToCheck.remove();
+				if (allIncludedPolicies.containsKey(policy)) {
+					if (logCycles) log.warn("Policy {} creates a cycle in the included policies of the policy {}", policy, policyName);
+					continue;
+				}
+				PerunPolicy policyToCheck = policiesByName.get(policy);
+				if (policyToCheck == null) {
+					throw new PolicyNotExistsException("Policy with name "+ policy + "does not exists in the PerunPoliciesContainer.");
+				}
+				allIncludedPolicies.put(policy, policyToCheck);
+				policiesToCheck.addAll(policyToCheck.getIncludePolicies());
+			}
+			return allIncludedPolicies;
+		}
+	}
 }
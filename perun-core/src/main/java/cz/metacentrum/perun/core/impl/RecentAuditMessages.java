@@ -0,0 +1,109 @@
+package cz.metacentrum.perun.core.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring of audit messages recently written to the auditer log by this instance of Perun.
+ *
+ * Auditer puts each written message there already parsed, so auditer consumers polling recent messages don't have
+ * to read them from the DB and parse them again. Message is kept in the slot given by its ID, so it is overwritten
+ * by the message with ID greater by the size of the ring.
+ *
+ * Ring can't replace the DB. It doesn't contain messages written by other instances of Perun and it can contain
+ * messages of rolled back transactions. Consumers must get IDs of the messages from the DB and use the ring
+ * only to get the content of these messages.
+ *
+ * @see Auditer
+ * @see AuditMessagesManagerImpl
+ */
+public class RecentAuditMessages {
+
+	private final AtomicReferenceArray<RecentMessage> ring;
+
+	/**
+	 * Create ring of recent audit messages.
+	 *
+	 * @param size max number of kept messages, zero or less disables the ring
+	 */
+	public RecentAuditMessages(int size) {
+		this.ring = size > 0 ? new AtomicReferenceArray<>(size) : null;
+	}
+
+	public boolean isEnabled() {
+		return ring != null;
+	}
+
+	/**
+	 * Put message written to the auditer log to the ring.
+	 *
+	 * @param id ID of the message
+	 * @param event audit event parsed from JSON as it was written, it must not be modified afterwards
+	 */
+	public void add(int id, JsonNode event) {
+		if (ring == null) return;
+		ring.set(slot(id), new RecentMessage(id, event));
+	}
+
+	/**
+	 * Get message with given ID, if it is still in the ring.
+	 *
+	 * @param id ID of the message
+	 * @return message or null if it is not in the ring
+	 */
+	public RecentMessage get(int id) {
+		if (ring == null) return null;
+		RecentMessage message = ring.get(slot(id));
+		return message != null && message.getId() == id ? message : null;
+	}
+
+	/**
+	 * Get IDs of messages in the ring greater than given ID.
+	 *
+	 * @param id lower bound of IDs (exclusive)
+	 * @return IDs of messages in the ring in no particular order
+	 */
+	public List<Integer> getIdsAfter(int id) {
+		List<Integer> ids = new ArrayList<>();
+		if (ring == null) return ids;
+		for (int i = 0; i < ring.length(); i++) {
+			RecentMessage message = ring.get(i);
+			if (message != null && message.getId() > id) ids.add(message.getId());
+		}
+		return ids;
+	}
+
+	private int slot(int id) {
+		return Math.floorMod(id, ring.length());
+	}
+
+	/**
+	 * Audit message as it was written to the auditer log.
+	 */
+	public static class RecentMessage {
+
+		private final int id;
+		private final JsonNode event;
+
+		RecentMessage(int id, JsonNode event) {
+			this.id = id;
+			this.event = event;
+		}
+
+		public int getId() {
+			return id;
+		}
+
+		/**
+		 * Get audit event parsed from JSON. It is shared by all consumers, so it must be treated as read-only.
+		 *
+		 * @return parsed audit event
+		 */
+		public JsonNode getEvent() {
+			return event;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package cz.metacentrum.perun.core.impl;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over subjects read lazily from an external source, e.g. from an open result set.
+ *
+ * Resources held by the iterator are released by {@link #close()}, which is also called
+ * when the stream created by {@link #stream()} is closed.
+ */
+public abstract class SubjectsIterator implements Iterator<Map<String, String>>, AutoCloseable {
+
+	private Map<String, String> next;
+	private boolean finished = false;
+
+	/**
+	 * Read next subject from the external source.
+	 *
+	 * @return next subject or null if there are no more subjects
+	 */
+	protected abstract Map<String, String> readNext();
+
+	/**
+	 * Release resources used for reading the subjects.
+	 */
+	@Override
+	public abstract void close();
+
+	@Override
+	public boolean hasNext() {
+		if (next == null && !finished) {
+			next = readNext();
+			finished = next == null;
+		}
+		return next != null;
+	}
+
+	@Override
+	public Map<String, String> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Map<String, String> subject = next;
+		next = null;
+		return subject;
+	}
+
+	/**
+	 * Create stream of the remaining subjects. Closing the stream closes this iterator.
+	 *
+	 * @return stream of subjects
+	 */
+	public Stream<Map<String, String>> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(this::close);
+	}
+}
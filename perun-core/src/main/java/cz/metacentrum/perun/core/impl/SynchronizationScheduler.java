@@ -0,0 +1,398 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.Group;
+import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Class used for scheduling and running group and group structure synchronizations.
+ *
+ * Waiting synchronizations are kept in priority queues, forced synchronizations go first, the others
+ * are ordered by the time they became due. Synchronizations are dispatched to the executor whenever
+ * some synchronization is scheduled or finished, so no thread waits for them in a loop.
+ *
+ * Synchronizations of the same type run in parallel up to the parallelism of the type. Besides that:
+ * - group can't be synchronized while the synchronization of a structure containing it is waiting or running,
+ * - group structure can't be synchronized while any group from the structure is being synchronized.
+ *
+ * Methods in this class are thread safe.
+ */
+public class SynchronizationScheduler {
+
+	private final static Logger log = LoggerFactory.getLogger(SynchronizationScheduler.class);
+
+	/**
+	 * Type of the synchronization.
+	 */
+	public enum Type {
+		GROUP, GROUP_STRUCTURE
+	}
+
+	private final Map<Type, JobQueue> queues = new EnumMap<>(Type.class);
+	private final ExecutorService executor;
+	private final Object lock = new Object();
+	private long sequence = 0;
+
+	/**
+	 * Create scheduler.
+	 *
+	 * @param groupsParallelism maximal number of concurrently running group synchronizations
+	 * @param groupsStructuresParallelism maximal number of concurrently running group structure synchronizations
+	 * @param groupSynchronizer synchronizes the group
+	 * @param groupStructureSynchronizer synchronizes the group structure
+	 */
+	public SynchronizationScheduler(int groupsParallelism, int groupsStructuresParallelism, Consumer<Group> groupSynchronizer, Consumer<Group> groupStructureSynchronizer) {
+		queues.put(Type.GROUP, new JobQueue(Math.max(1, groupsParallelism), groupSynchronizer));
+		queues.put(Type.GROUP_STRUCTURE, new JobQueue(Math.max(1, groupsStructuresParallelism), groupStructureSynchronizer));
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "perun-synchronization-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		// number of running synchronizations is limited by the scheduler, threads of cancelled synchronizations
+		// can still be finishing their work, so the pool is not bounded
+		this.executor = Executors.newCachedThreadPool(threadFactory);
+	}
+
+	/**
+	 * Schedule synchronization of the group.
+	 *
+	 * @param group group to synchronize
+	 * @param force true if the synchronization skips all not forced waiting synchronizations
+	 * @return true if the synchronization was scheduled (or forced when already waiting), false if it is already running
+	 *         or waiting and not forced
+	 */
+	public boolean scheduleGroup(Group group, boolean force) {
+		return schedule(Type.GROUP, group, Collections.emptySet(), force);
+	}
+
+	/**
+	 * Schedule synchronizations of the groups. Groups already waiting or running are skipped.
+	 *
+	 * @param groups groups to synchronize
+	 * @return number of scheduled synchronizations
+	 */
+	public int scheduleGroups(List<Group> groups) {
+		int numberOfScheduledGroups = 0;
+		for (Group group : groups) {
+			if (scheduleGroup(group, false)) {
+				log.debug("Group {} was added to the pool of groups waiting for synchronization.", group);
+				numberOfScheduledGroups++;
+			} else {
+				log.debug("Group {} synchronization is already waiting or running.", group);
+			}
+		}
+		return numberOfScheduledGroups;
+	}
+
+	/**
+	 * Schedule synchronization of the group structure.
+	 *
+	 * @param group base group of the structure
+	 * @param subGroupsIds ids of all subgroups of the group, used for detection of conflicts with group synchronizations
+	 * @param force true if the synchronization skips all not forced waiting synchronizations
+	 * @return true if the synchronization was scheduled (or forced when already waiting), false if it is already running
+	 *         or waiting and not forced
+	 */
+	public boolean scheduleGroupStructure(Group group, Set<Integer> subGroupsIds, boolean force) {
+		return schedule(Type.GROUP_STRUCTURE, group, subGroupsIds, force);
+	}
+
+	/**
+	 * Check whether the synchronization of the group is waiting or running.
+	 *
+	 * @param type type of the synchronization
+	 * @param group group
+	 * @return true if the synchronization is waiting or running
+	 */
+	public boolean isScheduled(Type type, Group group) {
+		synchronized (lock) {
+			JobQueue queue = queues.get(type);
+			return queue.waitingByGroup.containsKey(group.getId()) || queue.running.containsKey(group.getId());
+		}
+	}
+
+	/**
+	 * Cancel synchronizations running longer than the timeout. Threads of the synchronizations are interrupted
+	 * and their places are released for waiting synchronizations.
+	 *
+	 * @param type type of the synchronizations
+	 * @param timeout timeout in minutes
+	 * @return number of cancelled synchronizations
+	 */
+	public int cancelTimedOut(Type type, int timeout) {
+		long now = System.currentTimeMillis();
+		int numberOfCancelledJobs = 0;
+		synchronized (lock) {
+			JobQueue queue = queues.get(type);
+			for (Job job : queue.running.values()) {
+				if (!job.cancelled && now - job.startTime > TimeUnit.MINUTES.toMillis(timeout)) {
+					log.error("Synchronization of {} {} was interrupted because of timeout!", type, job.group);
+					job.cancelled = true;
+					job.future.cancel(true);
+					queue.activeJobs--;
+					queue.cancelledJobs++;
+					numberOfCancelledJobs++;
+				}
+			}
+			if (numberOfCancelledJobs > 0) dispatch();
+		}
+		return numberOfCancelledJobs;
+	}
+
+	/**
+	 * Get groups waiting for the synchronization in order of their priority.
+	 *
+	 * @param type type of the synchronization
+	 * @return waiting groups
+	 */
+	public List<Group> getWaitingGroups(Type type) {
+		synchronized (lock) {
+			return queues.get(type).waiting.stream().map(job -> job.group).collect(toList());
+		}
+	}
+
+	/**
+	 * Get groups being synchronized.
+	 *
+	 * @param type type of the synchronization
+	 * @return running groups
+	 */
+	public List<Group> getRunningGroups(Type type) {
+		synchronized (lock) {
+			return queues.get(type).running.values().stream().map(job -> job.group).collect(toList());
+		}
+	}
+
+	/**
+	 * Get statistics of the synchronizations.
+	 *
+	 * @param type type of the synchronizations
+	 * @return current statistics
+	 */
+	public Statistics getStatistics(Type type) {
+		synchronized (lock) {
+			JobQueue queue = queues.get(type);
+			return new Statistics(queue.waiting.size(), queue.running.size(), queue.finishedJobs, queue.cancelledJobs,
+					queue.finishedJobs == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(queue.totalDuration / queue.finishedJobs),
+					TimeUnit.NANOSECONDS.toMillis(queue.maxDuration));
+		}
+	}
+
+	/**
+	 * Stop all threads, running synchronizations are interrupted.
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private boolean schedule(Type type, Group group, Set<Integer> subGroupsIds, boolean force) {
+		if (group == null) throw new InternalErrorException("Can't schedule synchronization of null group.");
+		synchronized (lock) {
+			JobQueue queue = queues.get(type);
+			if (queue.running.containsKey(group.getId())) return false;
+
+			Job waitingJob = queue.waitingByGroup.get(group.getId());
+			if (waitingJob != null) {
+				if (!force) return false;
+				queue.waiting.remove(waitingJob);
+			}
+
+			Job job = new Job(group, subGroupsIds, force, System.currentTimeMillis(), sequence++);
+			queue.waiting.add(job);
+			queue.waitingByGroup.put(group.getId(), job);
+			dispatch();
+			return true;
+		}
+	}
+
+	/**
+	 * Start waiting synchronizations, which are not in conflict with other synchronizations, while there are free places.
+	 * Must be called under the lock.
+	 */
+	private void dispatch() {
+		for (Type type : Type.values()) {
+			JobQueue queue = queues.get(type);
+			Iterator<Job> iterator = queue.waiting.iterator();
+			while (queue.activeJobs < queue.parallelism && iterator.hasNext()) {
+				Job job = iterator.next();
+				if (isInConflict(type, job)) continue;
+
+				iterator.remove();
+				queue.waitingByGroup.remove(job.group.getId());
+				queue.running.put(job.group.getId(), job);
+				queue.activeJobs++;
+				job.startTime = System.currentTimeMillis();
+				job.future = executor.submit(() -> run(type, job));
+			}
+		}
+	}
+
+	private boolean isInConflict(Type type, Job job) {
+		if (type == Type.GROUP) {
+			JobQueue structures = queues.get(Type.GROUP_STRUCTURE);
+			for (Job structure : structures.waiting) {
+				if (structure.subGroupsIds.contains(job.group.getId())) return true;
+			}
+			for (Job structure : structures.running.values()) {
+				if (structure.subGroupsIds.contains(job.group.getId())) return true;
+			}
+		} else {
+			for (Integer runningGroupId : queues.get(Type.GROUP).running.keySet()) {
+				if (job.subGroupsIds.contains(runningGroupId)) return true;
+			}
+		}
+		return false;
+	}
+
+	private void run(Type type, Job job) {
+		JobQueue queue = queues.get(type);
+		long start = System.nanoTime();
+		try {
+			queue.synchronizer.accept(job.group);
+		} catch (Throwable e) {
+			log.error("Synchronization of " + type + " " + job.group + " failed.", e);
+		} finally {
+			long duration = System.nanoTime() - start;
+			synchronized (lock) {
+				queue.running.remove(job.group.getId(), job);
+				if (!job.cancelled) {
+					queue.activeJobs--;
+					queue.finishedJobs++;
+					queue.totalDuration += duration;
+					queue.maxDuration = Math.max(queue.maxDuration, duration);
+				}
+				dispatch();
+			}
+		}
+	}
+
+	/**
+	 * Statistics of the synchronizations of one type.
+	 */
+	public static class Statistics {
+		private final int waiting;
+		private final int running;
+		private final long finished;
+		private final long cancelled;
+		private final long averageDuration;
+		private final long maxDuration;
+
+		private Statistics(int waiting, int running, long finished, long cancelled, long averageDuration, long maxDuration) {
+			this.waiting = waiting;
+			this.running = running;
+			this.finished = finished;
+			this.cancelled = cancelled;
+			this.averageDuration = averageDuration;
+			this.maxDuration = maxDuration;
+		}
+
+		/**
+		 * @return number of waiting synchronizations
+		 */
+		public int getWaiting() {
+			return waiting;
+		}
+
+		/**
+		 * @return number of running synchronizations, including cancelled ones which are still finishing
+		 */
+		public int getRunning() {
+			return running;
+		}
+
+		/**
+		 * @return number of finished synchronizations since the start
+		 */
+		public long getFinished() {
+			return finished;
+		}
+
+		/**
+		 * @return number of synchronizations cancelled because of timeout since the start
+		 */
+		public long getCancelled() {
+			return cancelled;
+		}
+
+		/**
+		 * @return average duration of finished synchronizations in milliseconds
+		 */
+		public long getAverageDuration() {
+			return averageDuration;
+		}
+
+		/**
+		 * @return maximal duration of finished synchronizations in milliseconds
+		 */
+		public long getMaxDuration() {
+			return maxDuration;
+		}
+
+		@Override
+		public String toString() {
+			return "waiting: " + waiting + ", running: " + running + ", finished: " + finished + ", cancelled: " + cancelled +
+				", average duration: " + averageDuration + " ms, max duration: " + maxDuration + " ms";
+		}
+	}
+
+	private static class JobQueue {
+		private final int parallelism;
+		private final Consumer<Group> synchronizer;
+		private final TreeSet<Job> waiting = new TreeSet<>(Comparator.comparing((Job job) -> !job.forced)
+				.thenComparingLong(job -> job.dueTime)
+				.thenComparingLong(job -> job.sequence));
+		private final Map<Integer, Job> waitingByGroup = new HashMap<>();
+		private final Map<Integer, Job> running = new HashMap<>();
+		private int activeJobs = 0;
+		private long finishedJobs = 0;
+		private long cancelledJobs = 0;
+		private long totalDuration = 0;
+		private long maxDuration = 0;
+
+		private JobQueue(int parallelism, Consumer<Group> synchronizer) {
+			this.parallelism = parallelism;
+			this.synchronizer = synchronizer;
+		}
+	}
+
+	private static class Job {
+		private final Group group;
+		private final Set<Integer> subGroupsIds;
+		private final boolean forced;
+		private final long dueTime;
+		private final long sequence;
+		private long startTime;
+		private Future<?> future;
+		private boolean cancelled = false;
+
+		private Job(Group group, Set<Integer> subGroupsIds, boolean forced, long dueTime, long sequence) {
+			this.group = group;
+			this.subGroupsIds = subGroupsIds;
+			this.forced = forced;
+			this.dueTime = dueTime;
+			this.sequence = sequence;
+		}
+	}
+}
@@ -8,15 +8,19 @@ import cz.metacentrum.perun.core.api.ExtSource;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.Pair;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.RichResource;
 import cz.metacentrum.perun.core.api.Role;
+import cz.metacentrum.perun.core.api.SortingOrder;
 import cz.metacentrum.perun.core.api.SpecificUserType;
 import cz.metacentrum.perun.core.api.Status;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.UserExtSource;
+import cz.metacentrum.perun.core.api.UsersOrderColumn;
+import cz.metacentrum.perun.core.api.UsersPageQuery;
 import cz.metacentrum.perun.core.api.Vo;
 import cz.metacentrum.perun.core.api.exceptions.AlreadyReservedLoginException;
 import cz.metacentrum.perun.core.api.exceptions.ConsistencyErrorException;
@@ -910,6 +914,59 @@ public class UsersManagerImpl implements UsersManagerImplApi {
 		return new ArrayList<>(users);
 	}
 
+	@Override
+	public Paginated<User> getUsersPage(PerunSession sess, UsersPageQuery query) {
+		MapSqlParameterSource namedParams = new MapSqlParameterSource();
+		namedParams.addValue("offset", query.getOffset());
+		namedParams.addValue("limit", query.getPageSize());
+
+		String whereClause = "";
+		if (query.getSearchString() != null && !query.getSearchString().isEmpty()) {
+			namedParams.addValue("nameString", query.getSearchString());
+			String idQueryString = "";
+			try {
+				namedParams.addValue("searchId", Integer.parseInt(query.getSearchString()));
+				idQueryString = " users.id=:searchId or ";
+			} catch (NumberFormatException e) {
+				// IGNORE wrong format of ID
+			}
+			whereClause = " where (" + idQueryString + Utils.prepareUserSearchQuerySimilarMatch() + ")";
+		}
+
+		String order = (query.getOrder() == null ? SortingOrder.ASCENDING : query.getOrder()).getSqlValue();
+		String orderBy;
+		if (query.getSortColumn() == UsersOrderColumn.NAME) {
+			orderBy = "users.last_name " + order + ", users.first_name " + order + ", users.id " + order;
+		} else {
+			orderBy = "users.id " + order;
+		}
+
+		try {
+			Paginated<User> page = namedParameterJdbcTemplate.query("select " + userMappingSelectQuery + ", count(*) over() as total_count" +
+					" from users" + whereClause +
+					" order by " + orderBy +
+					" offset :offset limit :limit", namedParams, (ResultSetExtractor<Paginated<User>>) resultSet -> {
+				List<User> users = new ArrayList<>();
+				int totalCount = 0;
+				int row = 0;
+				while (resultSet.next()) {
+					totalCount = resultSet.getInt("total_count");
+					users.add(USER_MAPPER.mapRow(resultSet, row++));
+				}
+				return new Paginated<>(users, query.getOffset(), query.getPageSize(), totalCount);
+			});
+
+			if (page != null && page.getData().isEmpty() && query.getOffset() > 0) {
+				// total count is not known from empty page
+				Integer totalCount = namedParameterJdbcTemplate.queryForObject("select count(*) from users" + whereClause, namedParams, Integer.class);
+				page.setTotalCount(totalCount == null ? 0 : totalCount);
+			}
+			return page;
+		} catch (RuntimeException e) {
+			throw new InternalErrorException(e);
+		}
+	}
+
 	@Override
 	public List<User> findUsersByName(PerunSession sess, String searchString) {
 		if (searchString == null || searchString.isEmpty()) {
@@ -384,6 +384,22 @@ public class Utils {
 		}
 	}
 
+	/**
+	 * Checks whether the page size is positive and the offset is not negative.
+	 *
+	 * @param pageSize requested page size
+	 * @param offset requested offset
+	 * @throws IllegalArgumentException if page size or offset is not valid
+	 */
+	public static void checkPaging(int pageSize, int offset) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Page size must be positive, but was " + pageSize + ".");
+		}
+		if (offset < 0) {
+			throw new IllegalArgumentException("Offset must not be negative, but was " + offset + ".");
+		}
+	}
+
 	/**
 	 * Throws a MinSizeExceededException if the given value does not specified minLength.
 	 * If the value is null then MinSizeExceededException is thrown as well.
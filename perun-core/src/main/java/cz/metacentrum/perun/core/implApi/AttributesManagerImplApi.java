@@ -482,6 +482,56 @@ public interface AttributesManagerImplApi {
 	 */
 	List<Attribute> getAttributes(PerunSession sess, User user, List<String> attrNames);
 
+	/**
+	 * Get all core and non-empty def and opt attributes together with all virtual attributes (empty too)
+	 * for each member in the list. Attributes of all members are loaded by single query.
+	 *
+	 * @param sess perun session
+	 * @param members to get the attributes from
+	 * @return map of member and his list of attributes, members without any attribute are not present
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	HashMap<Member, List<Attribute>> getMembersAttributes(PerunSession sess, List<Member> members);
+
+	/**
+	 * Get all attributes associated with each member in the list which have name in list attrNames (empty and virtual too).
+	 * Attributes of all members are loaded by single query.
+	 *
+	 * @param sess perun session
+	 * @param members to get the attributes from
+	 * @param attrNames list of attributes' names
+	 * @return map of member and his list of attributes, members without any attribute are not present
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	HashMap<Member, List<Attribute>> getMembersAttributes(PerunSession sess, List<Member> members, List<String> attrNames);
+
+	/**
+	 * Get all core and non-empty def and opt attributes together with all virtual attributes (empty too)
+	 * for each user in the list. Attributes of all users are loaded by single query.
+	 *
+	 * @param sess perun session
+	 * @param users to get the attributes from
+	 * @return map of user and his list of attributes, users without any attribute are not present
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	HashMap<User, List<Attribute>> getUsersAttributes(PerunSession sess, List<User> users);
+
+	/**
+	 * Get all attributes associated with each user in the list which have name in list attrNames (empty and virtual too).
+	 * Attributes of all users are loaded by single query.
+	 *
+	 * @param sess perun session
+	 * @param users to get the attributes from
+	 * @param attrNames list of attributes' names
+	 * @return map of user and his list of attributes, users without any attribute are not present
+	 *
+	 * @throws InternalErrorException if an exception raise in concrete implementation, the exception is wrapped in InternalErrorException
+	 */
+	HashMap<User, List<Attribute>> getUsersAttributes(PerunSession sess, List<User> users, List<String> attrNames);
+
 	/**
 	 * Get all virtual attributes associated with the user.
 	 *
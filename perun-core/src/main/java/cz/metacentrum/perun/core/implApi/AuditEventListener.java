@@ -0,0 +1,20 @@
+package cz.metacentrum.perun.core.implApi;
+
+import cz.metacentrum.perun.audit.events.AuditEvent;
+
+/**
+ * This interface represents classes which are notified about audit events logged by the Auditer
+ * of this instance of Perun, e.g. to invalidate their caches.
+ *
+ * @see cz.metacentrum.perun.core.impl.Auditer
+ */
+public interface AuditEventListener {
+
+	/**
+	 * Called when the event is logged in the current transaction and again when it is stored
+	 * after the transaction is committed. Events logged outside of transaction are passed only once.
+	 *
+	 * @param event logged audit event
+	 */
+	void eventLogged(AuditEvent event);
+}
@@ -79,6 +79,46 @@ public interface AuditMessagesManagerImplApi {
 	 */
 	List<AuditEvent> pollConsumerEvents(PerunSession perunSession, String consumerName, int lastProcessedId);
 
+	/**
+	 * Returns at most <b>maxCount</b> oldest <b>AuditMessages</b> from audit log with IDs > lastProcessedId given.
+	 * Caller is expected to pass ID of the last returned message to the next call, so whole audit log
+	 * can be read in bounded chunks.
+	 *
+	 * @param perunSession perun session
+	 * @param consumerName consumer to get messages for
+	 * @param lastProcessedId id of the last message
+	 * @param maxCount max number of returned messages
+	 * @return List of audit messages ordered by ID
+	 * @throws InternalErrorException When implementation fails
+	 */
+	List<AuditMessage> pollConsumerMessages(PerunSession perunSession, String consumerName, int lastProcessedId, int maxCount);
+
+	/**
+	 * Returns at most <b>maxCount</b> oldest <b>AuditMessages</b> from audit log with IDs > lastProcessedId
+	 * for registered auditer consumer. LastProcessedId of the consumer is moved to the ID of the last returned message,
+	 * so the rest of the messages is returned by the next call.
+	 *
+	 * @param perunSession perun session
+	 * @param consumerName consumer to get messages for
+	 * @param maxCount max number of returned messages
+	 * @return List of audit messages ordered by ID
+	 * @throws InternalErrorException When implementation fails
+	 */
+	List<AuditMessage> pollConsumerMessagesBatch(PerunSession perunSession, String consumerName, int maxCount);
+
+	/**
+	 * Returns at most <b>maxCount</b> oldest <b>AuditEvents</b> from audit log with IDs > lastProcessedId
+	 * for registered auditer consumer. LastProcessedId of the consumer is moved to the ID of the last returned event,
+	 * so the rest of the events is returned by the next call.
+	 *
+	 * @param perunSession perun session
+	 * @param consumerName consumer to get events for
+	 * @param maxCount max number of returned events
+	 * @return List of audit events ordered by ID
+	 * @throws InternalErrorException When implementation fails
+	 */
+	List<AuditEvent> pollConsumerEventsBatch(PerunSession perunSession, String consumerName, int maxCount);
+
 	/**
 	 * Creates new auditer consumer with last processed id which equals current auditer log max id.
 	 *
@@ -136,4 +176,13 @@ public interface AuditMessagesManagerImplApi {
 	 */
 	boolean checkAuditerConsumerExists(PerunSession session, String consumerName);
 
+	/**
+	 * Get statistics of caches used to serve polled audit messages. It contains numbers of hits and misses
+	 * of the ring of messages recently written by this instance and of the cache of deserialized audit events.
+	 *
+	 * @param perunSession perun session
+	 * @return map with names of counters as keys and their values
+	 */
+	Map<String, Long> getCacheStatistics(PerunSession perunSession);
+
 }
@@ -5,8 +5,10 @@ import cz.metacentrum.perun.core.api.exceptions.ExtSourceUnsupportedOperationExc
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.SubjectNotExistsException;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Definition of simple extSource api.
@@ -57,6 +59,31 @@ public interface ExtSourceSimpleApi {
 	 */
 	Map<String, String> getSubjectByLogin(String login) throws SubjectNotExistsException, ExtSourceUnsupportedOperationException;
 
+	/**
+	 * Finds subjects from the external source by the primary logins used in external source.
+	 *
+	 * By default every subject is searched separately, extSources supporting it search for more subjects by one query.
+	 *
+	 * @param logins logins used in the external source
+	 * @return map of logins to subjects, which contain attr_name -&gt; attr_value, logins of not existing subjects are missing
+	 * @throws InternalErrorException
+	 * @throws ExtSourceUnsupportedOperationException
+	 */
+	default Map<String, Map<String, String>> getSubjectsByLogins(List<String> logins) throws ExtSourceUnsupportedOperationException {
+		Map<String, Map<String, String>> subjects = new HashMap<>();
+		for (String login : logins) {
+			try {
+				Map<String, String> subject = getSubjectByLogin(login);
+				if (subject != null) {
+					subjects.put(login, subject);
+				}
+			} catch (SubjectNotExistsException e) {
+				// subject is missing in the result
+			}
+		}
+		return subjects;
+	}
+
 	/**
 	 * Get the list of the subjects in the external group.
 	 *
@@ -67,6 +94,22 @@ public interface ExtSourceSimpleApi {
 	 */
 	List<Map<String, String>> getGroupSubjects(Map<String, String> attributes) throws ExtSourceUnsupportedOperationException;
 
+	/**
+	 * Get the subjects in the external group as a stream.
+	 *
+	 * Subjects are the same as subjects returned by getGroupSubjects, but extSources supporting it read them
+	 * lazily, so they are not held in memory at once. The stream must be closed after use, it can hold
+	 * resources of the extSource (e.g. open result set).
+	 *
+	 * @param attributes map of attributes used for quering the external source
+	 * @return stream of maps, which contains attr_name-&gt;attr_value, e.g. firstName-&gt;Michal
+	 * @throws InternalErrorException
+	 * @throws ExtSourceUnsupportedOperationException
+	 */
+	default Stream<Map<String, String>> streamGroupSubjects(Map<String, String> attributes) throws ExtSourceUnsupportedOperationException {
+		return getGroupSubjects(attributes).stream();
+	}
+
 	/**
 	 * If extSource needs to be closed, this method must be called.
 	 *
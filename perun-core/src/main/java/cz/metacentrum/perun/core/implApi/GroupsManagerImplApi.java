@@ -25,6 +25,8 @@ import cz.metacentrum.perun.core.api.exceptions.NotGroupMemberException;
 import cz.metacentrum.perun.core.api.exceptions.ParentGroupNotExistsException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author  Michal Prochazka
@@ -184,6 +186,20 @@ public interface GroupsManagerImplApi {
 	 */
 	Member addMember(PerunSession perunSession, Group group,  Member member, MembershipType type, int sourceGroupId) throws AlreadyMemberException;
 
+	/**
+	 * Adds members to the group by one batch of statements.
+	 *
+	 * @param perunSession perun session
+	 * @param group group to add members to
+	 * @param members members to add, none of them can have a record with the same sourceGroupId in the group
+	 * @param type type of membership
+	 * @param sourceGroupId id of a group from which members originate
+	 *
+	 * @throws InternalErrorException
+	 * @throws AlreadyMemberException if some of the members already has such record in the group
+	 */
+	void addMembers(PerunSession perunSession, Group group, List<Member> members, MembershipType type, int sourceGroupId) throws AlreadyMemberException;
+
 
 	/**
 	 * Removes member form the group. The member object MUST have sourceGroupId parameter.
@@ -197,6 +213,19 @@ public interface GroupsManagerImplApi {
 	 */
 	void removeMember(PerunSession perunSession, Group group, Member member) throws NotGroupMemberException;
 
+	/**
+	 * Removes members from the group by one batch of statements. Records with the given sourceGroupId are removed.
+	 *
+	 * @param perunSession perun session
+	 * @param group group
+	 * @param members members to remove
+	 * @param sourceGroupId id of a group from which members originate
+	 *
+	 * @throws InternalErrorException
+	 * @throws NotGroupMemberException if some of the members has no such record in the group
+	 */
+	void removeMembers(PerunSession perunSession, Group group, List<Member> members, int sourceGroupId) throws NotGroupMemberException;
+
 	/**
 	 * Return list of assigned groups on the resource.
 	 *
@@ -537,6 +566,20 @@ public interface GroupsManagerImplApi {
 	 */
 	boolean isDirectGroupMember(PerunSession sess, Group group, Member member);
 
+	/**
+	 * Return IDs of those of the given members, who are members of the Group.
+	 * Only records of the given members are read, not the whole membership of the Group.
+	 *
+	 * @param sess
+	 * @param group
+	 * @param members members to check
+	 * @param membershipType type of the membership to check or null for any membership
+	 * @return IDs of the members who are members of the Group
+	 *
+	 * @throws InternalErrorException
+	 */
+	Set<Integer> getGroupMembersIds(PerunSession sess, Group group, List<Member> members, MembershipType membershipType);
+
 	/**
 	 * Return list of IDs of all applications, which belongs to Group.
 	 *
@@ -690,6 +733,17 @@ public interface GroupsManagerImplApi {
 	 */
 	void setIndirectGroupStatus(PerunSession sess, Member member, Group group, MemberGroupStatus status);
 
+	/**
+	 * Set status of the members to specified status for indirect relations
+	 * where the given group is the source group by one batch of statements.
+	 *
+	 * @param members members whose status will be changed
+	 * @param group group where members' status will be changed
+	 * @param status status that will be set
+	 * @throws InternalErrorException internal error
+	 */
+	void setIndirectGroupStatuses(PerunSession sess, List<Member> members, Group group, MemberGroupStatus status);
+
 	/**
 	 * Set direct status of the member to specified status in given group.
 	 *
@@ -723,6 +777,18 @@ public interface GroupsManagerImplApi {
 	 */
 	MemberGroupStatus getTotalMemberGroupStatus(PerunSession session, Member member, Group group);
 
+	/**
+	 * Returns total statuses of the members in given group.
+	 * Members without relation to the group are missing in the result.
+	 *
+	 * @param session session
+	 * @param members members
+	 * @param group group
+	 * @return map of member ids to their total status in given group
+	 * @throws InternalErrorException internal error
+	 */
+	Map<Integer, MemberGroupStatus> getTotalMemberGroupStatuses(PerunSession session, List<Member> members, Group group);
+
 	/**
 	 * Returns all facilities where given group si FACILITYADMIN.
 	 *
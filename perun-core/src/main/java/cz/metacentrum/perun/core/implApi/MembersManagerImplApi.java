@@ -2,8 +2,10 @@ package cz.metacentrum.perun.core.implApi;
 
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.MembersPageQuery;
 import cz.metacentrum.perun.core.api.MemberGroupStatus;
 import cz.metacentrum.perun.core.api.NamespaceRules;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.Sponsorship;
@@ -208,6 +210,18 @@ public interface MembersManagerImplApi {
 	 */
 	int getMembersCount(PerunSession sess, Vo vo, Status status);
 
+	/**
+	 * Returns one page of members of the VO. Members are filtered, sorted and limited
+	 * by the query in the database, so only the requested page is loaded.
+	 *
+	 * @param sess perun session
+	 * @param vo vo
+	 * @param query query with page size, offset, sorting and filters
+	 * @return page of members together with the count of all members matching the query
+	 * @throws InternalErrorException
+	 */
+	Paginated<Member> getMembersPage(PerunSession sess, Vo vo, MembersPageQuery query);
+
 	/**
 	 * Store information about password reset request.
 	 *
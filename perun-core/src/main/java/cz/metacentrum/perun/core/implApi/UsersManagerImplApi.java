@@ -6,6 +6,7 @@ import cz.metacentrum.perun.core.api.ExtSource;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.Pair;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
@@ -13,6 +14,7 @@ import cz.metacentrum.perun.core.api.RichResource;
 import cz.metacentrum.perun.core.api.SpecificUserType;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.UserExtSource;
+import cz.metacentrum.perun.core.api.UsersPageQuery;
 import cz.metacentrum.perun.core.api.Vo;
 import cz.metacentrum.perun.core.api.exceptions.AlreadyReservedLoginException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
@@ -538,6 +540,17 @@ public interface UsersManagerImplApi {
 	 */
 	List<User> findUsers(PerunSession sess, String searchString);
 
+	/**
+	 * Returns one page of users. Users are filtered, sorted and limited by the query
+	 * in the database, so only the requested page is loaded.
+	 *
+	 * @param sess perun session
+	 * @param query query with page size, offset, sorting and search string
+	 * @return page of users together with the count of all users matching the query
+	 * @throws InternalErrorException
+	 */
+	Paginated<User> getUsersPage(PerunSession sess, UsersPageQuery query);
+
 	/**
 	 * Returns list of users who matches the searchString, searching name (exact match), id, member attributes, user attributes
 	 * and userExtSource attributes (listed in perun.properties).
@@ -0,0 +1,122 @@
+package cz.metacentrum.perun.core.provisioning;
+
+import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Executes parts of the provisioning data generation in parallel.
+ *
+ * Tasks run in a shared fork-join pool, so the parallelism is limited for all generated data together.
+ * Data for provisioning are read in a read-only transaction, which has to see a consistent state of the database.
+ * Therefore, the snapshot of the calling transaction is exported and every task runs in its own read-only transaction
+ * which imports the snapshot. If the calling transaction is not read-only, tasks are executed sequentially
+ * in the calling thread, since other transactions wouldn't see its uncommitted changes.
+ * Tasks can share objects of the caller, e.g. the session, only if they don't modify them.
+ *
+ * The pool is not created at all if the parallelism is lower than 2.
+ */
+public class GenDataExecutor {
+
+	private final static Logger log = LoggerFactory.getLogger(GenDataExecutor.class);
+
+	private final JdbcTemplate jdbc;
+	private final TransactionTemplate transactionTemplate;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Create executor.
+	 *
+	 * @param dataSource data source used to share snapshot of the calling transaction
+	 * @param transactionManager manager used to create transactions of the tasks
+	 * @param parallelism number of threads in the pool, tasks are not executed in parallel if lower than 2
+	 */
+	public GenDataExecutor(DataSource dataSource, PlatformTransactionManager transactionManager, int parallelism) {
+		this.jdbc = dataSource == null ? null : new JdbcTemplate(dataSource);
+		if (transactionManager == null) {
+			this.transactionTemplate = null;
+		} else {
+			this.transactionTemplate = new TransactionTemplate(transactionManager);
+			this.transactionTemplate.setReadOnly(true);
+			this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+			this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		}
+		this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+	}
+
+	/**
+	 * Check whether tasks can be executed in parallel in the current transaction.
+	 *
+	 * @return true if tasks are executed in parallel, false if they are executed sequentially
+	 */
+	public boolean isParallel() {
+		if (pool == null) return false;
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) return true;
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && jdbc != null && transactionTemplate != null;
+	}
+
+	/**
+	 * Apply the task to all items. Results are returned in the order of the items.
+	 *
+	 * @param items items to process
+	 * @param task task applied to each item
+	 * @param <T> type of items
+	 * @param <R> type of results
+	 * @return results of the task
+	 */
+	public <T, R> List<R> map(List<T> items, Function<T, R> task) {
+		if (!isParallel() || items.size() < 2) {
+			return items.stream().map(task).collect(toList());
+		}
+
+		String snapshot = null;
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			snapshot = jdbc.queryForObject("select pg_export_snapshot()", String.class);
+		}
+		Function<T, R> taskInSnapshot = inSnapshot(snapshot, task);
+
+		try {
+			return pool.submit(() -> items.parallelStream().map(taskInSnapshot).collect(toList())).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InternalErrorException("Interrupted while waiting for generated data.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new InternalErrorException(e.getCause());
+		}
+	}
+
+	/**
+	 * Stop the threads of the pool.
+	 */
+	public void shutdown() {
+		if (pool != null) {
+			pool.shutdownNow();
+		}
+	}
+
+	private <T, R> Function<T, R> inSnapshot(String snapshot, Function<T, R> task) {
+		if (snapshot == null) return task;
+		return item -> transactionTemplate.execute(status -> {
+			// must be the first statement of the transaction
+			jdbc.execute("SET TRANSACTION SNAPSHOT '" + snapshot + "'");
+			log.trace("Generating data for {} in snapshot {}.", item, snapshot);
+			return task.apply(item);
+		});
+	}
+}
@@ -20,6 +20,7 @@ import java.util.Map;
  *
  * IMPORTANT: this components has a STATE! The order of load methods is important.
  * E.g.: loadResourceSpecificAttributes will overwrite data for previously loaded resource.
+ * Only loadResourceAttributesAndHashes can be called concurrently, see its description.
  *
  * @author Vojtech Sassmann <vojtech.sassmann@gmail.com>
  */
@@ -53,6 +54,14 @@ public interface GenDataProvider {
 	 */
 	List<String> getMemberAttributesHashes(Resource resource, Member member);
 
+	/**
+	 * Return all hashes relevant for given member, which don't depend on a resource.
+	 * Member, User, User-Facility.
+	 *
+	 * @param member given member
+	 * @return list of hashes
+	 */
+	List<String> getMemberAttributesHashes(Member member);
 
 	/**
 	 * Return all hashes relevant for given member.
@@ -92,6 +101,21 @@ public interface GenDataProvider {
 	 */
 	void loadResourceAttributes(Resource resource, List<Member> members, boolean loadVoAttributes);
 
+	/**
+	 * Loads Resource and Member specific attributes like {@link #loadResourceAttributes(Resource, List, boolean)}
+	 * and stores hashes of Resource, Vo (if specified by addVoAttributes) and Resource-Member attributes at once.
+	 * Resource-Member attributes are not kept for later use, so this method doesn't change the last loaded resource.
+	 *
+	 * This method can be called concurrently for different resources. Hashes of the members can be obtained
+	 * by {@link #getMemberAttributesHashes(Member)} after all the concurrent calls are finished.
+	 *
+	 * @param resource resource
+	 * @param members members
+	 * @param addVoAttributes specifies, if the vo attributes should be loaded and hashed as well
+	 * @return list of hashes of the resource (and its vo)
+	 */
+	List<String> loadResourceAttributesAndHashes(Resource resource, List<Member> members, boolean addVoAttributes);
+
 	/**
 	 * Loads Group and Group-Resource attributes.
 	 * Group attributes are loaded only for groups that has not been already loaded.
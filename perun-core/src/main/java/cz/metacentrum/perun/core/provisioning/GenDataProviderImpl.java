@@ -16,16 +16,19 @@ import cz.metacentrum.perun.core.impl.PerunSessionImpl;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 /**
+ * Maps of attributes which don't depend on the last loaded entities are concurrent, so they can be shared
+ * by concurrent calls of {@link #loadResourceAttributesAndHashes(Resource, List, boolean)}.
+ *
  * @author Vojtech Sassmann <vojtech.sassmann@gmail.com>
  */
 public class GenDataProviderImpl implements GenDataProvider {
@@ -34,7 +37,7 @@ public class GenDataProviderImpl implements GenDataProvider {
 	private final Service service;
 	private final Facility facility;
 
-	private final Map<String, List<Attribute>> attributesByHash = new HashMap<>();
+	private final Map<String, List<Attribute>> attributesByHash = new ConcurrentHashMap<>();
 
 	private List<Attribute> facilityAttrs;
 
@@ -56,24 +59,24 @@ public class GenDataProviderImpl implements GenDataProvider {
 	/**
 	 * These maps are not overwritten, because they do not depend on currently loaded entities.
 	 */
-	private final Map<Member, List<Attribute>> memberAttrs = new HashMap<>();
-	private final Map<Group, List<Attribute>> groupAttrs = new HashMap<>();
-	private final Map<User, List<Attribute>> userAttrs = new HashMap<>();
-	private final Map<User, List<Attribute>> userFacilityAttrs = new HashMap<>();
-	private final Map<Resource, List<Attribute>> resourceAttrs = new HashMap<>();
+	private final Map<Member, List<Attribute>> memberAttrs = new ConcurrentHashMap<>();
+	private final Map<Group, List<Attribute>> groupAttrs = new ConcurrentHashMap<>();
+	private final Map<User, List<Attribute>> userAttrs = new ConcurrentHashMap<>();
+	private final Map<User, List<Attribute>> userFacilityAttrs = new ConcurrentHashMap<>();
+	private final Map<Resource, List<Attribute>> resourceAttrs = new ConcurrentHashMap<>();
 
 	/**
 	 * Vos has to contain only ids, or only vos loaded from DB. Because of the equals and hashCode
 	 * implementations. If they were mixed, it would cause data duplicity.
 	 */
-	private final Map<Vo, List<Attribute>> voAttrs = new HashMap<>();
+	private final Map<Vo, List<Attribute>> voAttrs = new ConcurrentHashMap<>();
 
 	private Group lastLoadedGroup;
 	private Resource lastLoadedResource;
 
-	private final Map<Integer, User> loadedUsersById = new HashMap<>();
-	private final Set<Member> processedMembers = new HashSet<>();
-	private final Set<Group> processedGroups = new HashSet<>();
+	private final Map<Integer, User> loadedUsersById = new ConcurrentHashMap<>();
+	private final Set<Member> processedMembers = ConcurrentHashMap.newKeySet();
+	private final Set<Group> processedGroups = ConcurrentHashMap.newKeySet();
 
 	private final Hasher hasher = new IdHasher();
 
@@ -128,6 +131,27 @@ public class GenDataProviderImpl implements GenDataProvider {
 	public void loadResourceAttributes(Resource resource, List<Member> members, boolean loadVoAttributes) {
 		lastLoadedResource = resource;
 
+		memberResourceAttrs = loadResourceSpecificAttributes(resource, members, loadVoAttributes);
+	}
+
+	@Override
+	public List<String> loadResourceAttributesAndHashes(Resource resource, List<Member> members, boolean addVoAttributes) {
+		Map<Member, List<Attribute>> loadedMemberResourceAttrs = loadResourceSpecificAttributes(resource, members, addVoAttributes);
+
+		for (Member member : members) {
+			getAndStoreHash(hasher.hashMemberResource(member, resource), member, loadedMemberResourceAttrs);
+		}
+
+		return getResourceAttributesHashes(resource, addVoAttributes);
+	}
+
+	/**
+	 * Loads Resource, Vo (if specified) and Member specific attributes into the shared maps.
+	 * Members already processed by other calls are skipped.
+	 *
+	 * @return loaded Member-Resource attributes
+	 */
+	private Map<Member, List<Attribute>> loadResourceSpecificAttributes(Resource resource, List<Member> members, boolean loadVoAttributes) {
 		if (!resourceAttrs.containsKey(resource)) {
 			resourceAttrs.put(resource,
 					sess.getPerunBl().getAttributesManagerBl().getRequiredAttributes(sess, service, resource));
@@ -137,15 +161,17 @@ public class GenDataProviderImpl implements GenDataProvider {
 			loadVoSpecificAttributes(resource);
 		}
 
-		memberResourceAttrs =
+		Map<Member, List<Attribute>> loadedMemberResourceAttrs =
 				sess.getPerunBl().getAttributesManagerBl().getRequiredAttributes(sess, service, resource, members);
 
 		// we don't need to load again attributes for the already processed members
-		List<Member> notYetProcessedMembers = new ArrayList<>(members);
-		notYetProcessedMembers.removeAll(processedMembers);
-		processedMembers.addAll(notYetProcessedMembers);
+		List<Member> notYetProcessedMembers = members.stream()
+				.filter(processedMembers::add)
+				.collect(toList());
 
 		loadMemberSpecificAttributes(notYetProcessedMembers);
+
+		return loadedMemberResourceAttrs;
 	}
 
 	@Override
@@ -188,14 +214,22 @@ public class GenDataProviderImpl implements GenDataProvider {
 			throw new IllegalStateException("The last loaded resource is different than the required one. Required: " +
 					resource + ", Last loaded: " + lastLoadedResource);
 		}
+		List<String> hashes = getMemberAttributesHashes(member);
+
+		hashes.addAll(getMemberResourceAttributesHashes(member, resource));
+
+		return hashes;
+	}
+
+	@Override
+	public List<String> getMemberAttributesHashes(Member member) {
 		List<String> hashes = new ArrayList<>();
 
 		User user = loadedUsersById.get(member.getUserId());
 
-		hashes.addAll(getMemberAttributesHashes(member));
+		hashes.addAll(getMemberOnlyAttributesHashes(member));
 		hashes.addAll(getUserAttributesHashes(user));
 		hashes.addAll(getUserFacilityAttributesHashes(user, facility));
-		hashes.addAll(getMemberResourceAttributesHashes(member, resource));
 
 		return hashes;
 	}
@@ -272,7 +306,7 @@ public class GenDataProviderImpl implements GenDataProvider {
 		return getAndStoreHash(hash, resource, resourceAttrs);
 	}
 
-	private List<String> getMemberAttributesHashes(Member member) {
+	private List<String> getMemberOnlyAttributesHashes(Member member) {
 		String hash = hasher.hashMember(member);
 
 		return getAndStoreHash(hash, member, memberAttrs);
@@ -325,13 +359,15 @@ public class GenDataProviderImpl implements GenDataProvider {
 	 */
 	private <T> List<String> getAndStoreHash(String hash, T entity, Map<T, List<Attribute>> map) {
 		var hashes = new ArrayList<String>();
-		if (!attributesByHash.containsKey(hash)) {
+		List<Attribute> attributes = attributesByHash.get(hash);
+		if (attributes == null) {
 			if (!map.containsKey(entity)) {
 				return hashes;
 			}
-			attributesByHash.put(hash, map.get(entity));
+			attributes = map.get(entity);
+			attributesByHash.putIfAbsent(hash, attributes);
 		}
-		if (!attributesByHash.get(hash).isEmpty()) {
+		if (!attributes.isEmpty()) {
 			hashes.add(hash);
 		}
 		return hashes;
@@ -369,7 +405,6 @@ public class GenDataProviderImpl implements GenDataProvider {
 		// create incomplete vo object with only vo id
 		Vo vo = new Vo();
 		vo.setId(resource.getVoId());
-		lastLoadedResource = resource;
 
 		if (!voAttrs.containsKey(vo)) {
 			Vo dbVo;
@@ -11,6 +11,7 @@ import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.Service;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +45,14 @@ import static java.util.stream.Collectors.toMap;
  *   }
  * }
  *
+ * If an executor with parallelism is set, data of resources are loaded in parallel. Hashes of members,
+ * which can be shared by more resources, are stored after all resources are loaded. The generated data
+ * are the same as data generated sequentially.
+ *
+ * Parallel tasks share the session of the caller. It is safe, because the tasks only read the session: the principal
+ * is authorized before the data are generated and no called method changes the principal or the client. The session
+ * is not bound to the DB connection, each task uses the transaction bound to its own thread.
+ *
  * @author Vojtech Sassmann <vojtech.sassmann@gmail.com>
  */
 public class HierarchicalHashedDataGenerator implements HashedDataGenerator {
@@ -54,13 +63,15 @@ public class HierarchicalHashedDataGenerator implements HashedDataGenerator {
 	private final GenDataProvider dataProvider;
 	private final Set<Member> allMembers = new HashSet<>();
 	private final boolean filterExpiredMembers;
+	private final GenDataExecutor executor;
 
 	private HierarchicalHashedDataGenerator(PerunSessionImpl sess, Service service, Facility facility,
-	                                        boolean filterExpiredMembers) {
+	                                        boolean filterExpiredMembers, GenDataExecutor executor) {
 		this.sess = sess;
 		this.service = service;
 		this.facility = facility;
 		this.filterExpiredMembers = filterExpiredMembers;
+		this.executor = executor;
 		dataProvider = new GenDataProviderImpl(sess, service, facility);
 	}
 
@@ -71,8 +82,13 @@ public class HierarchicalHashedDataGenerator implements HashedDataGenerator {
 		List<Resource> resources =
 				sess.getPerunBl().getFacilitiesManagerBl().getAssignedResources(sess, facility, null, service);
 
-		Map<Integer, GenDataNode> childNodes = resources.stream()
-				.collect(toMap(Resource::getId, this::getDataForResource));
+		Map<Integer, GenDataNode> childNodes;
+		if (executor != null && executor.isParallel()) {
+			childNodes = getDataForResourcesInParallel(resources);
+		} else {
+			childNodes = resources.stream()
+					.collect(toMap(Resource::getId, this::getDataForResource));
+		}
 
 		dataProvider.getFacilityAttributesHashes();
 		Map<String, Map<String, Object>> attributes = dataProvider.getAllFetchedAttributes();
@@ -89,12 +105,7 @@ public class HierarchicalHashedDataGenerator implements HashedDataGenerator {
 	}
 
 	private GenResourceDataNode getDataForResource(Resource resource) {
-		List<Member> members;
-		if (filterExpiredMembers) {
-			members = sess.getPerunBl().getResourcesManagerBl().getAllowedMembersNotExpiredInGroups(sess, resource);
-		} else {
-			members = sess.getPerunBl().getResourcesManagerBl().getAllowedMembers(sess, resource);
-		}
+		List<Member> members = getMembers(resource);
 		allMembers.addAll(members);
 
 		dataProvider.loadResourceAttributes(resource, members, true);
@@ -103,6 +114,36 @@ public class HierarchicalHashedDataGenerator implements HashedDataGenerator {
 
 		members.forEach(member -> getDataForMember(resource, member));
 
+		return createResourceNode(resource, members);
+	}
+
+	private Map<Integer, GenDataNode> getDataForResourcesInParallel(List<Resource> resources) {
+		// session is shared by the tasks, they only read it
+		List<List<Member>> membersOfResources = executor.map(resources, resource -> {
+			List<Member> members = getMembers(resource);
+			dataProvider.loadResourceAttributesAndHashes(resource, members, true);
+			return members;
+		});
+
+		Map<Integer, GenDataNode> childNodes = new HashMap<>();
+		for (int i = 0; i < resources.size(); i++) {
+			List<Member> members = membersOfResources.get(i);
+			allMembers.addAll(members);
+			members.forEach(dataProvider::getMemberAttributesHashes);
+			childNodes.put(resources.get(i).getId(), createResourceNode(resources.get(i), members));
+		}
+		return childNodes;
+	}
+
+	private List<Member> getMembers(Resource resource) {
+		if (filterExpiredMembers) {
+			return sess.getPerunBl().getResourcesManagerBl().getAllowedMembersNotExpiredInGroups(sess, resource);
+		} else {
+			return sess.getPerunBl().getResourcesManagerBl().getAllowedMembers(sess, resource);
+		}
+	}
+
+	private GenResourceDataNode createResourceNode(Resource resource, List<Member> members) {
 		Map<Integer, Integer> memberIdsToUserIds = members.stream()
 				.collect(toMap(Member::getId, Member::getUserId));
 
@@ -124,6 +165,7 @@ public class HierarchicalHashedDataGenerator implements HashedDataGenerator {
 		private Service service;
 		private Facility facility;
 		private boolean filterExpiredMembers = false;
+		private GenDataExecutor executor;
 
 		public Builder sess(PerunSessionImpl sess) {
 			this.sess = sess;
@@ -145,8 +187,13 @@ public class HierarchicalHashedDataGenerator implements HashedDataGenerator {
 			return this;
 		}
 
+		public Builder executor(GenDataExecutor executor) {
+			this.executor = executor;
+			return this;
+		}
+
 		public HierarchicalHashedDataGenerator build() {
-			return new HierarchicalHashedDataGenerator(sess, service, facility, filterExpiredMembers);
+			return new HierarchicalHashedDataGenerator(sess, service, facility, filterExpiredMembers, executor);
 		}
 	}
 }
@@ -10,41 +10,50 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Implementation of TaskStore as in-memory pool.
  *
+ * Besides the primary maps by ID and by Facility and Service, Tasks are indexed by their status,
+ * so lookups by status does not have to scan the whole pool. Status index is kept up to date by listening
+ * to the status changes of stored Tasks.
+ *
  * @see cz.metacentrum.perun.taskslib.service.TaskStore
  *
  * @author David Šarman
  * @author Pavel Zlámal <zlamal@cesnet.cz>
  */
-public class TaskStoreImpl implements TaskStore {
+public class TaskStoreImpl implements TaskStore, Task.StatusListener {
 
 	private final static Logger log = LoggerFactory.getLogger(TaskStoreImpl.class);
 	private final Map<Integer, Task> tasksById = new HashMap<>();
 	private final Map<Pair<Integer, Integer>, Task> tasksByFacilityAndService = new HashMap<>();
+	// secondary index, tasks are stored by their ID
+	private final Map<Task.TaskStatus, Map<Integer, Task>> tasksByStatus = new EnumMap<>(Task.TaskStatus.class);
+	// status under which is Task currently indexed
+	private final Map<Integer, Task.TaskStatus> indexedStatuses = new HashMap<>();
 
 	public TaskStoreImpl() {
 	}
 
 	@Override
-	public Task getTask(int id) {
+	public synchronized Task getTask(int id) {
 		return tasksById.get(id);
 	}
 
 	@Override
-	public Task getTask(Facility facility, Service service) {
+	public synchronized Task getTask(Facility facility, Service service) {
 		return tasksByFacilityAndService.get(new Pair<>(facility.getId(), service.getId()));
 	}
 
 	@Override
-	public int getSize() {
+	public synchronized int getSize() {
 		return tasksById.size();
 	}
 
@@ -57,37 +66,41 @@ public class TaskStoreImpl implements TaskStore {
 			log.error("Tried to insert Task {} with no Facility", task);
 			throw new IllegalArgumentException("Tasks Facility not set.");
 		}
-		Task idAdded;
-		Task otherAdded;
+		// register listener first, so no status change is missed after Task is indexed
+		task.setStatusListener(this);
 		synchronized (this) {
-			idAdded = tasksById.put(task.getId(), task);
-			otherAdded = tasksByFacilityAndService.put(
-					new Pair<>(task.getFacility().getId(), task.getService().getId()), task);
-		}
-		if (idAdded != otherAdded) {
-			log.error("Task returned from both Maps after insert differ. taskById {}, taskByFacilityAndService {}", idAdded, otherAdded);
-			throw new TaskStoreException("Tasks returned after insert into both Maps differ.");
-		} else {
+			Pair<Integer, Integer> key = new Pair<>(task.getFacility().getId(), task.getService().getId());
+			Task idAdded = tasksById.get(task.getId());
+			Task otherAdded = tasksByFacilityAndService.get(key);
+			if (idAdded != otherAdded) {
+				if (idAdded != task && otherAdded != task) task.setStatusListener(null);
+				log.error("Task returned from both Maps after insert differ. taskById {}, taskByFacilityAndService {}", idAdded, otherAdded);
+				throw new TaskStoreException("Tasks returned after insert into both Maps differ.");
+			}
+			if (idAdded != null) {
+				unindexTask(idAdded);
+				if (idAdded != task) idAdded.setStatusListener(null);
+			}
+			tasksById.put(task.getId(), task);
+			tasksByFacilityAndService.put(key, task);
+			indexTask(task);
 			return idAdded;
 		}
 	}
 
 	@Override
-	public Collection<Task> getAllTasks() {
-		return tasksById.values();
+	public synchronized Collection<Task> getAllTasks() {
+		return new ArrayList<>(tasksById.values());
 	}
 
 	@Override
 	public synchronized List<Task> getTasksWithStatus(Task.TaskStatus... status) {
-		Collection<Task> tasks = tasksById.values();
-		synchronized (this) {
-			List<Task> result = new ArrayList<>();
-			List<Task.TaskStatus> statuses = Arrays.asList(status);
-			for (Task t : tasks) {
-				if (statuses.contains(t.getStatus())) result.add(t);
-			}
-			return result;
+		List<Task> result = new ArrayList<>();
+		for (Task.TaskStatus s : status) {
+			Map<Integer, Task> tasks = tasksByStatus.get(s);
+			if (tasks != null) result.addAll(tasks.values());
 		}
+		return result;
 	}
 
 	@Override
@@ -97,7 +110,11 @@ public class TaskStoreImpl implements TaskStore {
 		synchronized (this) {
 			idRemoved = tasksById.remove(task.getId());
 			otherRemoved = tasksByFacilityAndService.remove(new Pair<>(task.getFacility().getId(), task.getService().getId()));
+			if (idRemoved != null) unindexTask(idRemoved);
+			if (otherRemoved != null && otherRemoved != idRemoved) unindexTask(otherRemoved);
 		}
+		if (idRemoved != null) idRemoved.setStatusListener(null);
+		if (otherRemoved != null) otherRemoved.setStatusListener(null);
 		if (idRemoved != otherRemoved) {
 			log.error("Inconsistent state occurred after removing Task {} from TaskStore", task);
 			throw new TaskStoreException("Unable to remove Task properly.");
@@ -109,15 +126,62 @@ public class TaskStoreImpl implements TaskStore {
 	public Task removeTask(int id) throws TaskStoreException {
 		Task task = getTask(id);
 		if (task != null) {
-			task = removeTask(getTask(id));
+			task = removeTask(task);
 		}
 		return task;
 	}
 
 	@Override
 	public void clear() {
-		tasksById.clear();
-		tasksByFacilityAndService.clear();
+		List<Task> tasks;
+		synchronized (this) {
+			tasks = new ArrayList<>(tasksById.values());
+			tasksById.clear();
+			tasksByFacilityAndService.clear();
+			tasksByStatus.clear();
+			indexedStatuses.clear();
+		}
+		tasks.forEach(task -> task.setStatusListener(null));
+	}
+
+	/**
+	 * Move Task in status index, when its status changes.
+	 *
+	 * @param task Task with changed status
+	 * @param oldStatus Previous status of the Task
+	 */
+	@Override
+	public synchronized void statusChanged(Task task, Task.TaskStatus oldStatus) {
+		if (tasksById.get(task.getId()) != task) {
+			// task is no longer stored here
+			return;
+		}
+		removeFromIndex(tasksByStatus, indexedStatuses.remove(task.getId()), task);
+		addToIndex(tasksByStatus, task.getStatus(), task);
+		indexedStatuses.put(task.getId(), task.getStatus());
+	}
+
+	private void indexTask(Task task) {
+		Task.TaskStatus status = task.getStatus();
+		addToIndex(tasksByStatus, status, task);
+		indexedStatuses.put(task.getId(), status);
+	}
+
+	private void unindexTask(Task task) {
+		removeFromIndex(tasksByStatus, indexedStatuses.remove(task.getId()), task);
+	}
+
+	private static <K> void addToIndex(Map<K, Map<Integer, Task>> index, K key, Task task) {
+		if (key == null) return;
+		index.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(task.getId(), task);
+	}
+
+	private static <K> void removeFromIndex(Map<K, Map<Integer, Task>> index, K key, Task task) {
+		if (key == null) return;
+		Map<Integer, Task> tasks = index.get(key);
+		if (tasks != null && tasks.remove(task.getId(), task) && tasks.isEmpty()) {
+			index.remove(key);
+		}
 	}
 
 }
@@ -12,8 +12,10 @@ import cz.metacentrum.perun.core.api.exceptions.WrongAttributeValueException;
 import cz.metacentrum.perun.core.api.exceptions.WrongReferenceAttributeValueException;
 import cz.metacentrum.perun.core.blImpl.AuthzResolverBlImpl;
 import cz.metacentrum.perun.core.impl.AuthzRoles;
+import cz.metacentrum.perun.core.impl.AuthzRolesCache;
 import cz.metacentrum.perun.core.impl.PerunSessionImpl;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -42,6 +44,9 @@ public class AuthzResolverIntegrationTest extends AbstractPerunIntegrationTest {
 	final ExtSource extSource = new ExtSource(0, "AuthzResolverExtSource", ExtSourcesManager.EXTSOURCE_LDAP);
 	private int userLoginSequence = 0;
 
+	@Autowired
+	private AuthzRolesCache authzRolesCache;
+
 	@Test
 	public void unauthorizedPerunAdmin() throws Exception {
 		System.out.println(CLASS_NAME + "unauthorizedPerunAdmin");
@@ -81,6 +86,24 @@ public class AuthzResolverIntegrationTest extends AbstractPerunIntegrationTest {
 		assertTrue(AuthzResolver.authorizedInternal(session, "test_authorized_vo_admin",  Arrays.asList(createdVo)));
 	}
 
+	@Test
+	public void authorizedVoAdminWithObjectsWithoutRelatedObjects() throws Exception {
+		System.out.println(CLASS_NAME + "authorizedVoAdminWithObjectsWithoutRelatedObjects");
+		final Vo createdVo = perun.getVosManager().createVo(sess, new Vo(0,"test123test123","test123test123"));
+		final Member createdMember = createSomeMember(createdVo);
+		final User createdUser = perun.getUsersManagerBl().getUserByMember(sess, createdMember);
+
+		AuthzResolver.setRole(sess, createdUser, createdVo, Role.VOADMIN);
+
+		PerunSession session = getHisSession(createdMember);
+		AuthzResolver.refreshAuthz(session);
+		// objects which don't exist and beans without related objects are only passed to the authorization
+		final Facility notExistingFacility = new Facility(-1, "notExistingFacility");
+		final Vo notExistingVo = new Vo(-1, "notExistingVo", "notExistingVo");
+		assertTrue(AuthzResolver.authorizedInternal(session, "test_authorized_vo_admin",  Arrays.asList(createdVo, notExistingFacility)));
+		assertFalse(AuthzResolver.authorizedInternal(session, "test_authorized_vo_admin",  Arrays.asList(notExistingVo, notExistingFacility)));
+	}
+
 	@Test
 	public void unauthorizedVoAdminCycleAdmin() throws Exception {
 		System.out.println(CLASS_NAME + "unauthorizedVoAdminCycleAdmin");
@@ -1321,6 +1344,34 @@ public class AuthzResolverIntegrationTest extends AbstractPerunIntegrationTest {
 		assertEquals(1, result.size());
 		assertTrue(result.contains(testSecurityTeam));
 	}
+
+	@Test
+	public void refreshAuthzUsesCachedRolesUntilRoleChanges() throws Exception {
+		System.out.println(CLASS_NAME + "refreshAuthzUsesCachedRolesUntilRoleChanges");
+		final Vo createdVo = perun.getVosManager().createVo(sess, new Vo(0,"test123test123","test123test123"));
+		final Member createdMember = createSomeMember(createdVo);
+		final User createdUser = perun.getUsersManagerBl().getUserByMember(sess, createdMember);
+		assertTrue(authzRolesCache.isEnabled());
+
+		PerunSession session = getHisSession(createdMember);
+		PerunSession otherSession = getHisSession(createdMember);
+		// roles are cached only when the transaction has not changed any data
+		perun.getAuditer().clean();
+
+		AuthzResolver.refreshAuthz(session);
+		assertFalse(session.getPerunPrincipal().getRoles().hasRole(Role.VOADMIN));
+
+		long hits = authzRolesCache.getHits();
+		AuthzResolver.refreshAuthz(otherSession);
+		assertEquals(hits + 1, authzRolesCache.getHits());
+		assertEquals(session.getPerunPrincipal().getRoles(), otherSession.getPerunPrincipal().getRoles());
+
+		// role change invalidates cached roles
+		AuthzResolver.setRole(sess, createdUser, createdVo, Role.VOADMIN);
+		AuthzResolver.refreshAuthz(session);
+		assertTrue(session.getPerunPrincipal().getRoles().hasRole(Role.VOADMIN, createdVo));
+	}
+
 	// private methods ==============================================================
 
 	private Facility setUpFacility() throws Exception {
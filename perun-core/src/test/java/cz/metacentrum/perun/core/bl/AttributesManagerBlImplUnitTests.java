@@ -14,6 +14,7 @@ import cz.metacentrum.perun.core.api.Service;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.Vo;
 import cz.metacentrum.perun.core.blImpl.AttributesManagerBlImpl;
+import cz.metacentrum.perun.core.impl.AttributeDependencyGraph;
 import cz.metacentrum.perun.core.impl.AttributesManagerImpl;
 import cz.metacentrum.perun.core.impl.modules.attributes.urn_perun_user_attribute_def_virt_loa;
 import cz.metacentrum.perun.core.impl.modules.attributes.urn_perun_user_attribute_def_virt_userCertDNs;
@@ -597,39 +598,30 @@ public class AttributesManagerBlImplUnitTests {
 		return new RichAttribute<>(holder1, holder2, attribute);
 	}
 
-	@SuppressWarnings("unchecked")
 	private Map<AttributeDefinition, Set<AttributeDefinition>> getDependencies() throws Exception {
-		Field field = AttributesManagerBlImpl.class.getDeclaredField("dependencies");
-		field.setAccessible(true);
-		return (Map<AttributeDefinition, Set<AttributeDefinition>>) field.get(attrManagerBlImpl);
+		return getDependencyGraph().getDependencies();
 	}
 
-	@SuppressWarnings("unchecked")
 	private Map<AttributeDefinition, Set<AttributeDefinition>> getStrongDependencies() throws Exception {
-		Field field = AttributesManagerBlImpl.class.getDeclaredField("strongDependencies");
-		field.setAccessible(true);
-		return (Map<AttributeDefinition, Set<AttributeDefinition>>) field.get(attrManagerBlImpl);
+		return getDependencyGraph().getStrongDependencies();
 	}
 
-	@SuppressWarnings("unchecked")
 	private Map<AttributeDefinition, Set<AttributeDefinition>> getInverseDependencies() throws Exception {
-		Field field = AttributesManagerBlImpl.class.getDeclaredField("inverseDependencies");
-		field.setAccessible(true);
-		return (Map<AttributeDefinition, Set<AttributeDefinition>>) field.get(attrManagerBlImpl);
+		return getDependencyGraph().getInverseDependencies();
 	}
 
-	@SuppressWarnings("unchecked")
 	private Map<AttributeDefinition, Set<AttributeDefinition>> getInverseStrongDependencies() throws Exception {
-		Field field = AttributesManagerBlImpl.class.getDeclaredField("inverseStrongDependencies");
-		field.setAccessible(true);
-		return (Map<AttributeDefinition, Set<AttributeDefinition>>) field.get(attrManagerBlImpl);
+		return getDependencyGraph().getInverseStrongDependencies();
 	}
 
-	@SuppressWarnings("unchecked")
 	private Map<AttributeDefinition, Set<AttributeDefinition>> getAllDependencies() throws Exception {
-		Field field = AttributesManagerBlImpl.class.getDeclaredField("allDependencies");
+		return getDependencyGraph().getDependants();
+	}
+
+	private AttributeDependencyGraph getDependencyGraph() throws Exception {
+		Field field = AttributesManagerBlImpl.class.getDeclaredField("dependencyGraph");
 		field.setAccessible(true);
-		return (Map<AttributeDefinition, Set<AttributeDefinition>>) field.get(attrManagerBlImpl);
+		return (AttributeDependencyGraph) field.get(attrManagerBlImpl);
 	}
 
 	/**
@@ -74,6 +74,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -611,6 +612,60 @@ public class AttributesManagerEntryIntegrationTest extends AbstractPerunIntegrat
 		assertTrue(value == 1);
 	}
 
+	@Test
+	public void setRequiredAttributesIfMembersAddedByGroupUnion() throws Exception {
+		System.out.println(CLASS_NAME + "setRequiredAttributesIfMembersAddedByGroupUnion");
+
+		vo = setUpVo();
+		Member member1 = setUpMember();
+		Member member2 = setUpMember();
+		Group resultGroup = perun.getGroupsManagerBl().createGroup(sess, vo, new Group("resultGroup", ""));
+		Group operandGroup = perun.getGroupsManagerBl().createGroup(sess, vo, new Group("operandGroup", ""));
+		perun.getGroupsManagerBl().addMember(sess, operandGroup, member1);
+		perun.getGroupsManagerBl().addMember(sess, operandGroup, member2);
+
+		facility = setUpFacility();
+		resource = setUpResource();
+		perun.getResourcesManagerBl().assignGroupToResource(sess, resultGroup, resource);
+		service = setUpService();
+		perun.getResourcesManagerBl().assignService(sess, resource, service);
+
+		String namespace = "testing";
+
+		Attribute userUidNamespace = new Attribute();
+		userUidNamespace.setNamespace(AttributesManager.NS_USER_ATTR_DEF);
+		userUidNamespace.setFriendlyName("uid-namespace:" + namespace);
+		userUidNamespace.setType(Integer.class.getName());
+		userUidNamespace.setDescription("Uid namespace.");
+		userUidNamespace = new Attribute(perun.getAttributesManagerBl().createAttribute(sess, userUidNamespace));
+		perun.getServicesManagerBl().addRequiredAttribute(sess, service, userUidNamespace);
+
+		Attribute namespaceMaxUID = new Attribute(perun.getAttributesManagerBl().getAttributeDefinition(sess, AttributesManager.NS_ENTITYLESS_ATTR_DEF + ":namespace-maxUID"));
+		namespaceMaxUID.setValue(100);
+		perun.getAttributesManagerBl().setAttribute(sess, namespace, namespaceMaxUID);
+
+		Attribute namespaceMinUID = new Attribute(perun.getAttributesManagerBl().getAttributeDefinition(sess, AttributesManager.NS_ENTITYLESS_ATTR_DEF + ":namespace-minUID"));
+		namespaceMinUID.setValue(1);
+		perun.getAttributesManagerBl().setAttribute(sess, namespace, namespaceMinUID);
+
+		Attribute facilityUIDNamespace = new Attribute(perun.getAttributesManagerBl().getAttributeDefinition(sess, AttributesManager.NS_FACILITY_ATTR_DEF + ":uid-namespace"));
+		facilityUIDNamespace.setValue(namespace);
+		perun.getAttributesManagerBl().setAttribute(sess, facility, facilityUIDNamespace);
+
+		perun.getGroupsManagerBl().createGroupUnion(sess, resultGroup, operandGroup, false);
+
+		assertThat(perun.getGroupsManagerBl().getGroupMembers(sess, resultGroup)).containsExactlyInAnyOrder(member1, member2);
+
+		// required attributes were filled for all new members
+		User user1 = perun.getUsersManagerBl().getUserByMember(sess, member1);
+		User user2 = perun.getUsersManagerBl().getUserByMember(sess, member2);
+		Object uid1 = perun.getAttributesManagerBl().getAttribute(sess, user1, userUidNamespace.getName()).getValue();
+		Object uid2 = perun.getAttributesManagerBl().getAttribute(sess, user2, userUidNamespace.getName()).getValue();
+		assertNotNull(uid1);
+		assertNotNull(uid2);
+		assertThat(uid1).isNotEqualTo(uid2);
+	}
+
 	@Test
 	public void getRichAttributesWithHoldersForAttributeDefinitionGetVosFromResourceAndMember() throws Exception {
 		System.out.println(CLASS_NAME + "getRichAttributesWithHoldersForAttributeDefinitionGetVosFromResourceAndMember");
@@ -909,6 +964,52 @@ public class AttributesManagerEntryIntegrationTest extends AbstractPerunIntegrat
 		assertTrue("richObject have in Attribute our attribute, which was set before", listOfRichAttributes.get(0).getAttribute().equals(attribute));
 	}
 
+	@Test
+	public void getRichAttributesWithHoldersForAttributeDefinitionGetMembersFromVo() throws Exception {
+		System.out.println(CLASS_NAME + "getRichAttributesWithHoldersForAttributeDefinitionGetMembersFromVo");
+		//Prepare attribute, create it and set it with testing value
+		Attribute attribute = setAttributeInNamespace(AttributesManager.NS_MEMBER_ATTR_DEF);
+		perun.getAttributesManagerBl().setAttribute(sess, member1OfUser1, attribute);
+
+		//Prepare richAttribute with holders (attribute is not needed but holders are needed)
+		RichAttribute richAttr = new RichAttribute();
+		richAttr.setPrimaryHolder(vo1);
+
+		List<RichAttribute> listOfRichAttributes = perun.getAttributesManagerBl().getRichAttributesWithHoldersForAttributeDefinition(sess, new AttributeDefinition(attribute), richAttr);
+
+		//member2OfUser2 is not allowed
+		assertThat(listOfRichAttributes)
+				.extracting(RichAttribute::getPrimaryHolder)
+				.containsExactlyInAnyOrder(member1OfUser1, member1OfUser3);
+		for (RichAttribute richAttribute : listOfRichAttributes) {
+			assertNull(richAttribute.getSecondaryHolder());
+			assertEquals(member1OfUser1.equals(richAttribute.getPrimaryHolder()) ? attribute.getValue() : null, richAttribute.getAttribute().getValue());
+		}
+	}
+
+	@Test
+	public void getRichAttributesWithHoldersForAttributeDefinitionGetUsersFromGroup() throws Exception {
+		System.out.println(CLASS_NAME + "getRichAttributesWithHoldersForAttributeDefinitionGetUsersFromGroup");
+		//Prepare attribute, create it and set it with testing value
+		Attribute attribute = setAttributeInNamespace(AttributesManager.NS_USER_ATTR_DEF);
+		perun.getAttributesManagerBl().setAttribute(sess, user3, attribute);
+
+		//Prepare richAttribute with holders (attribute is not needed but holders are needed)
+		RichAttribute richAttr = new RichAttribute();
+		richAttr.setPrimaryHolder(group1InVo1);
+
+		List<RichAttribute> listOfRichAttributes = perun.getAttributesManagerBl().getRichAttributesWithHoldersForAttributeDefinition(sess, new AttributeDefinition(attribute), richAttr);
+
+		//member2OfUser2 is not allowed
+		assertThat(listOfRichAttributes)
+				.extracting(RichAttribute::getPrimaryHolder)
+				.containsExactlyInAnyOrder(user1, user3);
+		for (RichAttribute richAttribute : listOfRichAttributes) {
+			assertNull(richAttribute.getSecondaryHolder());
+			assertEquals(user3.equals(richAttribute.getPrimaryHolder()) ? attribute.getValue() : null, richAttribute.getAttribute().getValue());
+		}
+	}
+
 	//TODO Another TESTS for getRichAttributesWithHolders
 
 	@Test
@@ -1574,6 +1675,35 @@ public class AttributesManagerEntryIntegrationTest extends AbstractPerunIntegrat
 		assertTrue("our attribute was not returned", retAttr.contains(attr));
 	}
 
+	@Test
+	public void getMembersAndUsersAttributesInBulk() throws Exception {
+		System.out.println(CLASS_NAME + "getMembersAndUsersAttributesInBulk");
+
+		vo = setUpVo();
+		member = setUpMember();
+		List<Attribute> memberAttributes = setUpMemberAttribute();
+		attributesManager.setAttribute(sess, member, memberAttributes.get(0));
+		User user = perun.getUsersManager().getUserByMember(sess, member);
+		List<Attribute> userAttributes = setUpUserAttribute();
+		attributesManager.setAttribute(sess, user, userAttributes.get(0));
+
+		Map<Member, List<Attribute>> membersAttributes = perun.getAttributesManagerBl().getMembersAttributes(sess, Collections.singletonList(member));
+		assertEquals(new HashSet<>(perun.getAttributesManagerBl().getAttributes(sess, member)), new HashSet<>(membersAttributes.get(member)));
+		assertTrue("our attribute was not returned", membersAttributes.get(member).contains(memberAttributes.get(0)));
+
+		Map<User, List<Attribute>> usersAttributes = perun.getAttributesManagerBl().getUsersAttributes(sess, Collections.singletonList(user));
+		assertEquals(new HashSet<>(perun.getAttributesManagerBl().getAttributes(sess, user)), new HashSet<>(usersAttributes.get(user)));
+		assertTrue("our attribute was not returned", usersAttributes.get(user).contains(userAttributes.get(0)));
+
+		List<String> memberAttrNames = Arrays.asList(memberAttributes.get(0).getName(), AttributesManager.NS_MEMBER_ATTR_CORE + ":id");
+		membersAttributes = perun.getAttributesManagerBl().getMembersAttributes(sess, Collections.singletonList(member), memberAttrNames);
+		assertEquals(new HashSet<>(perun.getAttributesManagerBl().getAttributes(sess, member, memberAttrNames)), new HashSet<>(membersAttributes.get(member)));
+
+		List<String> userAttrNames = Arrays.asList(userAttributes.get(0).getName(), AttributesManager.NS_USER_ATTR_CORE + ":id");
+		usersAttributes = perun.getAttributesManagerBl().getUsersAttributes(sess, Collections.singletonList(user), userAttrNames);
+		assertEquals(new HashSet<>(perun.getAttributesManagerBl().getAttributes(sess, user, userAttrNames)), new HashSet<>(usersAttributes.get(user)));
+	}
+
 	@Test
 	public void getFacilityUserAttributes() throws Exception {
 		System.out.println(CLASS_NAME + "getFacilityUserAttributes");
@@ -3698,6 +3828,27 @@ public class AttributesManagerEntryIntegrationTest extends AbstractPerunIntegrat
 
 	}
 
+	@Test
+	public void getAttributeDefinitionFromRegistry() throws Exception {
+		System.out.println(CLASS_NAME + "getAttributeDefinitionFromRegistry");
+
+		String attributeName = AttributesManager.NS_USER_ATTR_CORE + ":firstName";
+		AttributeDefinition attrDef = attributesManager.getAttributeDefinition(sess, attributeName);
+		String description = attrDef.getDescription();
+		// returned definitions are copies, changes must not affect other callers
+		attrDef.setDescription("changed description");
+		assertEquals(description, attributesManager.getAttributeDefinition(sess, attributeName).getDescription());
+		assertEquals(description, attributesManager.getAttributeDefinitionById(sess, attrDef.getId()).getDescription());
+
+		// changed definition must be visible in the same transaction
+		attributesManager.updateAttributeDefinition(sess, attrDef);
+		assertEquals("changed description", attributesManager.getAttributeDefinition(sess, attributeName).getDescription());
+		assertThat(attributesManager.getAttributesDefinition(sess))
+				.filteredOn(definition -> definition.getId() == attrDef.getId())
+				.extracting(AttributeDefinition::getDescription)
+				.containsExactly("changed description");
+	}
+
 	@Test
 	public void getAttributesDefinitionByNamespace() throws Exception {
 		System.out.println(CLASS_NAME + "getAttributesDefinitionByNamespace");
@@ -15,11 +15,15 @@ import cz.metacentrum.perun.core.api.exceptions.WrongRangeOfCountException;
 import cz.metacentrum.perun.core.impl.AuditMessagesManagerImpl;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcPerunTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.sql.DataSource;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -34,6 +38,9 @@ public class AuditMessagesManagerEntryIntegrationTest extends AbstractPerunInteg
 	private final String CLASS_NAME = "AuditMessagesManager.";
 	private final AuditMessage createdAuditMessage = new AuditMessage();
 
+	@Autowired
+	private DataSource dataSource;
+
 	public AuditMessagesManagerEntryIntegrationTest(){
 		super();
 	}
@@ -87,6 +94,117 @@ public class AuditMessagesManagerEntryIntegrationTest extends AbstractPerunInteg
 		perun.getAuditMessagesManager().getMessages(sess, -1);
 	}
 
+	@Test
+	public void testPollConsumerMessagesBatch() throws Exception {
+		System.out.println(CLASS_NAME + "testPollConsumerMessagesBatch");
+		String consumerName = "batchTestConsumer";
+		perun.getAuditMessagesManager().createAuditerConsumer(sess, consumerName);
+
+		for (int i = 0; i < 5; i++) {
+			perun.getAuditer().logWithoutTransaction(sess, new StringMessageEvent("Test cislo: "+ i));
+		}
+
+		List<AuditMessage> firstBatch = perun.getAuditMessagesManager().pollConsumerMessagesBatch(sess, consumerName, 3);
+		assertEquals("first batch has wrong count of messages", 3, firstBatch.size());
+		List<AuditMessage> secondBatch = perun.getAuditMessagesManager().pollConsumerMessagesBatch(sess, consumerName, 3);
+		assertEquals("second batch has wrong count of messages", 2, secondBatch.size());
+		assertThat(firstBatch.get(2).getId()).isLessThan(secondBatch.get(0).getId());
+		assertEquals("Test cislo: 4", secondBatch.get(1).getEvent().getMessage());
+		assertThat(perun.getAuditMessagesManager().pollConsumerMessagesBatch(sess, consumerName, 3)).isEmpty();
+	}
+
+	@Test
+	public void testPollConsumerMessagesWithLastProcessedIdAndCount() throws Exception {
+		System.out.println(CLASS_NAME + "testPollConsumerMessagesWithLastProcessedIdAndCount");
+		String consumerName = "batchTestConsumer";
+		perun.getAuditMessagesManager().createAuditerConsumer(sess, consumerName);
+		int lastProcessedId = perun.getAuditMessagesManager().getLastMessageId(sess);
+
+		for (int i = 0; i < 5; i++) {
+			perun.getAuditer().logWithoutTransaction(sess, new StringMessageEvent("Test cislo: "+ i));
+		}
+
+		List<AuditMessage> messages = perun.getAuditMessagesManager().pollConsumerMessages(sess, consumerName, lastProcessedId, 2);
+		assertEquals(2, messages.size());
+		assertEquals("Test cislo: 0", messages.get(0).getEvent().getMessage());
+		messages = perun.getAuditMessagesManager().pollConsumerMessages(sess, consumerName, messages.get(1).getId(), 10);
+		assertEquals(3, messages.size());
+		assertEquals("Test cislo: 2", messages.get(0).getEvent().getMessage());
+	}
+
+	@Test
+	public void testPollConsumerMessagesUsesCachedEvents() throws Exception {
+		System.out.println(CLASS_NAME + "testPollConsumerMessagesUsesCachedEvents");
+		String consumerName = "batchTestConsumer";
+		perun.getAuditMessagesManager().createAuditerConsumer(sess, consumerName);
+		int lastProcessedId = perun.getAuditMessagesManager().getLastMessageId(sess);
+
+		perun.getAuditer().logWithoutTransaction(sess, new StringMessageEvent("Test cislo: 0"));
+		lastProcessedId = perun.getAuditMessagesManager().getLastMessageId(sess);
+		// copy of the message written by other instance of Perun, so it is read from the DB
+		JdbcPerunTemplate jdbc = new JdbcPerunTemplate(dataSource);
+		jdbc.update("insert into auditer_log (id, msg, actor, created_by_uid) select nextval('auditer_log_id_seq'), msg, 'otherInstance', created_by_uid from auditer_log where id=?",
+				lastProcessedId);
+
+		List<AuditMessage> messages = perun.getAuditMessagesManager().pollConsumerMessages(sess, consumerName, lastProcessedId, 10);
+		assertEquals(1, messages.size());
+		long hits = perun.getAuditMessagesManager().getCacheStatistics(sess).get("eventsCacheHits");
+
+		List<AuditMessage> otherMessages = perun.getAuditMessagesManager().pollConsumerMessages(sess, consumerName, lastProcessedId, 10);
+		assertEquals(1, otherMessages.size());
+		// each consumer gets its own event parsed only once
+		assertThat(otherMessages.get(0).getEvent()).isNotSameAs(messages.get(0).getEvent());
+		assertEquals("Test cislo: 0", otherMessages.get(0).getEvent().getMessage());
+		assertEquals(hits + 1, (long) perun.getAuditMessagesManager().getCacheStatistics(sess).get("eventsCacheHits"));
+	}
+
+	@Test
+	public void testPollConsumerMessagesServedFromRecentMessages() throws Exception {
+		System.out.println(CLASS_NAME + "testPollConsumerMessagesServedFromRecentMessages");
+		String consumerName = "batchTestConsumer";
+		perun.getAuditMessagesManager().createAuditerConsumer(sess, consumerName);
+		int lastProcessedId = perun.getAuditMessagesManager().getLastMessageId(sess);
+
+		perun.getAuditer().logWithoutTransaction(sess, new StringMessageEvent("Test cislo: 0"));
+		// copy of the message written by other instance of Perun, so it is not in the ring of recent messages
+		JdbcPerunTemplate jdbc = new JdbcPerunTemplate(dataSource);
+		jdbc.update("insert into auditer_log (id, msg, actor, created_by_uid) select nextval('auditer_log_id_seq'), msg, 'otherInstance', created_by_uid from auditer_log where id=?",
+				perun.getAuditMessagesManager().getLastMessageId(sess));
+
+		Map<String, Long> statistics = perun.getAuditMessagesManager().getCacheStatistics(sess);
+		List<AuditMessage> messages = perun.getAuditMessagesManager().pollConsumerMessages(sess, consumerName, lastProcessedId, 10);
+		Map<String, Long> newStatistics = perun.getAuditMessagesManager().getCacheStatistics(sess);
+
+		assertEquals(2, messages.size());
+		assertEquals("Test cislo: 0", messages.get(0).getEvent().getMessage());
+		assertEquals("Test cislo: 0", messages.get(1).getEvent().getMessage());
+		assertEquals("otherInstance", messages.get(1).getActor());
+		assertThat(messages.get(0).getCreatedAt()).isNotBlank();
+		assertEquals(statistics.get("recentMessagesHits") + 1, (long) newStatistics.get("recentMessagesHits"));
+		assertEquals(statistics.get("recentMessagesMisses") + 1, (long) newStatistics.get("recentMessagesMisses"));
+	}
+
+	@Test
+	public void testWaitForConsumerMessages() throws Exception {
+		System.out.println(CLASS_NAME + "testWaitForConsumerMessages");
+		String consumerName = "batchTestConsumer";
+		perun.getAuditMessagesManager().createAuditerConsumer(sess, consumerName);
+		int lastProcessedId = perun.getAuditMessagesManager().getLastMessageId(sess);
+
+		assertThat(perun.getAuditMessagesManager().waitForConsumerMessages(sess, consumerName, lastProcessedId, 10, 10)).isEmpty();
+
+		perun.getAuditer().logWithoutTransaction(sess, new StringMessageEvent("Test cislo: 0"));
+		List<AuditMessage> messages = perun.getAuditMessagesManager().waitForConsumerMessages(sess, consumerName, lastProcessedId, 10, 10);
+		assertEquals(1, messages.size());
+		assertEquals("Test cislo: 0", messages.get(0).getEvent().getMessage());
+	}
+
+	@Test (expected=WrongRangeOfCountException.class)
+	public void testPollConsumerMessagesBatchWithWrongCount() throws Exception {
+		System.out.println(CLASS_NAME + "testPollConsumerMessagesBatchWithWrongCount");
+		perun.getAuditMessagesManager().pollConsumerMessagesBatch(sess, "batchTestConsumer", 0);
+	}
+
 	@Test
 	public void testLocalDate() throws Exception {
 		System.out.println(CLASS_NAME + "testLocalDate");
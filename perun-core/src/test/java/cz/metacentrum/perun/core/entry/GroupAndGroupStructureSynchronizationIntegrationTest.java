@@ -1,9 +1,15 @@
 package cz.metacentrum.perun.core.entry;
 
+import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.audit.events.GroupManagerEvents.DirectMemberAddedToGroup;
+import cz.metacentrum.perun.audit.events.GroupManagerEvents.IndirectMemberAddedToGroup;
+import cz.metacentrum.perun.audit.events.GroupManagerEvents.IndirectMemberRemovedFromGroup;
+import cz.metacentrum.perun.audit.events.GroupManagerEvents.MemberRemovedFromGroupTotally;
 import cz.metacentrum.perun.core.AbstractPerunIntegrationTest;
 import cz.metacentrum.perun.core.api.Attribute;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
 import cz.metacentrum.perun.core.api.AttributesManager;
+import cz.metacentrum.perun.core.api.BeansUtils;
 import cz.metacentrum.perun.core.api.Candidate;
 import cz.metacentrum.perun.core.api.CandidateSync;
 import cz.metacentrum.perun.core.api.ExtSource;
@@ -12,6 +18,7 @@ import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.GroupsManager;
 import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.MembershipType;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.Status;
@@ -26,6 +33,7 @@ import cz.metacentrum.perun.core.bl.PerunBl;
 import cz.metacentrum.perun.core.blImpl.GroupsManagerBlImpl;
 import cz.metacentrum.perun.core.blImpl.PerunBlImpl;
 import cz.metacentrum.perun.core.impl.ExtSourceLdap;
+import cz.metacentrum.perun.core.implApi.AuditEventListener;
 import cz.metacentrum.perun.core.implApi.ExtSourceSimpleApi;
 import org.junit.After;
 import org.junit.Before;
@@ -42,11 +50,13 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -126,6 +136,8 @@ public class GroupAndGroupStructureSynchronizationIntegrationTest extends Abstra
 		//noinspection ResultOfMethodCallIgnored
 		doReturn(EXT_SOURCE_NAME).when((ExtSourceLdap)essa).getName();
 		doNothing().when(extSourceManagerBl).addExtSource(any(PerunSession.class), any(Group.class), any(ExtSource.class));
+		//stream subjects returned by mocked getGroupSubjects
+		when(essa.streamGroupSubjects(anyMap())).thenAnswer(invocation -> essa.getGroupSubjects(invocation.getArgument(0)).stream());
 	}
 
 
@@ -1033,8 +1045,111 @@ public class GroupAndGroupStructureSynchronizationIntegrationTest extends Abstra
 		assertEquals(Status.VALID, groupsManagerBl.getGroupMembers(sess, group).get(0).getStatus());
 	}
 
+	@Test
+	public void synchronizeGroupInChunks() throws Exception {
+		System.out.println(CLASS_NAME + "synchronizeGroupInChunks");
+
+		Member existingMember = setUpSynchronizedGroup();
+
+		int originalChunkSize = BeansUtils.getCoreConfig().getGroupSynchronizationChunkSize();
+		BeansUtils.getCoreConfig().setGroupSynchronizationChunkSize(1);
+		try {
+			groupsManagerBl.synchronizeGroup(sess, group);
+		} finally {
+			BeansUtils.getCoreConfig().setGroupSynchronizationChunkSize(originalChunkSize);
+		}
+
+		List<Member> groupMembers = groupsManagerBl.getGroupMembers(sess, group);
+		assertEquals(2, groupMembers.size());
+		assertThat(groupMembers).contains(existingMember).doesNotContain(member);
+		assertEquals(Status.VALID, groupMembers.get(groupMembers.indexOf(existingMember)).getStatus());
+	}
+
+	@Test
+	public void synchronizeGroupInBulk() throws Exception {
+		System.out.println(CLASS_NAME + "synchronizeGroupInBulk");
+
+		Group resultGroup = groupsManagerBl.createGroup(sess, vo, new Group("resultGroup", "union with synchronized group"));
+		groupsManagerBl.createGroupUnion(sess, resultGroup, group, false);
+		Member existingMember = setUpSynchronizedGroup();
+
+		List<AuditEvent> events = new CopyOnWriteArrayList<>();
+		AuditEventListener listener = events::add;
+		boolean originalBulk = BeansUtils.getCoreConfig().isGroupSynchronizationBulk();
+		BeansUtils.getCoreConfig().setGroupSynchronizationBulk(true);
+		perun.getAuditer().registerEventListener(listener);
+		try {
+			groupsManagerBl.synchronizeGroup(sess, group);
+		} finally {
+			perun.getAuditer().unregisterEventListener(listener);
+			BeansUtils.getCoreConfig().setGroupSynchronizationBulk(originalBulk);
+		}
+
+		List<Member> groupMembers = groupsManagerBl.getGroupMembers(sess, group);
+		assertEquals(2, groupMembers.size());
+		assertThat(groupMembers).contains(existingMember).doesNotContain(member);
+		assertEquals(Status.VALID, groupMembers.get(groupMembers.indexOf(existingMember)).getStatus());
+		Member newMember = groupMembers.get(1 - groupMembers.indexOf(existingMember));
+		assertEquals(MembershipType.DIRECT, newMember.getMembershipType());
+
+		List<Member> resultGroupMembers = groupsManagerBl.getGroupMembers(sess, resultGroup);
+		assertThat(resultGroupMembers).containsExactlyInAnyOrder(existingMember, newMember);
+
+		// bulk operations must log the same events as adding and removing members one by one
+		assertMemberEventLogged(events, DirectMemberAddedToGroup.class, newMember, group);
+		assertMemberEventLogged(events, IndirectMemberAddedToGroup.class, newMember, resultGroup);
+		assertMemberEventLogged(events, MemberRemovedFromGroupTotally.class, member, group);
+		assertMemberEventLogged(events, IndirectMemberRemovedFromGroup.class, member, resultGroup);
+		assertThat(events).filteredOn(MemberRemovedFromGroupTotally.class::isInstance)
+			.extracting("member.id")
+			.containsOnly(member.getId());
+	}
+
 	// PRIVATE METHODS
 
+	/**
+	 * Sets the group to be synchronized from the extSource with two subjects. Subject of the returned member
+	 * is already a disabled member of the group, the other one is a new candidate. Member from the setup
+	 * is in the group, but not in the extSource.
+	 *
+	 * @return member which is both in the group and in the extSource
+	 */
+	private Member setUpSynchronizedGroup() throws Exception {
+		when(extSourceManagerBl.getExtSourceByName(sess, ExtSourcesManager.EXTSOURCE_NAME_PERUN)).thenReturn(extSourceForUserCreation);
+
+		Attribute attr = attributesManagerBl.getAttribute(sess, group, GroupsManager.GROUPEXTSOURCE_ATTRNAME);
+		attr.setValue(extSource.getName());
+		attributesManagerBl.setAttribute(sess, group, attr);
+
+		List<Map<String, String>> subjects = new ArrayList<>();
+		Map<String, String> existingAttributes = new HashMap<>();
+		existingAttributes.put("login", "metodej");
+		subjects.add(existingAttributes);
+		Map<String, String> newAttributes = new HashMap<>();
+		newAttributes.put("login", "xdent");
+		subjects.add(newAttributes);
+
+		Candidate existingCandidate = setUpCandidate();
+		Member existingMember = perun.getMembersManagerBl().createMemberSync(sess, vo, existingCandidate);
+		perun.getMembersManagerBl().setStatus(sess, existingMember, Status.DISABLED);
+		groupsManagerBl.addMember(sess, group, existingMember);
+		// member is not in the extSource
+		groupsManagerBl.addMember(sess, group, member);
+		Candidate newCandidate = setUpCandidate();
+
+		when(extSourceManagerBl.getCandidate(sess, existingAttributes, (ExtSourceLdap)essa, "metodej")).thenReturn(new CandidateSync(existingCandidate));
+		when(extSourceManagerBl.getCandidate(sess, newAttributes, (ExtSourceLdap)essa, "xdent")).thenReturn(new CandidateSync(newCandidate));
+		when(essa.getGroupSubjects(anyMap())).thenReturn(subjects);
+
+		return existingMember;
+	}
+
+	private static void assertMemberEventLogged(List<AuditEvent> events, Class<? extends AuditEvent> type, Member member, Group group) {
+		assertThat(events).filteredOn(type::isInstance)
+			.extracting("member.id", "group.id")
+			.contains(tuple(member.getId(), group.getId()));
+	}
+
 	private void setSynchronizationResourcesAttribute(int resourceId, String... logins) throws Exception {
 		Attribute attribute = perun.getAttributesManagerBl().getAttribute(sess, baseGroup, A_G_D_SYNC_RESOURCES);
 		if (attribute.getValue() == null) {
@@ -0,0 +1,192 @@
+package cz.metacentrum.perun.core.entry;
+
+import cz.metacentrum.perun.core.AbstractPerunIntegrationTest;
+import cz.metacentrum.perun.core.api.Attribute;
+import cz.metacentrum.perun.core.api.BeansUtils;
+import cz.metacentrum.perun.core.api.Candidate;
+import cz.metacentrum.perun.core.api.CandidateSync;
+import cz.metacentrum.perun.core.api.ExtSource;
+import cz.metacentrum.perun.core.api.ExtSourcesManager;
+import cz.metacentrum.perun.core.api.Group;
+import cz.metacentrum.perun.core.api.GroupsManager;
+import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.PerunSession;
+import cz.metacentrum.perun.core.api.Status;
+import cz.metacentrum.perun.core.api.User;
+import cz.metacentrum.perun.core.api.UserExtSource;
+import cz.metacentrum.perun.core.api.Vo;
+import cz.metacentrum.perun.core.bl.ExtSourcesManagerBl;
+import cz.metacentrum.perun.core.bl.GroupsManagerBl;
+import cz.metacentrum.perun.core.blImpl.PerunBlImpl;
+import cz.metacentrum.perun.core.impl.ExtSourceLdap;
+import cz.metacentrum.perun.core.impl.PerunLocksUtils;
+import cz.metacentrum.perun.core.implApi.ExtSourceSimpleApi;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests of group synchronization running outside of a transaction, like in the synchronization threads.
+ *
+ * Test data are committed, so they are removed after every test.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class GroupSynchronizationWithoutTransactionIntegrationTest extends AbstractPerunIntegrationTest {
+
+	private final static String CLASS_NAME = "GroupSynchronizationWithoutTransactionIntegrationTest.";
+	private static final String EXT_SOURCE_NAME = "BulkGroupSyncExtSource";
+
+	//This annotation is used so spied extSourceManagerBl is used in the perun object.
+	@InjectMocks
+	private PerunBlImpl perun;
+
+	private GroupsManagerBl groupsManagerBl;
+	private ExtSourcesManagerBl extSourceManagerBlBackup;
+
+	@Spy
+	private ExtSourcesManagerBl extSourceManagerBl;
+	//Mocked extSource, so we can simulate obtaining real extSource data
+	private final ExtSourceSimpleApi essa = mock(ExtSourceLdap.class);
+
+	private Vo vo;
+	private ExtSource extSource;
+	private Group group;
+	private Group resultGroup;
+	private Member existingMember;
+	private Member formerMember;
+
+	@Before
+	public void setUp() throws Exception {
+		this.perun = (PerunBlImpl) super.perun;
+		extSourceManagerBlBackup = perun.getExtSourcesManagerBl();
+		groupsManagerBl = perun.getGroupsManagerBl();
+		extSourceManagerBl = perun.getExtSourcesManagerBl();
+
+		vo = perun.getVosManagerBl().createVo(sess, new Vo(0, "bulkGroupSyncVo", "bulkGroupSyncVo"));
+		extSource = extSourceManagerBl.createExtSource(sess, new ExtSource(0, EXT_SOURCE_NAME, ExtSourcesManager.EXTSOURCE_LDAP), null);
+		extSourceManagerBl.addExtSource(sess, vo, extSource);
+
+		group = groupsManagerBl.createGroup(sess, vo, new Group("bulkGroupSyncGroup", "synchronized group"));
+		resultGroup = groupsManagerBl.createGroup(sess, vo, new Group("bulkGroupSyncResultGroup", "union with synchronized group"));
+		groupsManagerBl.createGroupUnion(sess, resultGroup, group, false);
+		Attribute attr = perun.getAttributesManagerBl().getAttribute(sess, group, GroupsManager.GROUPEXTSOURCE_ATTRNAME);
+		attr.setValue(extSource.getName());
+		perun.getAttributesManagerBl().setAttribute(sess, group, attr);
+
+		// member is in the extSource, but disabled
+		Candidate existingCandidate = setUpCandidate("existingLogin");
+		existingMember = createMember(existingCandidate);
+		perun.getMembersManagerBl().setStatus(sess, existingMember, Status.DISABLED);
+		groupsManagerBl.addMember(sess, group, existingMember);
+		// member is not in the extSource
+		formerMember = createMember(setUpCandidate("formerLogin"));
+		groupsManagerBl.addMember(sess, group, formerMember);
+		Candidate newCandidate = setUpCandidate("newLogin");
+
+		ExtSource perunExtSource = extSourceManagerBl.getExtSourceByName(sess, ExtSourcesManager.EXTSOURCE_NAME_PERUN);
+
+		MockitoAnnotations.initMocks(this);
+
+		doReturn(essa).when(extSourceManagerBl).getExtSourceByName(any(PerunSession.class), any(String.class));
+		doReturn(perunExtSource).when(extSourceManagerBl).getExtSourceByName(sess, ExtSourcesManager.EXTSOURCE_NAME_PERUN);
+		//noinspection ResultOfMethodCallIgnored
+		doReturn(EXT_SOURCE_NAME).when((ExtSourceLdap) essa).getName();
+		doNothing().when(extSourceManagerBl).addExtSource(any(PerunSession.class), any(Group.class), any(ExtSource.class));
+		//stream subjects returned by mocked getGroupSubjects
+		when(essa.streamGroupSubjects(anyMap())).thenAnswer(invocation -> essa.getGroupSubjects(invocation.getArgument(0)).stream());
+
+		List<Map<String, String>> subjects = new ArrayList<>();
+		Map<String, String> existingAttributes = new HashMap<>();
+		existingAttributes.put("login", "existingLogin");
+		subjects.add(existingAttributes);
+		Map<String, String> newAttributes = new HashMap<>();
+		newAttributes.put("login", "newLogin");
+		subjects.add(newAttributes);
+
+		when(extSourceManagerBl.getCandidate(sess, existingAttributes, (ExtSourceLdap) essa, "existingLogin")).thenReturn(new CandidateSync(existingCandidate));
+		when(extSourceManagerBl.getCandidate(sess, newAttributes, (ExtSourceLdap) essa, "newLogin")).thenReturn(new CandidateSync(newCandidate));
+		when(essa.getGroupSubjects(anyMap())).thenReturn(subjects);
+	}
+
+	@After
+	public void cleanUp() throws Exception {
+		perun.setExtSourcesManagerBl(extSourceManagerBlBackup);
+		Mockito.reset(extSourceManagerBl);
+
+		for (Member member : perun.getMembersManagerBl().getMembers(sess, vo)) {
+			usersForDeletion.add(perun.getUsersManagerBl().getUserByMember(sess, member));
+		}
+		perun.getVosManagerBl().deleteVo(sess, vo, true);
+		for (User user : usersForDeletion) {
+			perun.getUsersManagerBl().deleteUser(sess, user, true);
+		}
+		perun.getExtSourcesManagerBl().deleteExtSource(sess, extSource);
+	}
+
+	@Test
+	public void synchronizeGroupInBulk() throws Exception {
+		System.out.println(CLASS_NAME + "synchronizeGroupInBulk");
+
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+
+		boolean originalBulk = BeansUtils.getCoreConfig().isGroupSynchronizationBulk();
+		int originalChunkSize = BeansUtils.getCoreConfig().getGroupSynchronizationChunkSize();
+		BeansUtils.getCoreConfig().setGroupSynchronizationBulk(true);
+		BeansUtils.getCoreConfig().setGroupSynchronizationChunkSize(1);
+		try {
+			groupsManagerBl.synchronizeGroup(sess, group);
+		} finally {
+			BeansUtils.getCoreConfig().setGroupSynchronizationBulk(originalBulk);
+			BeansUtils.getCoreConfig().setGroupSynchronizationChunkSize(originalChunkSize);
+		}
+
+		// locks of the group membership are released by the transactions of the bulk steps
+		assertThat(TransactionSynchronizationManager.getResource(PerunLocksUtils.uniqueKey.get())).isNull();
+
+		List<Member> groupMembers = groupsManagerBl.getGroupMembers(sess, group);
+		assertThat(groupMembers).hasSize(2).contains(existingMember).doesNotContain(formerMember);
+		assertThat(groupMembers.get(groupMembers.indexOf(existingMember)).getStatus()).isEqualTo(Status.VALID);
+		Member newMember = groupMembers.get(1 - groupMembers.indexOf(existingMember));
+		assertThat(groupsManagerBl.getGroupMembers(sess, resultGroup)).containsExactlyInAnyOrder(existingMember, newMember);
+		assertThat(perun.getAttributesManagerBl().getAttributes(sess, formerMember, group)).isEmpty();
+	}
+
+	private Member createMember(Candidate candidate) throws Exception {
+		Member member = perun.getMembersManagerBl().createMemberSync(sess, vo, candidate);
+		usersForDeletion.add(perun.getUsersManagerBl().getUserByMember(sess, member));
+		return member;
+	}
+
+	private Candidate setUpCandidate(String login) {
+		Candidate candidate = new Candidate();
+		candidate.setFirstName(login);
+		candidate.setId(0);
+		candidate.setMiddleName("");
+		candidate.setLastName(login);
+		candidate.setTitleBefore("");
+		candidate.setTitleAfter("");
+		candidate.setUserExtSource(new UserExtSource(extSource, login));
+		candidate.setAttributes(new HashMap<>());
+		return candidate;
+	}
+}
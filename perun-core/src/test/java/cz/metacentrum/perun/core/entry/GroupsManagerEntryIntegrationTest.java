@@ -1774,6 +1774,49 @@ public class GroupsManagerEntryIntegrationTest extends AbstractPerunIntegrationT
 		assertEquals("Member's group status is not EXPIRED", MemberGroupStatus.EXPIRED, groupsManagerBl.getTotalMemberGroupStatus(sess, member3, group5));
 	}
 
+	@Test
+	public void createGroupUnionsPropagatesMembersAndStatusesThroughAllPaths() throws Exception {
+		System.out.println(CLASS_NAME + "createGroupUnionsPropagatesMembersAndStatusesThroughAllPaths");
+
+		Vo vo = setUpVo();
+		Member member1 = setUpMemberWithDifferentParam(vo, 111);
+		Member member2 = setUpMemberWithDifferentParam(vo, 222);
+
+		groupsManagerBl.createGroup(sess, vo, group);
+		groupsManagerBl.createGroup(sess, vo, group2);
+		groupsManagerBl.createGroup(sess, vo, group3);
+		groupsManagerBl.createGroup(sess, vo, group4);
+
+		groupsManagerBl.addMember(sess, group, member1);
+		groupsManagerBl.addMember(sess, group, member2);
+		groupsManagerBl.expireMemberInGroup(sess, member2, group);
+
+		// group4 receives members of group by two paths
+		groupsManagerBl.createGroupUnion(sess, group4, group2, false);
+		groupsManagerBl.createGroupUnion(sess, group4, group3, false);
+		groupsManagerBl.createGroupUnion(sess, group2, group, false);
+		groupsManagerBl.createGroupUnion(sess, group3, group, false);
+
+		assertThat(groupsManagerBl.getGroupMembers(sess, group4)).containsExactlyInAnyOrder(member1, member2);
+		assertEquals(MemberGroupStatus.VALID, groupsManagerBl.getTotalMemberGroupStatus(sess, member1, group4));
+		assertEquals(MemberGroupStatus.EXPIRED, groupsManagerBl.getTotalMemberGroupStatus(sess, member2, group4));
+
+		groupsManagerBl.validateMemberInGroup(sess, member2, group);
+		groupsManagerBl.expireMemberInGroup(sess, member1, group);
+
+		assertEquals(MemberGroupStatus.EXPIRED, groupsManagerBl.getTotalMemberGroupStatus(sess, member1, group2));
+		assertEquals(MemberGroupStatus.EXPIRED, groupsManagerBl.getTotalMemberGroupStatus(sess, member1, group4));
+		assertEquals(MemberGroupStatus.VALID, groupsManagerBl.getTotalMemberGroupStatus(sess, member2, group3));
+		assertEquals(MemberGroupStatus.VALID, groupsManagerBl.getTotalMemberGroupStatus(sess, member2, group4));
+
+		groupsManagerBl.removeGroupUnion(sess, group2, group, false);
+
+		assertThat(groupsManagerBl.getGroupMembers(sess, group2)).isEmpty();
+		assertThat(groupsManagerBl.getGroupMembers(sess, group4)).containsExactlyInAnyOrder(member1, member2);
+		assertEquals(MemberGroupStatus.EXPIRED, groupsManagerBl.getTotalMemberGroupStatus(sess, member1, group4));
+		assertEquals(MemberGroupStatus.VALID, groupsManagerBl.getTotalMemberGroupStatus(sess, member2, group4));
+	}
+
 	@Test
 	public void removeGroupUnionCorrectMemberGroupStatusesAreSet() throws Exception {
 		System.out.println(CLASS_NAME + "removeGroupUnionCorrectMemberGroupStatusesAreSet");
@@ -3931,6 +3974,40 @@ public class GroupsManagerEntryIntegrationTest extends AbstractPerunIntegrationT
 			assertTrue("List of members should contain member", membersFromDb.contains(member));
 		}
 	}
+
+	@Test
+	public void addMembersToGroupWithResultGroups() throws Exception {
+		System.out.println(CLASS_NAME + "addMembersToGroupWithResultGroups");
+
+		vo = setUpVo();
+		Member member1 = setUpMemberWithDifferentParam(vo, 111);
+		Member member2 = setUpMemberWithDifferentParam(vo, 222);
+		Member member3 = setUpMemberWithDifferentParam(vo, 333);
+
+		groupsManagerBl.createGroup(sess, vo, group);
+		groupsManagerBl.createGroup(sess, vo, group2);
+		groupsManagerBl.createGroup(sess, vo, group3);
+		groupsManagerBl.createGroupUnion(sess, group2, group, false);
+		groupsManagerBl.createGroupUnion(sess, group3, group2, false);
+		// member1 is already direct member of the result group
+		groupsManagerBl.addMember(sess, group2, member1);
+
+		groupsManager.addMembers(sess, group, new ArrayList<>(List.of(member1, member2, member3)));
+
+		assertThat(groupsManagerBl.getGroupDirectMembers(sess, group)).containsExactlyInAnyOrder(member1, member2, member3);
+		assertThat(groupsManagerBl.getGroupDirectMembers(sess, group2)).containsExactly(member1);
+		assertThat(groupsManagerBl.getGroupMembers(sess, group2)).containsExactlyInAnyOrder(member1, member2, member3);
+		assertThat(groupsManagerBl.getGroupMembers(sess, group3)).containsExactlyInAnyOrder(member1, member2, member3);
+		for (Member member : List.of(member1, member2, member3)) {
+			assertEquals(MemberGroupStatus.VALID, groupsManagerBl.getTotalMemberGroupStatus(sess, member, group3));
+		}
+
+		// no member is added when some of them is already direct member
+		Member member4 = setUpMemberWithDifferentParam(vo, 444);
+		assertThatExceptionOfType(AlreadyMemberException.class)
+				.isThrownBy(() -> groupsManager.addMembers(sess, group, new ArrayList<>(List.of(member4, member2))));
+		assertFalse(groupsManagerBl.isGroupMember(sess, group, member4));
+	}
 	@Test(expected = ExternallyManagedException.class)
 	public void removeMemberInSynchronizedGroup() throws Exception {
 		System.out.println(CLASS_NAME + "removeMemberInSynchronizedGroup");
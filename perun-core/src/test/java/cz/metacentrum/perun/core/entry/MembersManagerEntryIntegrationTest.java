@@ -15,12 +15,16 @@ import cz.metacentrum.perun.core.api.GroupsManager;
 import cz.metacentrum.perun.core.api.Member;
 import cz.metacentrum.perun.core.api.MemberWithSponsors;
 import cz.metacentrum.perun.core.api.MembersManager;
+import cz.metacentrum.perun.core.api.MembersOrderColumn;
+import cz.metacentrum.perun.core.api.MembersPageQuery;
 import cz.metacentrum.perun.core.api.NamespaceRules;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.PerunBean;
 import cz.metacentrum.perun.core.api.PerunSession;
 import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.RichMember;
 import cz.metacentrum.perun.core.api.Role;
+import cz.metacentrum.perun.core.api.SortingOrder;
 import cz.metacentrum.perun.core.api.SpecificUserType;
 import cz.metacentrum.perun.core.api.Sponsor;
 import cz.metacentrum.perun.core.api.Sponsorship;
@@ -35,6 +39,7 @@ import cz.metacentrum.perun.core.api.exceptions.AlreadyMemberException;
 import cz.metacentrum.perun.core.api.exceptions.AlreadySponsorException;
 import cz.metacentrum.perun.core.api.exceptions.AlreadySponsoredMemberException;
 import cz.metacentrum.perun.core.api.exceptions.ExtendMembershipException;
+import cz.metacentrum.perun.core.api.exceptions.IllegalArgumentException;
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
 import cz.metacentrum.perun.core.api.exceptions.MemberNotExistsException;
 import cz.metacentrum.perun.core.api.exceptions.NamespaceRulesNotExistsException;
@@ -290,6 +295,75 @@ public class MembersManagerEntryIntegrationTest extends AbstractPerunIntegration
 		usersForDeletion.add(perun.getUsersManager().getUserByMember(sess, member));
 	}
 
+	@Test
+	public void getMembersPage() throws Exception {
+		System.out.println(CLASS_NAME + "getMembersPage");
+
+		Member member2 = setUpMember(createdVo);
+		Member member3 = setUpMember2(createdVo);
+		perun.getMembersManagerBl().setStatus(sess, member3, Status.DISABLED);
+		perun.getGroupsManagerBl().addMember(sess, createdGroup, member2);
+
+		MembersPageQuery query = new MembersPageQuery(2, 0, SortingOrder.ASCENDING, MembersOrderColumn.ID);
+		Paginated<RichMember> page = membersManagerEntry.getMembersPage(sess, createdVo, query, null);
+		assertEquals(3, page.getTotalCount());
+		assertThat(page.getData()).extracting(RichMember::getId).containsExactly(createdMember.getId(), member2.getId());
+
+		query.setOffset(2);
+		page = membersManagerEntry.getMembersPage(sess, createdVo, query, null);
+		assertEquals(3, page.getTotalCount());
+		assertThat(page.getData()).extracting(RichMember::getId).containsExactly(member3.getId());
+
+		query.setOffset(5);
+		page = membersManagerEntry.getMembersPage(sess, createdVo, query, null);
+		assertEquals(3, page.getTotalCount());
+		assertTrue(page.getData().isEmpty());
+
+		query = new MembersPageQuery(10, 0, SortingOrder.DESCENDING, MembersOrderColumn.ID);
+		query.setStatuses(Collections.singletonList("VALID"));
+		page = membersManagerEntry.getMembersPage(sess, createdVo, query, null);
+		assertEquals(2, page.getTotalCount());
+		assertThat(page.getData()).extracting(RichMember::getId).containsExactly(member2.getId(), createdMember.getId());
+
+		query = new MembersPageQuery(10, 0, SortingOrder.ASCENDING, MembersOrderColumn.NAME);
+		query.setGroupId(createdGroup.getId());
+		page = membersManagerEntry.getMembersPage(sess, createdVo, query, Collections.singletonList(AttributesManager.NS_MEMBER_ATTR_DEF + ":mail"));
+		assertEquals(1, page.getTotalCount());
+		assertEquals(member2.getId(), page.getData().get(0).getId());
+		assertThat(page.getData().get(0).getMemberAttributes()).extracting(Attribute::getValue).containsExactly("test@test.test");
+
+		query = new MembersPageQuery(10, 0, SortingOrder.ASCENDING, MembersOrderColumn.STATUS);
+		query.setSearchString(candidate.getLastName());
+		page = membersManagerEntry.getMembersPage(sess, createdVo, query, null);
+		assertEquals(1, page.getTotalCount());
+		assertEquals(createdMember.getId(), page.getData().get(0).getId());
+	}
+
+	@Test
+	public void getMembersPageWithWrongQuery() throws Exception {
+		System.out.println(CLASS_NAME + "getMembersPageWithWrongQuery");
+
+		Vo otherVo = perun.getVosManagerBl().createVo(sess, new Vo(0, "otherVo", "otherVo"));
+		Group otherGroup = perun.getGroupsManagerBl().createGroup(sess, otherVo, new Group("otherGroup", "otherGroup"));
+
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> membersManagerEntry.getMembersPage(sess, createdVo,
+				new MembersPageQuery(0, 0, SortingOrder.ASCENDING, MembersOrderColumn.ID), null));
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> membersManagerEntry.getMembersPage(sess, createdVo,
+				new MembersPageQuery(10, -1, SortingOrder.ASCENDING, MembersOrderColumn.ID), null));
+
+		MembersPageQuery query = new MembersPageQuery(10, 0, SortingOrder.ASCENDING, MembersOrderColumn.ID);
+		query.setStatuses(Collections.singletonList("UNKNOWN"));
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> membersManagerEntry.getMembersPage(sess, createdVo, query, null));
+
+		MembersPageQuery groupQuery = new MembersPageQuery(10, 0, SortingOrder.ASCENDING, MembersOrderColumn.ID);
+		groupQuery.setGroupId(otherGroup.getId());
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> membersManagerEntry.getMembersPage(sess, createdVo, groupQuery, null));
+	}
+
 	@Test
 	public void getCompleteRichMembers() throws Exception {
 		System.out.println(CLASS_NAME + "getCompleteRichMembers");
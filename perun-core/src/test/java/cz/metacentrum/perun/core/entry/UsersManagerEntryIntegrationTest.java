@@ -16,16 +16,20 @@ import cz.metacentrum.perun.core.api.Member;
 import cz.metacentrum.perun.core.api.MemberGroupStatus;
 import cz.metacentrum.perun.core.api.Owner;
 import cz.metacentrum.perun.core.api.OwnerType;
+import cz.metacentrum.perun.core.api.Paginated;
 import cz.metacentrum.perun.core.api.Resource;
 import cz.metacentrum.perun.core.api.RichUser;
 import cz.metacentrum.perun.core.api.RichUserExtSource;
 import cz.metacentrum.perun.core.api.Role;
+import cz.metacentrum.perun.core.api.SortingOrder;
 import cz.metacentrum.perun.core.api.SpecificUserType;
 import cz.metacentrum.perun.core.api.Sponsor;
 import cz.metacentrum.perun.core.api.Status;
 import cz.metacentrum.perun.core.api.User;
 import cz.metacentrum.perun.core.api.UserExtSource;
 import cz.metacentrum.perun.core.api.UsersManager;
+import cz.metacentrum.perun.core.api.UsersOrderColumn;
+import cz.metacentrum.perun.core.api.UsersPageQuery;
 import cz.metacentrum.perun.core.api.Vo;
 import cz.metacentrum.perun.core.api.exceptions.AnonymizationNotSupportedException;
 import cz.metacentrum.perun.core.api.exceptions.AttributeNotExistsException;
@@ -1194,6 +1198,29 @@ public class UsersManagerEntryIntegrationTest extends AbstractPerunIntegrationTe
 
 	}
 
+	@Test
+	public void getUsersPage() throws Exception {
+		System.out.println(CLASS_NAME + "getUsersPage");
+
+		UsersPageQuery query = new UsersPageQuery(1, 0, SortingOrder.ASCENDING, UsersOrderColumn.ID);
+		query.setSearchString(user.getLastName());
+		List<String> attrNames = Collections.singletonList("urn:perun:user:attribute-def:core:lastName");
+
+		Paginated<RichUser> page = perun.getUsersManager().getUsersPage(sess, query, attrNames);
+
+		assertThat(page.getTotalCount()).isEqualTo(1);
+		assertThat(page.getData()).hasSize(1);
+		RichUser richUser = page.getData().get(0);
+		assertThat(richUser.getId()).isEqualTo(user.getId());
+		assertThat(richUser.getUserAttributes()).hasSize(1);
+		assertThat(richUser.getUserAttributes().get(0).getValue()).isEqualTo(user.getLastName());
+
+		query.setOffset(1);
+		page = perun.getUsersManager().getUsersPage(sess, query, attrNames);
+		assertThat(page.getTotalCount()).isEqualTo(1);
+		assertThat(page.getData()).isEmpty();
+	}
+
 	@Test
 	public void findRichUsersWithAttributesByExactMatch() throws Exception {
 		System.out.println(CLASS_NAME + "findRichUsersWithAttributesByExactMatch");
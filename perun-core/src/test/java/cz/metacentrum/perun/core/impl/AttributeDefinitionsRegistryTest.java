@@ -0,0 +1,66 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeCreated;
+import cz.metacentrum.perun.audit.events.VoManagerEvents.VoCreated;
+import cz.metacentrum.perun.core.api.AttributeDefinition;
+import cz.metacentrum.perun.core.api.AuditMessage;
+import cz.metacentrum.perun.core.api.Vo;
+import cz.metacentrum.perun.core.implApi.AuditMessagesManagerImplApi;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AttributeDefinitionsRegistryTest {
+
+	private static final String CLASS_NAME = "AttributeDefinitionsRegistryTest.";
+
+	private final AttributeDefinitionsRegistry.Definitions definitions =
+			new AttributeDefinitionsRegistry.Definitions(List.of(new AttributeDefinition()));
+	private AuditMessagesManagerImplApi auditMessagesManagerImpl;
+	private AttributeDefinitionsRegistry registry;
+
+	@Before
+	public void setUp() {
+		auditMessagesManagerImpl = mock(AuditMessagesManagerImplApi.class);
+		when(auditMessagesManagerImpl.getLastMessageId(any())).thenReturn(10);
+		when(auditMessagesManagerImpl.pollConsumerMessages(any(), anyString(), anyInt(), anyInt())).thenReturn(List.of());
+		registry = new AttributeDefinitionsRegistry(60, 0);
+		registry.setAuditMessagesManagerImpl(auditMessagesManagerImpl);
+	}
+
+	@Test
+	public void clearedByChangesOfOtherInstances() {
+		System.out.println(CLASS_NAME + "clearedByChangesOfOtherInstances");
+
+		assertThat(registry.getDefinitions()).isNull();
+		registry.put(definitions, registry.getGeneration());
+		assertThat(registry.getDefinitions()).isSameAs(definitions);
+
+		// definition is created by other instance of Perun
+		AuditMessage message = new AuditMessage(11, new AttributeCreated(new AttributeDefinition()), "actor", "", null);
+		when(auditMessagesManagerImpl.pollConsumerMessages(any(), anyString(), anyInt(), anyInt())).thenReturn(List.of(message), List.of());
+
+		assertThat(registry.getDefinitions()).isNull();
+	}
+
+	@Test
+	public void notClearedByOtherEvents() {
+		System.out.println(CLASS_NAME + "notClearedByOtherEvents");
+
+		assertThat(registry.getDefinitions()).isNull();
+		registry.put(definitions, registry.getGeneration());
+
+		AuditMessage message = new AuditMessage(11, new VoCreated(new Vo(1, "vo", "vo")), "actor", "", null);
+		when(auditMessagesManagerImpl.pollConsumerMessages(any(), anyString(), anyInt(), anyInt())).thenReturn(List.of(message), List.of());
+
+		assertThat(registry.getDefinitions()).isSameAs(definitions);
+	}
+}
@@ -0,0 +1,146 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.AttributeDefinition;
+import cz.metacentrum.perun.utils.graphs.Graph;
+import cz.metacentrum.perun.utils.graphs.generators.ModuleDependencyNodeGenerator;
+import cz.metacentrum.perun.utils.graphs.generators.NoDuplicatedEdgesGraphGenerator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The double arrow 'A => B' means that A is strongly dependent on B.
+ * The single arrow 'A -> B' means that A is dependent on B.
+ */
+public class AttributeDependencyGraphTest {
+
+	private static final String CLASS_NAME = "AttributeDependencyGraphTest.";
+
+	private AttributeDefinition a;
+	private AttributeDefinition b;
+	private AttributeDefinition c;
+	private AttributeDefinition d;
+	private AttributeDefinition e;
+
+	@Before
+	public void setUp() {
+		a = createDefinition(1, "A");
+		b = createDefinition(2, "B");
+		c = createDefinition(3, "C");
+		d = createDefinition(4, "D");
+		e = createDefinition(5, "E");
+	}
+
+	@Test
+	public void dependantsAreTransitiveOverStrongDependencies() {
+		System.out.println(CLASS_NAME + "dependantsAreTransitiveOverStrongDependencies");
+
+		// B => A, C => B, D -> C, E -> D
+		AttributeDependencyGraph graph = createGraph();
+
+		assertThat(graph.isCyclic()).isFalse();
+		assertThat(graph.getDependants().get(a)).containsOnly(b, c, d);
+		assertThat(graph.getDependants().get(b)).containsOnly(c, d);
+		assertThat(graph.getDependants().get(c)).containsOnly(d);
+		assertThat(graph.getDependants().get(d)).containsOnly(e);
+		assertThat(graph.getDependants().get(e)).isEmpty();
+		assertThat(graph.getInverseStrongDependencies().get(a)).containsOnly(b);
+		assertThat(graph.getInverseDependencies().get(c)).containsOnly(d);
+	}
+
+	@Test
+	public void addedDefinitionUpdatesDependantsOfOtherDefinitions() {
+		System.out.println(CLASS_NAME + "addedDefinitionUpdatesDependantsOfOtherDefinitions");
+
+		AttributeDependencyGraph graph = createGraph();
+		AttributeDefinition f = createDefinition(6, "F");
+
+		// F => C
+		AttributeDependencyGraph updated = graph.withDefinition(f, Collections.emptySet(), Set.of(c));
+
+		assertThat(updated.contains(f)).isTrue();
+		assertThat(graph.contains(f)).isFalse();
+		assertThat(updated.getDependants().get(a)).containsOnly(b, c, d, f);
+		assertThat(updated.getDependants().get(c)).containsOnly(d, f);
+		assertThat(updated.getDependants().get(f)).isEmpty();
+		// original graph is not changed
+		assertThat(graph.getDependants().get(a)).containsOnly(b, c, d);
+		assertThat(updated.getDependants()).isEqualTo(createGraphWith(f, Set.of(c)).getDependants());
+	}
+
+	@Test
+	public void removedDefinitionIsRemovedFromAllRelations() {
+		System.out.println(CLASS_NAME + "removedDefinitionIsRemovedFromAllRelations");
+
+		AttributeDependencyGraph graph = createGraph().withoutDefinition(b);
+
+		assertThat(graph.contains(b)).isFalse();
+		assertThat(graph.size()).isEqualTo(4);
+		assertThat(graph.getDependencies().keySet()).containsOnly(a, c, d, e);
+		assertThat(graph.getStrongDependencies().get(c)).isEmpty();
+		assertThat(graph.getInverseStrongDependencies().get(a)).isEmpty();
+		assertThat(graph.getDependants().get(a)).isEmpty();
+		assertThat(graph.getDependants().get(c)).containsOnly(d);
+	}
+
+	@Test
+	public void cycleInStrongDependenciesIsDetected() {
+		System.out.println(CLASS_NAME + "cycleInStrongDependenciesIsDetected");
+
+		// A => C closes the cycle A => C => B => A
+		AttributeDependencyGraph graph = createGraph().withDefinition(a, Collections.emptySet(), Set.of(c));
+
+		assertThat(graph.isCyclic()).isTrue();
+		assertThat(graph.getDependants().get(b)).isEmpty();
+
+		// cycle of weak dependencies is allowed
+		AttributeDependencyGraph weakCycle = createGraph().withDefinition(e, Set.of(d), Collections.emptySet())
+				.withDefinition(c, Set.of(e), Set.of(b));
+		assertThat(weakCycle.isCyclic()).isFalse();
+	}
+
+	@Test
+	public void exportToGraphGenerators() {
+		System.out.println(CLASS_NAME + "exportToGraphGenerators");
+
+		Graph graph = new NoDuplicatedEdgesGraphGenerator<AttributeDefinition>()
+				.generate(new ModuleDependencyNodeGenerator(), createGraph().toGraphDefinition());
+
+		assertThat(graph.getNodes()).hasSize(5);
+		assertThat(graph.getEdges().values().stream().mapToInt(Set::size).sum()).isEqualTo(4);
+	}
+
+	private AttributeDependencyGraph createGraph() {
+		return createGraphWith(null, null);
+	}
+
+	private AttributeDependencyGraph createGraphWith(AttributeDefinition extra, Set<AttributeDefinition> extraStrongDependencies) {
+		Map<AttributeDefinition, Set<AttributeDefinition>> dependencies = new HashMap<>();
+		Map<AttributeDefinition, Set<AttributeDefinition>> strongDependencies = new HashMap<>();
+		dependencies.put(a, Set.of());
+		dependencies.put(b, Set.of());
+		dependencies.put(c, Set.of());
+		dependencies.put(d, Set.of(c));
+		dependencies.put(e, Set.of(d));
+		strongDependencies.put(b, Set.of(a));
+		strongDependencies.put(c, Set.of(b));
+		if (extra != null) {
+			strongDependencies.put(extra, extraStrongDependencies);
+		}
+		return AttributeDependencyGraph.of(dependencies, strongDependencies);
+	}
+
+	private static AttributeDefinition createDefinition(int id, String name) {
+		AttributeDefinition definition = new AttributeDefinition();
+		definition.setId(id);
+		definition.setNamespace("urn:perun:user:attribute-def:virt");
+		definition.setFriendlyName(name);
+		return definition;
+	}
+}
@@ -0,0 +1,132 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeSetForFacility;
+import cz.metacentrum.perun.audit.events.AttributesManagerEvents.AttributeUpdated;
+import cz.metacentrum.perun.core.api.Attribute;
+import cz.metacentrum.perun.core.api.AttributesManager;
+import cz.metacentrum.perun.core.api.Facility;
+import cz.metacentrum.perun.core.api.Vo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AttributeValuesCacheTest {
+
+	private static final String CLASS_NAME = "AttributeValuesCacheTest.";
+
+	private AttributeValuesCache cache;
+	private final Facility facility = new Facility(1, "facility");
+	private final Vo vo = new Vo(1, "vo", "vo");
+	private Attribute facilityAttribute;
+	private Attribute voAttribute;
+
+	@Before
+	public void setUp() {
+		cache = new AttributeValuesCache(Arrays.asList(AttributesManager.NS_FACILITY_ATTR_DEF, AttributesManager.NS_VO_ATTR_DEF), 60, 60);
+		facilityAttribute = createAttribute(10, AttributesManager.NS_FACILITY_ATTR_DEF, new ArrayList<>(List.of("a", "b")));
+		voAttribute = createAttribute(20, AttributesManager.NS_VO_ATTR_DEF, "value");
+	}
+
+	@After
+	public void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+	}
+
+	@Test
+	public void getCachedAttribute() {
+		System.out.println(CLASS_NAME + "getCachedAttribute");
+
+		assertThat(cache.get(facility, facilityAttribute.getId(), facilityAttribute.getNamespace())).isNull();
+		cache.put(facility, facilityAttribute, cache.getGeneration());
+
+		Attribute cached = cache.get(facility, facilityAttribute.getId(), facilityAttribute.getNamespace());
+		assertThat(cached).isEqualTo(facilityAttribute);
+		assertThat(cached.getValue()).isEqualTo(facilityAttribute.getValue());
+		// cached value must not be affected by changes of the returned one
+		cached.valueAsList().add("c");
+		assertThat(cache.get(facility, facilityAttribute.getId(), facilityAttribute.getNamespace()).getValue()).isEqualTo(List.of("a", "b"));
+
+		assertThat(cache.getHits(AttributesManager.NS_FACILITY_ATTR_DEF)).isEqualTo(2);
+		assertThat(cache.getMisses(AttributesManager.NS_FACILITY_ATTR_DEF)).isEqualTo(1);
+		assertThat(cache.getHitRate(AttributesManager.NS_FACILITY_ATTR_DEF)).isEqualTo(2.0 / 3);
+	}
+
+	@Test
+	public void namespaceNotCached() {
+		System.out.println(CLASS_NAME + "namespaceNotCached");
+
+		Attribute attribute = createAttribute(30, AttributesManager.NS_FACILITY_ATTR_OPT, "value");
+		cache.put(facility, attribute, cache.getGeneration());
+
+		assertThat(cache.isCached(AttributesManager.NS_FACILITY_ATTR_OPT)).isFalse();
+		assertThat(cache.get(facility, attribute.getId(), attribute.getNamespace())).isNull();
+	}
+
+	@Test
+	public void valueLoadedBeforeInvalidationIsNotStored() {
+		System.out.println(CLASS_NAME + "valueLoadedBeforeInvalidationIsNotStored");
+
+		long generation = cache.getGeneration();
+		cache.invalidate(facility);
+		cache.put(facility, facilityAttribute, generation);
+
+		assertThat(cache.get(facility, facilityAttribute.getId(), facilityAttribute.getNamespace())).isNull();
+	}
+
+	@Test
+	public void invalidateByEvent() {
+		System.out.println(CLASS_NAME + "invalidateByEvent");
+
+		cache.put(facility, facilityAttribute, cache.getGeneration());
+		cache.put(vo, voAttribute, cache.getGeneration());
+
+		cache.invalidate(new AttributeSetForFacility(facilityAttribute, facility));
+		assertThat(cache.get(facility, facilityAttribute.getId(), facilityAttribute.getNamespace())).isNull();
+		assertThat(cache.get(vo, voAttribute.getId(), voAttribute.getNamespace())).isNotNull();
+
+		cache.invalidate(new AttributeUpdated(voAttribute));
+		assertThat(cache.get(vo, voAttribute.getId(), voAttribute.getNamespace())).isNull();
+	}
+
+	@Test
+	public void holderChangedInTransactionIsNotCached() {
+		System.out.println(CLASS_NAME + "holderChangedInTransactionIsNotCached");
+
+		cache.put(vo, voAttribute, cache.getGeneration());
+		TransactionSynchronizationManager.initSynchronization();
+
+		cache.invalidate(facility);
+		cache.put(facility, facilityAttribute, cache.getGeneration());
+		assertThat(cache.get(facility, facilityAttribute.getId(), facilityAttribute.getNamespace())).isNull();
+		// other holders are still served from the cache
+		assertThat(cache.get(vo, voAttribute.getId(), voAttribute.getNamespace())).isNotNull();
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+		cache.put(facility, facilityAttribute, cache.getGeneration());
+		assertThat(cache.get(facility, facilityAttribute.getId(), facilityAttribute.getNamespace())).isNotNull();
+	}
+
+	private static Attribute createAttribute(int id, String namespace, Object value) {
+		Attribute attribute = new Attribute();
+		attribute.setId(id);
+		attribute.setNamespace(namespace);
+		attribute.setFriendlyName("attribute" + id);
+		attribute.setType(value.getClass().getName());
+		attribute.setValue(value);
+		return attribute;
+	}
+}
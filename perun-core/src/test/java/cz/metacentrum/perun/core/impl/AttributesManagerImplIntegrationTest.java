@@ -51,11 +51,14 @@ public class AttributesManagerImplIntegrationTest extends AbstractPerunIntegrati
 		attrMap.put(getArrayAttribute("a,b", "c"), "a\\,b,c,");
 		attrMap.put(getArrayAttribute("a,,b", "c"), "a\\,\\,b,c,");
 		attrMap.put(getArrayAttribute("a\\b"), "a\\\\b,");
+		attrMap.put(getArrayAttribute("a\\", "b"), "a\\\\,b,");
+		attrMap.put(getArrayAttribute(null, "\\0", ""), "\\0,\\\\0,,");
 
 		attrMap.put(getHashAttribute("a", "b", "c", "d"), "a:b,c:d,");
 		attrMap.put(getHashAttribute("a,x", "b,,", ",,c", ",,d,,"), "a\\,x:b\\,\\,,\\,\\,c:\\,\\,d\\,\\,,");
 		attrMap.put(getHashAttribute("a:x", "b"), "a\\:x:b,");
 		attrMap.put(getHashAttribute("a:x", "b", ":", "::"), "a\\:x:b,\\::\\:\\:,");
+		attrMap.put(getHashAttribute(null, "a", "b", null, "c\\", "d:e", "\\0", ""), "\\0:a,b:\\0,c\\\\:d\\:e,\\\\0:,");
 	}
 
 
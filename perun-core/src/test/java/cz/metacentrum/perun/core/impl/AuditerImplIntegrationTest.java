@@ -1,16 +1,25 @@
 package cz.metacentrum.perun.core.impl;
 
+import cz.metacentrum.perun.audit.events.AuditEvent;
 import cz.metacentrum.perun.audit.events.FacilityManagerEvents.FacilityCreated;
 import cz.metacentrum.perun.core.AbstractPerunIntegrationTest;
 import cz.metacentrum.perun.core.api.AuditMessage;
 import cz.metacentrum.perun.core.api.Facility;
+import cz.metacentrum.perun.core.implApi.AuditEventListener;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -18,6 +27,9 @@ public class AuditerImplIntegrationTest extends AbstractPerunIntegrationTest {
 
 	private Facility facility;      // uses creation of facility to store same system message in Auditer
 
+	@Autowired
+	private DataSource dataSource;
+
 	@Before
 	public void checkAuditerExists() {
 
@@ -72,8 +84,102 @@ public class AuditerImplIntegrationTest extends AbstractPerunIntegrationTest {
 		//assertTrue("Invalid message received.", messages.get(0).getEvent().getMessage().contains("\"message\":\"Facility created Facility:"));
 	}
 
+	@Test
+	public void waitForNewMessages() throws Exception {
+		System.out.println("AuditerTest.waitForNewMessages");
+		perun.getAuditer().clean();
+
+		long storedBatchesCount = perun.getAuditer().getStoredBatchesCount();
+		assertFalse("no messages should be signalled", perun.getAuditer().waitForNewMessages(storedBatchesCount, 10));
+
+		perun.getAuditer().log(sess, new FacilityCreated(new Facility(0,"AuditorTestFacility")));
+		perun.getAuditer().flush();
+
+		assertTrue("stored messages should be signalled", perun.getAuditer().waitForNewMessages(storedBatchesCount, 10));
+		assertTrue(perun.getAuditer().getStoredBatchesCount() > storedBatchesCount);
+	}
+
+	@Test
+	public void logMessagesWithAsyncWriter() throws Exception {
+		System.out.println("AuditerTest.logMessagesWithAsyncWriter");
+		perun.getAuditer().clean();
+
+		FacilityCreated firstEvent = new FacilityCreated(new Facility(0,"AuditorTestFacility1"));
+		FacilityCreated secondEvent = new FacilityCreated(new Facility(0,"AuditorTestFacility2"));
+		FacilityCreated thirdEvent = new FacilityCreated(new Facility(0,"AuditorTestFacility3"));
+
+		perun.getAuditer().startAsyncWriter(2);
+		try {
+			perun.getAuditer().logWithoutTransaction(sess, firstEvent);
+			perun.getAuditer().logWithoutTransaction(sess, secondEvent);
+			perun.getAuditer().logWithoutTransaction(sess, thirdEvent);
+		} finally {
+			// writes all pending messages
+			perun.getAuditer().stopAsyncWriter();
+		}
+
+		List<AuditMessage> messages = perun.getAuditMessagesManagerBl().getMessagesByCount(sess, 3);
+		try {
+			assertEquals("Invalid number of messages.", 3, messages.size());
+			// messages are ordered from the newest one
+			assertEquals(thirdEvent, messages.get(0).getEvent());
+			assertEquals(secondEvent, messages.get(1).getEvent());
+			assertEquals(firstEvent, messages.get(2).getEvent());
+		} finally {
+			deleteCommittedMessages(messages);
+		}
+	}
+
+	@Test
+	public void logAllWithoutTransaction() throws Exception {
+		System.out.println("AuditerTest.logAllWithoutTransaction");
+		perun.getAuditer().clean();
+
+		List<FacilityCreated> events = List.of(
+			new FacilityCreated(new Facility(0,"AuditorTestFacility1")),
+			new FacilityCreated(new Facility(0,"AuditorTestFacility2")));
+		List<AuditEvent> notifiedEvents = new CopyOnWriteArrayList<>();
+		AuditEventListener listener = notifiedEvents::add;
+
+		// thread of the test is bound to the test transaction, events are stored in batch only outside of it
+		perun.getAuditer().registerEventListener(listener);
+		try {
+			Thread thread = new Thread(() -> perun.getAuditer().logAll(sess, events));
+			thread.start();
+			thread.join();
+		} finally {
+			perun.getAuditer().unregisterEventListener(listener);
+		}
+
+		List<AuditMessage> messages = perun.getAuditMessagesManagerBl().getMessagesByCount(sess, 2);
+		try {
+			assertEquals("Invalid number of messages.", 2, messages.size());
+			// messages are ordered from the newest one
+			assertEquals(events.get(1), messages.get(0).getEvent());
+			assertEquals(events.get(0), messages.get(1).getEvent());
+			assertEquals(events, notifiedEvents);
+		} finally {
+			deleteCommittedMessages(messages);
+		}
+	}
+
 	// ------------- private methods ----------------------------------
 
+	/**
+	 * Delete messages written outside of the test transaction, e.g. by the asynchronous writer.
+	 * They are not rolled back with the test transaction.
+	 */
+	private void deleteCommittedMessages(List<AuditMessage> messages) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement("delete from auditer_log where id=?")) {
+			for (AuditMessage message : messages) {
+				statement.setInt(1, message.getId());
+				statement.addBatch();
+			}
+			statement.executeBatch();
+			if (!connection.getAutoCommit()) connection.commit();
+		}
+	}
 
 	private void setUpFacility() throws Exception {
 
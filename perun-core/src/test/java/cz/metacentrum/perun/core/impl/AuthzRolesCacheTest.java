@@ -0,0 +1,116 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.audit.events.AuthorizationEvents.RoleSetForGroup;
+import cz.metacentrum.perun.audit.events.AuthorizationEvents.RoleSetForUser;
+import cz.metacentrum.perun.core.api.AuditMessage;
+import cz.metacentrum.perun.core.api.Group;
+import cz.metacentrum.perun.core.api.Role;
+import cz.metacentrum.perun.core.api.User;
+import cz.metacentrum.perun.core.api.Vo;
+import cz.metacentrum.perun.core.implApi.AuditMessagesManagerImplApi;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AuthzRolesCacheTest {
+
+	private static final String CLASS_NAME = "AuthzRolesCacheTest.";
+
+	private final User user = new User(1, "John", "Doe", "", "", "");
+	private final User otherUser = new User(2, "Jane", "Doe", "", "", "");
+	private final Vo vo = new Vo(1, "vo", "vo");
+	private AuthzRolesCache cache;
+	private AuthzRoles roles;
+
+	@Before
+	public void setUp() {
+		cache = new AuthzRolesCache(60, 0);
+		roles = new AuthzRoles();
+		roles.putAuthzRole(Role.VOADMIN, vo);
+	}
+
+	@Test
+	public void getCachedRoles() {
+		System.out.println(CLASS_NAME + "getCachedRoles");
+
+		assertThat(cache.get(user.getId())).isNull();
+		cache.put(user.getId(), roles, cache.getGeneration());
+
+		AuthzRoles cached = cache.get(user.getId());
+		assertThat(cached).isEqualTo(roles);
+		// cached roles must not be affected by changes of the returned ones
+		cached.putAuthzRole(Role.SELF, user);
+		assertThat(cache.get(user.getId()).hasRole(Role.SELF)).isFalse();
+
+		assertThat(cache.getHits()).isEqualTo(2);
+		assertThat(cache.getMisses()).isEqualTo(1);
+	}
+
+	@Test
+	public void disabledCache() {
+		System.out.println(CLASS_NAME + "disabledCache");
+
+		cache = new AuthzRolesCache(0, 0);
+		cache.put(user.getId(), roles, cache.getGeneration());
+
+		assertThat(cache.isEnabled()).isFalse();
+		assertThat(cache.get(user.getId())).isNull();
+	}
+
+	@Test
+	public void invalidateByLoggedEvent() {
+		System.out.println(CLASS_NAME + "invalidateByLoggedEvent");
+
+		cache.put(user.getId(), roles, cache.getGeneration());
+		cache.put(otherUser.getId(), roles, cache.getGeneration());
+
+		cache.eventLogged(new RoleSetForUser(vo, user, Role.VOADMIN));
+		assertThat(cache.get(user.getId())).isNull();
+		assertThat(cache.get(otherUser.getId())).isNotNull();
+
+		// role of the group can change roles of any user
+		cache.eventLogged(new RoleSetForGroup(vo, new Group("group", ""), Role.VOADMIN));
+		assertThat(cache.get(otherUser.getId())).isNull();
+	}
+
+	@Test
+	public void rolesLoadedBeforeInvalidationAreNotStored() {
+		System.out.println(CLASS_NAME + "rolesLoadedBeforeInvalidationAreNotStored");
+
+		long generation = cache.getGeneration();
+		cache.invalidate(user.getId());
+		cache.put(user.getId(), roles, generation);
+
+		assertThat(cache.get(user.getId())).isNull();
+	}
+
+	@Test
+	public void invalidateByChangesOfOtherInstances() {
+		System.out.println(CLASS_NAME + "invalidateByChangesOfOtherInstances");
+
+		AuditMessagesManagerImplApi auditMessagesManagerImpl = mock(AuditMessagesManagerImplApi.class);
+		when(auditMessagesManagerImpl.getLastMessageId(any())).thenReturn(10);
+		when(auditMessagesManagerImpl.pollConsumerMessages(any(), anyString(), anyInt(), anyInt())).thenReturn(List.of());
+		cache.setAuditMessagesManagerImpl(auditMessagesManagerImpl);
+
+		assertThat(cache.get(user.getId())).isNull();
+		cache.put(user.getId(), roles, cache.getGeneration());
+		cache.put(otherUser.getId(), roles, cache.getGeneration());
+		assertThat(cache.get(user.getId())).isNotNull();
+
+		// role is changed by other instance of Perun
+		AuditMessage message = new AuditMessage(11, new RoleSetForUser(vo, user, Role.VOADMIN), "actor", "", null);
+		when(auditMessagesManagerImpl.pollConsumerMessages(any(), anyString(), anyInt(), anyInt())).thenReturn(List.of(message), List.of());
+
+		assertThat(cache.get(user.getId())).isNull();
+		assertThat(cache.get(otherUser.getId())).isNotNull();
+	}
+}
@@ -111,4 +111,29 @@ public class ExtSourceLdapTest {
 		List<Map<String, String>> actualSubjects = extSourceLdap.getUsersSubjects();
 		assertEquals("subjects should be same", expectedSubjects, actualSubjects);
 	}
+
+	@Test
+	public void getSubjectsByLoginsTest() throws Exception {
+		System.out.println("getSubjectsByLoginsTest");
+
+		// define needed attributes
+		String base = "ou=People,dc=dc";
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		mapOfAttributes.put("loginQuery", "(uid=?)");
+		mapOfAttributes.put("base", base);
+		mapOfAttributes.put("batchSize", "2");
+		doReturn(mapOfAttributes).when(extSourceLdap).getAttributes();
+
+		// mock found subjects
+		Map<String, String> subject1 = Map.of("login", "josef", "firstName", "Josef");
+		Map<String, String> subject2 = Map.of("login", "karel", "firstName", "Karel");
+		Map<String, String> subject3 = Map.of("login", "jan", "firstName", "Jan");
+		doReturn(List.of(subject1, subject2)).when(extSourceLdap).querySource("(|(uid=josef)(uid=karel))", base, 0);
+		doReturn(List.of(subject3)).when(extSourceLdap).querySource("(|(uid=jan)(uid=missing))", base, 0);
+		doReturn(List.of()).when(extSourceLdap).querySource("(uid=missing)", base, 0);
+
+		// test the method
+		Map<String, Map<String, String>> actualSubjects = extSourceLdap.getSubjectsByLogins(List.of("josef", "karel", "jan", "missing"));
+		assertEquals("subjects should be same", Map.of("josef", subject1, "karel", subject2, "jan", subject3), actualSubjects);
+	}
 }
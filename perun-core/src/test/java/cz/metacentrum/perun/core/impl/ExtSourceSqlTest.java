@@ -17,6 +17,7 @@ import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Metodej Klang
@@ -69,4 +70,48 @@ public class ExtSourceSqlTest {
 		List<Map<String, String>> actualSubjects = extSourceSql.getUsersSubjects();
 		assertEquals("subjects should be same", expectedSubjects, actualSubjects);
 	}
+
+	@Test
+	public void getSubjectsByLoginsTest() throws Exception {
+		System.out.println("getSubjectsByLoginsTest");
+
+		// define needed attributes
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		mapOfAttributes.put("loginsQuery", "select * from users where login in (?)");
+		mapOfAttributes.put("loginQuery", "select * from users where login=?");
+		mapOfAttributes.put("url", "some.url.com");
+		doReturn(mapOfAttributes).when(extSourceSql).getAttributes();
+
+		// mock data got from database
+		doNothing().when(extSourceSql).createConnection();
+		PreparedStatement preparedStatement = mock(PreparedStatement.class);
+		doReturn(preparedStatement).when(extSourceSql).getPreparedStatement("select * from users where login in (?,?)", null, 0);
+		ResultSet resultSet = mock(ResultSet.class, RETURNS_DEEP_STUBS);
+		doReturn(resultSet).when(preparedStatement).executeQuery();
+		doReturn(true, false).when(resultSet).next();
+		doReturn("josef").when(resultSet).getString("firstName");
+		doReturn("xjosef").when(resultSet).getString("login");
+
+		// missing subject is searched separately
+		PreparedStatement loginStatement = mock(PreparedStatement.class);
+		doReturn(loginStatement).when(extSourceSql).getPreparedStatement("select * from users where login=?", "xmissing", 0);
+		ResultSet emptyResultSet = mock(ResultSet.class);
+		doReturn(emptyResultSet).when(loginStatement).executeQuery();
+		doReturn(false).when(emptyResultSet).next();
+
+		// create expected subject to get
+		Map<String, String> subject = new HashMap<>();
+		subject.put("firstName", "josef");
+		subject.put("login", "xjosef");
+		subject.put("lastName", null);
+		subject.put("titleBefore", null);
+		subject.put("titleAfter", null);
+		subject.put("middleName", null);
+
+		// test the method
+		Map<String, Map<String, String>> actualSubjects = extSourceSql.getSubjectsByLogins(List.of("xjosef", "xmissing"));
+		assertEquals("subjects should be same", Map.of("xjosef", subject), actualSubjects);
+		verify(preparedStatement).setString(1, "xjosef");
+		verify(preparedStatement).setString(2, "xmissing");
+	}
 }
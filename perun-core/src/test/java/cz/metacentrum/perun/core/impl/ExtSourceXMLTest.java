@@ -1,5 +1,6 @@
 package cz.metacentrum.perun.core.impl;
 
+import cz.metacentrum.perun.core.api.GroupsManager;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockitoAnnotations;
@@ -12,6 +13,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.doReturn;
@@ -62,4 +65,41 @@ public class ExtSourceXMLTest {
 		List<Map<String, String>> actualSubjects = extSourceXML.getUsersSubjects();
 		assertEquals("subjects should be same", expectedSubjects, actualSubjects);
 	}
+
+	@Test
+	public void streamGroupSubjectsTest() throws Exception {
+		System.out.println("streamGroupSubjectsTest");
+
+		// create temporal xml file containing new subjects
+		File temp = File.createTempFile("temp",".xml");
+		temp.deleteOnExit();
+
+		// define needed attributes
+		Map<String, String> mapOfAttributes = new HashMap<>();
+		mapOfAttributes.put("file", temp.getAbsolutePath());
+		mapOfAttributes.put("xmlMapping", "firstName=firstName,\nlogin=login");
+		doReturn(mapOfAttributes).when(extSourceXML).getAttributes();
+
+		// fill in the file
+		try (BufferedWriter bw = new BufferedWriter(new FileWriter(temp))) {
+			bw.write("<Users>\n<User id='42'>\n<firstName>arthur</firstName>\n<login>xdent</login>\n</User>\n" +
+					"<Admins>\n<User id='43'>\n<firstName>ford</firstName>\n<login>xprefect</login>\n</User>\n</Admins>\n" +
+					"<User id='44'>\n<firstName>zaphod</firstName>\n<login>xbeeblebrox</login>\n</User>\n</Users>");
+		}
+
+		// create expected subjects to get
+		List<Map<String, String>> expectedSubjects = new ArrayList<>();
+		expectedSubjects.add(Map.of("firstName", "arthur", "login", "xdent"));
+		expectedSubjects.add(Map.of("firstName", "zaphod", "login", "xbeeblebrox"));
+
+		// test the method
+		Map<String, String> groupAttributes = new HashMap<>();
+		groupAttributes.put(GroupsManager.GROUPMEMBERSQUERY_ATTRNAME, "/Users/User");
+		List<Map<String, String>> actualSubjects;
+		try (Stream<Map<String, String>> subjects = extSourceXML.streamGroupSubjects(groupAttributes)) {
+			actualSubjects = subjects.collect(Collectors.toList());
+		}
+		assertEquals("subjects should be same", expectedSubjects, actualSubjects);
+		assertEquals("subjects should be same as not streamed", extSourceXML.getGroupSubjects(groupAttributes), actualSubjects);
+	}
 }
@@ -0,0 +1,123 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.PerunPolicy;
+import cz.metacentrum.perun.core.api.exceptions.PolicyNotExistsException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PerunPoliciesContainerTest {
+
+	private static final String CLASS_NAME = "PerunPoliciesContainerTest.";
+
+	private final PerunPolicy groupAdmin = new PerunPolicy("group_admin",
+		List.of(Map.of("GROUPADMIN", "Group")), List.of("vo_admin", "perun_admin"));
+	private final PerunPolicy voAdmin = new PerunPolicy("vo_admin",
+		List.of(Map.of("VOADMIN", "Vo"), Map.of("VOOBSERVER", "Vo")), List.of("perun_admin"));
+	private final PerunPolicy perunAdmin = new PerunPolicy("perun_admin",
+		List.of(Map.of("PERUNADMIN", "")), List.of());
+	private final PerunPolicy cycleOne = new PerunPolicy("cycle_one",
+		List.of(Map.of("VOADMIN", "Vo")), List.of("cycle_two"));
+	private final PerunPolicy cycleTwo = new PerunPolicy("cycle_two",
+		List.of(Map.of("PERUNADMIN", "")), List.of("cycle_one"));
+	private final PerunPolicy brokenInclude = new PerunPolicy("broken_include",
+		List.of(Map.of("PERUNADMIN", "")), List.of("not_existing"));
+	private PerunPoliciesContainer container;
+
+	@Before
+	public void setUp() {
+		container = new PerunPoliciesContainer();
+		container.setPerunPolicies(Set.of(groupAdmin, voAdmin, perunAdmin, cycleOne, cycleTwo, brokenInclude));
+	}
+
+	@Test
+	public void compiledPoliciesMatchInterpretedPolicies() throws Exception {
+		System.out.println(CLASS_NAME + "compiledPoliciesMatchInterpretedPolicies");
+
+		for (String policyName : List.of("group_admin", "vo_admin", "perun_admin", "cycle_one", "cycle_two")) {
+			List<PerunPolicy> expectedPolicies = interpretPolicyWithAllIncludedPolicies(policyName);
+			List<Map<String, String>> expectedRoles = new ArrayList<>();
+			for (PerunPolicy policy : expectedPolicies) expectedRoles.addAll(policy.getPerunRoles());
+
+			assertThat(container.fetchPolicyWithAllIncludedPolicies(policyName)).containsExactlyInAnyOrderElementsOf(expectedPolicies);
+			assertThat(container.fetchPolicyRoles(policyName)).containsExactlyInAnyOrderElementsOf(expectedRoles);
+		}
+	}
+
+	@Test
+	public void policiesAreCompiledAgainWhenReloaded() throws Exception {
+		System.out.println(CLASS_NAME + "policiesAreCompiledAgainWhenReloaded");
+
+		assertThat(container.fetchPolicyRoles("vo_admin")).hasSize(3);
+
+		PerunPolicy changedVoAdmin = new PerunPolicy("vo_admin", List.of(Map.of("VOADMIN", "Vo")), List.of());
+		container.setPerunPolicies(Set.of(changedVoAdmin));
+
+		assertThat(container.fetchPolicyRoles("vo_admin")).containsExactly(Map.of("VOADMIN", "Vo"));
+		assertThatExceptionOfType(PolicyNotExistsException.class)
+			.isThrownBy(() -> container.getPerunPolicy("group_admin"));
+	}
+
+	@Test
+	public void cyclicIncludeIsResolvedOnce() throws Exception {
+		System.out.println(CLASS_NAME + "cyclicIncludeIsResolvedOnce");
+
+		assertThat(container.fetchPolicyWithAllIncludedPolicies("cycle_one")).containsExactly(cycleOne, cycleTwo);
+		assertThat(container.fetchPolicyRoles("cycle_two")).containsExactly(Map.of("PERUNADMIN", ""), Map.of("VOADMIN", "Vo"));
+	}
+
+	@Test
+	public void missingPolicyIsReportedWhenUsed() {
+		System.out.println(CLASS_NAME + "missingPolicyIsReportedWhenUsed");
+
+		assertThatExceptionOfType(PolicyNotExistsException.class)
+			.isThrownBy(() -> container.getPerunPolicy("not_existing"));
+		assertThatExceptionOfType(PolicyNotExistsException.class)
+			.isThrownBy(() -> container.fetchPolicyRoles("not_existing"));
+		// policy with missing included policy is not compiled, but it does not break other policies
+		assertThatExceptionOfType(PolicyNotExistsException.class)
+			.isThrownBy(() -> container.fetchPolicyRoles("broken_include"));
+	}
+
+	@Test
+	public void compiledPoliciesAreImmutable() throws Exception {
+		System.out.println(CLASS_NAME + "compiledPoliciesAreImmutable");
+
+		List<Map<String, String>> roles = container.fetchPolicyRoles("group_admin");
+
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> roles.add(Map.of("SELF", "User")));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> roles.get(0).put("SELF", "User"));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> container.fetchPolicyWithAllIncludedPolicies("group_admin").clear());
+	}
+
+	/**
+	 * Walk included policies on every call, as it was done before the policies were compiled.
+	 */
+	private List<PerunPolicy> interpretPolicyWithAllIncludedPolicies(String policyName) throws PolicyNotExistsException {
+		Map<String, PerunPolicy> allIncludedPolicies = new HashMap<>();
+		Queue<String> policiesToCheck = new LinkedList<>();
+		policiesToCheck.add(policyName);
+
+		while (!policiesToCheck.isEmpty()) {
+			String policy = policiesToCheck.remove();
+			if (allIncludedPolicies.containsKey(policy)) continue;
+			PerunPolicy policyToCheck = container.getPerunPolicy(policy);
+			allIncludedPolicies.put(policy, policyToCheck);
+			policiesToCheck.addAll(policyToCheck.getIncludePolicies());
+		}
+		return new ArrayList<>(allIncludedPolicies.values());
+	}
+}
@@ -0,0 +1,39 @@
+package cz.metacentrum.perun.core.impl;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecentAuditMessagesTest {
+
+	private static final String CLASS_NAME = "RecentAuditMessagesTest.";
+
+	@Test
+	public void oldMessagesAreOverwritten() {
+		System.out.println(CLASS_NAME + "oldMessagesAreOverwritten");
+
+		RecentAuditMessages recentMessages = new RecentAuditMessages(2);
+		recentMessages.add(1, JsonNodeFactory.instance.textNode("msg1"));
+		recentMessages.add(2, JsonNodeFactory.instance.textNode("msg2"));
+		recentMessages.add(3, JsonNodeFactory.instance.textNode("msg3"));
+
+		assertThat(recentMessages.get(1)).isNull();
+		assertThat(recentMessages.get(2).getEvent().asText()).isEqualTo("msg2");
+		assertThat(recentMessages.get(3).getEvent().asText()).isEqualTo("msg3");
+		assertThat(recentMessages.getIdsAfter(0)).containsExactlyInAnyOrder(2, 3);
+		assertThat(recentMessages.getIdsAfter(2)).containsExactly(3);
+	}
+
+	@Test
+	public void disabledRing() {
+		System.out.println(CLASS_NAME + "disabledRing");
+
+		RecentAuditMessages recentMessages = new RecentAuditMessages(0);
+		recentMessages.add(1, JsonNodeFactory.instance.textNode("msg1"));
+
+		assertThat(recentMessages.isEnabled()).isFalse();
+		assertThat(recentMessages.get(1)).isNull();
+		assertThat(recentMessages.getIdsAfter(0)).isEmpty();
+	}
+}
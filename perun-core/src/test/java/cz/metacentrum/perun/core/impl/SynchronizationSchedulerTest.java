@@ -0,0 +1,181 @@
+package cz.metacentrum.perun.core.impl;
+
+import cz.metacentrum.perun.core.api.Group;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SynchronizationSchedulerTest {
+
+	private static final String CLASS_NAME = "SynchronizationSchedulerTest.";
+	private static final long TIMEOUT = 10;
+
+	private final Map<Integer, CountDownLatch> releases = new ConcurrentHashMap<>();
+	private final Map<Integer, CountDownLatch> starts = new ConcurrentHashMap<>();
+	private final List<Integer> started = new CopyOnWriteArrayList<>();
+	private final Group parent = createGroup(1);
+	private final Group child = createGroup(2);
+	private final Group other = createGroup(3);
+	private SynchronizationScheduler scheduler;
+
+	@After
+	public void tearDown() {
+		releases.values().forEach(CountDownLatch::countDown);
+		if (scheduler != null) scheduler.shutdown();
+	}
+
+	@Test
+	public void parallelismIsLimited() throws Exception {
+		System.out.println(CLASS_NAME + "parallelismIsLimited");
+
+		scheduler = new SynchronizationScheduler(1, 1, blockingSynchronizer(), blockingSynchronizer());
+		assertThat(scheduler.scheduleGroups(List.of(parent, other))).isEqualTo(2);
+		awaitStart(parent);
+
+		assertThat(scheduler.getRunningGroups(SynchronizationScheduler.Type.GROUP)).containsOnly(parent);
+		assertThat(scheduler.getWaitingGroups(SynchronizationScheduler.Type.GROUP)).containsOnly(other);
+
+		release(parent);
+		awaitStart(other);
+		assertThat(started).containsExactly(parent.getId(), other.getId());
+
+		release(other);
+		awaitStatistics(SynchronizationScheduler.Type.GROUP, 2);
+		assertThat(scheduler.getStatistics(SynchronizationScheduler.Type.GROUP).getWaiting()).isZero();
+	}
+
+	@Test
+	public void duplicateSynchronizationIsNotScheduled() throws Exception {
+		System.out.println(CLASS_NAME + "duplicateSynchronizationIsNotScheduled");
+
+		scheduler = new SynchronizationScheduler(1, 1, blockingSynchronizer(), blockingSynchronizer());
+		assertThat(scheduler.scheduleGroup(parent, false)).isTrue();
+		awaitStart(parent);
+		assertThat(scheduler.scheduleGroup(other, false)).isTrue();
+
+		// running synchronization can't be scheduled again, not even by force
+		assertThat(scheduler.scheduleGroup(parent, false)).isFalse();
+		assertThat(scheduler.scheduleGroup(parent, true)).isFalse();
+		// waiting synchronization can be only forced
+		assertThat(scheduler.scheduleGroup(other, false)).isFalse();
+		assertThat(scheduler.scheduleGroup(other, true)).isTrue();
+		assertThat(scheduler.getWaitingGroups(SynchronizationScheduler.Type.GROUP)).containsOnly(other);
+	}
+
+	@Test
+	public void forcedSynchronizationGoesFirst() throws Exception {
+		System.out.println(CLASS_NAME + "forcedSynchronizationGoesFirst");
+
+		scheduler = new SynchronizationScheduler(1, 1, blockingSynchronizer(), blockingSynchronizer());
+		Group forced = createGroup(4);
+		scheduler.scheduleGroup(parent, false);
+		awaitStart(parent);
+		scheduler.scheduleGroups(List.of(child, other));
+		scheduler.scheduleGroup(forced, true);
+
+		assertThat(scheduler.getWaitingGroups(SynchronizationScheduler.Type.GROUP)).containsExactly(forced, child, other);
+	}
+
+	@Test
+	public void groupWaitsForStructureSynchronization() throws Exception {
+		System.out.println(CLASS_NAME + "groupWaitsForStructureSynchronization");
+
+		scheduler = new SynchronizationScheduler(2, 2, blockingSynchronizer(), blockingSynchronizer());
+		scheduler.scheduleGroupStructure(parent, Set.of(child.getId()), false);
+		awaitStart(parent);
+		scheduler.scheduleGroups(List.of(child, other));
+		awaitStart(other);
+
+		assertThat(scheduler.getRunningGroups(SynchronizationScheduler.Type.GROUP)).containsOnly(other);
+		assertThat(scheduler.getWaitingGroups(SynchronizationScheduler.Type.GROUP)).containsOnly(child);
+
+		release(parent);
+		awaitStart(child);
+		assertThat(scheduler.getWaitingGroups(SynchronizationScheduler.Type.GROUP)).isEmpty();
+	}
+
+	@Test
+	public void structureWaitsForGroupSynchronization() throws Exception {
+		System.out.println(CLASS_NAME + "structureWaitsForGroupSynchronization");
+
+		scheduler = new SynchronizationScheduler(2, 2, blockingSynchronizer(), blockingSynchronizer());
+		scheduler.scheduleGroup(child, false);
+		awaitStart(child);
+		scheduler.scheduleGroupStructure(parent, Set.of(child.getId()), false);
+
+		assertThat(scheduler.getWaitingGroups(SynchronizationScheduler.Type.GROUP_STRUCTURE)).containsOnly(parent);
+
+		release(child);
+		awaitStart(parent);
+		assertThat(scheduler.getRunningGroups(SynchronizationScheduler.Type.GROUP_STRUCTURE)).containsOnly(parent);
+	}
+
+	@Test
+	public void timedOutSynchronizationIsCancelled() throws Exception {
+		System.out.println(CLASS_NAME + "timedOutSynchronizationIsCancelled");
+
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Consumer<Group> synchronizer = group -> {
+			try {
+				blockingSynchronizer().accept(group);
+			} finally {
+				if (Thread.currentThread().isInterrupted()) interrupted.countDown();
+			}
+		};
+		scheduler = new SynchronizationScheduler(1, 1, synchronizer, synchronizer);
+		scheduler.scheduleGroups(List.of(parent, other));
+		awaitStart(parent);
+
+		assertThat(scheduler.cancelTimedOut(SynchronizationScheduler.Type.GROUP, 1)).isZero();
+		assertThat(scheduler.cancelTimedOut(SynchronizationScheduler.Type.GROUP, -1)).isEqualTo(1);
+		assertThat(interrupted.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+
+		// place of cancelled synchronization is released for waiting one
+		awaitStart(other);
+		assertThat(scheduler.getStatistics(SynchronizationScheduler.Type.GROUP).getCancelled()).isEqualTo(1);
+	}
+
+	private Consumer<Group> blockingSynchronizer() {
+		return group -> {
+			started.add(group.getId());
+			starts.computeIfAbsent(group.getId(), id -> new CountDownLatch(1)).countDown();
+			try {
+				releases.computeIfAbsent(group.getId(), id -> new CountDownLatch(1)).await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+	}
+
+	private void awaitStart(Group group) throws InterruptedException {
+		assertThat(starts.computeIfAbsent(group.getId(), id -> new CountDownLatch(1)).await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private void release(Group group) {
+		releases.computeIfAbsent(group.getId(), id -> new CountDownLatch(1)).countDown();
+	}
+
+	private void awaitStatistics(SynchronizationScheduler.Type type, long finished) throws InterruptedException {
+		long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT);
+		while (scheduler.getStatistics(type).getFinished() < finished && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertThat(scheduler.getStatistics(type).getFinished()).isEqualTo(finished);
+	}
+
+	private static Group createGroup(int id) {
+		Group group = new Group("group" + id, "");
+		group.setId(id);
+		return group;
+	}
+}
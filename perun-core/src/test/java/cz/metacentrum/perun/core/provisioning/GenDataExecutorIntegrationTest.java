@@ -0,0 +1,109 @@
+package cz.metacentrum.perun.core.provisioning;
+
+import cz.metacentrum.perun.core.AbstractPerunIntegrationTest;
+import cz.metacentrum.perun.core.api.Vo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenDataExecutorIntegrationTest extends AbstractPerunIntegrationTest {
+
+	private static final String CLASS_NAME = "GenDataExecutorIntegrationTest.";
+	private static final String SNAPSHOT_QUERY = "select txid_current_snapshot()::text";
+	private static final String BACKEND_PID_QUERY = "select pg_backend_pid()";
+
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	@Qualifier("springTransactionManager")
+	private PlatformTransactionManager transactionManager;
+	private JdbcTemplate jdbc;
+	private GenDataExecutor executor;
+
+	@Before
+	public void setUp() {
+		jdbc = new JdbcTemplate(dataSource);
+		executor = new GenDataExecutor(dataSource, transactionManager, 4);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	@Transactional(transactionManager = "springTransactionManager", readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public void tasksRunInSnapshotOfReadOnlyTransaction() {
+		System.out.println(CLASS_NAME + "tasksRunInSnapshotOfReadOnlyTransaction");
+
+		String snapshot = jdbc.queryForObject(SNAPSHOT_QUERY, String.class);
+		Integer backendPid = jdbc.queryForObject(BACKEND_PID_QUERY, Integer.class);
+		Thread caller = Thread.currentThread();
+		assertThat(executor.isParallel()).isTrue();
+
+		List<Integer> items = IntStream.range(0, 16).boxed().collect(Collectors.toList());
+		List<TaskRun> runs = executor.map(items, item -> new TaskRun(item,
+				jdbc.queryForObject(SNAPSHOT_QUERY, String.class),
+				jdbc.queryForObject(BACKEND_PID_QUERY, Integer.class),
+				Thread.currentThread(),
+				TransactionSynchronizationManager.isCurrentTransactionReadOnly()));
+
+		// results are in the order of the items
+		assertThat(runs).extracting(run -> run.item).containsExactlyElementsOf(items);
+		// every task runs in its own read-only transaction which imported the snapshot of the calling transaction
+		assertThat(runs).allSatisfy(run -> {
+			assertThat(run.snapshot).isEqualTo(snapshot);
+			assertThat(run.backendPid).isNotEqualTo(backendPid);
+			assertThat(run.thread).isNotSameAs(caller);
+			assertThat(run.readOnly).isTrue();
+		});
+	}
+
+	@Test
+	public void tasksRunSequentiallyInReadWriteTransaction() throws Exception {
+		System.out.println(CLASS_NAME + "tasksRunSequentiallyInReadWriteTransaction");
+
+		Vo vo = perun.getVosManagerBl().createVo(sess, new Vo(0, "genDataVo", "genDataVo"));
+		Thread caller = Thread.currentThread();
+		assertThat(executor.isParallel()).isFalse();
+
+		List<Thread> threads = executor.map(List.of(1, 2, 3), item -> Thread.currentThread());
+		// uncommitted changes of the calling transaction are visible to the tasks
+		List<Integer> counts = executor.map(List.of(vo.getId(), vo.getId()),
+				id -> jdbc.queryForObject("select count(*) from vos where id=?", Integer.class, id));
+
+		assertThat(threads).containsOnly(caller);
+		assertThat(counts).containsOnly(1);
+	}
+
+	private static class TaskRun {
+
+		private final int item;
+		private final String snapshot;
+		private final Integer backendPid;
+		private final Thread thread;
+		private final boolean readOnly;
+
+		private TaskRun(int item, String snapshot, Integer backendPid, Thread thread, boolean readOnly) {
+			this.item = item;
+			this.snapshot = snapshot;
+			this.backendPid = backendPid;
+			this.thread = thread;
+			this.readOnly = readOnly;
+		}
+	}
+}
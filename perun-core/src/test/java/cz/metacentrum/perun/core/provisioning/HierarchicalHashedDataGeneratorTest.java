@@ -0,0 +1,131 @@
+package cz.metacentrum.perun.core.provisioning;
+
+import cz.metacentrum.perun.core.api.Attribute;
+import cz.metacentrum.perun.core.api.Facility;
+import cz.metacentrum.perun.core.api.HashedGenData;
+import cz.metacentrum.perun.core.api.Member;
+import cz.metacentrum.perun.core.api.Resource;
+import cz.metacentrum.perun.core.api.Service;
+import cz.metacentrum.perun.core.api.User;
+import cz.metacentrum.perun.core.api.Vo;
+import cz.metacentrum.perun.core.bl.PerunBl;
+import cz.metacentrum.perun.core.impl.PerunSessionImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HierarchicalHashedDataGeneratorTest {
+
+	private static final String CLASS_NAME = "HierarchicalHashedDataGeneratorTest.";
+
+	private final PerunBl perunBlMock = mock(PerunBl.class, RETURNS_DEEP_STUBS);
+	private final PerunSessionImpl sessionMock = mock(PerunSessionImpl.class);
+	private final Facility facility = new Facility(1, "facility");
+	private final Service service = new Service(1, "service");
+	private GenDataExecutor executor;
+
+	@Before
+	public void setUp() throws Exception {
+		when(sessionMock.getPerunBl()).thenReturn(perunBlMock);
+
+		Vo vo = new Vo(1, "vo", "vo");
+		List<Resource> resources = List.of(
+				new Resource(1, "r1", "", facility.getId(), vo.getId()),
+				new Resource(2, "r2", "", facility.getId(), vo.getId()),
+				new Resource(3, "r3", "", facility.getId(), vo.getId()));
+		when(perunBlMock.getFacilitiesManagerBl().getAssignedResources(sessionMock, facility, null, service))
+				.thenReturn(resources);
+		// members are shared by resources
+		for (Resource resource : resources) {
+			when(perunBlMock.getResourcesManagerBl().getAllowedMembers(sessionMock, resource))
+					.thenReturn(List.of(createMember(resource.getId()), createMember(resource.getId() + 1)));
+		}
+		when(perunBlMock.getVosManagerBl().getVoById(sessionMock, vo.getId())).thenReturn(vo);
+
+		when(perunBlMock.getAttributesManagerBl().getRequiredAttributes(sessionMock, service, facility))
+				.thenReturn(List.of(createAttribute("facility", facility.getId())));
+		when(perunBlMock.getAttributesManagerBl().getRequiredAttributes(eq(sessionMock), eq(service), any(Vo.class)))
+				.thenAnswer(invocation -> List.of(createAttribute("vo", invocation.<Vo>getArgument(2).getId())));
+		when(perunBlMock.getAttributesManagerBl().getRequiredAttributes(eq(sessionMock), eq(service), any(Resource.class)))
+				.thenAnswer(invocation -> List.of(createAttribute("resource", invocation.<Resource>getArgument(2).getId())));
+		when(perunBlMock.getAttributesManagerBl().getRequiredAttributes(eq(sessionMock), eq(service), any(Resource.class), anyList()))
+				.thenAnswer(invocation -> attributesOf(invocation.<List<Member>>getArgument(3), "member-resource",
+						invocation.<Resource>getArgument(2).getId() * 100));
+		when(perunBlMock.getAttributesManagerBl().getRequiredAttributes(eq(sessionMock), isNull(), eq(service), anyList()))
+				.thenAnswer(invocation -> attributesOf(invocation.<List<Member>>getArgument(3), "member", 0));
+		when(perunBlMock.getUsersManagerBl().getUsersByIds(eq(sessionMock), anyList()))
+				.thenAnswer(invocation -> invocation.<List<Integer>>getArgument(1).stream()
+						.map(id -> new User(id, "", "user" + id, "", "", ""))
+						.collect(Collectors.toList()));
+		when(perunBlMock.getAttributesManagerBl().getRequiredAttributes(eq(sessionMock), eq(service), anyList()))
+				.thenAnswer(invocation -> attributesOf(invocation.<List<User>>getArgument(2), "user", 0));
+		when(perunBlMock.getAttributesManagerBl().getRequiredAttributes(eq(sessionMock), eq(service), eq(facility), anyList()))
+				.thenAnswer(invocation -> attributesOf(invocation.<List<User>>getArgument(3), "user-facility", 0));
+
+		executor = new GenDataExecutor(null, null, 4);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void parallelGenerationProducesSameData() {
+		System.out.println(CLASS_NAME + "parallelGenerationProducesSameData");
+
+		assertThat(executor.isParallel()).isTrue();
+
+		HashedGenData sequentialData = createGenerator(null).generateData();
+		HashedGenData parallelData = createGenerator(executor).generateData();
+
+		assertThat(parallelData).isEqualTo(sequentialData);
+		assertThat(parallelData.getHierarchy().get(facility.getId()).getChildren()).hasSize(3);
+		assertThat(parallelData.getHierarchy().get(facility.getId()).getMembers()).hasSize(4);
+	}
+
+	private HierarchicalHashedDataGenerator createGenerator(GenDataExecutor executor) {
+		return new HierarchicalHashedDataGenerator.Builder()
+				.sess(sessionMock)
+				.service(service)
+				.facility(facility)
+				.executor(executor)
+				.build();
+	}
+
+	private static Member createMember(int id) {
+		return new Member(id, id + 10, 1, null);
+	}
+
+	private static Attribute createAttribute(String name, int value) {
+		Attribute attribute = new Attribute();
+		attribute.setId(name.hashCode());
+		attribute.setNamespace("urn:perun:facility:attribute-def:def");
+		attribute.setFriendlyName(name);
+		attribute.setType(Integer.class.getName());
+		attribute.setValue(value);
+		return attribute;
+	}
+
+	private static <T> HashMap<T, List<Attribute>> attributesOf(List<T> entities, String name, int offset) {
+		HashMap<T, List<Attribute>> attributes = new HashMap<>();
+		for (T entity : entities) {
+			attributes.put(entity, List.of(createAttribute(name, offset + entity.hashCode())));
+		}
+		return attributes;
+	}
+}
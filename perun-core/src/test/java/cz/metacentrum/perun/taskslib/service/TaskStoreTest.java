@@ -96,4 +96,21 @@ public class TaskStoreTest {
 		assertTrue(tasks.contains(taskG));
 		assertTrue(tasks.contains(taskD));
 	}
+
+	@Test
+	public void testGetTaskWithStatusAfterStatusChange() throws Exception {
+		taskStore.addTask(taskW);
+		taskStore.addTask(taskG);
+
+		taskW.setStatus(Task.TaskStatus.PLANNED);
+
+		assertTrue(taskStore.getTasksWithStatus(Task.TaskStatus.WAITING).isEmpty());
+		List<Task> tasks = taskStore.getTasksWithStatus(Task.TaskStatus.PLANNED);
+		assertEquals(1, tasks.size());
+		assertTrue(tasks.contains(taskW));
+
+		taskStore.removeTask(taskW);
+		taskW.setStatus(Task.TaskStatus.WAITING);
+		assertTrue(taskStore.getTasksWithStatus(Task.TaskStatus.WAITING, Task.TaskStatus.PLANNED).isEmpty());
+	}
 }
@@ -59,10 +59,11 @@ public class EngineMessageProducer {
 
 	/**
 	 * Send JMS message to the Engine associated with this queue.
+	 * Synchronized, since JMS session is shared by all TaskScheduler threads.
 	 *
 	 * @param text Message content
 	 */
-	public void sendMessage(String text) {
+	public synchronized void sendMessage(String text) {
 
 		try {
 			// Step 7. Create a Text Message
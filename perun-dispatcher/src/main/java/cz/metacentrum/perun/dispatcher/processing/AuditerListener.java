@@ -3,11 +3,11 @@ package cz.metacentrum.perun.dispatcher.processing;
 import javax.annotation.Resource;
 
 import cz.metacentrum.perun.audit.events.AuditEvent;
+import cz.metacentrum.perun.core.api.AuditMessagesManager;
 import cz.metacentrum.perun.core.api.Perun;
 import cz.metacentrum.perun.core.api.PerunClient;
 import cz.metacentrum.perun.core.api.PerunPrincipal;
 import cz.metacentrum.perun.core.api.PerunSession;
-import cz.metacentrum.perun.core.api.exceptions.PrivilegeException;
 import cz.metacentrum.perun.taskslib.runners.impl.AbstractRunner;
 
 import org.slf4j.Logger;
@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import cz.metacentrum.perun.core.api.exceptions.InternalErrorException;
+import cz.metacentrum.perun.core.api.exceptions.PrivilegeException;
 import cz.metacentrum.perun.dispatcher.model.Event;
 
 import org.springframework.stereotype.Service;
@@ -28,6 +29,9 @@ import java.util.concurrent.BlockingQueue;
  * It ensure continuous reading of audit messages and convert them to Events,
  * which are then pushed to EventQueue for further processing by EventProcessor.
  *
+ * Listener is woken up as soon as Auditer of the same JVM stores new messages, messages stored
+ * by other Perun instances (other processes) are read every "dispatcher.auditer.waitTimeout" ms.
+ *
  * Its started by DispatcherManager when Spring context is initialized.
  *
  * @see cz.metacentrum.perun.dispatcher.processing.EventProcessor
@@ -83,6 +87,7 @@ public class AuditerListener extends AbstractRunner {
 	public void run() {
 
 		boolean whichOfTwoRules = false;
+		long waitTimeout = getWaitTimeout();
 
 		try {
 
@@ -103,7 +108,7 @@ public class AuditerListener extends AbstractRunner {
 
 			while (!shouldStop()) {
 				try {
-					for (AuditEvent message : perun.getAuditMessagesManager().pollConsumerEvents(sess, "dispatcher")) {
+					for (AuditEvent message : perun.getAuditMessagesManager().waitForConsumerEvents(sess, "dispatcher", AuditMessagesManager.CONSUMERBATCHSIZE, waitTimeout)) {
 						// create event for each message
 						Event event = new Event();
 						event.setTimeStamp(System.currentTimeMillis());
@@ -118,7 +123,6 @@ public class AuditerListener extends AbstractRunner {
 						// pass event to queue for further processing
 						eventQueue.put(event);
 					}
-					Thread.sleep(1000);
 				} catch (InternalErrorException | PrivilegeException ex) {
 					log.error("AuditerListener couldn't get AuditEvents.", ex);
 					Thread.sleep(1000);
@@ -132,4 +136,17 @@ public class AuditerListener extends AbstractRunner {
 
 	}
 
+	/**
+	 * Get max time to wait for new audit messages before auditer log is checked again.
+	 *
+	 * @return timeout in milliseconds
+	 */
+	private long getWaitTimeout() {
+		try {
+			return Long.parseLong(dispatcherProperties.getProperty("dispatcher.auditer.waitTimeout", "1000"));
+		} catch (NumberFormatException ex) {
+			return 1000;
+		}
+	}
+
 }
@@ -29,12 +29,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class ensure periodic blocking polling of EventQueue with Events parsed from audit messages by AuditerListener.
@@ -44,6 +47,9 @@ import java.util.concurrent.BlockingQueue;
  * Each Event is converted to Task if possible and added to pool (if new) or updated in pool (if exists).
  * New Tasks are also planned immediately.
  *
+ * Events received within the coalescing window ("dispatcher.event.coalescingWindow" in milliseconds) are resolved
+ * together and each resolved Facility-Service pair is passed to the pool only once.
+ *
  * @see cz.metacentrum.perun.dispatcher.model.Event
  * @see cz.metacentrum.perun.dispatcher.processing.AuditerListener
  * @see cz.metacentrum.perun.dispatcher.scheduling.SchedulingPool
@@ -66,6 +72,12 @@ public class EventProcessor extends AbstractRunner {
 	private Properties dispatcherProperties;
 	private PerunSession sess;
 
+	private final AtomicLong receivedEventsCount = new AtomicLong();
+	private final AtomicLong resolvedPairsCount = new AtomicLong();
+	private final AtomicLong coalescedPairsCount = new AtomicLong();
+	private final AtomicLong createdTasksCount = new AtomicLong();
+	private final AtomicLong updatedTasksCount = new AtomicLong();
+
 	// ----- setters -------------------------------------
 
 	public BlockingQueue<Event> getEventQueue() {
@@ -127,127 +139,224 @@ public class EventProcessor extends AbstractRunner {
 	/**
 	 * EvProcessor thread, reads EventQueue and convert Events to Tasks,
 	 * which are added to scheduling pool or updated if already in pool.
+	 * Events received within the coalescing window are processed together.
 	 */
 	@Override
 	public void run() {
+		long coalescingWindow = getCoalescingWindow();
 		while (!shouldStop()) {
 			try {
 				Event event = eventQueue.take();
-				createTaskFromEvent(event);
-				log.debug("Remaining events in a Queue = {}", eventQueue.size());
+				// resolved Facility-Service pairs with forced flag, each pair is processed only once
+				Map<Facility, Map<Service, Boolean>> resolvedPairs = new LinkedHashMap<>();
+				int eventsCount = 1;
+				resolveEvent(event, resolvedPairs);
+
+				long deadline = System.currentTimeMillis() + coalescingWindow;
+				long remaining;
+				while (!shouldStop() && (remaining = deadline - System.currentTimeMillis()) > 0) {
+					event = eventQueue.poll(remaining, TimeUnit.MILLISECONDS);
+					if (event == null) break;
+					eventsCount++;
+					resolveEvent(event, resolvedPairs);
+				}
+
+				int pairsCount = 0;
+				for (Entry<Facility, Map<Service, Boolean>> entry : resolvedPairs.entrySet()) {
+					for (Entry<Service, Boolean> serviceEntry : entry.getValue().entrySet()) {
+						pairsCount++;
+						createTaskForPair(entry.getKey(), serviceEntry.getKey(), serviceEntry.getValue());
+					}
+				}
+				coalescedPairsCount.addAndGet(pairsCount);
+				log.debug("Processed {} events as {} Facility-Service pairs. Remaining events in a Queue = {}", eventsCount, pairsCount, eventQueue.size());
 			} catch (Exception e) {
 				log.error(e.getMessage(), e);
 			}
 		}
-		log.debug("EventProcessor has stopped.");
+		log.debug("EventProcessor has stopped. Received {} events, resolved {} Facility-Service pairs, processed {} after coalescing, created {} and updated {} Tasks.",
+				getReceivedEventsCount(), getResolvedPairsCount(), getCoalescedPairsCount(), getCreatedTasksCount(), getUpdatedTasksCount());
 	}
 
 	/**
-	 * Creates Task from Event data. Tries to resolve Service and Facility pairs from Event.
-	 * Events for non existing entities are discarded.
+	 * Get number of Events received from EventQueue.
 	 *
-	 * @param event Event to parse
-	 * @throws ServiceNotExistsException When Service from Event doesn't exists anymore
-	 * @throws InvalidEventMessageException  When Message has invalid format.
-	 * @throws InternalErrorException  When implementation fails
-	 * @throws PrivilegeException  When dispatcher lack privileges to call core methods
+	 * @return number of received Events
 	 */
-	private void createTaskFromEvent(Event event) throws ServiceNotExistsException, InvalidEventMessageException, PrivilegeException {
+	public long getReceivedEventsCount() {
+		return receivedEventsCount.get();
+	}
 
-		Map<Facility, Set<Service>> resolvedServices = eventServiceResolver.resolveEvent(event.getData());
+	/**
+	 * Get number of Facility-Service pairs resolved from received Events, including duplicates.
+	 *
+	 * @return number of resolved pairs
+	 */
+	public long getResolvedPairsCount() {
+		return resolvedPairsCount.get();
+	}
 
-		for (Entry<Facility, Set<Service>> map : resolvedServices.entrySet()) {
-			Facility facility = map.getKey();
-			for (Service service : map.getValue()) {
-				if (!service.isEnabled()) {
-					log.debug("Service not enabled: {}.", service);
-					continue;
-				}
+	/**
+	 * Get number of Facility-Service pairs processed after duplicates within the coalescing window were removed.
+	 *
+	 * @return number of processed pairs
+	 */
+	public long getCoalescedPairsCount() {
+		return coalescedPairsCount.get();
+	}
+
+	/**
+	 * Get number of new Tasks added to the pool.
+	 *
+	 * @return number of created Tasks
+	 */
+	public long getCreatedTasksCount() {
+		return createdTasksCount.get();
+	}
 
-				if (((PerunBl) perun).getServicesManagerBl().isServiceBlockedOnFacility(service, facility)) {
-					log.debug("Service blocked on Facility: {} , {}.", service, facility);
-					continue;
+	/**
+	 * Get number of Tasks already present in the pool, which were updated.
+	 *
+	 * @return number of updated Tasks
+	 */
+	public long getUpdatedTasksCount() {
+		return updatedTasksCount.get();
+	}
+
+	/**
+	 * Resolves Service and Facility pairs from Event and adds them to the map of resolved pairs.
+	 * Pair is marked as forced, if any of its Events forces the propagation.
+	 * Events which can't be resolved are discarded.
+	 *
+	 * @param event Event to parse
+	 * @param resolvedPairs resolved pairs with forced flag
+	 */
+	private void resolveEvent(Event event, Map<Facility, Map<Service, Boolean>> resolvedPairs) {
+		receivedEventsCount.incrementAndGet();
+		boolean isForced = determineForcedPropagation(event);
+		try {
+			Map<Facility, Set<Service>> resolvedServices = eventServiceResolver.resolveEvent(event.getData());
+			for (Entry<Facility, Set<Service>> map : resolvedServices.entrySet()) {
+				Map<Service, Boolean> services = resolvedPairs.computeIfAbsent(map.getKey(), facility -> new LinkedHashMap<>());
+				for (Service service : map.getValue()) {
+					resolvedPairsCount.incrementAndGet();
+					services.merge(service, isForced, Boolean::logicalOr);
 				}
+			}
+		} catch (ServiceNotExistsException | InvalidEventMessageException | PrivilegeException | RuntimeException e) {
+			log.error("Could not resolve Event {}: {}", event, e);
+		}
+	}
 
-				// Check if all destinations are not blocked
-				try {
-
-					// init session
-					try {
-						if (sess == null) {
-							sess = perun.getPerunSession(new PerunPrincipal(
-											dispatcherProperties.getProperty("perun.principal.name"),
-											dispatcherProperties.getProperty("perun.principal.extSourceName"),
-											dispatcherProperties.getProperty("perun.principal.extSourceType")),
-									new PerunClient());
-						}
-					} catch (InternalErrorException e1) {
-						log.error("Error establishing perun session to create Task from Event: ", e1);
-						continue;
-					}
+	/**
+	 * Creates Task for resolved Service and Facility pair or updates existing one.
+	 *
+	 * @param facility Facility resolved from Events
+	 * @param service Service resolved from Events
+	 * @param isForced TRUE if any of Events forces the propagation
+	 */
+	private void createTaskForPair(Facility facility, Service service, boolean isForced) {
 
-					List<Destination> destinations = perun.getServicesManager().getDestinations(sess, service, facility);
-					if (destinations != null && !destinations.isEmpty()) {
-						Iterator<Destination> iter = destinations.iterator();
-						while (iter.hasNext()) {
-							Destination dest = iter.next();
-							if (((PerunBl) perun).getServicesManagerBl().isServiceBlockedOnDestination(service, dest.getId())) {
-								iter.remove();
-							}
-						}
-						if (destinations.isEmpty()) {
-							// All service destinations were blocked -> Task is denied to be sent to engine just like
-							// when service is blocked globally in Perun or on facility as a whole.
-							log.debug("{} blocked on all destinations on {}.", service, facility);
-							continue;
-						}
-					}
+		if (!service.isEnabled()) {
+			log.debug("Service not enabled: {}.", service);
+			return;
+		}
+
+		if (((PerunBl) perun).getServicesManagerBl().isServiceBlockedOnFacility(service, facility)) {
+			log.debug("Service blocked on Facility: {} , {}.", service, facility);
+			return;
+		}
+
+		// Check if all destinations are not blocked
+		try {
 
-				} catch (ServiceNotExistsException e) {
-					log.error("Service not exist: {}.", service);
-				} catch (FacilityNotExistsException e) {
-					log.error("Facility not exist: {}.", facility);
-				}  catch (InternalErrorException | PrivilegeException e) {
-					log.error("{}", e);
+			// init session
+			try {
+				if (sess == null) {
+					sess = perun.getPerunSession(new PerunPrincipal(
+									dispatcherProperties.getProperty("perun.principal.name"),
+									dispatcherProperties.getProperty("perun.principal.extSourceName"),
+									dispatcherProperties.getProperty("perun.principal.extSourceType")),
+							new PerunClient());
 				}
+			} catch (InternalErrorException e1) {
+				log.error("Error establishing perun session to create Task from Event: ", e1);
+				return;
+			}
 
-				// check for presence of task for this <Service, Facility> pair
-				// NOTE: this must be atomic enough to not create duplicate
-				// tasks in schedulingPool (are we running in parallel
-				// here?)
-
-				boolean isForced = determineForcedPropagation(event);
-
-				Task task = schedulingPool.getTask(facility, service);
-
-				if (task != null) {
-					// there already is a task in schedulingPool
-					// signal that task needs to regenerate data and be forced next time
-					task.setDestinations(null);
-					task.setSourceUpdated(true);
-					if (isForced) task.setPropagationForced(true);
-					task.setRecurrence(0);
-					log.debug("[{}] Task is already in pool. Re-setting source updated and forced flags, {}.", task.getId(), task);
-				} else {
-					// no such task yet, create one
-					task = new Task();
-					task.setFacility(facility);
-					task.setService(service);
-					task.setStatus(TaskStatus.WAITING);
-					task.setRecurrence(0);
-					task.setDelay(service.getDelay());
-					task.setSchedule(LocalDateTime.now());
-					task.setSourceUpdated(false);
-					task.setPropagationForced(isForced);
-					try {
-						schedulingPool.addToPool(task);
-						log.debug("[{}] New Task added to pool. {}.", task.getId(), task);
-					} catch (TaskStoreException e) {
-						log.error("[{}] Could not add Task to pool. Task {} will be lost: {}", task.getId(), task, e);
+			List<Destination> destinations = perun.getServicesManager().getDestinations(sess, service, facility);
+			if (destinations != null && !destinations.isEmpty()) {
+				Iterator<Destination> iter = destinations.iterator();
+				while (iter.hasNext()) {
+					Destination dest = iter.next();
+					if (((PerunBl) perun).getServicesManagerBl().isServiceBlockedOnDestination(service, dest.getId())) {
+						iter.remove();
 					}
-					schedulingPool.scheduleTask(task, -1);
 				}
+				if (destinations.isEmpty()) {
+					// All service destinations were blocked -> Task is denied to be sent to engine just like
+					// when service is blocked globally in Perun or on facility as a whole.
+					log.debug("{} blocked on all destinations on {}.", service, facility);
+					return;
+				}
+			}
+
+		} catch (ServiceNotExistsException e) {
+			log.error("Service not exist: {}.", service);
+		} catch (FacilityNotExistsException e) {
+			log.error("Facility not exist: {}.", facility);
+		}  catch (InternalErrorException | PrivilegeException e) {
+			log.error("{}", e);
+		}
+
+		// check for presence of task for this <Service, Facility> pair
+		// NOTE: this must be atomic enough to not create duplicate
+		// tasks in schedulingPool (are we running in parallel
+		// here?)
+
+		Task task = schedulingPool.getTask(facility, service);
+
+		if (task != null) {
+			// there already is a task in schedulingPool
+			// signal that task needs to regenerate data and be forced next time
+			task.setDestinations(null);
+			task.setSourceUpdated(true);
+			if (isForced) task.setPropagationForced(true);
+			task.setRecurrence(0);
+			updatedTasksCount.incrementAndGet();
+			log.debug("[{}] Task is already in pool. Re-setting source updated and forced flags, {}.", task.getId(), task);
+		} else {
+			// no such task yet, create one
+			task = new Task();
+			task.setFacility(facility);
+			task.setService(service);
+			task.setStatus(TaskStatus.WAITING);
+			task.setRecurrence(0);
+			task.setDelay(service.getDelay());
+			task.setSchedule(LocalDateTime.now());
+			task.setSourceUpdated(false);
+			task.setPropagationForced(isForced);
+			try {
+				schedulingPool.addToPool(task);
+				createdTasksCount.incrementAndGet();
+				log.debug("[{}] New Task added to pool. {}.", task.getId(), task);
+			} catch (TaskStoreException e) {
+				log.error("[{}] Could not add Task to pool. Task {} will be lost: {}", task.getId(), task, e);
 			}
+			schedulingPool.scheduleTask(task, -1);
+		}
+	}
+
+	/**
+	 * Get time window in which received Events are coalesced.
+	 *
+	 * @return coalescing window in milliseconds, zero means each Event is processed separately
+	 */
+	private long getCoalescingWindow() {
+		try {
+			return Long.parseLong(dispatcherProperties.getProperty("dispatcher.event.coalescingWindow", "1000"));
+		} catch (NumberFormatException ex) {
+			return 1000;
 		}
 	}
 
@@ -7,10 +7,27 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import cz.metacentrum.perun.audit.events.AuditEvent;
 import cz.metacentrum.perun.audit.events.EngineIgnoreEvent;
+import cz.metacentrum.perun.audit.events.FacilityManagerEvents.FacilityDeleted;
+import cz.metacentrum.perun.audit.events.FacilityManagerEvents.FacilityUpdated;
+import cz.metacentrum.perun.audit.events.ResourceManagerEvents.ResourceDeleted;
+import cz.metacentrum.perun.audit.events.ResourceManagerEvents.ResourceUpdated;
+import cz.metacentrum.perun.audit.events.ResourceManagerEvents.ServiceAssignedToResource;
+import cz.metacentrum.perun.audit.events.ResourceManagerEvents.ServiceRemovedFromResource;
+import cz.metacentrum.perun.audit.events.ServicesManagerEvents.AllRequiredAttributesRemovedFromService;
+import cz.metacentrum.perun.audit.events.ServicesManagerEvents.AttributeAddedAsRequiredToService;
+import cz.metacentrum.perun.audit.events.ServicesManagerEvents.AttributesAddedAsRequiredToService;
+import cz.metacentrum.perun.audit.events.ServicesManagerEvents.RequiredAttributeRemovedFromService;
+import cz.metacentrum.perun.audit.events.ServicesManagerEvents.RequiredAttributesRemovedFromService;
+import cz.metacentrum.perun.audit.events.ServicesManagerEvents.ServiceDeleted;
+import cz.metacentrum.perun.audit.events.ServicesManagerEvents.ServiceUpdated;
+import cz.metacentrum.perun.audit.events.StringMessageEvent;
 import cz.metacentrum.perun.core.api.PerunClient;
 
+import net.jodah.expiringmap.ExpirationPolicy;
+import net.jodah.expiringmap.ExpiringMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +57,8 @@ import cz.metacentrum.perun.core.api.exceptions.UserNotExistsException;
 import cz.metacentrum.perun.dispatcher.exceptions.InvalidEventMessageException;
 import cz.metacentrum.perun.dispatcher.processing.EventServiceResolver;
 
+import javax.annotation.PostConstruct;
+
 /**
  * Implementation of EventServiceResolver.
  *
@@ -60,6 +79,23 @@ public class EventServiceResolverImpl implements EventServiceResolver {
 
 	private PerunSession perunSession = null;
 
+	// events changing facility or assigned services of the resource they reference
+	private static final Set<Class<? extends AuditEvent>> RESOURCE_CHANGING_EVENTS = Set.of(
+			ServiceAssignedToResource.class, ServiceRemovedFromResource.class,
+			ResourceUpdated.class, ResourceDeleted.class);
+
+	// events changing cached services or facilities or required attributes of services
+	private static final Set<Class<? extends AuditEvent>> CACHE_CLEARING_EVENTS = Set.of(
+			ServiceUpdated.class, ServiceDeleted.class, FacilityUpdated.class, FacilityDeleted.class,
+			AttributeAddedAsRequiredToService.class, AttributesAddedAsRequiredToService.class,
+			RequiredAttributeRemovedFromService.class, RequiredAttributesRemovedFromService.class,
+			AllRequiredAttributesRemovedFromService.class);
+
+	// short-lived caches of lookups, which are same for many consecutive events, null if disabled
+	private ExpiringMap<Integer, Facility> resourceFacilityCache;
+	private ExpiringMap<Integer, List<Service>> resourceServicesCache;
+	private ExpiringMap<Integer, List<AttributeDefinition>> serviceRequiredAttributesCache;
+
 	// ----- setters -------------------------------------
 
 	public Properties getDispatcherProperties() {
@@ -82,6 +118,25 @@ public class EventServiceResolverImpl implements EventServiceResolver {
 
 	// ----- methods -------------------------------------
 
+	/**
+	 * Create caches of resource facilities, resource services and service required attributes.
+	 * They are valid for "dispatcher.resolver.cacheTimeout" milliseconds, zero or less disables them.
+	 */
+	@PostConstruct
+	public void initCaches() {
+		long cacheTimeout;
+		try {
+			cacheTimeout = Long.parseLong(dispatcherProperties.getProperty("dispatcher.resolver.cacheTimeout", "60000"));
+		} catch (NumberFormatException ex) {
+			cacheTimeout = 60000;
+		}
+		if (cacheTimeout > 0) {
+			resourceFacilityCache = ExpiringMap.builder().expirationPolicy(ExpirationPolicy.CREATED).expiration(cacheTimeout, TimeUnit.MILLISECONDS).build();
+			resourceServicesCache = ExpiringMap.builder().expirationPolicy(ExpirationPolicy.CREATED).expiration(cacheTimeout, TimeUnit.MILLISECONDS).build();
+			serviceRequiredAttributesCache = ExpiringMap.builder().expirationPolicy(ExpirationPolicy.CREATED).expiration(cacheTimeout, TimeUnit.MILLISECONDS).build();
+		}
+	}
+
 	@Override
 	public Map<Facility, Set<Service>> resolveEvent(AuditEvent event) throws InvalidEventMessageException, ServiceNotExistsException, PrivilegeException {
 
@@ -89,14 +144,22 @@ public class EventServiceResolverImpl implements EventServiceResolver {
 
 		Map<Facility, Set<Service>> result = new HashMap<Facility, Set<Service>>();
 
+		// drop cached lookups changed by this event, it must be done even for ignored events
+		invalidateCaches(event);
+
 		if (event instanceof EngineIgnoreEvent) {
 			log.info("Event ignored {} facilities will be returned", result.size());
 			return result;
 		}
 
-		// GET All Beans (only PerunBeans) from message
-		List<PerunBean> listOfBeans = new ArrayList<PerunBean>();
-		listOfBeans = AuditParser.parseLog(event.getMessage());
+		// GET All Beans (only PerunBeans) from event
+		List<PerunBean> listOfBeans;
+		if (event instanceof StringMessageEvent) {
+			// event has no typed beans, they can be found only in its message
+			listOfBeans = AuditParser.parseLog(event.getMessage());
+		} else {
+			listOfBeans = event.getReferencedBeans();
+		}
 
 		// Prepare variables
 		AttributeDefinition attributeDefinition = null;
@@ -247,8 +310,8 @@ public class EventServiceResolverImpl implements EventServiceResolver {
 			Facility facilityResolvedFromEvent;
 			List<Service> servicesResolvedFromResource;
 			try {
-				facilityResolvedFromEvent = perun.getResourcesManager().getFacility(perunSession, r);
-				servicesResolvedFromResource = perun.getResourcesManager().getAssignedServices(perunSession, r);
+				facilityResolvedFromEvent = getFacility(r);
+				servicesResolvedFromResource = getAssignedServices(r);
 				// process only services resolved from event if any
 				if (!servicesResolvedFromEvent.isEmpty())
 					servicesResolvedFromResource.retainAll(servicesResolvedFromEvent);
@@ -265,9 +328,7 @@ public class EventServiceResolverImpl implements EventServiceResolver {
 					// TODO (CHECKME) This method can raise
 					// ServiceNotExistsException. Is it ok? Or it must be
 					// catch?
-					List<AttributeDefinition> serviceRequiredAttributes = perun
-							.getAttributesManager()
-							.getRequiredAttributesDefinition(perunSession, s);
+					List<AttributeDefinition> serviceRequiredAttributes = getRequiredAttributesDefinition(s);
 					if (!serviceRequiredAttributes.contains(attributeDefinition))
 						continue;
 				}
@@ -287,4 +348,67 @@ public class EventServiceResolverImpl implements EventServiceResolver {
 
 	}
 
+	/**
+	 * Remove cached lookups, which could be changed by the event.
+	 * Events are processed in the order they were stored, so the cache can't be filled by outdated data afterwards.
+	 *
+	 * @param event processed event
+	 */
+	private void invalidateCaches(AuditEvent event) {
+		if (resourceFacilityCache == null) return;
+		if (CACHE_CLEARING_EVENTS.contains(event.getClass())) {
+			log.debug("Clearing resolver caches because of event {}.", event.getName());
+			resourceFacilityCache.clear();
+			resourceServicesCache.clear();
+			serviceRequiredAttributesCache.clear();
+		} else if (RESOURCE_CHANGING_EVENTS.contains(event.getClass())) {
+			for (PerunBean bean : event.getReferencedBeans()) {
+				if (bean instanceof Resource) {
+					log.debug("Removing resource {} from resolver caches because of event {}.", bean.getId(), event.getName());
+					resourceFacilityCache.remove(bean.getId());
+					resourceServicesCache.remove(bean.getId());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get facility of the resource, cached if possible.
+	 */
+	private Facility getFacility(Resource resource) throws ResourceNotExistsException, PrivilegeException {
+		if (resourceFacilityCache == null) return perun.getResourcesManager().getFacility(perunSession, resource);
+		Facility facility = resourceFacilityCache.get(resource.getId());
+		if (facility == null) {
+			facility = perun.getResourcesManager().getFacility(perunSession, resource);
+			resourceFacilityCache.put(resource.getId(), facility);
+		}
+		return facility;
+	}
+
+	/**
+	 * Get services assigned to the resource, cached if possible. Returned list can be modified.
+	 */
+	private List<Service> getAssignedServices(Resource resource) throws ResourceNotExistsException, PrivilegeException {
+		if (resourceServicesCache == null) return perun.getResourcesManager().getAssignedServices(perunSession, resource);
+		List<Service> services = resourceServicesCache.get(resource.getId());
+		if (services == null) {
+			services = perun.getResourcesManager().getAssignedServices(perunSession, resource);
+			resourceServicesCache.put(resource.getId(), services);
+		}
+		return new ArrayList<>(services);
+	}
+
+	/**
+	 * Get attributes required by the service, cached if possible.
+	 */
+	private List<AttributeDefinition> getRequiredAttributesDefinition(Service service) throws ServiceNotExistsException {
+		if (serviceRequiredAttributesCache == null) return perun.getAttributesManager().getRequiredAttributesDefinition(perunSession, service);
+		List<AttributeDefinition> attributes = serviceRequiredAttributesCache.get(service.getId());
+		if (attributes == null) {
+			attributes = perun.getAttributesManager().getRequiredAttributesDefinition(perunSession, service);
+			serviceRequiredAttributesCache.put(service.getId(), attributes);
+		}
+		return attributes;
+	}
+
 }
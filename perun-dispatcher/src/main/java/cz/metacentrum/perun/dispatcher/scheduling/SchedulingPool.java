@@ -5,16 +5,22 @@ import cz.metacentrum.perun.dispatcher.jms.EngineMessageProducer;
 import cz.metacentrum.perun.taskslib.exceptions.TaskStoreException;
 import cz.metacentrum.perun.taskslib.model.Task;
 import cz.metacentrum.perun.taskslib.model.TaskResult;
+import cz.metacentrum.perun.taskslib.model.TaskSchedule;
 import cz.metacentrum.perun.taskslib.service.TaskStore;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * In-memory pool of all Tasks. On application start, all Tasks are reloaded from DB.
  *
  * New Tasks are added by EventProcessor, existing Tasks are updated.
  *
- * Tasks can be then pushed to waitingTasksQueue by EventProcessor (new Task), TaskScheduler or PropagationMaintainer.
+ * Tasks can be then pushed to waitingTasksQueues (or waitingForcedTasksQueues) of their shard by EventProcessor (new Task),
+ * TaskScheduler or PropagationMaintainer.
+ *
+ * Waiting Tasks are partitioned to shards by their Facility, each shard has its own waiting queues processed by
+ * its own TaskScheduler thread. All Tasks of the same Facility are always in the same shard, so they are processed in order.
  *
  * Allows association of Tasks with Engines (EngineMessageProducer queues).
  *
@@ -58,6 +64,26 @@ public interface SchedulingPool extends TaskStore {
 	 */
 	void scheduleTask(Task task, int delayCount);
 
+	/**
+	 * Get number of shards, waiting Tasks are partitioned to.
+	 * Number is set by system property: "dispatcher.scheduler.shards".
+	 *
+	 * @return Number of shards
+	 */
+	int getShardsCount();
+
+	/**
+	 * Retrieves and removes next TaskSchedule from waiting queues of the shard, which is ready to be sent to engine.
+	 * Forced Tasks are returned first, if there is none, it waits for normal Task up to the specified time.
+	 *
+	 * @param shard Shard to get TaskSchedule from
+	 * @param timeout How long to wait for normal Task
+	 * @param unit Unit of the timeout
+	 * @return TaskSchedule or null, if there was no Task ready before timeout elapsed
+	 * @throws InterruptedException When thread is interrupted while waiting.
+	 */
+	TaskSchedule pollWaitingTaskSchedule(int shard, long timeout, TimeUnit unit) throws InterruptedException;
+
 	/**
 	 * Loads Tasks persisted in the database into internal scheduling pool maps.
 	 * Immediately restart propagation of previously processing Tasks.
@@ -28,11 +28,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
-import java.util.concurrent.DelayQueue;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Resource;
@@ -57,8 +57,6 @@ public class TaskScheduler extends AbstractRunner {
 	private Perun perun;
 	private Properties dispatcherProperties;
 	private EngineMessageProducerFactory engineMessageProducerFactory;
-	private DelayQueue<TaskSchedule> waitingTasksQueue;
-	private DelayQueue<TaskSchedule> waitingForcedTasksQueue;
 	private TasksManagerBl tasksManagerBl;
 
 	// ----- setters -------------------------------------
@@ -99,24 +97,6 @@ public class TaskScheduler extends AbstractRunner {
 		this.engineMessageProducerFactory = engineMessageProducerPool;
 	}
 
-	public DelayQueue<TaskSchedule> getWaitingTasksQueue() {
-		return waitingTasksQueue;
-	}
-
-	@Autowired
-	public void setWaitingTasksQueue(DelayQueue<TaskSchedule> waitingTasksQueue) {
-		this.waitingTasksQueue = waitingTasksQueue;
-	}
-
-	public DelayQueue<TaskSchedule> getWaitingForcedTasksQueue() {
-		return waitingForcedTasksQueue;
-	}
-
-	@Autowired
-	public void setWaitingForcedTasksQueue(DelayQueue<TaskSchedule> waitingForcedTasksQueue) {
-		this.waitingForcedTasksQueue = waitingForcedTasksQueue;
-	}
-
 	public TasksManagerBl getTasksManagerBl() {
 		return tasksManagerBl;
 	}
@@ -134,6 +114,9 @@ public class TaskScheduler extends AbstractRunner {
 	 * If there is Task ready, we check if it source was updated. If it was, we put the task back to the queue (This
 	 * can happen only limited number of times). If on the other hand it was not updated we perform additional checks using
 	 * method sendToEngine.
+	 *
+	 * Each shard of the SchedulingPool is processed by its own thread, this thread processes the first shard
+	 * and starts threads for the others.
 	 */
 	@Override
 	public void run() {
@@ -145,15 +128,46 @@ public class TaskScheduler extends AbstractRunner {
 			throw new RuntimeException(message, e1);
 		}
 		log.debug("Pool contains {} tasks in total", schedulingPool.getSize());
+		List<Thread> shardThreads = new ArrayList<>();
+		for (int shard = 1; shard < schedulingPool.getShardsCount(); shard++) {
+			final int shardToProcess = shard;
+			Thread thread = new Thread(() -> scheduleTasks(shardToProcess), "perun-dispatcher-scheduler-" + shard);
+			thread.setDaemon(true);
+			thread.start();
+			shardThreads.add(thread);
+		}
+		scheduleTasks(0);
+		for (Thread thread : shardThreads) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				log.warn("Interrupted while waiting for scheduler thread {} to stop.", thread.getName());
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		log.debug("TaskScheduler has stopped.");
+	}
+
+	/**
+	 * Take Tasks from waiting queues of the shard and send them to Engine until scheduler is stopped.
+	 *
+	 * @param shard Shard of the SchedulingPool to process
+	 */
+	private void scheduleTasks(int shard) {
 		TaskSchedule schedule;
 		while (!shouldStop()) {
 			try {
-				schedule = getWaitingTaskSchedule();
+				schedule = getWaitingTaskSchedule(shard);
 			} catch (InterruptedException e) {
 				String message = "Thread was interrupted, cannot continue.";
 				log.error(message, e);
 				throw new RuntimeException(message, e);
 			}
+			if (schedule == null) {
+				// scheduler was stopped while waiting
+				break;
+			}
 			Task task = schedule.getTask();
 			if (task.isSourceUpdated() && schedule.getDelayCount() > 0 && !task.isPropagationForced()) {
 				// source data changed before sending, wait for more changes to come -> reschedule
@@ -187,30 +201,27 @@ public class TaskScheduler extends AbstractRunner {
 				tasksManagerBl.updateTask(perunSession, task);
 			}
 		}
-		log.debug("TaskScheduler has stopped.");
+		log.debug("TaskScheduler thread for shard {} has stopped.", shard);
 	}
 
 	/**
 	 * Internal method which chooses next Task that will be processed, we try to take forced Task first,
 	 * and if none is available, then we wait for a normal Task for a few seconds.
 	 *
-	 * @return Once one of the Queues returns non null TaskSchedule, we return it.
+	 * @param shard Shard of the SchedulingPool to take Task from
+	 * @return Once one of the Queues returns non null TaskSchedule, we return it. Null if scheduler was stopped.
 	 * @throws InterruptedException When blocking queue polling was interrupted.
 	 */
-	private TaskSchedule getWaitingTaskSchedule() throws InterruptedException {
+	private TaskSchedule getWaitingTaskSchedule(int shard) throws InterruptedException {
 		TaskSchedule taskSchedule = null;
 		while (!shouldStop()) {
-			log.debug(schedulingPool.getReport());
-			log.debug("WaitingTasksQueue has {} normal Tasks and {} forced Tasks.", waitingTasksQueue.size(), waitingForcedTasksQueue.size());
-			taskSchedule = waitingForcedTasksQueue.poll();
-			if (taskSchedule == null) {
-				taskSchedule = waitingTasksQueue.poll(10, TimeUnit.SECONDS);
-			}
+			log.trace(schedulingPool.getReport());
+			taskSchedule = schedulingPool.pollWaitingTaskSchedule(shard, 10, TimeUnit.SECONDS);
 			if (taskSchedule != null) {
+				log.trace("[{}] Returning Task schedule {}.", taskSchedule.getTask().getId(), taskSchedule);
 				break;
 			}
 		}
-		log.trace("[{}] Returning Task schedule {}.", taskSchedule.getTask().getId(), taskSchedule);
 		return taskSchedule;
 	}
 
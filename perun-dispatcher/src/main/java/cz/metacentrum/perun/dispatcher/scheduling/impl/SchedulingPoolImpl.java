@@ -33,12 +33,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Resource;
 
@@ -59,8 +61,13 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 
 	private PerunSession sess;
 
-	private DelayQueue<TaskSchedule> waitingTasksQueue;
-	private DelayQueue<TaskSchedule> waitingForcedTasksQueue;
+	// number of locks used to serialize scheduling of Tasks of the same Facility
+	private static final int FACILITY_LOCKS_COUNT = 256;
+
+	// waiting queues of each shard, Tasks are partitioned by Facility
+	private List<DelayQueue<TaskSchedule>> waitingTasksQueues;
+	private List<DelayQueue<TaskSchedule>> waitingForcedTasksQueues;
+	private final Object[] facilityLocks = new Object[FACILITY_LOCKS_COUNT];
 	private Properties dispatcherProperties;
 	private TaskStore taskStore;
 	private TasksManagerBl tasksManagerBl;
@@ -68,6 +75,7 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 	private Perun perun;
 
 	public SchedulingPoolImpl() {
+		initFacilityLocks();
 	}
 
 	public SchedulingPoolImpl(Properties dispatcherPropertiesBean,
@@ -78,30 +86,13 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 		this.taskStore = taskStore;
 		this.tasksManagerBl = tasksManagerBl;
 		this.engineMessageProducerFactory = engineMessageProducerFactory;
+		initFacilityLocks();
 	}
 
 
 	// ----- setters -------------------------------------
 
 
-	public DelayQueue<TaskSchedule> getWaitingTasksQueue() {
-		return waitingTasksQueue;
-	}
-
-	@Autowired
-	public void setWaitingTasksQueue(DelayQueue<TaskSchedule> waitingTasksQueue) {
-		this.waitingTasksQueue = waitingTasksQueue;
-	}
-
-	public DelayQueue<TaskSchedule> getWaitingForcedTasksQueue() {
-		return waitingForcedTasksQueue;
-	}
-
-	@Autowired
-	public void setWaitingForcedTasksQueue(DelayQueue<TaskSchedule> waitingForcedTasksQueue) {
-		this.waitingForcedTasksQueue = waitingForcedTasksQueue;
-	}
-
 	public Properties getDispatcherProperties() {
 		return dispatcherProperties;
 	}
@@ -151,6 +142,7 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 	
 	@Override
 	public void afterPropertiesSet() {
+		initShards();
 		// init session
 		try {
 			if (sess == null) {
@@ -167,6 +159,57 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 	
 	// ----- methods -------------------------------------
 
+	private void initFacilityLocks() {
+		for (int i = 0; i < FACILITY_LOCKS_COUNT; i++) {
+			facilityLocks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Create waiting queues for all shards. Number of shards is set by "dispatcher.scheduler.shards" property.
+	 */
+	private void initShards() {
+		int shards;
+		try {
+			shards = Integer.parseInt(dispatcherProperties.getProperty("dispatcher.scheduler.shards", "4"));
+		} catch (NumberFormatException e) {
+			log.warn("Could not parse value of dispatcher.scheduler.shards property. Using default.");
+			shards = 4;
+		}
+		if (shards < 1) shards = 1;
+		waitingTasksQueues = new ArrayList<>(shards);
+		waitingForcedTasksQueues = new ArrayList<>(shards);
+		for (int i = 0; i < shards; i++) {
+			waitingTasksQueues.add(new DelayQueue<>());
+			waitingForcedTasksQueues.add(new DelayQueue<>());
+		}
+		log.debug("SchedulingPool partitioned to {} shards.", shards);
+	}
+
+	private int getShard(Task task) {
+		return Math.floorMod(task.getFacilityId(), waitingTasksQueues.size());
+	}
+
+	private Object getFacilityLock(Task task) {
+		return facilityLocks[Math.floorMod(task.getFacilityId(), FACILITY_LOCKS_COUNT)];
+	}
+
+	@Override
+	public int getShardsCount() {
+		return waitingTasksQueues.size();
+	}
+
+	@Override
+	public TaskSchedule pollWaitingTaskSchedule(int shard, long timeout, TimeUnit unit) throws InterruptedException {
+		DelayQueue<TaskSchedule> waitingTasksQueue = waitingTasksQueues.get(shard);
+		DelayQueue<TaskSchedule> waitingForcedTasksQueue = waitingForcedTasksQueues.get(shard);
+		log.debug("Shard {} has {} normal Tasks and {} forced Tasks waiting.", shard, waitingTasksQueue.size(), waitingForcedTasksQueue.size());
+		TaskSchedule taskSchedule = waitingForcedTasksQueue.poll();
+		if (taskSchedule == null) {
+			taskSchedule = waitingTasksQueue.poll(timeout, unit);
+		}
+		return taskSchedule;
+	}
 
 	@Override
 	public Task getTask(int id) {
@@ -205,6 +248,13 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 
 	@Override
 	public void scheduleTask(Task task, int delayCount) {
+		// serialize scheduling of Tasks of the same Facility
+		synchronized (getFacilityLock(task)) {
+			scheduleTaskInternal(task, delayCount);
+		}
+	}
+
+	private void scheduleTaskInternal(Task task, int delayCount) {
 
 		// check if service/facility exists
 
@@ -334,9 +384,9 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 		boolean added = false;
 
 		if (schedule.getTask().isPropagationForced()) {
-			added = waitingForcedTasksQueue.add(schedule);
+			added = waitingForcedTasksQueues.get(getShard(task)).add(schedule);
 		} else {
-			added = waitingTasksQueue.add(schedule);
+			added = waitingTasksQueues.get(getShard(task)).add(schedule);
 		}
 
 		if (!added) {
@@ -356,6 +406,13 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 	 */
 	@Override
 	public int addToPool(Task task) throws TaskStoreException {
+		synchronized (getFacilityLock(task)) {
+			addToPoolInternal(task);
+		}
+		return getSize();
+	}
+
+	private void addToPoolInternal(Task task) throws TaskStoreException {
 
 		if (task.getId() == 0) {
 			if (getTask(task.getFacility(), task.getService()) == null) {
@@ -376,7 +433,6 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 		}
 		addTask(task);
 		log.debug("[{}] Task added to the pool: {}", task.getId(), task);
-		return getSize();
 	}
 
 	@Override
@@ -413,8 +469,8 @@ public class SchedulingPoolImpl implements SchedulingPool, InitializingBean {
 	@Override
 	public void clear() {
 		taskStore.clear();
-		waitingTasksQueue.clear();
-		waitingForcedTasksQueue.clear();
+		waitingTasksQueues.forEach(DelayQueue::clear);
+		waitingForcedTasksQueues.forEach(DelayQueue::clear);
 	}
 
 	@Override
@@ -96,6 +96,38 @@ public class EventProcessorTest extends AbstractDispatcherTest {
 	}
 
 
+	@Test
+	public void coalesceEventsTest() {
+		System.out.println("EventProcessor.coalesceEventsTest()");
+
+		// use own processor, the shared one is already stopped by other tests
+		EventProcessor processor = new EventProcessor();
+		processor.setEventServiceResolver(eventProcessor.getEventServiceResolver());
+		processor.setPerun(eventProcessor.getPerun());
+		processor.setDispatcherProperties(eventProcessor.getDispatcherProperties());
+
+		LinkedBlockingQueue<Event> mockQueue = new LinkedBlockingQueue<>();
+		for (int i = 0; i < 3; i++) {
+			Event event = new Event();
+			event.setTimeStamp(System.currentTimeMillis());
+			event.setHeader("portishead");
+			event.setData(new DirectMemberAddedToGroup(member1, group1));
+			mockQueue.add(event);
+		}
+		processor.setEventQueue(mockQueue);
+
+		SchedulingPoolMock pool = new SchedulingPoolMock(2, processor);
+		processor.setSchedulingPool(pool);
+		processor.run();
+
+		// all events were processed within one window, so each Facility-Service pair was added only once
+		Assert.isTrue(pool.getTasks().size() == 2, "tasks were not coalesced");
+		Assert.isTrue(processor.getReceivedEventsCount() == 3, "wrong count of received events");
+		Assert.isTrue(processor.getResolvedPairsCount() == 6, "wrong count of resolved pairs");
+		Assert.isTrue(processor.getCoalescedPairsCount() == 2, "wrong count of coalesced pairs");
+		Assert.isTrue(processor.getCreatedTasksCount() == 2, "wrong count of created tasks");
+	}
+
 	private class EngineMessageProducerMock extends EngineMessageProducer {
 
 		public EngineMessageProducerMock(String queueName) {
@@ -109,9 +141,15 @@ public class EventProcessorTest extends AbstractDispatcherTest {
 		List<Task> tasks = new LinkedList<>();
 		int expectedAdds;
 		int adds = 0;
+		EventProcessor processor;
 
 		public SchedulingPoolMock(int expectedAdds) {
+			this(expectedAdds, eventProcessor);
+		}
+
+		public SchedulingPoolMock(int expectedAdds, EventProcessor processor) {
 			this.expectedAdds = expectedAdds;
+			this.processor = processor;
 		}
 
 		@Override
@@ -119,7 +157,7 @@ public class EventProcessorTest extends AbstractDispatcherTest {
 			tasks.add(task);
 			adds += 1;
 			if (adds == expectedAdds) {
-				eventProcessor.stop();
+				processor.stop();
 			}
 			return 1;
 		}
@@ -5,6 +5,8 @@ import java.util.Set;
 
 import cz.metacentrum.perun.audit.events.AuditEvent;
 import cz.metacentrum.perun.audit.events.GroupManagerEvents.DirectMemberAddedToGroup;
+import cz.metacentrum.perun.audit.events.ResourceManagerEvents.ServiceRemovedFromResource;
+import cz.metacentrum.perun.audit.events.StringMessageEvent;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Service;
@@ -81,4 +83,38 @@ public class EventServiceResolverTest extends AbstractDispatcherTest {
 
 	}
 
+	@Test
+	public void parseStringMessageEventTest() throws ServiceNotExistsException, InvalidEventMessageException, PrivilegeException {
+		System.out.println("EventServiceResolver.parseStringMessageEventTest()");
+
+		// event without typed beans must be resolved from its message
+		AuditEvent auditEvent = new StringMessageEvent(new DirectMemberAddedToGroup(member1, group1).getMessage());
+
+		Map<Facility, Set<Service>> resolvedServices = eventServiceResolver.resolveEvent(auditEvent);
+
+		Assert.assertEquals("We should resolved only one facility-service", 1, resolvedServices.size());
+		Assert.assertEquals("We should have 2 service", 2, resolvedServices.get(facility1).size());
+
+	}
+
+	@Test
+	public void cachedResourceServicesInvalidatedByEventTest() throws Exception {
+		System.out.println("EventServiceResolver.cachedResourceServicesInvalidatedByEventTest()");
+
+		AuditEvent auditEvent = new DirectMemberAddedToGroup(member1, group1);
+		Assert.assertEquals(2, eventServiceResolver.resolveEvent(auditEvent).get(facility1).size());
+
+		perun.getResourcesManagerBl().removeService(sess, resource1, service2);
+		// services of the resource are still cached
+		Assert.assertEquals(2, eventServiceResolver.resolveEvent(auditEvent).get(facility1).size());
+
+		// event about the change flows through the resolver and drops cached services
+		eventServiceResolver.resolveEvent(new ServiceRemovedFromResource(service2, resource1));
+
+		Set<Service> resolved = eventServiceResolver.resolveEvent(auditEvent).get(facility1);
+		Assert.assertEquals(1, resolved.size());
+		Assert.assertTrue("Our Service 1 is missing", resolved.contains(service1));
+
+	}
+
 }
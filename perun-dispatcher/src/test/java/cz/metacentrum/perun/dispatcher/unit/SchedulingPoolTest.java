@@ -3,6 +3,7 @@ package cz.metacentrum.perun.dispatcher.unit;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import cz.metacentrum.perun.core.api.*;
 import cz.metacentrum.perun.dispatcher.AbstractDispatcherTest;
@@ -21,6 +22,7 @@ import cz.metacentrum.perun.dispatcher.jms.EngineMessageProducer;
 import cz.metacentrum.perun.dispatcher.scheduling.SchedulingPool;
 import cz.metacentrum.perun.taskslib.model.Task;
 import cz.metacentrum.perun.taskslib.model.Task.TaskStatus;
+import cz.metacentrum.perun.taskslib.model.TaskSchedule;
 
 /**
  * @author Michal Karm Babacek
@@ -91,6 +93,23 @@ public class SchedulingPoolTest extends AbstractDispatcherTest {
 		Assert.isTrue(task1 == tasks.get(0), "task equals");
 	}
 
+	@Test
+	public void scheduleTaskToFacilityShardTest() throws Exception {
+		System.out.println("SchedulingPool.scheduleTaskToFacilityShard()");
+		task1.setPropagationForced(true);
+		schedulingPool.scheduleTask(task1, 0);
+
+		int shard = Math.floorMod(facility1.getId(), schedulingPool.getShardsCount());
+		for (int i = 0; i < schedulingPool.getShardsCount(); i++) {
+			if (i != shard) {
+				Assert.isNull(schedulingPool.pollWaitingTaskSchedule(i, 0, TimeUnit.MILLISECONDS), "other shard is empty");
+			}
+		}
+		TaskSchedule schedule = schedulingPool.pollWaitingTaskSchedule(shard, 0, TimeUnit.MILLISECONDS);
+		Assert.notNull(schedule, "task is in facility shard");
+		Assert.isTrue(schedule.getTask() == task1, "task equals");
+	}
+
 /*	@IfProfileValue(name = "perun.test.groups", values = ("unit-tests"))
 	@Test
 	public void setTaskStatusTest() {
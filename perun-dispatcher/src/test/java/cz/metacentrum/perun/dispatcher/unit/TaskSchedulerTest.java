@@ -8,7 +8,6 @@ import cz.metacentrum.perun.dispatcher.scheduling.impl.SchedulingPoolImpl;
 import cz.metacentrum.perun.dispatcher.scheduling.TaskScheduler;
 import cz.metacentrum.perun.taskslib.model.Task;
 import cz.metacentrum.perun.taskslib.model.Task.TaskStatus;
-import cz.metacentrum.perun.taskslib.model.TaskSchedule;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -18,7 +17,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Properties;
-import java.util.concurrent.DelayQueue;
 import java.util.concurrent.FutureTask;
 
 import javax.annotation.Resource;
@@ -54,16 +52,8 @@ public class TaskSchedulerTest extends AbstractDispatcherTest {
 		recurrenceSpy = new SimpleTaskSchedulerSpy(0);
 		simpleFutureTask = new FutureTask<SimpleTaskSchedulerSpy>(simpleSpy, null);
 		recurrenceFutureTask = new FutureTask<SimpleTaskSchedulerSpy>(recurrenceSpy, null);
-		DelayQueue<TaskSchedule> waitingQueue = new DelayQueue<>();
-		DelayQueue<TaskSchedule> forcedWaitingQueue = new DelayQueue<>();
-		simpleSpy.setWaitingTasksQueue(waitingQueue);
-		simpleSpy.setWaitingForcedTasksQueue(forcedWaitingQueue);
 		simpleSpy.setTasksManagerBl(tasksManagerBl);
-		recurrenceSpy.setWaitingTasksQueue(waitingQueue);
-		recurrenceSpy.setWaitingForcedTasksQueue(forcedWaitingQueue);
 		recurrenceSpy.setTasksManagerBl(tasksManagerBl);
-		((SchedulingPoolImpl)schedulingPool).setWaitingTasksQueue(waitingQueue);
-		((SchedulingPoolImpl)schedulingPool).setWaitingTasksQueue(forcedWaitingQueue);
 	}
 
 	@Test
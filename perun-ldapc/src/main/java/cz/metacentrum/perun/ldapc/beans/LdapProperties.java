@@ -10,13 +10,15 @@ public class LdapProperties {
 	private String ldapLoginNamespace;
 	private String ldapStateFile;
 	private boolean isReplica = false;
+	private long auditerWaitTimeout;
 
-	public LdapProperties(String ldapConsumerName, String ldapBase, String ldapLoginNamespace, String ldapStateFile, String isReplica) {
+	public LdapProperties(String ldapConsumerName, String ldapBase, String ldapLoginNamespace, String ldapStateFile, String isReplica, long auditerWaitTimeout) {
 		this.ldapConsumerName = ldapConsumerName;
 		this.ldapBase = ldapBase;
 		this.ldapLoginNamespace = ldapLoginNamespace;
 		this.ldapStateFile = ldapStateFile;
 		this.isReplica = Boolean.parseBoolean(isReplica);
+		this.auditerWaitTimeout = auditerWaitTimeout;
 	}
 
 	public boolean propsLoaded() {
@@ -43,4 +45,14 @@ public class LdapProperties {
 		return isReplica;
 	}
 
+	/**
+	 * Get max time to wait for new audit messages before auditer log is checked again.
+	 * LDAPc is woken up earlier only by the Auditer running in the same JVM.
+	 *
+	 * @return timeout in milliseconds
+	 */
+	public long getAuditerWaitTimeout() {
+		return auditerWaitTimeout;
+	}
+
 }
@@ -4,6 +4,7 @@ import cz.metacentrum.perun.auditparser.AuditParser;
 import cz.metacentrum.perun.core.api.Attribute;
 import cz.metacentrum.perun.core.api.AttributeDefinition;
 import cz.metacentrum.perun.core.api.AuditMessage;
+import cz.metacentrum.perun.core.api.AuditMessagesManager;
 import cz.metacentrum.perun.core.api.Facility;
 import cz.metacentrum.perun.core.api.Group;
 import cz.metacentrum.perun.core.api.Member;
@@ -226,8 +227,8 @@ public class EventDispatcherImpl implements EventDispatcher, Runnable {
 				//Waiting for new messages. If consumer failed in some internal case, waiting until it will be repaired (waiting time is increases by each attempt)
 				do {
 					try {
-						//IMPORTANT STEP1: Get new bulk of messages
-						messages = perun.getAuditMessagesManager().pollConsumerMessages(perunSession, ldapProperties.getLdapConsumerName(), lastProcessedIdNumber);
+						//IMPORTANT STEP1: Get new bulk of messages, wait for them if there are none yet
+						messages = perun.getAuditMessagesManager().waitForConsumerMessages(perunSession, ldapProperties.getLdapConsumerName(), lastProcessedIdNumber, AuditMessagesManager.CONSUMERBATCHSIZE, ldapProperties.getAuditerWaitTimeout());
 						// Rpc.AuditMessagesManager.pollConsumerMessages(ldapcManager.getRpcCaller(), ldapProperties.getLdapConsumerName());
 					} catch (InternalErrorException ex) {
 						log.error("Consumer failed due to {}. Sleeping for {} ms.", ex, sleepTime);
@@ -253,12 +254,11 @@ public class EventDispatcherImpl implements EventDispatcher, Runnable {
 					MessageBeans presentBeans = this.resolveMessage(message.getEvent().getMessage(), message.getId());
 					this.dispatchEvent(message.getEvent().getMessage(), presentBeans);
 				}
-				//After all messages has been resolved, test interrupting of thread and if its ok, wait and go for another bulk of messages
+				//After all messages has been resolved, test interrupting of thread and if its ok, go for another bulk of messages
 				if (Thread.interrupted()) {
 					running = false;
 				} else {
 					saveLastProcessedId();
-					Thread.sleep(5000);
 				}
 			}
 			//If ldapc is interrupted
@@ -651,6 +651,7 @@ public class Api extends HttpServlet {
 					perunStatus.add("AuditerConsumer: '" + consumerName + "' with last processed id='" + lastProcessedId + "'");
 				}
 				perunStatus.add("LastMessageId: " + caller.call("auditMessagesManager", "getLastMessageId", des));
+				perunStatus.add("AuditMessagesCache: " + caller.call("auditMessagesManager", "getCacheStatistics", des));
 				perunStatus.add("Timestamp: " + timestamp);
 				ser.write(perunStatus);
 
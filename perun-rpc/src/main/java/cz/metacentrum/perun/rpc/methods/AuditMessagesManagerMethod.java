@@ -53,9 +53,34 @@ public enum AuditMessagesManagerMethod implements ManagerMethod {
 	 * @param consumerName String Consumer to get messages for
 	 * @return List<AuditMessage> List of Audit Messages
 	 */
+	/*#
+	 * Returns at most 'count' oldest AuditMessages from audit log with IDs > lastProcessedId for registered auditer consumer
+	 * specified by consumerName param. LastProcessedId of the consumer is moved to the ID of the last returned message,
+	 * so the rest of the messages is returned by the next call.
+	 *
+	 * @param consumerName String Consumer to get messages for
+	 * @param count int Max number of returned messages
+	 * @return List<AuditMessage> List of Audit Messages ordered by ID
+	 */
+	/*#
+	 * Returns at most 'count' oldest AuditMessages from audit log with IDs > lastProcessedId param.
+	 * LastProcessedId of the consumer is not changed, pass ID of the last returned message to the next call.
+	 *
+	 * @param consumerName String Consumer to get messages for
+	 * @param lastProcessedId int ID of the last processed message
+	 * @param count int Max number of returned messages
+	 * @return List<AuditMessage> List of Audit Messages ordered by ID
+	 */
 	pollConsumerMessages {
 		@Override
 		public List<AuditMessage> call(ApiCaller ac, Deserializer parms) throws PerunException {
+			if (parms.contains("count")) {
+				if (parms.contains("lastProcessedId")) {
+					return ac.getAuditMessagesManager().pollConsumerMessages(ac.getSession(), parms.readString("consumerName"),
+						parms.readInt("lastProcessedId"), parms.readInt("count"));
+				}
+				return ac.getAuditMessagesManager().pollConsumerMessagesBatch(ac.getSession(), parms.readString("consumerName"), parms.readInt("count"));
+			}
 			return ac.getAuditMessagesManager().pollConsumerMessages(ac.getSession(), parms.readString("consumerName"));
 		}
 	},
@@ -128,6 +153,20 @@ public enum AuditMessagesManagerMethod implements ManagerMethod {
 		}
 	},
 
+	/*#
+	 * Get statistics of caches used to serve polled audit messages.
+	 * It contains numbers of hits and misses of the ring of messages recently written by this instance
+	 * and of the cache of deserialized audit events.
+	 *
+	 * @return Map<String,Long> Names of counters and their values
+	 */
+	getCacheStatistics {
+		@Override
+		public Map<String, Long> call(ApiCaller ac, Deserializer parms) throws PerunException {
+			return ac.getAuditMessagesManager().getCacheStatistics(ac.getSession());
+		}
+	},
+
 	/*#
 	 * Log arbitrary auditer message/event to the audit log.
 	 *
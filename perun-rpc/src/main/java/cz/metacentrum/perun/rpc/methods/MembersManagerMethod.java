@@ -1028,6 +1028,40 @@ public enum MembersManagerMethod implements ManagerMethod {
 		}
 	},
 
+	/*#
+	 * Get one page of RichMembers of the VO with attributes specific for list of attrsNames.
+	 * Members are filtered, sorted and paginated according to the query.
+	 * Query can limit members by their statuses (VALID | INVALID | EXPIRED | DISABLED), by membership
+	 * in a group of the VO and by a search string matched against name and id of the user.
+	 * If attrsNames is empty or null return all attributes for specific richMembers.
+	 *
+	 * @param vo int Vo <code>id</code>
+	 * @param query MembersPageQuery Query with page size, offset, sorting and filters
+	 * @param attrsNames List<String> Attribute names
+	 * @return Paginated<RichMember> Page of richMembers with selected attributes
+	 * @throw IllegalArgumentException if paging is not valid, status is unknown or group is not from the VO
+	 */
+	/*#
+	 * Get one page of RichMembers of the VO with all attributes.
+	 * Members are filtered, sorted and paginated according to the query.
+	 * Query can limit members by their statuses (VALID | INVALID | EXPIRED | DISABLED), by membership
+	 * in a group of the VO and by a search string matched against name and id of the user.
+	 *
+	 * @param vo int Vo <code>id</code>
+	 * @param query MembersPageQuery Query with page size, offset, sorting and filters
+	 * @return Paginated<RichMember> Page of richMembers with all attributes
+	 * @throw IllegalArgumentException if paging is not valid, status is unknown or group is not from the VO
+	 */
+	getMembersPage {
+		@Override
+		public Paginated<RichMember> call(ApiCaller ac, Deserializer parms) throws PerunException {
+			return ac.getMembersManager().getMembersPage(ac.getSession(),
+					ac.getVoById(parms.readInt("vo")),
+					parms.read("query", MembersPageQuery.class),
+					parms.contains("attrsNames") ? parms.readList("attrsNames", String.class) : null);
+		}
+	},
+
 	/*#
  	 * Get all RichMembers with attributes specific for list of attrsNames from the vo and have only
  	 * status which is contain in list of statuses.
@@ -390,6 +390,33 @@ public enum UsersManagerMethod implements ManagerMethod {
 		}
 	},
 
+	/*#
+	 * Returns one page of RichUsers with attributes specific for list of attrsNames.
+	 * Users are filtered by the search string (name or id of the user), sorted and paginated according to the query.
+	 * If attrsNames is empty or null return all attributes for specific richUsers.
+	 *
+	 * @param query UsersPageQuery Query with page size, offset, sorting and search string
+	 * @param attrsNames List<String> list of attributes name
+	 * @return Paginated<RichUser> page of RichUsers
+	 * @throw IllegalArgumentException if paging is not valid
+	 */
+	/*#
+	 * Returns one page of RichUsers with all attributes.
+	 * Users are filtered by the search string (name or id of the user), sorted and paginated according to the query.
+	 *
+	 * @param query UsersPageQuery Query with page size, offset, sorting and search string
+	 * @return Paginated<RichUser> page of RichUsers
+	 * @throw IllegalArgumentException if paging is not valid
+	 */
+	getUsersPage {
+		@Override
+		public Paginated<RichUser> call(ApiCaller ac, Deserializer parms) throws PerunException {
+			return ac.getUsersManager().getUsersPage(ac.getSession(),
+					parms.read("query", UsersPageQuery.class),
+					parms.contains("attrsNames") ? parms.readList("attrsNames", String.class) : null);
+		}
+	},
+
 	/*#
 	 * Returns list of RichUsers which are not members of any VO and with selected attributes
 	 *